@@ -0,0 +1,51 @@
+package com.adamkoch.bowling.benchmarks;
+
+import com.adamkoch.bowling.FrameFactory;
+import com.adamkoch.bowling.vos.BonusBalls;
+import com.adamkoch.bowling.vos.Frame;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing a single frame and the bonus balls.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FrameFactoryBenchmark {
+
+  @State(Scope.Thread)
+  public static class FrameInput {
+    @Param({"X", "9/", "9-", "72", "--"})
+    String frame;
+  }
+
+  @State(Scope.Thread)
+  public static class BonusInput {
+    @Param({"", "X", "XX", "81", "9/"})
+    String bonus;
+  }
+
+  @Benchmark
+  public Frame from(FrameInput input) {
+    return FrameFactory.from(input.frame, 1);
+  }
+
+  @Benchmark
+  public BonusBalls fromBonus(BonusInput input) {
+    return FrameFactory.fromBonus(input.bonus);
+  }
+
+}
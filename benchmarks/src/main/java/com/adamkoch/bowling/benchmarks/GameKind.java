@@ -0,0 +1,86 @@
+package com.adamkoch.bowling.benchmarks;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * The kinds of games the benchmarks run against. Each kind is a table of {@link #TABLE_SIZE} game strings so a
+ * benchmark can cycle through them and the JIT can't fold a single constant input away.
+ */
+public enum GameKind {
+
+  ALL_STRIKES("X|X|X|X|X|X|X|X|X|X||XX"),
+  ALL_SPARES("5/|5/|5/|5/|5/|5/|5/|5/|5/|5/||5"),
+  OPEN_FRAMES("9-|9-|9-|9-|9-|9-|9-|9-|9-|9-||"),
+  RANDOM(null);
+
+  /**
+   * A power of two so the index can be masked instead of checked.
+   */
+  public static final int TABLE_SIZE = 1024;
+  public static final int TABLE_MASK = TABLE_SIZE - 1;
+
+  private static final long SEED = 20221018L;
+
+  private final String game;
+
+  GameKind(String game) {
+    this.game = game;
+  }
+
+  /**
+   * @return {@link #TABLE_SIZE} games of this kind
+   */
+  public String[] games() {
+    String[] games = new String[TABLE_SIZE];
+    if (game == null) {
+      Random random = new Random(SEED);
+      Arrays.setAll(games, i -> randomGame(random));
+    } else {
+      Arrays.fill(games, game);
+    }
+    return games;
+  }
+
+  /**
+   * Something like a league bowler: strikes about a third of the time, and spares on about half of the rest.
+   */
+  private static String randomGame(Random random) {
+    StringBuilder game = new StringBuilder(35);
+    boolean strike = false;
+    boolean spare = false;
+    for (int frame = 1; frame <= 10; frame++) {
+      if (frame > 1) {
+        game.append('|');
+      }
+      int firstBall = random.nextInt(100) < 33 ? 10 : 5 + random.nextInt(5);
+      strike = firstBall == 10;
+      spare = false;
+      if (strike) {
+        game.append('X');
+      } else {
+        int standing = 10 - firstBall;
+        int secondBall = random.nextBoolean() ? standing : random.nextInt(standing);
+        spare = secondBall == standing;
+        game.append(symbol(firstBall)).append(spare ? '/' : symbol(secondBall));
+      }
+    }
+    game.append("||");
+    if (strike) {
+      int firstBonus = random.nextInt(100) < 33 ? 10 : random.nextInt(10);
+      int secondBonus = firstBonus == 10 ? random.nextInt(11) : random.nextInt(11 - firstBonus);
+      game.append(firstBonus == 10 ? 'X' : symbol(firstBonus));
+      game.append(secondBonus == 10 ? 'X' : firstBonus + secondBonus == 10 ? '/' : symbol(secondBonus));
+    } else if (spare) {
+      int bonus = random.nextInt(11);
+      // a lone "-" isn't accepted as a bonus ball
+      game.append(bonus == 10 ? 'X' : (char) ('0' + bonus));
+    }
+    return game.toString();
+  }
+
+  private static char symbol(int pins) {
+    return pins == 0 ? '-' : (char) ('0' + pins);
+  }
+
+}
@@ -0,0 +1,66 @@
+package com.adamkoch.bowling.benchmarks;
+
+import com.adamkoch.bowling.Game;
+import com.adamkoch.bowling.store.GameStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Finding the games over 250 out of a million, in the off-heap store and in a list of games on the heap.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GameStoreBenchmark {
+
+  private static final int GAMES = 1 << 20;
+  private static final int MINIMUM_SCORE = 250;
+
+  private GameStore store;
+  private List<Game> games;
+
+  @Setup
+  public void setUp() throws IOException {
+    String[] table = GameKind.RANDOM.games();
+    store = GameStore.inMemory();
+    games = new ArrayList<>(GAMES);
+    for (int i = 0; i < GAMES; i++) {
+      Game game = Game.fromString(table[i & GameKind.TABLE_MASK]);
+      store.append(game);
+      games.add(game);
+    }
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    store.close();
+  }
+
+  @Benchmark
+  public long storeScan() {
+    return store.countAtLeast(MINIMUM_SCORE);
+  }
+
+  @Benchmark
+  public long heapScan() {
+    return games.stream().filter(game -> game.calculateScore() >= MINIMUM_SCORE).count();
+  }
+
+}
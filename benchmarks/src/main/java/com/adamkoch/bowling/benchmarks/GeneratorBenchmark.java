@@ -0,0 +1,59 @@
+package com.adamkoch.bowling.benchmarks;
+
+import com.adamkoch.bowling.generate.BowlerProfile;
+import com.adamkoch.bowling.generate.GameGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * How fast {@link GameGenerator} makes up games on one thread, written as ASCII, as a String and packed. Run it with
+ * {@code -t} to see it on more threads; each thread gets its own generator.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class GeneratorBenchmark {
+
+  @Param
+  BowlerProfile profile;
+
+  private GameGenerator generator;
+  private final byte[] text = new byte[GameGenerator.MAX_GAME_LENGTH];
+  private final long[] packed = new long[2];
+
+  @Setup
+  public void setUp() {
+    generator = new GameGenerator(profile, System.nanoTime());
+  }
+
+  @Benchmark
+  public int bytes() {
+    return generator.nextGame(text, 0);
+  }
+
+  @Benchmark
+  public String string() {
+    return generator.nextGame();
+  }
+
+  @Benchmark
+  public long packed() {
+    generator.nextPacked(packed, 0);
+    return packed[1];
+  }
+
+}
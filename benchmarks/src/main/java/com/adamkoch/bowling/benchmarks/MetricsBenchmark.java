@@ -0,0 +1,53 @@
+package com.adamkoch.bowling.benchmarks;
+
+import com.adamkoch.bowling.Game;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing and scoring a game with the metrics off and on. The switch is a static final read when the JVM starts, so
+ * each one gets its own fork. With the metrics off this should be as fast as {@code ScoringBenchmark.oneStep} was
+ * before there were any metrics.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Thread)
+public class MetricsBenchmark {
+
+  @Param({"RANDOM"})
+  public GameKind kind;
+
+  private String[] games;
+  private int index;
+
+  @Setup
+  public void setUp() {
+    games = kind.games();
+  }
+
+  @Benchmark
+  @Fork(value = 1, jvmArgsAppend = "-Dbowling.metrics=false")
+  public int metricsOff() {
+    return Game.fromString(games[index++ & GameKind.TABLE_MASK]).calculateScore();
+  }
+
+  @Benchmark
+  @Fork(value = 1, jvmArgsAppend = "-Dbowling.metrics=true")
+  public int metricsOn() {
+    return Game.fromString(games[index++ & GameKind.TABLE_MASK]).calculateScore();
+  }
+
+}
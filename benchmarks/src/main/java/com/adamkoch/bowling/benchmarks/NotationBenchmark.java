@@ -0,0 +1,76 @@
+package com.adamkoch.bowling.benchmarks;
+
+import com.adamkoch.bowling.FastScorer;
+import com.adamkoch.bowling.notation.Notation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scoring the same games written in the standard notation and in a vendor's, through the notation tables, next to
+ * {@link FastScorer} on the standard text. The two notations should cost the same.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class NotationBenchmark {
+
+  private static final Notation VENDOR = new Notation.Builder()
+      .miss('-', 'G', 'F')
+      .frameDelimiter(" ")
+      .bonusDelimiter(" | ")
+      .build();
+
+  @Param
+  GameKind kind;
+
+  private String[] games;
+  private String[] vendorGames;
+  private int index;
+
+  @Setup
+  public void setUp() {
+    games = kind.games();
+    vendorGames = Arrays.stream(games).map(NotationBenchmark::toVendor).toArray(String[]::new);
+    for (int i = 0; i < games.length; i++) {
+      if (VENDOR.score(vendorGames[i]) != FastScorer.score(games[i])) {
+        throw new IllegalStateException(vendorGames[i] + " doesn't score like " + games[i]);
+      }
+    }
+  }
+
+  private static String toVendor(String game) {
+    int bonus = game.indexOf("||");
+    return (game.substring(0, bonus).replace('|', ' ') + " | " + game.substring(bonus + 2)).replace('-', 'G');
+  }
+
+  @Benchmark
+  public int fastScorer() {
+    return FastScorer.score(games[index++ & GameKind.TABLE_MASK]);
+  }
+
+  @Benchmark
+  public int standardNotation() {
+    return Notation.STANDARD.score(games[index++ & GameKind.TABLE_MASK]);
+  }
+
+  @Benchmark
+  public int vendorNotation() {
+    return VENDOR.score(vendorGames[index++ & GameKind.TABLE_MASK]);
+  }
+
+}
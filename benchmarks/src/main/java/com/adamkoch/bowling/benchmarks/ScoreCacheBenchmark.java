@@ -0,0 +1,77 @@
+package com.adamkoch.bowling.benchmarks;
+
+import com.adamkoch.bowling.Game;
+import com.adamkoch.bowling.cache.ScoreCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Games that repeat, scored from packed balls: looked up in the cache, rebuilt and scored, and looked up in a map
+ * keyed on the games themselves, which is what the constant time equality is for.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(2)
+@State(Scope.Benchmark)
+public class ScoreCacheBenchmark {
+
+  @Param({"RANDOM"})
+  public GameKind kind;
+
+  private final ScoreCache cache = new ScoreCache(1 << 20);
+  private final Map<Game, Integer> map = new HashMap<>();
+  private Game[] games;
+  private long[] low;
+  private long[] high;
+  private int next;
+
+  @Setup
+  public void setUp() {
+    String[] table = kind.games();
+    games = new Game[GameKind.TABLE_SIZE];
+    low = new long[GameKind.TABLE_SIZE];
+    high = new long[GameKind.TABLE_SIZE];
+    for (int i = 0; i < GameKind.TABLE_SIZE; i++) {
+      games[i] = Game.fromString(table[i]);
+      low[i] = games[i].getPackedLow();
+      high[i] = games[i].getPackedHigh();
+      map.put(games[i], games[i].calculateScore());
+    }
+  }
+
+  @Benchmark
+  public int cached() {
+    int i = next++ & GameKind.TABLE_MASK;
+    return cache.score(low[i], high[i]);
+  }
+
+  @Benchmark
+  public int rebuilt() {
+    int i = next++ & GameKind.TABLE_MASK;
+    return Game.fromPacked(low[i], high[i]).calculateScore();
+  }
+
+  @Benchmark
+  public Integer mapOfGames() {
+    int i = next++ & GameKind.TABLE_MASK;
+    return map.get(games[i]);
+  }
+
+}
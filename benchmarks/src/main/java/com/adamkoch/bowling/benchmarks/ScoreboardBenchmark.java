@@ -0,0 +1,56 @@
+package com.adamkoch.bowling.benchmarks;
+
+import com.adamkoch.bowling.Game;
+import com.adamkoch.bowling.display.ScoreboardRenderer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redrawing a wall of 400 scoreboards into one buffer. Run it with {@code -prof gc}: it shouldn't allocate anything.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ScoreboardBenchmark {
+
+  private static final int BOARDS = 400;
+
+  private final ScoreboardRenderer renderer = new ScoreboardRenderer();
+  private final ByteBuffer wall = ByteBuffer.allocateDirect(BOARDS * ScoreboardRenderer.BOARD_BYTES);
+  private Game[] games;
+
+  @Setup
+  public void setUp() {
+    String[] table = GameKind.RANDOM.games();
+    games = new Game[BOARDS];
+    for (int i = 0; i < BOARDS; i++) {
+      games[i] = Game.fromString(table[i]);
+      // scored once up front, like games that are already on the wall
+      games[i].calculateScore();
+    }
+  }
+
+  @Benchmark
+  public ByteBuffer redrawWall() {
+    wall.clear();
+    for (Game game : games) {
+      renderer.render(game, wall);
+    }
+    return wall;
+  }
+
+}
@@ -0,0 +1,106 @@
+package com.adamkoch.bowling.benchmarks;
+
+import com.adamkoch.bowling.FastScorer;
+import com.adamkoch.bowling.Game;
+import com.adamkoch.bowling.GameValidator;
+import com.adamkoch.bowling.Main;
+import com.adamkoch.bowling.PackedGame;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The whole game paths: validating, parsing, scoring and all of them together. Run with {@code -prof gc} to see the
+ * bytes allocated per operation next to the throughput.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ScoringBenchmark {
+
+  @Param
+  GameKind kind;
+
+  private String[] games;
+  private Game[] parsedGames;
+  // low and high longs of each game, one after the other
+  private long[] packedGames;
+  private long[] encoded;
+  private Main main;
+  private int index;
+
+  @Setup
+  public void setUp() {
+    games = kind.games();
+    parsedGames = Arrays.stream(games).map(Game::fromString).toArray(Game[]::new);
+    main = new Main();
+    packedGames = new long[games.length * 2];
+    for (int i = 0; i < parsedGames.length; i++) {
+      packedGames[i * 2] = parsedGames[i].getPackedLow();
+      packedGames[i * 2 + 1] = parsedGames[i].getPackedHigh();
+    }
+    encoded = new long[2];
+  }
+
+  @Benchmark
+  public Game fromString() {
+    return Game.fromString(games[index++ & GameKind.TABLE_MASK]);
+  }
+
+  @Benchmark
+  public int calculateScore() {
+    return parsedGames[index++ & GameKind.TABLE_MASK].calculateScore();
+  }
+
+  /**
+   * The validation {@link Main#main(String[])} runs before parsing.
+   */
+  @Benchmark
+  public boolean regexValidation() {
+    return games[index++ & GameKind.TABLE_MASK].matches("[-\\dX/|]{11,35}");
+  }
+
+  @Benchmark
+  public int oneStep() {
+    return main.oneStep(games[index++ & GameKind.TABLE_MASK]);
+  }
+
+  @Benchmark
+  public int fastScorer() {
+    return FastScorer.score(games[index++ & GameKind.TABLE_MASK]);
+  }
+
+  @Benchmark
+  public long validator() {
+    return GameValidator.validate(games[index++ & GameKind.TABLE_MASK]);
+  }
+
+  /**
+   * Scoring a game that was stored packed. There's no text left to parse.
+   */
+  @Benchmark
+  public int packedScore() {
+    int i = (index++ & GameKind.TABLE_MASK) * 2;
+    return PackedGame.score(packedGames[i], packedGames[i + 1]);
+  }
+
+  @Benchmark
+  public int packedEncode() {
+    return PackedGame.encode(games[index++ & GameKind.TABLE_MASK], encoded, 0);
+  }
+
+}
@@ -0,0 +1,83 @@
+package com.adamkoch.bowling.benchmarks;
+
+import com.adamkoch.bowling.Game;
+import com.adamkoch.bowling.vector.RollColumns;
+import com.adamkoch.bowling.vector.SimdScorer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Games scored per second: a whole table at a time with the Vector API and without it, and one at a time through the
+ * object model. The object model has to build its games from the same packed games, since a game that's been scored
+ * once just hands back the score it kept.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Benchmark)
+public class SimdScorerBenchmark {
+
+  @Param({"ALL_STRIKES", "RANDOM"})
+  public GameKind kind;
+
+  private RollColumns columns;
+  private long[] low;
+  private long[] high;
+  private short[] scores;
+
+  @Setup
+  public void setUp() {
+    if (!SimdScorer.isVectorized()) {
+      throw new IllegalStateException("The Vector API isn't available");
+    }
+    String[] games = kind.games();
+    columns = new RollColumns(GameKind.TABLE_SIZE);
+    low = new long[GameKind.TABLE_SIZE];
+    high = new long[GameKind.TABLE_SIZE];
+    scores = new short[GameKind.TABLE_SIZE];
+    for (int i = 0; i < GameKind.TABLE_SIZE; i++) {
+      Game game = Game.fromString(games[i]);
+      columns.add(game);
+      low[i] = game.getPackedLow();
+      high[i] = game.getPackedHigh();
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(GameKind.TABLE_SIZE)
+  public short[] vector() {
+    SimdScorer.score(columns, scores);
+    return scores;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(GameKind.TABLE_SIZE)
+  public short[] scalar() {
+    SimdScorer.scoreScalar(columns, scores);
+    return scores;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(GameKind.TABLE_SIZE)
+  public short[] objectModel() {
+    for (int i = 0; i < GameKind.TABLE_SIZE; i++) {
+      scores[i] = (short) Game.fromPacked(low[i], high[i]).calculateScore();
+    }
+    return scores;
+  }
+
+}
@@ -0,0 +1,402 @@
+package com.adamkoch.bowling;
+
+/**
+ * Scores a game straight from its string representation in one left-to-right pass without creating a single object.
+ * It gives the same score as {@link Main#oneStep(String)} and rejects the same input, except that a rejected game
+ * comes back as {@link #INVALID} instead of an exception. The reference rejects a game that doesn't have exactly ten
+ * frames with an {@code assert}; this class always enforces it.
+ * <p>
+ * The whole parse state lives in a single {@code long}, so the same {@link #step(long, int)} function can be driven
+ * from a String, a char array, a byte array, a mapped file or anything else that can hand out one character at a
+ * time:
+ * <pre>{@code
+ * long state = FastScorer.START;
+ * for (char c : input) {
+ *   state = FastScorer.step(state, c);
+ * }
+ * int score = FastScorer.finish(state);
+ * }</pre>
+ * Bytes are read as ISO-8859-1, which means the only digits a byte array can contain are the ASCII ones.
+ * <p>
+ * A rejected state remembers which {@link ParseError} it was rejected for and where, which is what
+ * {@link GameValidator} reports through {@link #result(long)}. Starting from {@link #STRICT_START} instead of
+ * {@link #START} turns on the extra checks the validator makes.
+ */
+public final class FastScorer {
+
+  /**
+   * Returned instead of a score when the input isn't a game {@link Game#fromString(String)} would accept. Scores are
+   * never negative.
+   */
+  public static final int INVALID = -1;
+
+  /**
+   * The state every game starts in.
+   */
+  public static final long START = 0L;
+
+  /**
+   * The state to start in to also reject what {@link Main}'s regex rejects (digits that aren't ASCII) and games that
+   * can't happen on a lane (more than 10 pins knocked down in a frame or by the bonus balls, or a spare right after a
+   * bonus strike).
+   */
+  public static final long STRICT_START = 1L << 44;
+
+  // Layout of the state. The sign bit marks a rejected game so "state < 0" is all it takes to check for it.
+  private static final int SCORE_SHIFT = 0;
+  private static final long SCORE_MASK = 0xFFFF;
+  // pending bonus multipliers for the next ball and the one after it
+  private static final int NEXT_WEIGHT_SHIFT = 16;
+  private static final int NEXT_NEXT_WEIGHT_SHIFT = 18;
+  private static final long WEIGHT_MASK = 0x3;
+  // number of frames closed by a delimiter
+  private static final int FRAMES_SHIFT = 20;
+  private static final long FRAMES_MASK = 0xF;
+  // number of characters seen in the current frame (or in the bonus balls)
+  private static final int TOKEN_SHIFT = 24;
+  private static final long TOKEN_MASK = 0x3;
+  // pins of the first ball of the current frame, or of the first bonus ball
+  private static final int FIRST_SHIFT = 26;
+  // pins of the second bonus ball
+  private static final int SECOND_SHIFT = 30;
+  private static final long PINS_MASK = 0xF;
+  private static final long STRIKE = 1L << 34;
+  private static final long DELIMITER = 1L << 35;
+  private static final long BONUS = 1L << 36;
+  private static final long MISS = 1L << 37;
+  // Number of characters accepted so far. A prefix of a valid game is never longer than 33 characters, so this can't
+  // overflow before the game is rejected.
+  private static final int POSITION_SHIFT = 38;
+  private static final long POSITION_MASK = 0x3F;
+  private static final long STRICT = STRICT_START;
+  private static final int ERROR_SHIFT = 45;
+  private static final long ERROR_MASK = 0x1F;
+  private static final long REJECTED = Long.MIN_VALUE;
+
+  private static final int NUMBER_OF_FRAMES = 10;
+  private static final int ALL_PINS = 10;
+
+  private FastScorer() {
+    // utility classes shouldn't be instantiated
+  }
+
+  /**
+   * Score a game.
+   *
+   * @param game The frames as represented as a string
+   * @return The score or {@link #INVALID}
+   */
+  public static int score(CharSequence game) {
+    return score(game, 0, game.length());
+  }
+
+  /**
+   * Score the game found between {@code start} (inclusive) and {@code end} (exclusive) of a larger sequence.
+   *
+   * @param game  A sequence containing the game
+   * @param start Index of the first character of the game
+   * @param end   Index after the last character of the game
+   * @return The score or {@link #INVALID}
+   */
+  public static int score(CharSequence game, int start, int end) {
+    long state = START;
+    for (int i = start; i < end && state >= 0; i++) {
+      state = step(state, game.charAt(i));
+    }
+    return finish(state);
+  }
+
+  /**
+   * Score the game found in a region of a char array.
+   *
+   * @param game   An array containing the game
+   * @param offset Index of the first character of the game
+   * @param length Number of characters in the game
+   * @return The score or {@link #INVALID}
+   */
+  public static int score(char[] game, int offset, int length) {
+    long state = START;
+    for (int i = offset, end = offset + length; i < end && state >= 0; i++) {
+      state = step(state, game[i]);
+    }
+    return finish(state);
+  }
+
+  /**
+   * Score the game found in a region of a byte array holding ISO-8859-1 (or plain ASCII) text.
+   *
+   * @param game   An array containing the game
+   * @param offset Index of the first byte of the game
+   * @param length Number of bytes in the game
+   * @return The score or {@link #INVALID}
+   */
+  public static int score(byte[] game, int offset, int length) {
+    long state = START;
+    for (int i = offset, end = offset + length; i < end && state >= 0; i++) {
+      state = step(state, game[i] & 0xFF);
+    }
+    return finish(state);
+  }
+
+  /**
+   * Feed one more character of a game into the state.
+   *
+   * @param state The state returned by the previous call, or {@link #START}
+   * @param c     The next character
+   * @return The new state
+   */
+  public static long step(long state, int c) {
+    if (state < 0) {
+      return state;
+    }
+    final long next = (state & BONUS) == 0 ? frameStep(state, c) : bonusStep(state, c);
+    // the position only moves on for characters that were accepted, so a rejected state knows where it went wrong
+    return next < 0 ? next : next + (1L << POSITION_SHIFT);
+  }
+
+  /**
+   * Whether the state has already seen enough to know the game is invalid. Once it has, no more characters can change
+   * that, so callers can stop feeding it.
+   *
+   * @param state A state returned by {@link #step(long, int)}
+   * @return true if the game will be rejected
+   */
+  public static boolean isRejected(long state) {
+    return state < 0;
+  }
+
+  /**
+   * Close out the game after its last character.
+   *
+   * @param state A state returned by {@link #step(long, int)}
+   * @return The score or {@link #INVALID}
+   */
+  public static int finish(long state) {
+    final long closed = close(state);
+    return closed < 0 ? INVALID : (int) closed;
+  }
+
+  /**
+   * Close out the game after its last character and report what was wrong with it, if anything.
+   *
+   * @param state A state returned by {@link #step(long, int)}
+   * @return A result to be taken apart with {@link ParseResult}
+   */
+  public static long result(long state) {
+    final long closed = close(state);
+    if (closed >= 0) {
+      return ParseResult.valid((int) closed);
+    }
+    final int frameNumber = (closed & BONUS) != 0
+        ? NUMBER_OF_FRAMES
+        : (int) field(closed, FRAMES_SHIFT, FRAMES_MASK) + 1;
+    return ParseResult.invalid((int) field(closed, ERROR_SHIFT, ERROR_MASK), frameNumber,
+        (int) field(closed, POSITION_SHIFT, POSITION_MASK));
+  }
+
+  /**
+   * @return the score, or a rejected state if the game is invalid
+   */
+  private static long close(long state) {
+    if (state < 0) {
+      return state;
+    }
+    if ((state & BONUS) == 0) {
+      // a game without "||" never makes it past the substring() calls in Game.fromString()
+      return reject(state, ParseError.MISSING_BONUS_DELIMITER);
+    }
+
+    final int firstBonusBall;
+    final int secondBonusBall;
+    switch ((int) field(state, TOKEN_SHIFT, TOKEN_MASK)) {
+      case 0 -> {
+        firstBonusBall = 0;
+        secondBonusBall = 0;
+      }
+      case 1 -> {
+        if ((state & STRIKE) != 0) {
+          // a lone "X" counts for both bonus balls
+          firstBonusBall = ALL_PINS;
+          secondBonusBall = ALL_PINS;
+        } else if ((state & MISS) != 0) {
+          // Integer.parseInt("-") fails for a single bonus character
+          return reject(state - (1L << POSITION_SHIFT), ParseError.INVALID_CHARACTER);
+        } else {
+          firstBonusBall = (int) field(state, FIRST_SHIFT, PINS_MASK);
+          secondBonusBall = 0;
+        }
+      }
+      default -> {
+        firstBonusBall = (int) field(state, FIRST_SHIFT, PINS_MASK);
+        secondBonusBall = (int) field(state, SECOND_SHIFT, PINS_MASK);
+      }
+    }
+
+    return field(state, SCORE_SHIFT, SCORE_MASK)
+        + field(state, NEXT_WEIGHT_SHIFT, WEIGHT_MASK) * firstBonusBall
+        + field(state, NEXT_NEXT_WEIGHT_SHIFT, WEIGHT_MASK) * secondBonusBall;
+  }
+
+  /**
+   * Parse one of the characters in front of the "||". This follows {@link FrameFactory#from(String, int)}.
+   */
+  private static long frameStep(long state, int c) {
+    final long token = field(state, TOKEN_SHIFT, TOKEN_MASK);
+    final long frames = field(state, FRAMES_SHIFT, FRAMES_MASK);
+
+    if (c == '|') {
+      if (token == 0) {
+        // Either the second half of "||" or a frame without any characters. Only the first is allowed, and only after
+        // the tenth frame.
+        if ((state & DELIMITER) == 0) {
+          return reject(state, ParseError.EMPTY_FRAME);
+        }
+        return frames == NUMBER_OF_FRAMES ? (state | BONUS) & ~DELIMITER : reject(state, ParseError.TOO_FEW_FRAMES);
+      }
+      if (token == 1 && (state & STRIKE) == 0) {
+        // the only frame with one character is a strike
+        return reject(state, ParseError.ONE_CHARACTER_FRAME);
+      }
+      long closed = withField(state, FRAMES_SHIFT, FRAMES_MASK, frames + 1);
+      return withField(closed, TOKEN_SHIFT, TOKEN_MASK, 0) & ~STRIKE | DELIMITER;
+    }
+
+    final long next = state & ~DELIMITER;
+    if (token == 0) {
+      if (frames == NUMBER_OF_FRAMES) {
+        return reject(next, ParseError.TOO_MANY_FRAMES);
+      }
+      final long opened = withField(next, TOKEN_SHIFT, TOKEN_MASK, 1);
+      if (c == 'X') {
+        long rolled = addToScore(roll(opened, ALL_PINS), ALL_PINS);
+        return addWeights(rolled, 1, 1) | STRIKE;
+      }
+      if (c == '/') {
+        return reject(next, ParseError.SPARE_ON_FIRST_BALL);
+      }
+      final int pins = c == '-' ? 0 : digit(next, c);
+      return pins < 0
+          ? reject(next, ParseError.INVALID_CHARACTER)
+          : withField(roll(opened, pins), FIRST_SHIFT, PINS_MASK, pins);
+    } else if (token == 1 && (next & STRIKE) == 0) {
+      final int firstBall = (int) field(next, FIRST_SHIFT, PINS_MASK);
+      final int secondBall = switch (c) {
+        case '/' -> ALL_PINS - firstBall;
+        case '-' -> 0;
+        case 'X' -> -1;
+        default -> digit(next, c);
+      };
+      if (secondBall < 0) {
+        return reject(next, c == 'X' ? ParseError.STRIKE_ON_SECOND_BALL : ParseError.INVALID_CHARACTER);
+      }
+      if ((next & STRICT) != 0 && firstBall + secondBall > ALL_PINS) {
+        return reject(next, ParseError.FRAME_PIN_TOTAL);
+      }
+      long rolled = addToScore(withField(roll(next, secondBall), TOKEN_SHIFT, TOKEN_MASK, 2), firstBall + secondBall);
+      // TwoBallFrame treats any frame adding up to ten as a spare, not only the ones written with a "/"
+      return firstBall + secondBall == ALL_PINS ? addWeights(rolled, 1, 0) : rolled;
+    } else {
+      // a third character in a frame, or a second one after an "X"
+      return reject(next, ParseError.TOO_MANY_CHARACTERS);
+    }
+  }
+
+  /**
+   * Parse one of the characters after the "||". This follows {@link FrameFactory#fromBonus(String)}, quirks included.
+   * The bonus balls are only added to the score in {@link #finish(long)} because a second character can still change
+   * what the first one was worth.
+   */
+  private static long bonusStep(long state, int c) {
+    final long token = field(state, TOKEN_SHIFT, TOKEN_MASK);
+    if (token == 0) {
+      final long opened = withField(state, TOKEN_SHIFT, TOKEN_MASK, 1);
+      return switch (c) {
+        case 'X' -> withField(opened, FIRST_SHIFT, PINS_MASK, ALL_PINS) | STRIKE;
+        case '-' -> withField(opened, FIRST_SHIFT, PINS_MASK, 0) | MISS;
+        case '/' -> reject(state, ParseError.SPARE_ON_FIRST_BALL);
+        default -> {
+          final int pins = digit(state, c);
+          yield pins < 0 ? reject(state, ParseError.INVALID_CHARACTER) : withField(opened, FIRST_SHIFT, PINS_MASK, pins);
+        }
+      };
+    } else if (token == 1) {
+      final long closed = withField(state, TOKEN_SHIFT, TOKEN_MASK, 2);
+      final int firstBall = (int) field(state, FIRST_SHIFT, PINS_MASK);
+      final boolean strict = (state & STRICT) != 0;
+      return switch (c) {
+        // after a strike the rack is fresh again, and nobody spares the first ball of a rack
+        case '/' -> strict && firstBall == ALL_PINS
+            ? reject(state, ParseError.SPARE_ON_FIRST_BALL)
+            : withField(closed, SECOND_SHIFT, PINS_MASK, ALL_PINS - firstBall);
+        case '-' -> withField(closed, SECOND_SHIFT, PINS_MASK, 0);
+        // A strike on the second bonus ball makes both of them strikes. It can only really happen after a strike.
+        case 'X' -> strict && firstBall != ALL_PINS
+            ? reject(state, ParseError.BONUS_PIN_TOTAL)
+            : withField(withField(closed, FIRST_SHIFT, PINS_MASK, ALL_PINS), SECOND_SHIFT, PINS_MASK, ALL_PINS);
+        default -> {
+          final int pins = digit(state, c);
+          if (pins < 0) {
+            yield reject(state, ParseError.INVALID_CHARACTER);
+          } else if (strict && firstBall != ALL_PINS && firstBall + pins > ALL_PINS) {
+            yield reject(state, ParseError.BONUS_PIN_TOTAL);
+          } else {
+            yield withField(closed, SECOND_SHIFT, PINS_MASK, pins);
+          }
+        }
+      };
+    } else {
+      return reject(state, ParseError.TOO_MANY_BONUS_BALLS);
+    }
+  }
+
+  /**
+   * The value Integer.parseInt() would give a single character, or -1 if it would throw. Like parseInt(), this
+   * accepts digits from any script, unless the state is strict.
+   */
+  private static int digit(long state, int c) {
+    final int value;
+    if (c >= '0' && c <= '9') {
+      value = c - '0';
+    } else if (c < 128 || (state & STRICT) != 0) {
+      value = -1;
+    } else {
+      value = Character.digit(c, 10);
+    }
+    return value;
+  }
+
+  private static long reject(long state, ParseError error) {
+    return withField(state, ERROR_SHIFT, ERROR_MASK, error.getCode()) | REJECTED;
+  }
+
+  /**
+   * Pay out whatever earlier strikes and spares are owed for this ball and move the pending bonuses up by one ball.
+   */
+  private static long roll(long state, int pins) {
+    final long nextWeight = field(state, NEXT_WEIGHT_SHIFT, WEIGHT_MASK);
+    final long nextNextWeight = field(state, NEXT_NEXT_WEIGHT_SHIFT, WEIGHT_MASK);
+    final long paid = addToScore(state, (int) (nextWeight * pins));
+    return withField(withField(paid, NEXT_WEIGHT_SHIFT, WEIGHT_MASK, nextNextWeight), NEXT_NEXT_WEIGHT_SHIFT,
+        WEIGHT_MASK, 0);
+  }
+
+  private static long addWeights(long state, int next, int nextNext) {
+    final long nextWeight = field(state, NEXT_WEIGHT_SHIFT, WEIGHT_MASK) + next;
+    final long nextNextWeight = field(state, NEXT_NEXT_WEIGHT_SHIFT, WEIGHT_MASK) + nextNext;
+    return withField(withField(state, NEXT_WEIGHT_SHIFT, WEIGHT_MASK, nextWeight), NEXT_NEXT_WEIGHT_SHIFT, WEIGHT_MASK,
+        nextNextWeight);
+  }
+
+  private static long addToScore(long state, int points) {
+    return withField(state, SCORE_SHIFT, SCORE_MASK, field(state, SCORE_SHIFT, SCORE_MASK) + points);
+  }
+
+  private static long field(long state, int shift, long mask) {
+    return (state >>> shift) & mask;
+  }
+
+  private static long withField(long state, int shift, long mask, long value) {
+    return (state & ~(mask << shift)) | ((value & mask) << shift);
+  }
+
+}
@@ -1,11 +1,13 @@
 package com.adamkoch.bowling;
 
 import com.adamkoch.bowling.exceptions.InvalidInputException;
+import com.adamkoch.bowling.metrics.ScoringMetrics;
 import com.adamkoch.bowling.vos.BonusBalls;
 import com.adamkoch.bowling.vos.Frame;
 import com.adamkoch.bowling.vos.OneBallFrame;
 import com.adamkoch.bowling.vos.TwoBallFrame;
 
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -14,6 +16,9 @@ import java.util.Objects;
  * the actual instantiation.
  * <p>
  * This class is used to parse the input into a frame or the bonus balls.
+ * <p>
+ * Frames and bonus balls are immutable, and there are only so many different ones, so every one of them is created
+ * once up front and handed out from a table after that. Parsing a game doesn't create any frames.
  */
 public final class FrameFactory {
 
@@ -21,9 +26,36 @@ public final class FrameFactory {
   private static final String FIRST_BALL_SPARE_ERROR_MSG = "You can't get a spare on the first ball in a frame";
 
   // These could be public if they were used by other classes. But if that was the case it should be in a different class.
-  private static final String STRIKE_SYMBOL = "X";
-  private static final String SPARE_SYMBOL = "/";
-  private static final String MISS_SYMBOL = "-";
+  // Other notations are translated to these by com.adamkoch.bowling.notation.Notation.
+  private static final char STRIKE_SYMBOL = 'X';
+  private static final char SPARE_SYMBOL = '/';
+  private static final char MISS_SYMBOL = '-';
+
+  private static final int NUMBER_OF_FRAMES = 10;
+  private static final int ALL_PINS = 10;
+
+  // [frame number - 1]
+  private static final OneBallFrame[] STRIKES = new OneBallFrame[NUMBER_OF_FRAMES];
+  // [frame number - 1][first ball][second ball]. The first ball of a two ball frame is never a strike.
+  private static final TwoBallFrame[][][] TWO_BALL_FRAMES = new TwoBallFrame[NUMBER_OF_FRAMES][ALL_PINS][ALL_PINS + 1];
+  // [first ball][second ball]
+  private static final BonusBalls[][] BONUS_BALLS = new BonusBalls[ALL_PINS + 1][ALL_PINS + 1];
+
+  static {
+    for (int frame = 0; frame < NUMBER_OF_FRAMES; frame++) {
+      STRIKES[frame] = new OneBallFrame(frame + 1);
+      for (int first = 0; first < ALL_PINS; first++) {
+        for (int second = 0; second <= ALL_PINS; second++) {
+          TWO_BALL_FRAMES[frame][first][second] = new TwoBallFrame(first, second, frame + 1);
+        }
+      }
+    }
+    for (int first = 0; first <= ALL_PINS; first++) {
+      for (int second = 0; second <= ALL_PINS; second++) {
+        BONUS_BALLS[first][second] = new BonusBalls(first, second);
+      }
+    }
+  }
 
   private FrameFactory() {
     // utility classes shouldn't be instantiated
@@ -35,94 +67,217 @@ public final class FrameFactory {
    *
    * @param singleFrameString A string representation of a frame
    * @param frameNumber       Which frame in the game this particular frame is for
-   * @return A frame
+   * @return A frame, shared with every other game that has the same frame
    * @throws NumberFormatException In cases the initial validation is bypassed and this method is called directly in a
    *                               different context, there's the possibility we try to parse something that isn't an
    *                               integer. In these cases a NumberFormatException is thrown
    * @throws InvalidInputException This is thrown in the unlikely cases our initial validation didn't catch everything
    */
   public static Frame from(String singleFrameString, int frameNumber) {
+    if (!ScoringMetrics.ENABLED) {
+      return parseFrame(singleFrameString, frameNumber);
+    }
+    long start = System.nanoTime();
+    Frame frame = parseFrame(singleFrameString, frameNumber);
+    ScoringMetrics.frameParsed(System.nanoTime() - start);
+    return frame;
+  }
+
+  private static Frame parseFrame(String singleFrameString, int frameNumber) {
     Objects.requireNonNull(singleFrameString,
         "Received a null for a single frame. I'm not sure how this happened as the split() method would've " +
             "returned an empty string and not a null");
 
     if (singleFrameString.isEmpty()) {
-      throw new InvalidInputException("Player has an unscored frame");
+      throw new InvalidInputException(ParseError.EMPTY_FRAME, "Player has an unscored frame");
     } else if (singleFrameString.length() == 1) {
-      if (singleFrameString.equals(STRIKE_SYMBOL)) {
-        return new OneBallFrame(frameNumber);
+      if (singleFrameString.charAt(0) == STRIKE_SYMBOL) {
+        return strike(frameNumber);
       } else {
-        throw new InvalidInputException(
+        throw new InvalidInputException(ParseError.ONE_CHARACTER_FRAME,
             "Expected a frame with one character to be \"X\" but it was " + singleFrameString);
       }
     } else if (singleFrameString.length() > 2) {
-      throw new InvalidInputException(EXCESS_DATA_ERROR_MESSAGE + singleFrameString);
+      throw new InvalidInputException(ParseError.TOO_MANY_CHARACTERS, EXCESS_DATA_ERROR_MESSAGE + singleFrameString);
     } else {
-      String firstThrow = singleFrameString.substring(0, 1);
+      char firstThrow = singleFrameString.charAt(0);
 
       // I've been waiting for a chance to use switch expressions. We're still on Java 8 at work.
       int numOfPinsOnFirstBall = switch (firstThrow) {
-        case SPARE_SYMBOL -> throw new InvalidInputException(FIRST_BALL_SPARE_ERROR_MSG);
+        case SPARE_SYMBOL ->
+            throw new InvalidInputException(ParseError.SPARE_ON_FIRST_BALL, FIRST_BALL_SPARE_ERROR_MSG);
         case MISS_SYMBOL -> 0;
         // this could produce a NumberFormatException if this was called directly (bypassed my regex)
-        default -> Integer.parseInt(firstThrow);
+        default -> pinsOf(firstThrow);
       };
 
-      String secondThrow = singleFrameString.substring(1, 2);
+      char secondThrow = singleFrameString.charAt(1);
       return switch (secondThrow) {
-        case SPARE_SYMBOL -> new TwoBallFrame(numOfPinsOnFirstBall, 10 - numOfPinsOnFirstBall, frameNumber);
-        case MISS_SYMBOL -> new TwoBallFrame(numOfPinsOnFirstBall, 0, frameNumber);
-        case STRIKE_SYMBOL -> throw new InvalidInputException("A strike from the second ball in a frame isn't possible");
+        case SPARE_SYMBOL -> twoBallFrame(numOfPinsOnFirstBall, 10 - numOfPinsOnFirstBall, frameNumber);
+        case MISS_SYMBOL -> twoBallFrame(numOfPinsOnFirstBall, 0, frameNumber);
+        case STRIKE_SYMBOL -> throw new InvalidInputException(ParseError.STRIKE_ON_SECOND_BALL,
+            "A strike from the second ball in a frame isn't possible");
         // this could produce a NumberFormatException if this was called directly (bypassed my regex)
-        default -> new TwoBallFrame(numOfPinsOnFirstBall, Integer.parseInt(secondThrow), frameNumber);
+        default -> twoBallFrame(numOfPinsOnFirstBall, pinsOf(secondThrow), frameNumber);
       };
     }
   }
 
+  /**
+   * Get the strike for a frame.
+   *
+   * @param frameNumber Which frame in the game this particular frame is for
+   * @return the shared instance for frames 1 through 10, a new one for any other frame number
+   */
+  public static OneBallFrame strike(int frameNumber) {
+    return frameNumber >= 1 && frameNumber <= NUMBER_OF_FRAMES
+        ? STRIKES[frameNumber - 1]
+        : new OneBallFrame(frameNumber);
+  }
+
+  /**
+   * Get the frame for two balls. A spare is simply two balls that add up to 10.
+   *
+   * @param firstBallPins  Pins knocked down by the first ball, 0 through 9
+   * @param secondBallPins Pins knocked down by the second ball, 0 through 10
+   * @param frameNumber    Which frame in the game this particular frame is for
+   * @return the shared instance for frames 1 through 10, a new one for any other frame number
+   */
+  public static TwoBallFrame twoBallFrame(int firstBallPins, int secondBallPins, int frameNumber) {
+    return frameNumber >= 1 && frameNumber <= NUMBER_OF_FRAMES
+        && firstBallPins >= 0 && firstBallPins < ALL_PINS && secondBallPins >= 0 && secondBallPins <= ALL_PINS
+        ? TWO_BALL_FRAMES[frameNumber - 1][firstBallPins][secondBallPins]
+        : new TwoBallFrame(firstBallPins, secondBallPins, frameNumber);
+  }
+
+  /**
+   * Get the bonus balls.
+   *
+   * @param firstBallPins  Pins knocked down by the first bonus ball, 0 through 10
+   * @param secondBallPins Pins knocked down by the second bonus ball, 0 through 10
+   * @return the shared instance
+   */
+  public static BonusBalls bonusBalls(int firstBallPins, int secondBallPins) {
+    return firstBallPins >= 0 && firstBallPins <= ALL_PINS && secondBallPins >= 0 && secondBallPins <= ALL_PINS
+        ? BONUS_BALLS[firstBallPins][secondBallPins]
+        : new BonusBalls(firstBallPins, secondBallPins);
+  }
+
+  /**
+   * Rebuild the frames of a game packed by {@link PackedGame}. A first ball of 10 is a strike, anything else takes two
+   * balls.
+   *
+   * @param low  the low long of a packed game
+   * @param high the high long of a packed game
+   * @return the ten frames, shared with every other game that has the same frames
+   * @throws IllegalArgumentException if a ball knocked down more than 10 pins, which means the longs weren't a packed
+   *                                  game
+   */
+  public static List<Frame> framesFrom(long low, long high) {
+    Frame[] frames = new Frame[NUMBER_OF_FRAMES];
+    int ball = 0;
+    for (int frame = 0; frame < NUMBER_OF_FRAMES; frame++) {
+      int first = packedBall(low, high, ball++);
+      if (first == ALL_PINS) {
+        frames[frame] = strike(frame + 1);
+      } else {
+        frames[frame] = twoBallFrame(first, packedBall(low, high, ball++), frame + 1);
+      }
+    }
+    return List.of(frames);
+  }
+
+  /**
+   * Rebuild the bonus balls of a game packed by {@link PackedGame}. They're the two balls after the tenth frame.
+   *
+   * @param low  the low long of a packed game
+   * @param high the high long of a packed game
+   * @return A BonusBalls object, shared with every other game that has the same bonus balls
+   * @throws IllegalArgumentException if a ball knocked down more than 10 pins, which means the longs weren't a packed
+   *                                  game
+   */
+  public static BonusBalls bonusFrom(long low, long high) {
+    int ball = PackedGame.ballCount(low, high) - 2;
+    return bonusBalls(packedBall(low, high, ball), packedBall(low, high, ball + 1));
+  }
+
+  private static int packedBall(long low, long high, int index) {
+    int pins = PackedGame.ball(low, high, index);
+    if (pins > ALL_PINS) {
+      throw new IllegalArgumentException("Ball " + (index + 1) + " of a packed game knocked down " + pins + " pins");
+    }
+    return pins;
+  }
+
   /**
    * Create an object for the 0, 1 or 2 bonus balls after the tenth frame.
    *
    * @param bonus A string representation of the number of pins knocked down
-   * @return A BonusBalls object
+   * @return A BonusBalls object, shared with every other game that has the same bonus balls
    * @throws NumberFormatException In cases the initial validation is bypassed and this method is called directly in a
    *                               different context, there's the possibility we try to parse something that isn't an
    *                               integer. In these cases a NumberFormatException is thrown
    * @throws InvalidInputException This is thrown in the unlikely cases our initial validation didn't catch everything
    */
   public static BonusBalls fromBonus(String bonus) {
+    if (!ScoringMetrics.ENABLED) {
+      return parseBonus(bonus);
+    }
+    long start = System.nanoTime();
+    BonusBalls bonusBalls = parseBonus(bonus);
+    ScoringMetrics.bonusParsed(System.nanoTime() - start);
+    return bonusBalls;
+  }
+
+  private static BonusBalls parseBonus(String bonus) {
     Objects.requireNonNull(bonus, "Received a null for the bonus balls");
 
     if (bonus.isEmpty()) {
       // even if there is nothing after the "||" we need something in case the tenth frame was a strike
-      return new BonusBalls(0, 0);
+      return bonusBalls(0, 0);
     } else if (bonus.length() == 1) {
-      if (bonus.equals(STRIKE_SYMBOL)) {
-        return new BonusBalls(10, 10);
+      if (bonus.charAt(0) == STRIKE_SYMBOL) {
+        return bonusBalls(10, 10);
       } else {
-        return new BonusBalls(Integer.parseInt(bonus), 0);
+        return bonusBalls(pinsOf(bonus.charAt(0)), 0);
       }
     } else if (bonus.length() > 2) {
-      throw new InvalidInputException(EXCESS_DATA_ERROR_MESSAGE + bonus);
+      throw new InvalidInputException(ParseError.TOO_MANY_BONUS_BALLS, EXCESS_DATA_ERROR_MESSAGE + bonus);
     } else {
 
-      String firstThrow = bonus.substring(0, 1);
+      char firstThrow = bonus.charAt(0);
       int numOfPinsOnFirstBall = switch (firstThrow) {
-        case SPARE_SYMBOL -> throw new InvalidInputException(FIRST_BALL_SPARE_ERROR_MSG);
+        case SPARE_SYMBOL ->
+            throw new InvalidInputException(ParseError.SPARE_ON_FIRST_BALL, FIRST_BALL_SPARE_ERROR_MSG);
         case MISS_SYMBOL -> 0;
         case STRIKE_SYMBOL -> 10;
         // this could produce a NumberFormatException if this was called directly (bypassed my regex)
-        default -> Integer.parseInt(firstThrow);
+        default -> pinsOf(firstThrow);
       };
 
-      String secondThrow = bonus.substring(1, 2);
+      char secondThrow = bonus.charAt(1);
       return switch (secondThrow) {
-        case SPARE_SYMBOL -> new BonusBalls(numOfPinsOnFirstBall, 10 - numOfPinsOnFirstBall);
-        case MISS_SYMBOL -> new BonusBalls(numOfPinsOnFirstBall, 0);
-        case STRIKE_SYMBOL -> new BonusBalls(10, 10);
+        case SPARE_SYMBOL -> bonusBalls(numOfPinsOnFirstBall, 10 - numOfPinsOnFirstBall);
+        case MISS_SYMBOL -> bonusBalls(numOfPinsOnFirstBall, 0);
+        case STRIKE_SYMBOL -> bonusBalls(10, 10);
         // this could produce a NumberFormatException if this was called directly (bypassed my regex)
-        default -> new BonusBalls(numOfPinsOnFirstBall, Integer.parseInt(secondThrow));
+        default -> bonusBalls(numOfPinsOnFirstBall, pinsOf(secondThrow));
       };
     }
   }
 
+  /**
+   * What {@code Integer.parseInt} makes of a single character, without making a String of it first. Like parseInt,
+   * this takes digits from any script.
+   *
+   * @throws NumberFormatException if the character isn't a digit
+   */
+  private static int pinsOf(char ball) {
+    int pins = Character.digit(ball, 10);
+    if (pins < 0) {
+      throw new NumberFormatException("For input string: \"" + ball + "\"");
+    }
+    return pins;
+  }
+
 }
\ No newline at end of file
@@ -1,12 +1,17 @@
 package com.adamkoch.bowling;
 
+import com.adamkoch.bowling.exceptions.InvalidInputException;
+import com.adamkoch.bowling.metrics.ScoringMetrics;
+import com.adamkoch.bowling.vos.Ball;
 import com.adamkoch.bowling.vos.BonusBalls;
 import com.adamkoch.bowling.vos.Frame;
-import lombok.EqualsAndHashCode;
+import com.adamkoch.bowling.vos.OneBallFrame;
+import com.adamkoch.bowling.vos.TwoBallFrame;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
@@ -15,19 +20,44 @@ import java.util.stream.Collectors;
  * the Main class for command line access and as a way to pass in a string representation of a game.
  * <p>
  * See INSTURCTIONS.md
+ * <p>
+ * A game never changes once it's built. The frames and balls don't know about each other; the game keeps the pins of
+ * every ball in order and hands each frame the balls that follow it when scoring. That's what lets
+ * {@link FrameFactory} share frames between games and lets a game be passed to other threads.
+ * <p>
+ * Two games are equal when they have the same frames and bonus balls. A game of ten numbered frames, which is every
+ * game that was parsed or unpacked, is really just its balls in order, so it keeps them packed in two longs and
+ * comparing or hashing it doesn't look at the frames at all.
  */
-@EqualsAndHashCode
 public class Game {
 
   private static final String BONUS_BALLS_DELIMITER = "||";
   private static final String FRAME_DELIMITER = "|";
+  private static final int NUMBER_OF_FRAMES = 10;
 
   private final List<? extends Frame> frames;
   private final BonusBalls bonusBalls;
 
-  // originally wanted a statistics object that could hold things such as number of turkeys, but decided not to
+  // The pins of every ball in the order they were bowled, the two bonus balls last. This is what used to be done by
+  // linking each ball to the next one.
+  private final int[] rolls;
+
+  // The balls packed by PackedGame, 0 for a game that doesn't have ten frames. When the game is canonical, its frames
+  // are exactly what FrameFactory would make from these balls and two canonical games are equal when these are.
+  private final long packedLow;
+  private final long packedHigh;
+  private final boolean canonical;
+  private final int hash;
+
+  // originally wanted a statistics object that could hold things such as number of turkeys; that's
+  // com.adamkoch.bowling.stats.GameStatistics now, which counts while it scores.
+  // Filled in along with cumulativeScores. Neither one is part of what makes two games equal.
   private int score;
 
+  // The running total after each frame, worked out the first time a score is asked for. Volatile so a game can be
+  // handed to other threads: whoever sees the array also sees the score that was written before it.
+  private volatile int[] cumulativeScores;
+
   /**
    * Constructor that takes in a list of Frame objects and a BonusBalls object. If you want to convert a string to a
    * Game, see {@link Main#oneStep(String)}.
@@ -38,10 +68,37 @@ public class Game {
    * @param bonusBalls Bonus balls awarded
    */
   public Game(List<? extends Frame> frames, BonusBalls bonusBalls) {
-    this.frames = Collections.unmodifiableList(frames);
+    if (frames.isEmpty()) {
+      throw new InvalidInputException("A game needs at least one frame");
+    }
+    // a copy so no one can change the frames of a game that might already be shared
+    this.frames = List.copyOf(frames);
     this.bonusBalls = bonusBalls;
+    this.rolls = rollsOf(this.frames, bonusBalls);
+    boolean packable = this.frames.size() == NUMBER_OF_FRAMES;
+    this.packedLow = packable ? PackedGame.low(rolls, rolls.length) : 0;
+    this.packedHigh = packable ? PackedGame.high(rolls, rolls.length) : 0;
+    this.canonical = packable && bonusBalls != null && isNumberedInOrder(this.frames);
+    this.hash = canonical
+        ? Long.hashCode(packedLow * 31 + packedHigh)
+        : this.frames.hashCode() * 31 + Objects.hashCode(bonusBalls);
+  }
 
-    linkBalls();
+  /**
+   * Whether the frames are plain strikes and two ball frames numbered 1 on up, and every frame with a 10 on the first
+   * ball is a strike, which is how {@link FrameFactory} makes them. Frames built by hand might not be, and then the
+   * balls alone don't say what the frames were.
+   */
+  private static boolean isNumberedInOrder(List<? extends Frame> frames) {
+    for (int i = 0; i < frames.size(); i++) {
+      Frame frame = frames.get(i);
+      boolean strike = frame.getClass() == OneBallFrame.class;
+      boolean twoBalls = frame.getClass() == TwoBallFrame.class && frame.getFirstBall().getPinsKnockedDown() != 10;
+      if (!(strike || twoBalls) || ((OneBallFrame) frame).getFrameNumber() != i + 1) {
+        return false;
+      }
+    }
+    return true;
   }
 
   /**
@@ -53,6 +110,21 @@ public class Game {
    * @return A Game object ready to be scored.
    */
   public static Game fromString(String frameString) {
+    if (!ScoringMetrics.ENABLED) {
+      return parse(frameString);
+    }
+    long start = System.nanoTime();
+    try {
+      Game game = parse(frameString);
+      ScoringMetrics.gameParsed(System.nanoTime() - start);
+      return game;
+    } catch (RuntimeException e) {
+      ScoringMetrics.invalidInput(e);
+      throw e;
+    }
+  }
+
+  private static Game parse(String frameString) {
     // each frame is split by a pipe ("|")
     // Let's take off that "||" at the end which messes with my split()
     String bonus = frameString.substring(frameString.indexOf(BONUS_BALLS_DELIMITER) + 2);
@@ -76,30 +148,170 @@ public class Game {
   }
 
   /**
-   * Internally link the balls so we can score later.
+   * Rebuild a game from the two longs of {@link PackedGame}.
+   *
+   * @param low  the low long of a packed game
+   * @param high the high long of a packed game
+   * @return A Game object ready to be scored
+   * @throws IllegalArgumentException if the longs weren't a packed game
+   */
+  public static Game fromPacked(long low, long high) {
+    return new Game(FrameFactory.framesFrom(low, high), FrameFactory.bonusFrom(low, high));
+  }
+
+  /**
+   * Put the balls in order so we can score later. Missing bonus balls count as balls that didn't knock anything down.
    * <p>
    * A more sophisticated version of this application could create a container for the frames instead of just a list of
-   * them and handle linking differently.
+   * them and handle this differently.
    */
-  private void linkBalls() {
-    int framesSize = frames.size();
-    for (int i = 0; i < framesSize - 1; i++) {
-      frames.get(i).setNextBall(frames.get(i + 1).getFirstBall());
+  private static int[] rollsOf(List<? extends Frame> frames, @Nullable BonusBalls bonusBalls) {
+    int[] rolls = new int[frames.size() * 2 + 2];
+    int ball = 0;
+    for (Frame frame : frames) {
+      rolls[ball++] = frame.getFirstBall().getPinsKnockedDown();
+      Ball secondBall = frame.getSecondBall();
+      if (secondBall != null) {
+        rolls[ball++] = secondBall.getPinsKnockedDown();
+      }
     }
-    Frame tenthFrame = frames.get(framesSize - 1);
     if (bonusBalls != null) {
-      tenthFrame.setNextBall(bonusBalls.getFirstBall());
+      rolls[ball++] = pinsOf(bonusBalls.getFirstBall());
+      rolls[ball++] = pinsOf(bonusBalls.getSecondBall());
+    } else {
+      ball += 2;
     }
+    return Arrays.copyOf(rolls, ball);
+  }
+
+  private static int pinsOf(@Nullable Ball ball) {
+    return ball == null ? 0 : ball.getPinsKnockedDown();
   }
 
   /**
    * Returns the score for this game. Note: a game is currently only implemented for one player. Which makes it a
    * lonely game if you ask me.
+   * <p>
+   * The frames are only scored the first time. After that this just returns the total.
    *
    * @return the score for this game
    */
   public int calculateScore() {
-    return frames.stream().mapToInt(Frame::calculateScore).sum();
+    int[] totals = cumulativeScores();
+    return totals.length == 0 ? 0 : totals[totals.length - 1];
+  }
+
+  /**
+   * The running total after a frame, like the bottom row of a score sheet.
+   *
+   * @param frameNumber 1 for the first frame
+   * @return the total of that frame and every frame before it
+   */
+  public int scoreThroughFrame(int frameNumber) {
+    int[] totals = cumulativeScores();
+    if (frameNumber < 1 || frameNumber > totals.length) {
+      throw new IllegalArgumentException(
+          "A frame number is 1 through " + totals.length + " but it was " + frameNumber);
+    }
+    return totals[frameNumber - 1];
+  }
+
+  /**
+   * The points scored in a single frame, bonus balls included.
+   *
+   * @param frameNumber 1 for the first frame
+   * @return the score of just that frame
+   */
+  public int frameScore(int frameNumber) {
+    return frameNumber == 1 ? scoreThroughFrame(1) : scoreThroughFrame(frameNumber) - scoreThroughFrame(frameNumber - 1);
+  }
+
+  /**
+   * The running total after every frame. This is a copy, so {@link #scoreThroughFrame(int)} is the better choice for
+   * code that asks over and over.
+   *
+   * @return one total per frame, first frame first
+   */
+  public int[] getCumulativeScores() {
+    return cumulativeScores().clone();
+  }
+
+  private int[] cumulativeScores() {
+    int[] totals = cumulativeScores;
+    if (totals == null) {
+      long start = ScoringMetrics.ENABLED ? System.nanoTime() : 0;
+      // Two threads might both get here. They'd work out the same numbers, so it doesn't matter which array wins.
+      totals = new int[frames.size()];
+      int runningTotal = 0;
+      int ball = 0;
+      for (int i = 0; i < totals.length; i++) {
+        Frame frame = frames.get(i);
+        ball += frame.getSecondBall() == null ? 1 : 2;
+        runningTotal += frame.calculateScore(rolls[ball], rolls[ball + 1]);
+        totals[i] = runningTotal;
+      }
+      score = runningTotal;
+      cumulativeScores = totals;
+      if (ScoringMetrics.ENABLED) {
+        ScoringMetrics.gameScored(runningTotal, System.nanoTime() - start);
+      }
+    }
+    return totals;
+  }
+
+  /**
+   * The first half of this game packed by {@link PackedGame}.
+   *
+   * @return the first 16 balls, four bits each
+   * @throws IllegalStateException if the game doesn't have exactly ten frames
+   */
+  public long getPackedLow() {
+    checkPackable();
+    return packedLow;
+  }
+
+  /**
+   * The second half of this game packed by {@link PackedGame}.
+   *
+   * @return the balls after the first 16, four bits each
+   * @throws IllegalStateException if the game doesn't have exactly ten frames
+   */
+  public long getPackedHigh() {
+    checkPackable();
+    return packedHigh;
+  }
+
+  private void checkPackable() {
+    if (frames.size() != NUMBER_OF_FRAMES) {
+      throw new IllegalStateException("Only a game of 10 frames can be packed but this one has " + frames.size());
+    }
+  }
+
+  /**
+   * Compares the packed balls when both games are canonical, and the frames and bonus balls otherwise. A canonical
+   * game is never equal to one that isn't: they'd differ in the number of frames, a frame number or a frame's type.
+   */
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof Game)) {
+      return false;
+    }
+    Game other = (Game) o;
+    if (canonical || other.canonical) {
+      return canonical == other.canonical && packedLow == other.packedLow && packedHigh == other.packedHigh;
+    }
+    return hash == other.hash && frames.equals(other.frames) && Objects.equals(bonusBalls, other.bonusBalls);
+  }
+
+  /**
+   * Worked out once when the game is built.
+   */
+  @Override
+  public int hashCode() {
+    return hash;
   }
 
   @Override
@@ -0,0 +1,81 @@
+package com.adamkoch.bowling;
+
+/**
+ * Validates and scores the string representation of a game without throwing. Every game comes back as a
+ * {@link ParseResult}: either the score, or the {@link ParseError} with the offset of the character and the frame where
+ * it was found. Bad input costs no more than good input, so a batch with lots of malformed lines doesn't slow down.
+ * <p>
+ * This rejects everything {@link Main}'s regex and the parser in {@link FrameFactory} reject, and also games that
+ * can't happen on a lane: a frame where more than 10 pins were knocked down, bonus balls that knock down more pins
+ * than were standing, or a spare on the fresh rack after a bonus strike. Bonus balls after an open tenth frame are still accepted and ignored, like in the README.
+ * <p>
+ * Bytes are read as ISO-8859-1.
+ */
+public final class GameValidator {
+
+  private GameValidator() {
+    // utility classes shouldn't be instantiated
+  }
+
+  /**
+   * Validate and score a game.
+   *
+   * @param game The frames as represented as a string
+   * @return a result to be taken apart with {@link ParseResult}
+   */
+  public static long validate(CharSequence game) {
+    return validate(game, 0, game.length());
+  }
+
+  /**
+   * Validate and score the game found between {@code start} (inclusive) and {@code end} (exclusive) of a larger
+   * sequence. Offsets in the result are relative to {@code start}.
+   *
+   * @param game  A sequence containing the game
+   * @param start Index of the first character of the game
+   * @param end   Index after the last character of the game
+   * @return a result to be taken apart with {@link ParseResult}
+   */
+  public static long validate(CharSequence game, int start, int end) {
+    long state = FastScorer.STRICT_START;
+    for (int i = start; i < end && state >= 0; i++) {
+      state = FastScorer.step(state, game.charAt(i));
+    }
+    return FastScorer.result(state);
+  }
+
+  /**
+   * Validate and score the game found in a region of a char array. Offsets in the result are relative to
+   * {@code offset}.
+   *
+   * @param game   An array containing the game
+   * @param offset Index of the first character of the game
+   * @param length Number of characters in the game
+   * @return a result to be taken apart with {@link ParseResult}
+   */
+  public static long validate(char[] game, int offset, int length) {
+    long state = FastScorer.STRICT_START;
+    for (int i = offset, end = offset + length; i < end && state >= 0; i++) {
+      state = FastScorer.step(state, game[i]);
+    }
+    return FastScorer.result(state);
+  }
+
+  /**
+   * Validate and score the game found in a region of a byte array. Offsets in the result are relative to
+   * {@code offset}.
+   *
+   * @param game   An array containing the game
+   * @param offset Index of the first byte of the game
+   * @param length Number of bytes in the game
+   * @return a result to be taken apart with {@link ParseResult}
+   */
+  public static long validate(byte[] game, int offset, int length) {
+    long state = FastScorer.STRICT_START;
+    for (int i = offset, end = offset + length; i < end && state >= 0; i++) {
+      state = FastScorer.step(state, game[i] & 0xFF);
+    }
+    return FastScorer.result(state);
+  }
+
+}
@@ -0,0 +1,226 @@
+package com.adamkoch.bowling;
+
+import com.adamkoch.bowling.exceptions.InvalidInputException;
+
+import java.util.Arrays;
+
+/**
+ * A game that is still being played. Unlike {@link Game}, which reconstructs a game that is already over, this takes
+ * one roll at a time, checks it against the pins left standing, and keeps the running total up to date as it goes.
+ * Each roll costs the same small amount of work no matter how far into the game we are. Nothing is recalculated.
+ * <p>
+ * A strike or a spare can't be scored until the balls after it are rolled. Its pins are added to the running total
+ * right away and its bonus is added as the later balls come in. {@link #scoreThroughFrame(int)} only answers for
+ * frames whose score can't change anymore, which is what a lane display shows.
+ * <p>
+ * This class isn't thread safe. It's meant to be owned by whatever is watching the lane and can be {@link #reset()}
+ * for the next game.
+ */
+public class LiveGame {
+
+  /**
+   * Returned by {@link #scoreThroughFrame(int)} for a frame that still waits on bonus balls or hasn't been bowled.
+   */
+  public static final int UNKNOWN = -1;
+
+  public static final int NUMBER_OF_FRAMES = 10;
+
+  /**
+   * Nine frames of two balls plus three balls in the tenth.
+   */
+  public static final int MAX_ROLLS = 21;
+
+  private static final int ALL_PINS = 10;
+  private static final int LAST_FRAME = NUMBER_OF_FRAMES - 1;
+
+  private final int[] rolls = new int[MAX_ROLLS];
+  private final int[] frameScores = new int[NUMBER_OF_FRAMES];
+  private final int[] cumulativeScores = new int[NUMBER_OF_FRAMES];
+  // number of upcoming balls whose pins still count towards a frame
+  private final int[] bonusBallsOwed = new int[NUMBER_OF_FRAMES];
+  // index into rolls of the first ball of each frame
+  private final int[] firstRolls = new int[NUMBER_OF_FRAMES];
+
+  private int rollCount;
+  private int frame;
+  private int ballInFrame;
+  private int pinsStanding;
+  private int score;
+  private int scoredFrames;
+  private boolean complete;
+
+  public LiveGame() {
+    reset();
+  }
+
+  /**
+   * Start over with a new game.
+   */
+  public void reset() {
+    Arrays.fill(frameScores, 0);
+    Arrays.fill(cumulativeScores, 0);
+    Arrays.fill(bonusBallsOwed, 0);
+    Arrays.fill(firstRolls, 0);
+    rollCount = 0;
+    frame = 0;
+    ballInFrame = 0;
+    pinsStanding = ALL_PINS;
+    score = 0;
+    scoredFrames = 0;
+    complete = false;
+  }
+
+  /**
+   * Record the next ball.
+   *
+   * @param pins The number of pins the ball knocked down
+   * @throws InvalidInputException if the game is over or more pins fell than were standing
+   */
+  public void roll(int pins) {
+    if (complete) {
+      throw new InvalidInputException("The game is already over");
+    }
+    if (pins < 0 || pins > pinsStanding) {
+      throw new InvalidInputException(
+          "A ball can knock down 0 to " + pinsStanding + " pins in frame " + (frame + 1) + " but it was " + pins);
+    }
+
+    // Pay out the strikes and spares still waiting on this ball. Only the last two frames can be waiting.
+    for (int f = scoredFrames; f < frame; f++) {
+      if (bonusBallsOwed[f] > 0) {
+        bonusBallsOwed[f]--;
+        frameScores[f] += pins;
+        score += pins;
+      }
+    }
+
+    if (ballInFrame == 0) {
+      firstRolls[frame] = rollCount;
+    }
+    rolls[rollCount++] = pins;
+    frameScores[frame] += pins;
+    score += pins;
+    pinsStanding -= pins;
+    ballInFrame++;
+
+    if (frame < LAST_FRAME) {
+      if (pinsStanding == 0) {
+        // two more balls for a strike, one for a spare
+        bonusBallsOwed[frame] = ballInFrame == 1 ? 2 : 1;
+        nextFrame();
+      } else if (ballInFrame == 2) {
+        nextFrame();
+      }
+    } else {
+      // In the tenth frame a strike or a spare earns the extra balls right away, with a fresh rack of pins.
+      complete = ballInFrame == 3 || (ballInFrame == 2 && frameScores[LAST_FRAME] < ALL_PINS);
+      if (!complete && pinsStanding == 0) {
+        pinsStanding = ALL_PINS;
+      }
+    }
+
+    while (scoredFrames < NUMBER_OF_FRAMES && (scoredFrames < frame || complete)
+        && bonusBallsOwed[scoredFrames] == 0) {
+      int previous = scoredFrames == 0 ? 0 : cumulativeScores[scoredFrames - 1];
+      cumulativeScores[scoredFrames] = previous + frameScores[scoredFrames];
+      scoredFrames++;
+    }
+  }
+
+  private void nextFrame() {
+    frame++;
+    ballInFrame = 0;
+    pinsStanding = ALL_PINS;
+  }
+
+  /**
+   * Every pin counted so far, including the pins of strikes and spares whose bonus balls haven't all been rolled.
+   *
+   * @return the running total
+   */
+  public int getScore() {
+    return score;
+  }
+
+  /**
+   * The total of the first {@code frameNumber} frames, once none of them can change anymore.
+   *
+   * @param frameNumber 1 through 10
+   * @return the cumulative score through that frame or {@link #UNKNOWN}
+   */
+  public int scoreThroughFrame(int frameNumber) {
+    if (frameNumber < 1 || frameNumber > NUMBER_OF_FRAMES) {
+      throw new IllegalArgumentException("A frame number is 1 through 10 but it was " + frameNumber);
+    }
+    return frameNumber <= scoredFrames ? cumulativeScores[frameNumber - 1] : UNKNOWN;
+  }
+
+  /**
+   * @return the cumulative score of every frame whose score is known, first frame first
+   */
+  public int[] getFrameTotals() {
+    return Arrays.copyOf(cumulativeScores, scoredFrames);
+  }
+
+  /**
+   * @return the number of frames, from the first one on, whose score can't change anymore
+   */
+  public int getScoredFrames() {
+    return scoredFrames;
+  }
+
+  /**
+   * @return the frame being bowled, 1 through 10
+   */
+  public int getFrameNumber() {
+    return frame + 1;
+  }
+
+  /**
+   * @return the number of balls already rolled in the current frame
+   */
+  public int getBallInFrame() {
+    return ballInFrame;
+  }
+
+  public int getPinsStanding() {
+    return pinsStanding;
+  }
+
+  public boolean isComplete() {
+    return complete;
+  }
+
+  public int getRollCount() {
+    return rollCount;
+  }
+
+  /**
+   * @param index 0 for the first ball of the game
+   * @return the pins knocked down by that ball
+   */
+  public int getRoll(int index) {
+    if (index < 0 || index >= rollCount) {
+      throw new IndexOutOfBoundsException("Only " + rollCount + " balls were rolled but asked for ball " + index);
+    }
+    return rolls[index];
+  }
+
+  /**
+   * @param frameNumber 1 through the current frame
+   * @return the index of the first ball of that frame, see {@link #getRoll(int)}
+   */
+  public int getFirstRollOfFrame(int frameNumber) {
+    if (frameNumber < 1 || frameNumber > frame + 1) {
+      throw new IllegalArgumentException("Frame " + frameNumber + " hasn't been started");
+    }
+    return frameNumber - 1 == frame && ballInFrame == 0 ? rollCount : firstRolls[frameNumber - 1];
+  }
+
+  @Override
+  public String toString() {
+    return "LiveGame{rolls=" + Arrays.toString(Arrays.copyOf(rolls, rollCount)) + ", score=" + score +
+        ", scoredFrames=" + scoredFrames + ", complete=" + complete + '}';
+  }
+
+}
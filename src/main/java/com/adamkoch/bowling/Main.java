@@ -1,25 +1,69 @@
 package com.adamkoch.bowling;
 
+import com.adamkoch.bowling.batch.BatchScorer;
+import com.adamkoch.bowling.batch.BatchSummary;
+import com.adamkoch.bowling.batch.FlushPolicy;
+import com.adamkoch.bowling.batch.ParallelBatchScorer;
+import com.adamkoch.bowling.batch.StreamScorer;
+import com.adamkoch.bowling.io.GameFileWriter;
+import com.adamkoch.bowling.metrics.ScoringMetrics;
+import com.adamkoch.bowling.server.ScoringServer;
+
+import java.io.BufferedReader;
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
 /**
  * Main entrance to the application now. Pass in a string as an argument to the application.
+ * <p>
+ * To score a whole file with one game per line, pass in {@code --batch <input file> <output file>} instead, or
+ * {@code --parallel <threads> <input file> <output file>} to spread the work over more than one core.
+ * {@code --pack <input file> <output file>} converts such a file to the packed format of {@link GameFileWriter}.
+ * <p>
+ * {@code --stream [every-line|when-idle|at-end]} keeps running and scores one game per line of standard input, writing
+ * one result per line to standard output, until the input is closed. See {@link FlushPolicy} for when results are
+ * written; the default is {@code when-idle}.
+ * <p>
+ * {@code --serve <port>} starts a {@link ScoringServer} that scores games over HTTP until the process is stopped.
+ * <p>
+ * Every mode checks games the way {@link GameValidator} does, so a game gets the same verdict whichever way it comes in.
  */
 public class Main {
 
+  private static final String BATCH_OPTION = "--batch";
+  private static final String PARALLEL_OPTION = "--parallel";
+  private static final String PACK_OPTION = "--pack";
+  private static final String STREAM_OPTION = "--stream";
+  private static final String SERVE_OPTION = "--serve";
+  private static final String USAGE = """
+      Usage:
+        <game>                                      score one game, e.g. "X|7/|9-|X|-8|8/|-6|X|X|X||81"
+        --batch <input file> <output file>          score a file with one game per line
+        --parallel <threads> <input file> <output file>
+                                                    the same, spread over 1 to 9999 threads
+        --pack <input file> <output file>           pack a file of games
+        --stream [every-line|when-idle|at-end]      score standard input until it's closed
+        --serve <port>                              score games over HTTP""";
+
   public static void main(String[] args) {
     // Input consists of a String representing the game
     if (args.length == 0) {
-      // here would go more information on how to use the program
-      System.out.println("Please pass in a valid string");
+      System.out.println(USAGE);
     }
     // It's good practice to validate input to reduce malicious intent.
-    // Regex could be a capture group based on the frame. I should come back to this later.
-    // I didn't count all the different possibilities, but I think 35 is long enough.
-    // Also, by simplifying the code here by not extracting the validation into its own class or method I am severely limiting
-    // testing of valid and invalid input.
-    else if (args.length == 1) {
-      if (args[0].matches("[-\\dX/|]{11,35}")) {
-        Game game = Game.fromString(args[0]);
-        int score = game.calculateScore();
+    // GameValidator checks everything my regex used to check plus everything the parser would have thrown for, and
+    // it tells us what was wrong and where.
+    else if (args.length == 1 && !args[0].equals(STREAM_OPTION)) {
+      long result = GameValidator.validate(args[0]);
+      if (ParseResult.isValid(result)) {
+        int score = ParseResult.score(result);
         if (score == 300) {
           System.out.println("🎳 Perfect game! 300! 🎉");
         }
@@ -28,11 +72,109 @@ public class Main {
         }
       }
       else {
-        System.out.println("Invalid input");
+        if (ScoringMetrics.ENABLED) {
+          ScoringMetrics.invalidInput(ParseResult.error(result));
+        }
+        System.out.println("Invalid input: " + ParseResult.describe(result));
         System.exit(1);
       }
+    } else if (args.length == 3 && args[0].equals(BATCH_OPTION)) {
+      batch(Path.of(args[1]), Path.of(args[2]), 0);
+    } else if (args.length == 4 && args[0].equals(PARALLEL_OPTION)) {
+      // 0 would quietly mean the single threaded scorer
+      if (!args[1].matches("\\d{1,4}") || Integer.parseInt(args[1]) < 1) {
+        System.out.println("Expected 1 to 9999 threads but it was " + args[1]);
+        System.exit(1);
+      }
+      batch(Path.of(args[2]), Path.of(args[3]), Integer.parseInt(args[1]));
+    } else if (args.length == 3 && args[0].equals(PACK_OPTION)) {
+      pack(Path.of(args[1]), Path.of(args[2]));
+    } else if ((args.length == 1 || args.length == 2) && args[0].equals(STREAM_OPTION)) {
+      stream(args.length == 1 ? "when-idle" : args[1]);
+    } else if (args.length == 2 && args[0].equals(SERVE_OPTION) && args[1].matches("\\d{1,5}")) {
+      serve(Integer.parseInt(args[1]));
     } else {
-      System.out.println("Please only one input argument");
+      System.out.println(USAGE);
+      System.exit(1);
+    }
+  }
+
+  /**
+   * Score a file, on the main thread if {@code threads} is 0.
+   */
+  private static void batch(Path input, Path output, int threads) {
+    try {
+      BatchSummary summary = threads == 0
+          ? BatchScorer.score(input, output, true)
+          : ParallelBatchScorer.score(input, output, threads, true);
+      System.out.printf("🎳 scored %d lines (%d invalid) in %d ms, %.0f lines/s%n", summary.getLines(),
+          summary.getInvalidLines(), summary.getElapsedNanos() / 1_000_000, summary.linesPerSecond());
+    } catch (IOException | IllegalArgumentException e) {
+      System.out.println("Unable to score " + input + ": " + e.getMessage());
+      System.exit(1);
+    }
+  }
+
+  /**
+   * Score standard input until it's closed. Standard output only gets results, so anything else goes to standard error.
+   */
+  private static void stream(String flushOption) {
+    final FlushPolicy policy;
+    try {
+      policy = FlushPolicy.fromOption(flushOption);
+    } catch (IllegalArgumentException e) {
+      System.err.println("Expected every-line, when-idle or at-end but it was " + flushOption);
+      System.exit(1);
+      return;
+    }
+    // The channels skip the buffering and character encoding of System.in and System.out.
+    try (FileChannel in = new FileInputStream(FileDescriptor.in).getChannel();
+         FileChannel out = new FileOutputStream(FileDescriptor.out).getChannel()) {
+      BatchSummary warmUp = StreamScorer.warmUp(StreamScorer.WARM_UP_LINES, policy, true);
+      System.err.printf("🎳 warmed up with %d lines in %d ms%n", warmUp.getLines(),
+          warmUp.getElapsedNanos() / 1_000_000);
+      BatchSummary summary = StreamScorer.score(in, out, policy, true);
+      System.err.printf("🎳 scored %d lines (%d invalid)%n", summary.getLines(), summary.getInvalidLines());
+    } catch (IOException e) {
+      System.err.println("Unable to score standard input: " + e.getMessage());
+      System.exit(1);
+    }
+  }
+
+  /**
+   * Start the server. Its threads keep the application running after this returns.
+   */
+  private static void serve(int port) {
+    try {
+      ScoringServer server = ScoringServer.start(new InetSocketAddress(port),
+          Runtime.getRuntime().availableProcessors() * 2);
+      System.out.println("🎳 scoring on port " + server.getPort());
+    } catch (IOException | IllegalArgumentException e) {
+      System.out.println("Unable to listen on port " + port + ": " + e.getMessage());
+      System.exit(1);
+    }
+  }
+
+  /**
+   * Convert a file of games to the packed format, with scores. Invalid lines are left out.
+   */
+  private static void pack(Path input, Path output) {
+    long lines = 0;
+    long games = 0;
+    try {
+      try (BufferedReader reader = Files.newBufferedReader(input, StandardCharsets.ISO_8859_1);
+           GameFileWriter writer = GameFileWriter.create(output, true)) {
+        String line;
+        while ((line = reader.readLine()) != null) {
+          writer.write(line);
+          lines++;
+        }
+        games = writer.getGamesWritten();
+      }
+      // the size is only known once the writer is closed and the last block is written
+      System.out.printf("🎳 packed %d of %d lines into %d bytes%n", games, lines, Files.size(output));
+    } catch (IOException e) {
+      System.out.println("Unable to pack " + input + ": " + e.getMessage());
       System.exit(1);
     }
   }
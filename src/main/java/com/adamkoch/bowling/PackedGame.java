@@ -0,0 +1,299 @@
+package com.adamkoch.bowling;
+
+/**
+ * A compact binary form of a game: the pins of every ball, four bits each, in the order they were bowled, with the two
+ * bonus balls last. That's at most 22 balls, which fit in two longs (or an 11 byte record) instead of a string of up
+ * to 35 characters. Balls after the last one are 0.
+ * <p>
+ * The first 16 balls go in the "low" long, ball {@code i} in bits {@code 4i} to {@code 4i + 3}. The rest go in the
+ * "high" long the same way. A game that was never packed is not the same as a gutter game, but their packed forms are:
+ * both are two zeroes. Only games of exactly ten frames can be packed.
+ * <p>
+ * Scoring a packed game doesn't need any parsing, see {@link #score(long, long)}. {@link Game#getPackedLow()},
+ * {@link Game#fromPacked(long, long)} and {@link FrameFactory#framesFrom(long, long)} convert to and from the object
+ * model.
+ */
+public final class PackedGame {
+
+  /**
+   * Ten frames of two balls and two bonus balls.
+   */
+  public static final int MAX_BALLS = 22;
+
+  /**
+   * Size of a game written as bytes, see {@link #toBytes(long, long, byte[], int)}.
+   */
+  public static final int RECORD_BYTES = 11;
+
+  private static final int BALLS_IN_LOW = 16;
+  private static final int BITS_PER_BALL = 4;
+  private static final long BALL_MASK = 0xF;
+  private static final int NUMBER_OF_FRAMES = 10;
+  private static final int ALL_PINS = 10;
+
+  private PackedGame() {
+    // utility classes shouldn't be instantiated
+  }
+
+  /**
+   * Parse a game straight into its packed form in one pass, without creating any objects. What's accepted is the same
+   * as {@link FastScorer}, and so is the score.
+   *
+   * @param game        The frames as represented as a string
+   * @param destination Where the low long goes at {@code index} and the high long at {@code index + 1}. Nothing is
+   *                    written for an invalid game.
+   * @param index       Where in the destination to write the game
+   * @return The score or {@link FastScorer#INVALID}
+   */
+  public static int encode(CharSequence game, long[] destination, int index) {
+    long state = FastScorer.START;
+    long low = 0;
+    long high = 0;
+    int ball = 0;
+    int previousPins = 0;
+    boolean bonus = false;
+    boolean previousWasDelimiter = false;
+    // the bonus balls can only be worked out once we have both characters
+    int firstBonusCharacter = -1;
+    int secondBonusCharacter = -1;
+
+    for (int i = 0, length = game.length(); i < length && state >= 0; i++) {
+      char c = game.charAt(i);
+      state = FastScorer.step(state, c);
+      if (bonus) {
+        if (firstBonusCharacter < 0) {
+          firstBonusCharacter = c;
+        } else {
+          secondBonusCharacter = c;
+        }
+      } else if (c == '|') {
+        bonus = previousWasDelimiter;
+        previousWasDelimiter = true;
+      } else {
+        previousWasDelimiter = false;
+        final int pins = switch (c) {
+          case 'X' -> ALL_PINS;
+          case '/' -> ALL_PINS - previousPins;
+          case '-' -> 0;
+          default -> Character.digit(c, 10);
+        };
+        // the state machine checks everything, so a bad character here is about to be rejected anyway
+        if (pins >= 0 && ball < MAX_BALLS) {
+          if (ball < BALLS_IN_LOW) {
+            low = withBall(low, ball, pins);
+          } else {
+            high = withBall(high, ball - BALLS_IN_LOW, pins);
+          }
+        }
+        previousPins = pins;
+        ball++;
+      }
+    }
+
+    final int score = FastScorer.finish(state);
+    if (score != FastScorer.INVALID) {
+      final long bonusBalls = bonusBalls(firstBonusCharacter, secondBonusCharacter);
+      for (int b = 0; b < 2; b++, ball++) {
+        int pins = (int) ((bonusBalls >>> (b * BITS_PER_BALL)) & BALL_MASK);
+        if (ball < BALLS_IN_LOW) {
+          low = withBall(low, ball, pins);
+        } else {
+          high = withBall(high, ball - BALLS_IN_LOW, pins);
+        }
+      }
+      destination[index] = low;
+      destination[index + 1] = high;
+    }
+    return score;
+  }
+
+  /**
+   * Work out the bonus balls the way {@link FrameFactory#fromBonus(String)} does, for characters that were already
+   * validated.
+   *
+   * @return the first ball in the lowest four bits and the second one in the next four
+   */
+  private static long bonusBalls(int first, int second) {
+    final int firstBall;
+    final int secondBall;
+    if (first < 0) {
+      firstBall = 0;
+      secondBall = 0;
+    } else if (second < 0) {
+      firstBall = first == 'X' ? ALL_PINS : Character.digit(first, 10);
+      secondBall = first == 'X' ? ALL_PINS : 0;
+    } else if (second == 'X') {
+      firstBall = ALL_PINS;
+      secondBall = ALL_PINS;
+    } else {
+      firstBall = first == 'X' ? ALL_PINS : first == '-' ? 0 : Character.digit(first, 10);
+      secondBall = switch (second) {
+        case '/' -> ALL_PINS - firstBall;
+        case '-' -> 0;
+        default -> Character.digit(second, 10);
+      };
+    }
+    return firstBall | ((long) secondBall << BITS_PER_BALL);
+  }
+
+  /**
+   * Pack the balls of a game.
+   *
+   * @param rolls The pins of every ball, bonus balls last
+   * @param count How many balls there are
+   * @return the low long, see {@link #high(int[], int)} for the other half
+   */
+  public static long low(int[] rolls, int count) {
+    checkCount(count);
+    long low = 0;
+    for (int i = 0; i < Math.min(count, BALLS_IN_LOW); i++) {
+      low = withBall(low, i, rolls[i]);
+    }
+    return low;
+  }
+
+  /**
+   * Pack the balls of a game.
+   *
+   * @param rolls The pins of every ball, bonus balls last
+   * @param count How many balls there are
+   * @return the high long, see {@link #low(int[], int)} for the other half
+   */
+  public static long high(int[] rolls, int count) {
+    checkCount(count);
+    long high = 0;
+    for (int i = BALLS_IN_LOW; i < count; i++) {
+      high = withBall(high, i - BALLS_IN_LOW, rolls[i]);
+    }
+    return high;
+  }
+
+  /**
+   * @param low   the low long of a packed game
+   * @param high  the high long of a packed game
+   * @param index 0 for the first ball
+   * @return the pins knocked down by that ball
+   */
+  public static int ball(long low, long high, int index) {
+    return index < BALLS_IN_LOW
+        ? (int) ((low >>> (index * BITS_PER_BALL)) & BALL_MASK)
+        : (int) ((high >>> ((index - BALLS_IN_LOW) * BITS_PER_BALL)) & BALL_MASK);
+  }
+
+  /**
+   * Score a packed game. This gives the same result as {@link Game#calculateScore()} for the same game.
+   *
+   * @param low  the low long of a packed game
+   * @param high the high long of a packed game
+   * @return the score
+   */
+  public static int score(long low, long high) {
+    int score = 0;
+    int ball = 0;
+    for (int frame = 0; frame < NUMBER_OF_FRAMES; frame++) {
+      int first = ball(low, high, ball);
+      if (first == ALL_PINS) {
+        score += ALL_PINS + ball(low, high, ball + 1) + ball(low, high, ball + 2);
+        ball++;
+      } else {
+        int pins = first + ball(low, high, ball + 1);
+        score += pins == ALL_PINS ? ALL_PINS + ball(low, high, ball + 2) : pins;
+        ball += 2;
+      }
+    }
+    return score;
+  }
+
+  /**
+   * Score a packed game frame by frame, like the bottom row of a score sheet.
+   *
+   * @param low    the low long of a packed game
+   * @param high   the high long of a packed game
+   * @param totals where the running total after each frame goes, at least 10 long
+   * @return the score
+   */
+  public static int cumulativeScores(long low, long high, int[] totals) {
+    int score = 0;
+    int ball = 0;
+    for (int frame = 0; frame < NUMBER_OF_FRAMES; frame++) {
+      int first = ball(low, high, ball);
+      if (first == ALL_PINS) {
+        score += ALL_PINS + ball(low, high, ball + 1) + ball(low, high, ball + 2);
+        ball++;
+      } else {
+        int pins = first + ball(low, high, ball + 1);
+        score += pins == ALL_PINS ? ALL_PINS + ball(low, high, ball + 2) : pins;
+        ball += 2;
+      }
+      totals[frame] = score;
+    }
+    return score;
+  }
+
+  /**
+   * @param low  the low long of a packed game
+   * @param high the high long of a packed game
+   * @return the number of balls in the game, counting both bonus balls
+   */
+  public static int ballCount(long low, long high) {
+    int ball = 0;
+    for (int frame = 0; frame < NUMBER_OF_FRAMES; frame++) {
+      ball += ball(low, high, ball) == ALL_PINS ? 1 : 2;
+    }
+    return ball + 2;
+  }
+
+  /**
+   * Write a packed game as an 11 byte record, the low long first, least significant byte first.
+   *
+   * @param low         the low long of a packed game
+   * @param high        the high long of a packed game
+   * @param destination where to write it
+   * @param offset      where the record starts
+   */
+  public static void toBytes(long low, long high, byte[] destination, int offset) {
+    for (int i = 0; i < Long.BYTES; i++) {
+      destination[offset + i] = (byte) (low >>> (i * Byte.SIZE));
+    }
+    for (int i = 0; i < RECORD_BYTES - Long.BYTES; i++) {
+      destination[offset + Long.BYTES + i] = (byte) (high >>> (i * Byte.SIZE));
+    }
+  }
+
+  /**
+   * @param source a buffer holding a record written by {@link #toBytes(long, long, byte[], int)}
+   * @param offset where the record starts
+   * @return the low long of the packed game
+   */
+  public static long lowFromBytes(byte[] source, int offset) {
+    long low = 0;
+    for (int i = 0; i < Long.BYTES; i++) {
+      low |= (source[offset + i] & 0xFFL) << (i * Byte.SIZE);
+    }
+    return low;
+  }
+
+  /**
+   * @param source a buffer holding a record written by {@link #toBytes(long, long, byte[], int)}
+   * @param offset where the record starts
+   * @return the high long of the packed game
+   */
+  public static long highFromBytes(byte[] source, int offset) {
+    long high = 0;
+    for (int i = 0; i < RECORD_BYTES - Long.BYTES; i++) {
+      high |= (source[offset + Long.BYTES + i] & 0xFFL) << (i * Byte.SIZE);
+    }
+    return high;
+  }
+
+  private static long withBall(long packed, int index, int pins) {
+    return packed | ((pins & BALL_MASK) << (index * BITS_PER_BALL));
+  }
+
+  private static void checkCount(int count) {
+    if (count < 0 || count > MAX_BALLS) {
+      throw new IllegalArgumentException("A packed game holds at most " + MAX_BALLS + " balls but there were " + count);
+    }
+  }
+
+}
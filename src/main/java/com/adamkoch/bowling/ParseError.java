@@ -0,0 +1,53 @@
+package com.adamkoch.bowling;
+
+/**
+ * Everything that can be wrong with the string representation of a game. These are the same problems
+ * {@link FrameFactory} and {@link Game#fromString(String)} throw for, plus the ones only {@link GameValidator} looks
+ * for. See {@link ParseResult} for where they are reported.
+ */
+public enum ParseError {
+
+  EMPTY_FRAME("Player has an unscored frame"),
+  ONE_CHARACTER_FRAME("Expected a frame with one character to be \"X\""),
+  TOO_MANY_CHARACTERS("There were more than 2 characters in a frame, or a character after a strike"),
+  SPARE_ON_FIRST_BALL("You can't get a spare on the first ball in a frame"),
+  STRIKE_ON_SECOND_BALL("A strike from the second ball in a frame isn't possible"),
+  INVALID_CHARACTER("Expected \"X\", \"/\", \"-\", \"|\" or a number"),
+  TOO_MANY_FRAMES("There were more than 10 frames"),
+  TOO_FEW_FRAMES("There were fewer than 10 frames"),
+  MISSING_BONUS_DELIMITER("The frames have to be followed by \"||\" and the bonus balls"),
+  TOO_MANY_BONUS_BALLS("There were more than 2 bonus balls"),
+  FRAME_PIN_TOTAL("More than 10 pins were knocked down in a frame"),
+  BONUS_PIN_TOTAL("More than 10 pins were knocked down by the bonus balls");
+
+  private static final ParseError[] BY_CODE = values();
+
+  private final String message;
+
+  ParseError(String message) {
+    this.message = message;
+  }
+
+  public String getMessage() {
+    return message;
+  }
+
+  /**
+   * @return a small positive number that identifies this error, for use in packed results and output files
+   */
+  public int getCode() {
+    return ordinal() + 1;
+  }
+
+  /**
+   * @param code a number returned by {@link #getCode()}
+   * @return the error with that code
+   */
+  public static ParseError fromCode(int code) {
+    if (code < 1 || code > BY_CODE.length) {
+      throw new IllegalArgumentException("There is no error with the code " + code);
+    }
+    return BY_CODE[code - 1];
+  }
+
+}
@@ -0,0 +1,108 @@
+package com.adamkoch.bowling;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A parse result packed into a {@code long} so it can be returned without creating an object, or an exception, per
+ * game. A valid result is simply the score, which is never negative. An invalid result is negative and holds the
+ * {@link ParseError}, the offset of the character where the problem was found and the frame it was found in.
+ * <p>
+ * Use the static methods in this class to take a result apart.
+ */
+public final class ParseResult {
+
+  private static final long INVALID_FLAG = Long.MIN_VALUE;
+  private static final int ERROR_SHIFT = 32;
+  private static final int FRAME_SHIFT = 16;
+  private static final long FIELD_MASK = 0xFFFF;
+
+  private ParseResult() {
+    // utility classes shouldn't be instantiated
+  }
+
+  static long valid(int score) {
+    return score;
+  }
+
+  static long invalid(int errorCode, int frameNumber, int offset) {
+    return INVALID_FLAG | ((long) errorCode << ERROR_SHIFT) | ((frameNumber & FIELD_MASK) << FRAME_SHIFT)
+        | (offset & FIELD_MASK);
+  }
+
+  /**
+   * The same result pointing at a different character, for input that was translated before it was validated.
+   *
+   * @param result a result returned by {@link GameValidator}
+   * @param offset the offset of the character in the original input
+   * @return the result with the new offset, or the result itself if it was valid
+   */
+  public static long atOffset(long result, int offset) {
+    return result >= 0 ? result : (result & ~FIELD_MASK) | (offset & FIELD_MASK);
+  }
+
+  public static boolean isValid(long result) {
+    return result >= 0;
+  }
+
+  /**
+   * @param result a result returned by {@link GameValidator}
+   * @return the score, or {@link FastScorer#INVALID} if the game wasn't valid
+   */
+  public static int score(long result) {
+    return result >= 0 ? (int) result : FastScorer.INVALID;
+  }
+
+  /**
+   * @param result a result returned by {@link GameValidator}
+   * @return the code of the error (see {@link ParseError#getCode()}), or 0 if the game was valid
+   */
+  public static int errorCode(long result) {
+    return result >= 0 ? 0 : (int) ((result >>> ERROR_SHIFT) & FIELD_MASK);
+  }
+
+  /**
+   * @param result a result returned by {@link GameValidator}
+   * @return what was wrong with the game, or null if nothing was
+   */
+  public static @Nullable ParseError error(long result) {
+    return result >= 0 ? null : ParseError.fromCode(errorCode(result));
+  }
+
+  /**
+   * @param result a result returned by {@link GameValidator}
+   * @return the offset of the character where the problem was found, or -1 if the game was valid. It is the length
+   * of the input for problems that can only be found at the end.
+   */
+  public static int offset(long result) {
+    return result >= 0 ? -1 : (int) (result & FIELD_MASK);
+  }
+
+  /**
+   * @param result a result returned by {@link GameValidator}
+   * @return the frame (1 through 10) the problem was found in, 11 if there were too many frames, or -1 if the game
+   * was valid. Problems with the bonus balls are reported in the tenth frame.
+   */
+  public static int frameNumber(long result) {
+    return result >= 0 ? -1 : (int) ((result >>> FRAME_SHIFT) & FIELD_MASK);
+  }
+
+  /**
+   * Describe a result for a person. Unlike the rest of this class, this builds a String, so it doesn't belong in a
+   * loop over millions of games.
+   *
+   * @param result a result returned by {@link GameValidator}
+   * @return the score or the error with where it was found
+   */
+  public static String describe(long result) {
+    final String description;
+    if (result >= 0) {
+      description = "score = " + result;
+    } else {
+      ParseError error = ParseError.fromCode(errorCode(result));
+      description = error.getMessage() + " (" + error + " in frame " + frameNumber(result) + " at character " +
+          offset(result) + ")";
+    }
+    return description;
+  }
+
+}
@@ -0,0 +1,78 @@
+package com.adamkoch.bowling.batch;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Scores a file with one game per line and writes one result per line to another file. The input is memory-mapped
+ * and fed byte by byte into {@link com.adamkoch.bowling.FastScorer}, so finding the end of a line and scoring it
+ * happen in the same pass and no String is ever created for a line.
+ * <p>
+ * Lines may end with "\n" or "\r\n". Each output line holds the score, or
+ * {@link com.adamkoch.bowling.FastScorer#INVALID} if the game was rejected. The last line doesn't need a line ending.
+ * <p>
+ * This runs on the calling thread. See {@link ParallelBatchScorer} to use more cores.
+ */
+public final class BatchScorer {
+
+  /**
+   * How much of the input is mapped at a time. A single mapping can't be larger than 2GB, and we want to handle
+   * exports larger than that.
+   */
+  static final long WINDOW_SIZE = 1L << 28;
+
+  static final int OUTPUT_BUFFER_SIZE = 1 << 16;
+
+  private BatchScorer() {
+    // utility classes shouldn't be instantiated
+  }
+
+  /**
+   * Score every line of a file.
+   *
+   * @param input  A file with one game per line
+   * @param output Where to write the results. It's created or truncated.
+   * @return The number of lines scored and how long it took
+   * @throws IOException if either file can't be read or written
+   */
+  public static BatchSummary score(Path input, Path output) throws IOException {
+    return score(input, output, WINDOW_SIZE, false);
+  }
+
+  /**
+   * Score every line of a file, optionally rejecting everything {@link com.adamkoch.bowling.GameValidator} rejects.
+   *
+   * @param input  A file with one game per line
+   * @param output Where to write the results. It's created or truncated.
+   * @param strict Whether to make the validator's extra checks, so a line gets the same verdict it would get from
+   *               {@link com.adamkoch.bowling.GameValidator}
+   * @return The number of lines scored and how long it took
+   * @throws IOException if either file can't be read or written
+   */
+  public static BatchSummary score(Path input, Path output, boolean strict) throws IOException {
+    return score(input, output, WINDOW_SIZE, strict);
+  }
+
+  static BatchSummary score(Path input, Path output, long windowSize) throws IOException {
+    return score(input, output, windowSize, false);
+  }
+
+  static BatchSummary score(Path input, Path output, long windowSize, boolean strict) throws IOException {
+    long startTime = System.nanoTime();
+    try (FileChannel in = FileChannel.open(input, READ);
+         ResultWriter out = new ResultWriter(FileChannel.open(output, CREATE, TRUNCATE_EXISTING, WRITE),
+             OUTPUT_BUFFER_SIZE)) {
+      LineFeeder feeder = new LineFeeder(out, false, strict);
+      feeder.feed(in, 0, in.size(), windowSize);
+      feeder.finish();
+      return new BatchSummary(feeder.getLines(), feeder.getInvalidLines(), System.nanoTime() - startTime);
+    }
+  }
+
+}
@@ -0,0 +1,32 @@
+package com.adamkoch.bowling.batch;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * What happened during a batch run.
+ */
+@Getter
+@ToString
+public final class BatchSummary {
+
+  private final long lines;
+  private final long invalidLines;
+  private final long elapsedNanos;
+
+  public BatchSummary(long lines, long invalidLines, long elapsedNanos) {
+    this.lines = lines;
+    this.invalidLines = invalidLines;
+    this.elapsedNanos = elapsedNanos;
+  }
+
+  /**
+   * The throughput of the run, which is the number we care about when scoring large exports.
+   *
+   * @return lines scored per second
+   */
+  public double linesPerSecond() {
+    return elapsedNanos == 0 ? 0 : lines * 1_000_000_000.0 / elapsedNanos;
+  }
+
+}
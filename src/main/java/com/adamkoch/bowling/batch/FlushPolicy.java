@@ -0,0 +1,36 @@
+package com.adamkoch.bowling.batch;
+
+import java.util.Locale;
+
+/**
+ * When {@link StreamScorer} hands its results to the output. Every flush is a system call, so flushing less often
+ * scores more games per second, and flushing more often answers sooner.
+ */
+public enum FlushPolicy {
+
+  /**
+   * After every line. For a caller that writes one game and waits for its score.
+   */
+  EVERY_LINE,
+
+  /**
+   * After everything that arrived in the same read has been scored. A caller that writes one game at a time still gets
+   * each score right away, and one that pipes in a whole file gets them a buffer at a time.
+   */
+  WHEN_IDLE,
+
+  /**
+   * Only when the buffer is full and at the end of the input. For files piped through.
+   */
+  AT_END;
+
+  /**
+   * @param option the name of a policy in lower case with dashes, like {@code every-line}
+   * @return the policy
+   * @throws IllegalArgumentException if there is no such policy
+   */
+  public static FlushPolicy fromOption(String option) {
+    return valueOf(option.replace('-', '_').toUpperCase(Locale.ROOT));
+  }
+
+}
@@ -0,0 +1,113 @@
+package com.adamkoch.bowling.batch;
+
+import com.adamkoch.bowling.FastScorer;
+import com.adamkoch.bowling.ParseResult;
+import com.adamkoch.bowling.metrics.ScoringMetrics;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Splits bytes into lines and scores each of them as it goes. Everything that carries over from one buffer to the next
+ * is kept here, so a line may be split across any number of buffers.
+ * <p>
+ * Lines may end with "\n" or "\r\n". The last line doesn't need a line ending, see {@link #finish()}.
+ */
+final class LineFeeder {
+
+  private final ResultWriter out;
+  private final boolean flushEachLine;
+  private final long start;
+
+  private long state;
+  private boolean lineStarted;
+  private boolean carriageReturn;
+  private long lines;
+  private long invalidLines;
+
+  /**
+   * @param flushEachLine whether to hand each result to the channel as soon as its line ends, for someone waiting on
+   *                      the other end
+   * @param strict        whether to reject what {@link com.adamkoch.bowling.GameValidator} rejects, instead of only what
+   *                      the original parser does
+   */
+  LineFeeder(ResultWriter out, boolean flushEachLine, boolean strict) {
+    this.out = out;
+    this.flushEachLine = flushEachLine;
+    this.start = strict ? FastScorer.STRICT_START : FastScorer.START;
+    this.state = start;
+  }
+
+  /**
+   * Feed a region of a file, mapping at most {@code windowSize} bytes of it at a time.
+   */
+  void feed(FileChannel in, long from, long to, long windowSize) throws IOException {
+    for (long position = from; position < to; position += windowSize) {
+      feed(in.map(FileChannel.MapMode.READ_ONLY, position, Math.min(windowSize, to - position)));
+    }
+  }
+
+  /**
+   * Feed everything between the buffer's position and its limit. The buffer itself isn't changed.
+   */
+  void feed(ByteBuffer buffer) throws IOException {
+    long current = state;
+    for (int i = buffer.position(), limit = buffer.limit(); i < limit; i++) {
+      int c = buffer.get(i) & 0xFF;
+      if (c == '\n') {
+        endOfLine(current);
+        current = start;
+        lineStarted = false;
+        carriageReturn = false;
+      } else {
+        if (carriageReturn) {
+          // it wasn't part of a line ending after all
+          current = FastScorer.step(current, '\r');
+        }
+        carriageReturn = c == '\r';
+        if (!carriageReturn) {
+          current = FastScorer.step(current, c);
+        }
+        lineStarted = true;
+      }
+    }
+    state = current;
+  }
+
+  /**
+   * Score whatever is left over when the input doesn't end with a line ending.
+   */
+  void finish() throws IOException {
+    if (lineStarted) {
+      endOfLine(state);
+      state = start;
+      lineStarted = false;
+      carriageReturn = false;
+    }
+  }
+
+  long getLines() {
+    return lines;
+  }
+
+  long getInvalidLines() {
+    return invalidLines;
+  }
+
+  private void endOfLine(long lineState) throws IOException {
+    int score = FastScorer.finish(lineState);
+    out.write(score);
+    if (flushEachLine) {
+      out.flush();
+    }
+    lines++;
+    if (score == FastScorer.INVALID) {
+      invalidLines++;
+      if (ScoringMetrics.ENABLED) {
+        ScoringMetrics.invalidInput(ParseResult.error(FastScorer.result(lineState)));
+      }
+    }
+  }
+
+}
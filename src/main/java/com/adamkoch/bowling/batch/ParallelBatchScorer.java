@@ -0,0 +1,193 @@
+package com.adamkoch.bowling.batch;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Same as {@link BatchScorer} but spread over a {@link ForkJoinPool}. The input is cut into chunks that end on a line
+ * feed, every chunk is mapped and scored into its own buffer by whichever worker gets to it, and the calling thread
+ * writes the buffers to the output in input order. Only a few chunks per worker are in flight at a time, so memory use
+ * doesn't grow with the size of the input.
+ * <p>
+ * The output is byte for byte the same as {@link BatchScorer}'s, whatever the parallelism.
+ */
+public final class ParallelBatchScorer {
+
+  /**
+   * How much input a single task scores. Big enough that the per-task overhead doesn't matter, small enough that
+   * there are plenty of tasks to steal.
+   */
+  static final long CHUNK_SIZE = 8L << 20;
+
+  /**
+   * How many chunks per worker may be scored ahead of the one being written.
+   */
+  private static final int CHUNKS_IN_FLIGHT_PER_THREAD = 4;
+
+  private static final int CHUNK_BUFFER_SIZE = 1 << 13;
+  private static final int LINE_FEED_SEARCH_BUFFER_SIZE = 1 << 12;
+
+  private ParallelBatchScorer() {
+    // utility classes shouldn't be instantiated
+  }
+
+  /**
+   * Score every line of a file using {@code parallelism} threads.
+   *
+   * @param input       A file with one game per line
+   * @param output      Where to write the results. It's created or truncated.
+   * @param parallelism Number of worker threads
+   * @return The number of lines scored and how long it took
+   * @throws IOException if either file can't be read or written
+   */
+  public static BatchSummary score(Path input, Path output, int parallelism) throws IOException {
+    return score(input, output, parallelism, CHUNK_SIZE, false);
+  }
+
+  /**
+   * Score every line of a file using {@code parallelism} threads, optionally rejecting everything
+   * {@link com.adamkoch.bowling.GameValidator} rejects.
+   *
+   * @param input       A file with one game per line
+   * @param output      Where to write the results. It's created or truncated.
+   * @param parallelism Number of worker threads
+   * @param strict      Whether to make the validator's extra checks, so a line gets the same verdict it would get from
+   *                    {@link com.adamkoch.bowling.GameValidator}
+   * @return The number of lines scored and how long it took
+   * @throws IOException if either file can't be read or written
+   */
+  public static BatchSummary score(Path input, Path output, int parallelism, boolean strict) throws IOException {
+    return score(input, output, parallelism, CHUNK_SIZE, strict);
+  }
+
+  static BatchSummary score(Path input, Path output, int parallelism, long chunkSize) throws IOException {
+    return score(input, output, parallelism, chunkSize, false);
+  }
+
+  static BatchSummary score(Path input, Path output, int parallelism, long chunkSize, boolean strict)
+      throws IOException {
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("Parallelism must be at least 1 but was " + parallelism);
+    }
+    long startTime = System.nanoTime();
+    ForkJoinPool pool = new ForkJoinPool(parallelism);
+    try (FileChannel in = FileChannel.open(input, READ);
+         FileChannel out = FileChannel.open(output, CREATE, TRUNCATE_EXISTING, WRITE)) {
+      long size = in.size();
+      Deque<ForkJoinTask<ChunkResult>> inFlight = new ArrayDeque<>();
+      long lines = 0;
+      long invalidLines = 0;
+      long chunkStart = 0;
+
+      while (chunkStart < size || !inFlight.isEmpty()) {
+        while (chunkStart < size && inFlight.size() < parallelism * CHUNKS_IN_FLIGHT_PER_THREAD) {
+          long chunkEnd = nextLineStart(in, Math.min(chunkStart + chunkSize, size), size);
+          inFlight.add(pool.submit(new ChunkTask(in, chunkStart, chunkEnd, strict)));
+          chunkStart = chunkEnd;
+        }
+
+        ChunkResult result = join(inFlight.remove());
+        ByteBuffer bytes = ByteBuffer.wrap(result.bytes);
+        while (bytes.hasRemaining()) {
+          out.write(bytes);
+        }
+        lines += result.lines;
+        invalidLines += result.invalidLines;
+      }
+      return new BatchSummary(lines, invalidLines, System.nanoTime() - startTime);
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  /**
+   * Find where the line containing the byte before {@code position} ends, so that a chunk ending there is made up of
+   * whole lines.
+   */
+  private static long nextLineStart(FileChannel in, long position, long size) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(LINE_FEED_SEARCH_BUFFER_SIZE);
+    long searchFrom = position - 1;
+    while (searchFrom < size) {
+      buffer.clear();
+      int read = in.read(buffer, searchFrom);
+      for (int i = 0; i < read; i++) {
+        if (buffer.get(i) == '\n') {
+          return searchFrom + i + 1;
+        }
+      }
+      searchFrom += Math.max(read, 0);
+      if (read <= 0) {
+        break;
+      }
+    }
+    return size;
+  }
+
+  private static ChunkResult join(ForkJoinTask<ChunkResult> task) throws IOException {
+    try {
+      return task.join();
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+  }
+
+  /**
+   * Scores one chunk into memory.
+   */
+  private static final class ChunkTask extends RecursiveTask<ChunkResult> {
+    private final transient FileChannel in;
+    private final long from;
+    private final long to;
+    private final boolean strict;
+
+    private ChunkTask(FileChannel in, long from, long to, boolean strict) {
+      this.in = in;
+      this.from = from;
+      this.to = to;
+      this.strict = strict;
+    }
+
+    @Override
+    protected ChunkResult compute() {
+      // a game is about 30 bytes and its score about 4
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream((int) Math.min((to - from) / 4 + 16, Integer.MAX_VALUE));
+      try (ResultWriter writer = new ResultWriter(Channels.newChannel(bytes), ByteBuffer.allocate(CHUNK_BUFFER_SIZE))) {
+        LineFeeder feeder = new LineFeeder(writer, false, strict);
+        feeder.feed(in, from, to, BatchScorer.WINDOW_SIZE);
+        feeder.finish();
+        writer.flush();
+        return new ChunkResult(bytes.toByteArray(), feeder.getLines(), feeder.getInvalidLines());
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+  }
+
+  private static final class ChunkResult {
+    private final byte[] bytes;
+    private final long lines;
+    private final long invalidLines;
+
+    private ChunkResult(byte[] bytes, long lines, long invalidLines) {
+      this.bytes = bytes;
+      this.lines = lines;
+      this.invalidLines = invalidLines;
+    }
+  }
+
+}
@@ -0,0 +1,93 @@
+package com.adamkoch.bowling.batch;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Writes one score per line to a channel through a single reused buffer. Numbers are written digit by digit so no
+ * strings are created along the way. A rejected game is written as {@link com.adamkoch.bowling.FastScorer#INVALID}.
+ */
+public final class ResultWriter implements Closeable {
+
+  /**
+   * Big enough for any int, its sign and the line ending.
+   */
+  private static final int MAX_LINE_LENGTH = 12;
+
+  private final WritableByteChannel channel;
+  private final ByteBuffer buffer;
+
+  /**
+   * @param channel    Where the results go. Closing this writer closes the channel.
+   * @param bufferSize Number of bytes collected before they're handed to the channel
+   */
+  public ResultWriter(WritableByteChannel channel, int bufferSize) {
+    this(channel, ByteBuffer.allocateDirect(Math.max(bufferSize, MAX_LINE_LENGTH)));
+  }
+
+  /**
+   * @param channel Where the results go. Closing this writer closes the channel.
+   * @param buffer  The buffer to collect results in. It's cleared first.
+   */
+  public ResultWriter(WritableByteChannel channel, ByteBuffer buffer) {
+    if (buffer.capacity() < MAX_LINE_LENGTH) {
+      throw new IllegalArgumentException("The buffer must hold at least " + MAX_LINE_LENGTH + " bytes");
+    }
+    this.channel = channel;
+    this.buffer = buffer.clear();
+  }
+
+  /**
+   * Add a score, or an error code, and a line feed.
+   *
+   * @param score the number to write
+   * @throws IOException if the buffer had to be flushed and the channel failed
+   */
+  public void write(int score) throws IOException {
+    if (buffer.remaining() < MAX_LINE_LENGTH) {
+      flush();
+    }
+    long value = score;
+    if (value < 0) {
+      buffer.put((byte) '-');
+      value = -value;
+    }
+    int start = buffer.position();
+    do {
+      buffer.put((byte) ('0' + value % 10));
+      value /= 10;
+    } while (value != 0);
+    // the digits went in backwards
+    for (int i = start, j = buffer.position() - 1; i < j; i++, j--) {
+      byte tmp = buffer.get(i);
+      buffer.put(i, buffer.get(j));
+      buffer.put(j, tmp);
+    }
+    buffer.put((byte) '\n');
+  }
+
+  /**
+   * Hand everything buffered so far to the channel.
+   *
+   * @throws IOException if the channel failed
+   */
+  public void flush() throws IOException {
+    buffer.flip();
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+    buffer.clear();
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      flush();
+    } finally {
+      channel.close();
+    }
+  }
+
+}
@@ -0,0 +1,214 @@
+package com.adamkoch.bowling.batch;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Scores games for as long as they keep coming, one per line, and writes one result per line, the same way
+ * {@link BatchScorer} does for a file. This is meant to stay running next to whatever controls the lanes so starting a
+ * JVM isn't part of scoring every game.
+ * <p>
+ * When the results are handed on is up to the {@link FlushPolicy}. Call {@link #warmUp(int, FlushPolicy, boolean)} first so the
+ * scoring code is already compiled when the first real game shows up.
+ */
+public final class StreamScorer {
+
+  static final int INPUT_BUFFER_SIZE = 1 << 16;
+
+  /**
+   * Enough lines for the JIT to compile the scoring loop with the optimizing compiler.
+   */
+  public static final int WARM_UP_LINES = 50_000;
+
+  // All kinds of frames and a couple of invalid lines, so none of the branches look unused to the JIT.
+  private static final byte[] WARM_UP_GAMES = ("""
+      X|X|X|X|X|X|X|X|X|X||XX
+      9-|9-|9-|9-|9-|9-|9-|9-|9-|9-||
+      5/|5/|5/|5/|5/|5/|5/|5/|5/|5/||5
+      X|7/|9-|X|-8|8/|-6|X|X|X||81
+      54|4/|7-|X|X|X|53|6/|4/|X||XX
+      14|45|6/|5/|X|01|7/|6/|X|2/||6\r
+      X|X|X|X|X|X|X|X|X|9/||X
+      not a game
+      X|X|X|X|X|X|X|X|X|X||XXX
+      """).getBytes(StandardCharsets.ISO_8859_1);
+  private static final int WARM_UP_GAMES_LINES = 9;
+
+  private StreamScorer() {
+    // utility classes shouldn't be instantiated
+  }
+
+  /**
+   * Score every line until the input ends. Neither channel is closed.
+   *
+   * @param in     Where the games come from, one per line
+   * @param out    Where the results go, one per line
+   * @param policy When to hand results to {@code out}
+   * @return The number of lines scored and how long it took
+   * @throws IOException if either channel failed
+   */
+  public static BatchSummary score(ReadableByteChannel in, WritableByteChannel out, FlushPolicy policy)
+      throws IOException {
+    return score(in, out, policy, false);
+  }
+
+  /**
+   * Score every line until the input ends, optionally rejecting everything {@link com.adamkoch.bowling.GameValidator}
+   * rejects. Neither channel is closed.
+   *
+   * @param in     Where the games come from, one per line
+   * @param out    Where the results go, one per line
+   * @param policy When to hand results to {@code out}
+   * @param strict Whether to make the validator's extra checks, so a line gets the same verdict it would get from
+   *               {@link com.adamkoch.bowling.GameValidator}
+   * @return The number of lines scored and how long it took
+   * @throws IOException if either channel failed
+   */
+  public static BatchSummary score(ReadableByteChannel in, WritableByteChannel out, FlushPolicy policy, boolean strict)
+      throws IOException {
+    return score(in, out, policy, strict, ByteBuffer.allocateDirect(INPUT_BUFFER_SIZE),
+        ByteBuffer.allocateDirect(BatchScorer.OUTPUT_BUFFER_SIZE));
+  }
+
+  /**
+   * Score every line until the input ends, with buffers the caller picked. Direct buffers suit file and socket
+   * channels; heap buffers suit channels that wrap streams. Neither channel is closed.
+   *
+   * @param in           Where the games come from, one per line
+   * @param out          Where the results go, one per line
+   * @param policy       When to hand results to {@code out}
+   * @param inputBuffer  What to read into. Its contents are thrown away.
+   * @param outputBuffer What to collect results in, at least 12 bytes. Its contents are thrown away.
+   * @return The number of lines scored and how long it took
+   * @throws IOException if either channel failed
+   */
+  public static BatchSummary score(ReadableByteChannel in, WritableByteChannel out, FlushPolicy policy,
+                                   ByteBuffer inputBuffer, ByteBuffer outputBuffer) throws IOException {
+    return score(in, out, policy, false, inputBuffer, outputBuffer);
+  }
+
+  /**
+   * Score every line until the input ends, with buffers the caller picked, optionally rejecting everything
+   * {@link com.adamkoch.bowling.GameValidator} rejects. Neither channel is closed.
+   *
+   * @param in           Where the games come from, one per line
+   * @param out          Where the results go, one per line
+   * @param policy       When to hand results to {@code out}
+   * @param strict       Whether to make the validator's extra checks, so a line gets the same verdict it would get
+   *                     from {@link com.adamkoch.bowling.GameValidator}
+   * @param inputBuffer  What to read into. Its contents are thrown away.
+   * @param outputBuffer What to collect results in, at least 12 bytes. Its contents are thrown away.
+   * @return The number of lines scored and how long it took
+   * @throws IOException if either channel failed
+   */
+  public static BatchSummary score(ReadableByteChannel in, WritableByteChannel out, FlushPolicy policy, boolean strict,
+                                   ByteBuffer inputBuffer, ByteBuffer outputBuffer) throws IOException {
+    long startTime = System.nanoTime();
+    ResultWriter writer = new ResultWriter(out, outputBuffer);
+    LineFeeder feeder = new LineFeeder(writer, policy == FlushPolicy.EVERY_LINE, strict);
+    ByteBuffer buffer = inputBuffer;
+    while (in.read(buffer.clear()) >= 0) {
+      feeder.feed(buffer.flip());
+      if (policy == FlushPolicy.WHEN_IDLE) {
+        writer.flush();
+      }
+    }
+    feeder.finish();
+    writer.flush();
+    return new BatchSummary(feeder.getLines(), feeder.getInvalidLines(), System.nanoTime() - startTime);
+  }
+
+  /**
+   * Score built-in games through {@link #score(ReadableByteChannel, WritableByteChannel, FlushPolicy, boolean)}
+   * itself, with the same direct buffers, flush policy and checks the real games will get, and throw the results away.
+   * Anything else would teach the JIT about buffers and branches the real games never use, and it would have to start
+   * over on the first real batch.
+   *
+   * @param lines  at least how many lines to score, see {@link #WARM_UP_LINES}
+   * @param policy the policy the real games will be scored with
+   * @param strict whether the real games will be checked the way {@link com.adamkoch.bowling.GameValidator} does
+   * @return The number of lines scored and how long it took
+   */
+  public static BatchSummary warmUp(int lines, FlushPolicy policy, boolean strict) {
+    int copies = (lines + WARM_UP_GAMES_LINES - 1) / WARM_UP_GAMES_LINES;
+    try {
+      return score(new RepeatingChannel(WARM_UP_GAMES, copies), new DiscardingChannel(), policy, strict);
+    } catch (IOException e) {
+      // nothing is actually read from or written to anywhere
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Hands out the same bytes over and over, then ends.
+   */
+  private static final class RepeatingChannel implements ReadableByteChannel {
+
+    private final byte[] bytes;
+    private int copiesLeft;
+    private int position;
+
+    RepeatingChannel(byte[] bytes, int copies) {
+      this.bytes = bytes;
+      this.copiesLeft = copies;
+    }
+
+    @Override
+    public int read(ByteBuffer dst) {
+      if (copiesLeft == 0) {
+        return -1;
+      }
+      int read = 0;
+      while (copiesLeft > 0 && dst.hasRemaining()) {
+        int length = Math.min(dst.remaining(), bytes.length - position);
+        dst.put(bytes, position, length);
+        read += length;
+        position += length;
+        if (position == bytes.length) {
+          position = 0;
+          copiesLeft--;
+        }
+      }
+      return read;
+    }
+
+    @Override
+    public boolean isOpen() {
+      return true;
+    }
+
+    @Override
+    public void close() {
+      // nothing to close
+    }
+
+  }
+
+  /**
+   * Takes everything and does nothing with it, like /dev/null.
+   */
+  private static final class DiscardingChannel implements WritableByteChannel {
+
+    @Override
+    public int write(ByteBuffer src) {
+      int remaining = src.remaining();
+      src.position(src.limit());
+      return remaining;
+    }
+
+    @Override
+    public boolean isOpen() {
+      return true;
+    }
+
+    @Override
+    public void close() {
+      // nothing to close
+    }
+
+  }
+
+}
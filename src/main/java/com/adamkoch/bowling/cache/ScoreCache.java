@@ -0,0 +1,361 @@
+package com.adamkoch.bowling.cache;
+
+import com.adamkoch.bowling.Game;
+import com.adamkoch.bowling.PackedGame;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Remembers the scores of games that were seen lately, up to a number of bytes, and forgets the least recently used
+ * ones first. The same games come up over and over (gutter games, test lanes, bots, the same file sent twice) and a
+ * score that's remembered doesn't need a {@link Game} to be built or scored.
+ * <p>
+ * A game is remembered by its balls packed into two longs by {@link PackedGame}, all of them, so two different games
+ * can never share an entry and a score can't go stale: the same balls always have the same score.
+ * <p>
+ * Everything is kept in primitive arrays, so an entry costs {@link #ENTRY_BYTES} bytes however many there are and
+ * nothing is allocated once the cache is built. The entries are split into segments by hash, each with its own lock,
+ * so threads only wait on each other when they want the same segment at the same time.
+ */
+public final class ScoreCache {
+
+  /**
+   * What {@link #get(long, long)} returns for a game that isn't in the cache.
+   */
+  public static final int MISSING = -1;
+
+  /**
+   * Two longs for the balls, a short for the score, two ints to keep the entries in order of use, and at least two
+   * int slots in the hash table.
+   */
+  public static final int ENTRY_BYTES = 2 * Long.BYTES + Short.BYTES + 2 * Integer.BYTES + 2 * Integer.BYTES;
+
+  private static final int SEGMENTS = 16;
+  private static final int SEGMENT_SHIFT = Integer.SIZE - Integer.numberOfTrailingZeros(SEGMENTS);
+
+  private final Segment[] segments = new Segment[SEGMENTS];
+  private final long maxBytes;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  /**
+   * @param maxBytes the most memory the entries can take up. A cache too small for a single entry per segment
+   *                 doesn't remember anything.
+   */
+  public ScoreCache(long maxBytes) {
+    if (maxBytes < 0) {
+      throw new IllegalArgumentException("A cache can't be " + maxBytes + " bytes");
+    }
+    this.maxBytes = maxBytes;
+    for (int i = 0; i < SEGMENTS; i++) {
+      segments[i] = new Segment(maxBytes / SEGMENTS);
+    }
+  }
+
+  /**
+   * The score of a game, from the cache if it's there and worked out and remembered if it isn't.
+   *
+   * @param low  the low long of a packed game
+   * @param high the high long of a packed game
+   * @return the score
+   */
+  public int score(long low, long high) {
+    int score = get(low, high);
+    if (score == MISSING) {
+      score = PackedGame.score(low, high);
+      put(low, high, score);
+    }
+    return score;
+  }
+
+  /**
+   * The score of a game, from the cache if it's there and worked out and remembered if it isn't.
+   *
+   * @param game a game of ten frames
+   * @return the score
+   */
+  public int score(Game game) {
+    long low = game.getPackedLow();
+    long high = game.getPackedHigh();
+    int score = get(low, high);
+    if (score == MISSING) {
+      score = game.calculateScore();
+      put(low, high, score);
+    }
+    return score;
+  }
+
+  /**
+   * Look a game up. A game that's found becomes the most recently used.
+   *
+   * @param low  the low long of a packed game
+   * @param high the high long of a packed game
+   * @return the score or {@link #MISSING}
+   */
+  public int get(long low, long high) {
+    int hash = hash(low, high);
+    int score = segmentFor(hash).get(low, high, hash);
+    (score == MISSING ? misses : hits).increment();
+    return score;
+  }
+
+  /**
+   * Remember a game's score, forgetting the least recently used game if its segment is full.
+   *
+   * @param low   the low long of a packed game
+   * @param high  the high long of a packed game
+   * @param score the score, 0 through 300
+   */
+  public void put(long low, long high, int score) {
+    int hash = hash(low, high);
+    if (segmentFor(hash).put(low, high, hash, (short) score)) {
+      evictions.increment();
+    }
+  }
+
+  /**
+   * Forget every game. The counts are kept.
+   */
+  public void clear() {
+    for (Segment segment : segments) {
+      segment.clear();
+    }
+  }
+
+  private Segment segmentFor(int hash) {
+    return segments[hash >>> SEGMENT_SHIFT];
+  }
+
+  /**
+   * The balls of similar games differ in a few nibbles, so the bits are mixed well enough for both the segment, which
+   * uses the top bits, and the table, which uses the bottom ones.
+   */
+  private static int hash(long low, long high) {
+    long h = low * 0x9E3779B97F4A7C15L + high;
+    h = (h ^ (h >>> 32)) * 0xD6E8FEB86659FD93L;
+    return (int) (h ^ (h >>> 32));
+  }
+
+  public long getHits() {
+    return hits.sum();
+  }
+
+  public long getMisses() {
+    return misses.sum();
+  }
+
+  public long getEvictions() {
+    return evictions.sum();
+  }
+
+  /**
+   * @return the fraction of look-ups that were found, 0 if there weren't any
+   */
+  public double hitRate() {
+    long found = hits.sum();
+    long total = found + misses.sum();
+    return total == 0 ? 0 : (double) found / total;
+  }
+
+  /**
+   * @return how many games are remembered right now
+   */
+  public int size() {
+    int size = 0;
+    for (Segment segment : segments) {
+      size += segment.size();
+    }
+    return size;
+  }
+
+  /**
+   * @return the most games that can be remembered at once
+   */
+  public int capacity() {
+    int capacity = 0;
+    for (Segment segment : segments) {
+      capacity += segment.capacity;
+    }
+    return capacity;
+  }
+
+  public long getMaxBytes() {
+    return maxBytes;
+  }
+
+  /**
+   * An open addressing hash table of entry numbers over arrays of entries, which are also a doubly linked list from
+   * the most recently used to the least.
+   */
+  private static final class Segment {
+
+    private static final int EMPTY = -1;
+    // everything but the table slots
+    private static final int BYTES_PER_ENTRY = ENTRY_BYTES - 2 * Integer.BYTES;
+
+    private final int capacity;
+    private final long[] lows;
+    private final long[] highs;
+    private final short[] scores;
+    private final int[] newer;
+    private final int[] older;
+    // entry numbers, EMPTY where there are none
+    private final int[] table;
+    private final int mask;
+    private int size;
+    private int newest = EMPTY;
+    private int oldest = EMPTY;
+
+    Segment(long maxBytes) {
+      // the table is a power of two with at least twice as many slots as entries; find the size that fits the most
+      int bestCapacity = 0;
+      int bestTable = 1;
+      for (int tableSize = 2; tableSize > 0 && (long) tableSize * Integer.BYTES <= maxBytes; tableSize <<= 1) {
+        long entries = Math.min(tableSize / 2, (maxBytes - (long) tableSize * Integer.BYTES) / BYTES_PER_ENTRY);
+        if (entries > bestCapacity) {
+          bestCapacity = (int) entries;
+          bestTable = tableSize;
+        }
+      }
+      this.capacity = bestCapacity;
+      this.lows = new long[capacity];
+      this.highs = new long[capacity];
+      this.scores = new short[capacity];
+      this.newer = new int[capacity];
+      this.older = new int[capacity];
+      this.table = new int[bestTable];
+      this.mask = bestTable - 1;
+      Arrays.fill(table, EMPTY);
+    }
+
+    synchronized int get(long low, long high, int hash) {
+      int slot = find(low, high, hash);
+      if (slot < 0) {
+        return MISSING;
+      }
+      int entry = table[slot];
+      touch(entry);
+      return scores[entry];
+    }
+
+    /**
+     * @return whether an entry was evicted to make room
+     */
+    synchronized boolean put(long low, long high, int hash, short score) {
+      if (capacity == 0) {
+        return false;
+      }
+      int slot = find(low, high, hash);
+      if (slot >= 0) {
+        int entry = table[slot];
+        scores[entry] = score;
+        touch(entry);
+        return false;
+      }
+      boolean evicted = false;
+      final int entry;
+      if (size < capacity) {
+        entry = size++;
+      } else {
+        entry = oldest;
+        unlink(entry);
+        remove(find(lows[entry], highs[entry], hash(lows[entry], highs[entry])));
+        evicted = true;
+      }
+      lows[entry] = low;
+      highs[entry] = high;
+      scores[entry] = score;
+      int free = hash & mask;
+      while (table[free] != EMPTY) {
+        free = (free + 1) & mask;
+      }
+      table[free] = entry;
+      linkNewest(entry);
+      return evicted;
+    }
+
+    synchronized void clear() {
+      Arrays.fill(table, EMPTY);
+      size = 0;
+      newest = EMPTY;
+      oldest = EMPTY;
+    }
+
+    synchronized int size() {
+      return size;
+    }
+
+    /**
+     * @return the table slot of the entry, or -1
+     */
+    private int find(long low, long high, int hash) {
+      if (capacity == 0) {
+        return -1;
+      }
+      for (int slot = hash & mask; table[slot] != EMPTY; slot = (slot + 1) & mask) {
+        int entry = table[slot];
+        if (lows[entry] == low && highs[entry] == high) {
+          return slot;
+        }
+      }
+      return -1;
+    }
+
+    /**
+     * Empty a slot and move back the entries after it that would otherwise not be found anymore.
+     */
+    private void remove(int slot) {
+      int hole = slot;
+      int next = (hole + 1) & mask;
+      while (table[next] != EMPTY) {
+        int entry = table[next];
+        int home = hash(lows[entry], highs[entry]) & mask;
+        // the entry can fill the hole if its home isn't between the hole and where it is now
+        if (((next - home) & mask) >= ((next - hole) & mask)) {
+          table[hole] = entry;
+          hole = next;
+        }
+        next = (next + 1) & mask;
+      }
+      table[hole] = EMPTY;
+    }
+
+    private void touch(int entry) {
+      if (entry != newest) {
+        unlink(entry);
+        linkNewest(entry);
+      }
+    }
+
+    private void unlink(int entry) {
+      int before = newer[entry];
+      int after = older[entry];
+      if (before == EMPTY) {
+        newest = after;
+      } else {
+        older[before] = after;
+      }
+      if (after == EMPTY) {
+        oldest = before;
+      } else {
+        newer[after] = before;
+      }
+    }
+
+    private void linkNewest(int entry) {
+      newer[entry] = EMPTY;
+      older[entry] = newest;
+      if (newest != EMPTY) {
+        newer[newest] = entry;
+      }
+      newest = entry;
+      if (oldest == EMPTY) {
+        oldest = entry;
+      }
+    }
+
+  }
+
+}
@@ -0,0 +1,269 @@
+package com.adamkoch.bowling.display;
+
+import com.adamkoch.bowling.Game;
+import com.adamkoch.bowling.LiveGame;
+import com.adamkoch.bowling.PackedGame;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Draws the scoreboard from the README for a finished {@link Game} or a {@link LiveGame} that's still being bowled:
+ * <pre>
+ *  _____________________________________________________________
+ * |__1__|__2__|__3__|__4__|__5__|__6__|__7__|__8__|__9__|__10___|
+ * |    X|  8|/|  3|6|    X|  9|/|  8|/|    X|  9|/|  9|-|  X|X|X|
+ * |  20 |  33 |  42 |  62 |  80 | 100 | 120 | 139 | 148 |  178  |
+ * '-----'-----'-----'-----'-----'-----'-----'-----'-----'-------'
+ * </pre>
+ * Every board is the same {@link #BOARD_BYTES} bytes of ASCII, each line ending with a line feed. The lines that
+ * never change are drawn once, and a board is only the balls and the totals written over a copy of them, so a
+ * renderer can draw a wall of scoreboards many times a second without creating any garbage. Frames that haven't been
+ * bowled are left empty, and so are the totals of frames still waiting on their bonus balls.
+ * <p>
+ * A renderer keeps the board it's drawing, so it's for one thread at a time. Make one per thread and keep it.
+ */
+public final class ScoreboardRenderer {
+
+  private static final String[] TEMPLATE_LINES = {
+      " _____________________________________________________________",
+      "|__1__|__2__|__3__|__4__|__5__|__6__|__7__|__8__|__9__|__10___|",
+      "|     |     |     |     |     |     |     |     |     |       |",
+      "|     |     |     |     |     |     |     |     |     |       |",
+      "'-----'-----'-----'-----'-----'-----'-----'-----'-----'-------'"};
+  private static final byte[] TEMPLATE = String.join("\n", TEMPLATE_LINES).concat("\n")
+      .getBytes(StandardCharsets.US_ASCII);
+
+  /**
+   * The size of every board.
+   */
+  public static final int BOARD_BYTES = TEMPLATE.length;
+
+  private static final int NUMBER_OF_FRAMES = 10;
+  private static final int LAST_FRAME = NUMBER_OF_FRAMES - 1;
+  private static final int ALL_PINS = 10;
+  private static final int NONE = -1;
+
+  private static final int BALLS_LINE = TEMPLATE_LINES[0].length() + 1 + TEMPLATE_LINES[1].length() + 1;
+  private static final int TOTALS_LINE = BALLS_LINE + TEMPLATE_LINES[2].length() + 1;
+  private static final int CELL_WIDTH = 6;
+  private static final int TENTH_WIDTH = 7;
+
+  private final byte[] board = TEMPLATE.clone();
+  // two balls for each of the first nine frames and three for the tenth, NONE where there's no ball
+  private final int[] balls = new int[2 * LAST_FRAME + 3];
+  // NONE for a total that isn't known yet
+  private final int[] totals = new int[NUMBER_OF_FRAMES];
+
+  /**
+   * Draw a game into an array.
+   *
+   * @param game   a game of ten frames
+   * @param dest   where the board goes
+   * @param offset where in {@code dest} the board starts
+   * @return the offset just past the board
+   * @throws IndexOutOfBoundsException if the board doesn't fit
+   */
+  public int render(Game game, byte[] dest, int offset) {
+    load(game);
+    return copy(dest, offset);
+  }
+
+  /**
+   * Draw a game into a buffer at its position, which moves past the board.
+   *
+   * @param game a game of ten frames
+   * @param dest where the board goes
+   * @throws java.nio.BufferOverflowException if the board doesn't fit
+   */
+  public void render(Game game, ByteBuffer dest) {
+    load(game);
+    dest.put(board);
+  }
+
+  /**
+   * Draw a game one character at a time, which doesn't create any strings when {@code dest} is a
+   * {@link StringBuilder} or a buffered writer.
+   *
+   * @param game a game of ten frames
+   * @param dest where the board goes
+   * @throws IOException if {@code dest} couldn't be written to
+   */
+  public void render(Game game, Appendable dest) throws IOException {
+    load(game);
+    append(dest);
+  }
+
+  /**
+   * Draw a game that's being bowled into an array.
+   *
+   * @param game   the game so far
+   * @param dest   where the board goes
+   * @param offset where in {@code dest} the board starts
+   * @return the offset just past the board
+   * @throws IndexOutOfBoundsException if the board doesn't fit
+   */
+  public int render(LiveGame game, byte[] dest, int offset) {
+    load(game);
+    return copy(dest, offset);
+  }
+
+  /**
+   * Draw a game that's being bowled into a buffer at its position, which moves past the board.
+   *
+   * @param game the game so far
+   * @param dest where the board goes
+   * @throws java.nio.BufferOverflowException if the board doesn't fit
+   */
+  public void render(LiveGame game, ByteBuffer dest) {
+    load(game);
+    dest.put(board);
+  }
+
+  /**
+   * Draw a game that's being bowled one character at a time.
+   *
+   * @param game the game so far
+   * @param dest where the board goes
+   * @throws IOException if {@code dest} couldn't be written to
+   */
+  public void render(LiveGame game, Appendable dest) throws IOException {
+    load(game);
+    append(dest);
+  }
+
+  private int copy(byte[] dest, int offset) {
+    if (offset < 0 || offset > dest.length - BOARD_BYTES) {
+      throw new IndexOutOfBoundsException(
+          "A board is " + BOARD_BYTES + " bytes and doesn't fit at " + offset + " in " + dest.length);
+    }
+    System.arraycopy(board, 0, dest, offset, BOARD_BYTES);
+    return offset + BOARD_BYTES;
+  }
+
+  private void append(Appendable dest) throws IOException {
+    for (byte b : board) {
+      dest.append((char) b);
+    }
+  }
+
+  /**
+   * Pull the balls and totals out of a finished game and draw them. The packed form has the balls in order without
+   * building anything.
+   */
+  private void load(Game game) {
+    long low = game.getPackedLow();
+    long high = game.getPackedHigh();
+    int ball = 0;
+    for (int frame = 0; frame < LAST_FRAME; frame++) {
+      int first = PackedGame.ball(low, high, ball++);
+      balls[2 * frame] = first;
+      balls[2 * frame + 1] = first == ALL_PINS ? NONE : PackedGame.ball(low, high, ball++);
+    }
+    // the bonus balls are the tenth frame's extra balls, but only as many as it earned
+    int first = PackedGame.ball(low, high, ball);
+    int second = PackedGame.ball(low, high, ball + 1);
+    balls[2 * LAST_FRAME] = first;
+    balls[2 * LAST_FRAME + 1] = second;
+    balls[2 * LAST_FRAME + 2] = first == ALL_PINS || first + second == ALL_PINS ? PackedGame.ball(low, high, ball + 2) : NONE;
+    for (int frame = 0; frame < NUMBER_OF_FRAMES; frame++) {
+      totals[frame] = game.scoreThroughFrame(frame + 1);
+    }
+    draw();
+  }
+
+  private void load(LiveGame game) {
+    Arrays.fill(balls, NONE);
+    int rolls = game.getRollCount();
+    int frames = Math.min(game.getFrameNumber(), NUMBER_OF_FRAMES);
+    for (int frame = 0; frame < frames; frame++) {
+      int first = game.getFirstRollOfFrame(frame + 1);
+      int ballsInFrame = frame == LAST_FRAME ? 3 : 2;
+      for (int i = 0; i < ballsInFrame && first + i < rolls; i++) {
+        int pins = game.getRoll(first + i);
+        balls[2 * frame + i] = pins;
+        if (frame < LAST_FRAME && pins == ALL_PINS) {
+          break;
+        }
+      }
+    }
+    for (int frame = 0; frame < NUMBER_OF_FRAMES; frame++) {
+      totals[frame] = game.scoreThroughFrame(frame + 1);
+    }
+    draw();
+  }
+
+  private void draw() {
+    for (int frame = 0; frame < LAST_FRAME; frame++) {
+      int cell = BALLS_LINE + 1 + frame * CELL_WIDTH;
+      int first = balls[2 * frame];
+      int second = balls[2 * frame + 1];
+      Arrays.fill(board, cell, cell + CELL_WIDTH - 1, (byte) ' ');
+      if (first == ALL_PINS) {
+        board[cell + 4] = 'X';
+      } else if (first != NONE) {
+        board[cell + 2] = mark(first);
+        board[cell + 3] = '|';
+        board[cell + 4] = second == NONE ? (byte) ' ' : first + second == ALL_PINS ? (byte) '/' : mark(second);
+      }
+      drawTotal(TOTALS_LINE + 1 + frame * CELL_WIDTH, CELL_WIDTH - 1, totals[frame]);
+    }
+    drawTenth();
+    drawTotal(TOTALS_LINE + 1 + LAST_FRAME * CELL_WIDTH, TENTH_WIDTH, totals[LAST_FRAME]);
+  }
+
+  /**
+   * A strike or a spare in the tenth frame gets a fresh rack, so any of its three balls can be an X.
+   */
+  private void drawTenth() {
+    int cell = BALLS_LINE + 1 + LAST_FRAME * CELL_WIDTH;
+    int first = balls[2 * LAST_FRAME];
+    int second = balls[2 * LAST_FRAME + 1];
+    int third = balls[2 * LAST_FRAME + 2];
+    Arrays.fill(board, cell, cell + TENTH_WIDTH, (byte) ' ');
+    if (first == NONE) {
+      return;
+    }
+    board[cell + 2] = strikeOrMark(first);
+    board[cell + 3] = '|';
+    board[cell + 5] = '|';
+    if (second != NONE) {
+      board[cell + 4] = first == ALL_PINS ? strikeOrMark(second) : spareOrMark(first, second);
+    }
+    if (third != NONE) {
+      boolean freshRack = first == ALL_PINS ? second == ALL_PINS : first + second == ALL_PINS;
+      board[cell + 6] = freshRack ? strikeOrMark(third) : spareOrMark(second, third);
+    }
+  }
+
+  /**
+   * Right-align a total in a cell, one space in from the right like the README.
+   */
+  private void drawTotal(int cell, int width, int total) {
+    Arrays.fill(board, cell, cell + width, (byte) ' ');
+    if (total == NONE) {
+      return;
+    }
+    int position = cell + width - 2 - (width == TENTH_WIDTH ? 1 : 0);
+    int remaining = total;
+    do {
+      board[position--] = (byte) ('0' + remaining % 10);
+      remaining /= 10;
+    } while (remaining > 0);
+  }
+
+  private static byte mark(int pins) {
+    return pins == 0 ? (byte) '-' : (byte) ('0' + pins);
+  }
+
+  private static byte strikeOrMark(int pins) {
+    return pins == ALL_PINS ? (byte) 'X' : mark(pins);
+  }
+
+  private static byte spareOrMark(int previous, int pins) {
+    return previous + pins == ALL_PINS ? (byte) '/' : mark(pins);
+  }
+
+}
@@ -1,13 +1,35 @@
 package com.adamkoch.bowling.exceptions;
 
+import com.adamkoch.bowling.ParseError;
+import org.jetbrains.annotations.Nullable;
+
 /**
  * An exception used when validating input or trying to parse the input. If the input is wrong in some way, this exception
  * will be thrown.
  */
 public class InvalidInputException extends BowlingException {
 
+  private final @Nullable ParseError error;
+
   public InvalidInputException(String message) {
     super(message);
+    this.error = null;
+  }
+
+  /**
+   * @param error   what kind of problem it was, so it can be counted
+   * @param message the details
+   */
+  public InvalidInputException(ParseError error, String message) {
+    super(message);
+    this.error = error;
+  }
+
+  /**
+   * @return what kind of problem it was, or null if it wasn't one of the parse errors
+   */
+  public @Nullable ParseError getError() {
+    return error;
   }
 
 }
@@ -0,0 +1,28 @@
+package com.adamkoch.bowling.flow;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * A game that came through a {@link ScoringProcessor} and its score.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+public final class ScoredGame {
+
+  /**
+   * Where the game was in the stream, counting every game from 0, the invalid ones included.
+   */
+  private final long sequence;
+  private final String frames;
+  private final int score;
+
+  public ScoredGame(long sequence, String frames, int score) {
+    this.sequence = sequence;
+    this.frames = frames;
+    this.score = score;
+  }
+
+}
@@ -0,0 +1,34 @@
+package com.adamkoch.bowling.flow;
+
+import com.adamkoch.bowling.ParseError;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * A game that came through a {@link ScoringProcessor} and wasn't valid.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+public final class ScoringFailure {
+
+  /**
+   * Where the game was in the stream, counting every game from 0, the valid ones included.
+   */
+  private final long sequence;
+  private final String frames;
+  private final ParseError error;
+  /**
+   * What's wrong and where, like {@link com.adamkoch.bowling.ParseResult#describe(long)}.
+   */
+  private final String message;
+
+  public ScoringFailure(long sequence, String frames, ParseError error, String message) {
+    this.sequence = sequence;
+    this.frames = frames;
+    this.error = error;
+    this.message = message;
+  }
+
+}
@@ -0,0 +1,131 @@
+package com.adamkoch.bowling.flow;
+
+import com.adamkoch.bowling.GameValidator;
+import com.adamkoch.bowling.ParseResult;
+import com.adamkoch.bowling.metrics.ScoringMetrics;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A stage of a {@link Flow} pipeline that takes games as strings and publishes their scores. Games that aren't valid
+ * don't stop the stream. They go to a publisher of their own, {@link #errors()}, and the stream goes on.
+ * <p>
+ * This is the processor from the {@link SubmissionPublisher} documentation with demand handed out in batches. Games
+ * are asked for {@code batchSize} at a time, and more are asked for once half of them have been scored. Scores and
+ * failures are handed to each subscriber's buffer of {@code bufferCapacity}, and when a subscriber falls that far
+ * behind, {@code submit} waits for it. That holds up this processor, which stops asking for games, which holds up
+ * whatever is upstream. A slow subscriber slows the source down instead of things piling up in memory.
+ * <p>
+ * Failures are only kept if something subscribed to {@link #errors()}. A slow error subscriber holds the stream up
+ * just like a slow score subscriber does.
+ */
+public final class ScoringProcessor extends SubmissionPublisher<ScoredGame>
+    implements Flow.Processor<String, ScoredGame> {
+
+  public static final int DEFAULT_BATCH_SIZE = 256;
+
+  private final int batchSize;
+  private final int replenishAt;
+  private final SubmissionPublisher<ScoringFailure> errors;
+  private final LongAdder scored = new LongAdder();
+  private final LongAdder failed = new LongAdder();
+
+  // only touched by the upstream publisher, which calls one method at a time
+  private Flow.Subscription subscription;
+  private int outstanding;
+  private long sequence;
+
+  /**
+   * A processor that delivers on the common pool, with the default buffer and batch sizes.
+   */
+  public ScoringProcessor() {
+    this(ForkJoinPool.commonPool(), Flow.defaultBufferSize(), DEFAULT_BATCH_SIZE);
+  }
+
+  /**
+   * @param executor       Where the scores and failures are delivered to subscribers
+   * @param bufferCapacity How far each subscriber can fall behind before this processor waits for it
+   * @param batchSize      How many games to ask the upstream publisher for at a time
+   */
+  public ScoringProcessor(Executor executor, int bufferCapacity, int batchSize) {
+    super(executor, bufferCapacity);
+    if (batchSize <= 0) {
+      throw new IllegalArgumentException("A batch has to have at least one game but it was " + batchSize);
+    }
+    this.batchSize = batchSize;
+    this.replenishAt = batchSize / 2;
+    this.errors = new SubmissionPublisher<>(executor, bufferCapacity);
+  }
+
+  /**
+   * @return where the games that weren't valid are published
+   */
+  public Flow.Publisher<ScoringFailure> errors() {
+    return errors;
+  }
+
+  @Override
+  public void onSubscribe(Flow.Subscription subscription) {
+    if (this.subscription != null) {
+      // one upstream publisher only
+      subscription.cancel();
+      return;
+    }
+    this.subscription = subscription;
+    outstanding = batchSize;
+    subscription.request(batchSize);
+  }
+
+  @Override
+  public void onNext(String frames) {
+    long result = GameValidator.validate(frames);
+    if (ParseResult.isValid(result)) {
+      scored.increment();
+      submit(new ScoredGame(sequence++, frames, ParseResult.score(result)));
+    } else {
+      failed.increment();
+      if (ScoringMetrics.ENABLED) {
+        ScoringMetrics.invalidInput(ParseResult.error(result));
+      }
+      errors.submit(new ScoringFailure(sequence++, frames, ParseResult.error(result), ParseResult.describe(result)));
+    }
+    if (--outstanding <= replenishAt) {
+      subscription.request(batchSize - outstanding);
+      outstanding = batchSize;
+    }
+  }
+
+  /**
+   * The upstream publisher failed, so both streams end with its error.
+   */
+  @Override
+  public void onError(Throwable throwable) {
+    closeExceptionally(throwable);
+    errors.closeExceptionally(throwable);
+  }
+
+  @Override
+  public void onComplete() {
+    close();
+    errors.close();
+  }
+
+  /**
+   * @return how many valid games were scored
+   */
+  public long getScored() {
+    return scored.sum();
+  }
+
+  /**
+   * @return how many games weren't valid
+   */
+  public long getFailed() {
+    return failed.sum();
+  }
+
+}
@@ -0,0 +1,168 @@
+package com.adamkoch.bowling.flow;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pushes games through a {@link ScoringProcessor} into a subscriber that takes its time with each score, and reports
+ * how many games went through a second and how far ahead of the subscriber the source ever got. With backpressure
+ * working the source can't get further ahead than the buffers and a batch, however slow the subscriber is or however
+ * many games there are.
+ * <pre>
+ *   java -cp bowling.jar com.adamkoch.bowling.flow.SlowSubscriberRun [games [micros per score [batch size]]]
+ * </pre>
+ */
+public final class SlowSubscriberRun {
+
+  private static final String[] GAMES = {"X|X|X|X|X|X|X|X|X|X||XX", "9-|9-|9-|9-|9-|9-|9-|9-|9-|9-||",
+      "5/|5/|5/|5/|5/|5/|5/|5/|5/|5/||5", "X|7/|9-|X|-8|8/|-6|X|X|X||81", "54|4/|7-|X|X|X|53|6/|4/|X||XX",
+      "14|45|6/|5/|X|01|7/|6/|X|2/||6", "X|X|X|X|X|X|X|X|X|/1||XX"};
+
+  private static final int DEFAULT_GAMES = 1_000_000;
+  private static final int DEFAULT_MICROS_PER_SCORE = 2;
+  private static final int BUFFER_CAPACITY = 256;
+
+  private SlowSubscriberRun() {
+    // utility classes shouldn't be instantiated
+  }
+
+  public static void main(String[] args) throws InterruptedException {
+    int games = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_GAMES;
+    long nanosPerScore = TimeUnit.MICROSECONDS.toNanos(args.length > 1 ? Long.parseLong(args[1])
+        : DEFAULT_MICROS_PER_SCORE);
+    int batchSize = args.length > 2 ? Integer.parseInt(args[2]) : ScoringProcessor.DEFAULT_BATCH_SIZE;
+
+    // once so everything is compiled, then for real
+    run(games / 10, nanosPerScore, batchSize);
+    Result result = run(games, nanosPerScore, batchSize);
+    System.out.printf("%d games (%d invalid) in %d ms, %.0f games/s, the source was at most %d games ahead%n",
+        result.scores + result.failures, result.failures, result.elapsedNanos / 1_000_000,
+        (result.scores + result.failures) * 1e9 / result.elapsedNanos, result.maxAhead);
+  }
+
+  /**
+   * Push games through a processor into a slow subscriber.
+   *
+   * @param games         How many games to publish
+   * @param nanosPerScore How long the subscriber spends on each score
+   * @param batchSize     How many games the processor asks for at a time
+   * @return what happened
+   */
+  public static Result run(int games, long nanosPerScore, int batchSize) throws InterruptedException {
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      SubmissionPublisher<String> source = new SubmissionPublisher<>(executor, BUFFER_CAPACITY);
+      ScoringProcessor processor = new ScoringProcessor(executor, BUFFER_CAPACITY, batchSize);
+      AtomicLong consumed = new AtomicLong();
+      CountDownLatch done = new CountDownLatch(2);
+      SlowSubscriber<ScoredGame> scores = new SlowSubscriber<>(nanosPerScore, consumed, done);
+      SlowSubscriber<ScoringFailure> failures = new SlowSubscriber<>(0, consumed, done);
+      processor.subscribe(scores);
+      processor.errors().subscribe(failures);
+      source.subscribe(processor);
+
+      long start = System.nanoTime();
+      long maxAhead = 0;
+      for (int i = 0; i < games; i++) {
+        // waits when the processor's buffer is full, which is the whole point
+        source.submit(GAMES[i % GAMES.length]);
+        maxAhead = Math.max(maxAhead, i + 1 - consumed.get());
+      }
+      source.close();
+      done.await();
+      return new Result(scores.count, failures.count, System.nanoTime() - start, maxAhead);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * What a run did.
+   */
+  public static final class Result {
+
+    private final long scores;
+    private final long failures;
+    private final long elapsedNanos;
+    private final long maxAhead;
+
+    Result(long scores, long failures, long elapsedNanos, long maxAhead) {
+      this.scores = scores;
+      this.failures = failures;
+      this.elapsedNanos = elapsedNanos;
+      this.maxAhead = maxAhead;
+    }
+
+    public long getScores() {
+      return scores;
+    }
+
+    public long getFailures() {
+      return failures;
+    }
+
+    public long getElapsedNanos() {
+      return elapsedNanos;
+    }
+
+    /**
+     * @return the most games that were published but not yet taken by a subscriber
+     */
+    public long getMaxAhead() {
+      return maxAhead;
+    }
+
+  }
+
+  /**
+   * Asks for one item at a time and spins for a while on each one.
+   */
+  private static final class SlowSubscriber<T> implements Flow.Subscriber<T> {
+
+    private final long nanosPerItem;
+    private final AtomicLong consumed;
+    private final CountDownLatch done;
+    private Flow.Subscription subscription;
+    private volatile long count;
+
+    SlowSubscriber(long nanosPerItem, AtomicLong consumed, CountDownLatch done) {
+      this.nanosPerItem = nanosPerItem;
+      this.consumed = consumed;
+      this.done = done;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+      this.subscription = subscription;
+      subscription.request(1);
+    }
+
+    @Override
+    public void onNext(T item) {
+      long until = System.nanoTime() + nanosPerItem;
+      while (System.nanoTime() < until) {
+        Thread.onSpinWait();
+      }
+      count++;
+      consumed.incrementAndGet();
+      subscription.request(1);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+      done.countDown();
+    }
+
+    @Override
+    public void onComplete() {
+      done.countDown();
+    }
+
+  }
+
+}
@@ -0,0 +1,61 @@
+package com.adamkoch.bowling.generate;
+
+import com.adamkoch.bowling.outlook.PinFallModel;
+
+/**
+ * Kinds of bowlers to make up games for. Each one is a {@link PinFallModel} built from three numbers: how often the
+ * bowler strikes, how often they pick up whatever pins are left, and how many pins their first ball usually knocks
+ * down when it isn't a strike.
+ */
+public enum BowlerProfile {
+
+  /**
+   * Averages around 220.
+   */
+  PRO(0.58, 0.85, 9),
+  /**
+   * Averages around 150.
+   */
+  LEAGUE(0.28, 0.5, 8),
+  /**
+   * Averages under 100, with the odd gutter ball.
+   */
+  BEGINNER(0.06, 0.12, 5);
+
+  private static final int ALL_PINS = 10;
+
+  private final PinFallModel model;
+
+  BowlerProfile(double strikeRate, double spareRate, int usualFirstBall) {
+    double[] firstBall = new double[ALL_PINS + 1];
+    double total = 0;
+    for (int pins = 0; pins < ALL_PINS; pins++) {
+      int away = pins - usualFirstBall;
+      firstBall[pins] = Math.exp(-away * away / 4.0);
+      total += firstBall[pins];
+    }
+    for (int pins = 0; pins < ALL_PINS; pins++) {
+      firstBall[pins] *= (1 - strikeRate) / total;
+    }
+    firstBall[ALL_PINS] = strikeRate;
+
+    // Whatever's left gets knocked down with the spare rate. Otherwise, knocking down more of them is more likely than
+    // knocking down fewer.
+    double[][] leaves = new double[ALL_PINS + 1][];
+    leaves[0] = new double[]{1};
+    for (int standing = 1; standing <= ALL_PINS; standing++) {
+      leaves[standing] = new double[standing + 1];
+      double weights = standing * (standing + 1) / 2.0;
+      for (int pins = 0; pins < standing; pins++) {
+        leaves[standing][pins] = (1 - spareRate) * (pins + 1) / weights;
+      }
+      leaves[standing][standing] = spareRate;
+    }
+    this.model = PinFallModel.of(firstBall, leaves);
+  }
+
+  public PinFallModel getModel() {
+    return model;
+  }
+
+}
@@ -0,0 +1,277 @@
+package com.adamkoch.bowling.generate;
+
+import com.adamkoch.bowling.PackedGame;
+import com.adamkoch.bowling.outlook.PinFallModel;
+
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Makes up valid games, as many as anyone wants, bowled the way a {@link PinFallModel} says. A game comes out as the
+ * usual string, as ASCII written into a byte array, or packed by {@link PackedGame}.
+ * <p>
+ * The model is turned into tables when the generator is built: for each number of pins standing, 4096 entries that say
+ * how many pins a random 12 bit number knocks down. A ball is one look-up, and one {@link SplittableRandom#nextLong()}
+ * is enough for five balls. The probabilities are rounded to 1/4096, which is plenty for load tests.
+ * <p>
+ * A generator is for one thread. {@link #split()} gives another one with its own random numbers for another thread,
+ * and {@link #games(long)} does that by itself when the stream is parallel. The same seed always gives the same
+ * games.
+ */
+public final class GameGenerator {
+
+  /**
+   * The longest a game can be: ten two character frames, nine "|", "||" and two bonus balls.
+   */
+  public static final int MAX_GAME_LENGTH = 33;
+
+  private static final int ALL_PINS = 10;
+  private static final int NUMBER_OF_FRAMES = 10;
+  private static final int SAMPLE_BITS = 12;
+  private static final int SAMPLE_MASK = (1 << SAMPLE_BITS) - 1;
+  private static final int SAMPLES_PER_LONG = Long.SIZE / SAMPLE_BITS;
+  // the table after the ones for 0 through 10 pins left is for a fresh rack
+  private static final int FRESH_RACK = ALL_PINS + 1;
+
+  // [situation << SAMPLE_BITS | sample], shared by the generators that were split from each other
+  private final byte[] pins;
+  private final SplittableRandom random;
+  private long samples;
+  private int samplesLeft;
+
+  private final int[] rolls = new int[PackedGame.MAX_BALLS];
+  private final byte[] text = new byte[MAX_GAME_LENGTH];
+
+  /**
+   * @param profile The kind of bowler
+   * @param seed    Where the random numbers start
+   */
+  public GameGenerator(BowlerProfile profile, long seed) {
+    this(profile.getModel(), seed);
+  }
+
+  /**
+   * @param model How the bowler knocks down pins
+   * @param seed  Where the random numbers start
+   */
+  public GameGenerator(PinFallModel model, long seed) {
+    this(tables(model), new SplittableRandom(seed));
+  }
+
+  private GameGenerator(byte[] pins, SplittableRandom random) {
+    this.pins = pins;
+    this.random = random;
+  }
+
+  private static byte[] tables(PinFallModel model) {
+    byte[] tables = new byte[(FRESH_RACK + 1) << SAMPLE_BITS];
+    for (int situation = 0; situation <= FRESH_RACK; situation++) {
+      boolean fresh = situation == FRESH_RACK;
+      int standing = fresh ? ALL_PINS : situation;
+      double cumulative = 0;
+      int knocked = 0;
+      for (int sample = 0; sample <= SAMPLE_MASK; sample++) {
+        // the middle of each sample's slice of [0, 1), so an outcome with no chance at all never comes up
+        double point = (sample + 0.5) / (SAMPLE_MASK + 1);
+        while (knocked < standing && cumulative + model.probability(standing, fresh, knocked) <= point) {
+          cumulative += model.probability(standing, fresh, knocked);
+          knocked++;
+        }
+        tables[situation << SAMPLE_BITS | sample] = (byte) knocked;
+      }
+    }
+    return tables;
+  }
+
+  /**
+   * A generator for another thread, with its own random numbers.
+   *
+   * @return the new generator
+   */
+  public GameGenerator split() {
+    return new GameGenerator(pins, random.split());
+  }
+
+  private int ball(int situation) {
+    if (samplesLeft == 0) {
+      samples = random.nextLong();
+      samplesLeft = SAMPLES_PER_LONG;
+    }
+    int sample = (int) samples & SAMPLE_MASK;
+    samples >>>= SAMPLE_BITS;
+    samplesLeft--;
+    return pins[situation << SAMPLE_BITS | sample];
+  }
+
+  /**
+   * Bowl a game.
+   *
+   * @param rolls where the pins of every ball go, the two bonus balls last, at least {@link PackedGame#MAX_BALLS} long
+   * @return how many balls there are, bonus balls included
+   */
+  public int nextRolls(int[] rolls) {
+    int count = 0;
+    int first = 0;
+    int second = 0;
+    for (int frame = 0; frame < NUMBER_OF_FRAMES; frame++) {
+      first = ball(FRESH_RACK);
+      rolls[count++] = first;
+      if (first < ALL_PINS) {
+        second = ball(ALL_PINS - first);
+        rolls[count++] = second;
+      }
+    }
+    int firstBonus = 0;
+    int secondBonus = 0;
+    if (first == ALL_PINS) {
+      firstBonus = ball(FRESH_RACK);
+      secondBonus = ball(firstBonus == ALL_PINS ? FRESH_RACK : ALL_PINS - firstBonus);
+    } else if (first + second == ALL_PINS) {
+      firstBonus = ball(FRESH_RACK);
+      // the parser reads a lone "X" as two strikes, and the second one never counts, so pack it the way it would
+      secondBonus = firstBonus == ALL_PINS ? ALL_PINS : 0;
+    }
+    rolls[count++] = firstBonus;
+    rolls[count++] = secondBonus;
+    return count;
+  }
+
+  /**
+   * Bowl a game and pack it.
+   *
+   * @param destination Where the low long goes at {@code index} and the high long at {@code index + 1}
+   * @param index       Where in the destination to write the game
+   */
+  public void nextPacked(long[] destination, int index) {
+    int count = nextRolls(rolls);
+    destination[index] = PackedGame.low(rolls, count);
+    destination[index + 1] = PackedGame.high(rolls, count);
+  }
+
+  /**
+   * Bowl a game and write it down as ASCII.
+   *
+   * @param destination Where to write it, with room for {@link #MAX_GAME_LENGTH} bytes
+   * @param offset      Where the game starts
+   * @return the offset after the last byte of the game
+   */
+  public int nextGame(byte[] destination, int offset) {
+    int count = nextRolls(rolls);
+    int at = offset;
+    int ball = 0;
+    int first = 0;
+    int second = 0;
+    for (int frame = 0; frame < NUMBER_OF_FRAMES; frame++) {
+      if (frame > 0) {
+        destination[at++] = '|';
+      }
+      first = rolls[ball++];
+      if (first == ALL_PINS) {
+        destination[at++] = 'X';
+      } else {
+        second = rolls[ball++];
+        destination[at++] = symbol(first);
+        destination[at++] = first + second == ALL_PINS ? (byte) '/' : symbol(second);
+      }
+    }
+    destination[at++] = '|';
+    destination[at++] = '|';
+    int firstBonus = rolls[count - 2];
+    int secondBonus = rolls[count - 1];
+    if (first == ALL_PINS) {
+      destination[at++] = firstBonus == ALL_PINS ? (byte) 'X' : symbol(firstBonus);
+      // knocking down all ten after a 0 is a spare, not a strike, so that has to be checked first
+      destination[at++] = firstBonus < ALL_PINS && firstBonus + secondBonus == ALL_PINS ? (byte) '/'
+          : secondBonus == ALL_PINS ? (byte) 'X' : symbol(secondBonus);
+    } else if (first + second == ALL_PINS) {
+      // a lone "-" isn't accepted as a bonus ball, so a miss is written as a 0
+      destination[at++] = firstBonus == ALL_PINS ? (byte) 'X' : (byte) ('0' + firstBonus);
+    }
+    return at;
+  }
+
+  private static byte symbol(int pins) {
+    return pins == 0 ? (byte) '-' : (byte) ('0' + pins);
+  }
+
+  /**
+   * Bowl a game and write it down.
+   *
+   * @return the game as represented as a string
+   */
+  public String nextGame() {
+    int length = nextGame(text, 0);
+    return new String(text, 0, length, StandardCharsets.ISO_8859_1);
+  }
+
+  /**
+   * A stream of games. A parallel stream splits this generator between its threads, so it gives different games than
+   * a sequential one with the same seed.
+   *
+   * @param count how many games
+   * @return the games as represented as strings
+   */
+  public Stream<String> games(long count) {
+    if (count < 0) {
+      throw new IllegalArgumentException("Can't make " + count + " games");
+    }
+    return StreamSupport.stream(new GameSpliterator(split(), count), false);
+  }
+
+  /**
+   * Hands out games and splits its generator along with the work, the way {@link SplittableRandom#ints()} does.
+   */
+  private static final class GameSpliterator implements Spliterator<String> {
+
+    private final GameGenerator generator;
+    private long remaining;
+
+    GameSpliterator(GameGenerator generator, long remaining) {
+      this.generator = generator;
+      this.remaining = remaining;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super String> action) {
+      if (remaining == 0) {
+        return false;
+      }
+      remaining--;
+      action.accept(generator.nextGame());
+      return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super String> action) {
+      for (; remaining > 0; remaining--) {
+        action.accept(generator.nextGame());
+      }
+    }
+
+    @Override
+    public Spliterator<String> trySplit() {
+      long half = remaining >>> 1;
+      if (half == 0) {
+        return null;
+      }
+      remaining -= half;
+      return new GameSpliterator(generator.split(), half);
+    }
+
+    @Override
+    public long estimateSize() {
+      return remaining;
+    }
+
+    @Override
+    public int characteristics() {
+      return SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+    }
+
+  }
+
+}
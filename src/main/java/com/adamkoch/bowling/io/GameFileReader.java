@@ -0,0 +1,174 @@
+package com.adamkoch.bowling.io;
+
+import com.adamkoch.bowling.Game;
+import com.adamkoch.bowling.PackedGame;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * Reads a file written by {@link GameFileWriter} one game at a time, a block at a time under the covers:
+ * <pre>{@code
+ * try (GameFileReader reader = GameFileReader.open(path)) {
+ *   while (reader.next()) {
+ *     total += reader.getScore();
+ *   }
+ * }
+ * }</pre>
+ * Nothing is allocated per game. If the file has a score column the score is read from it, otherwise it's worked out
+ * from the packed balls with {@link PackedGame#score(long, long)}. Either way there's no text to parse.
+ * <p>
+ * This isn't thread safe.
+ */
+public final class GameFileReader implements Closeable {
+
+  private final ReadableByteChannel channel;
+  private final boolean withScores;
+  private final ByteBuffer buffer;
+  private final byte[] balls = new byte[GameFileWriter.BLOCK_SIZE * PackedGame.RECORD_BYTES];
+  private final short[] scores = new short[GameFileWriter.BLOCK_SIZE];
+  private int count;
+  // the current game in the block, -1 before next() is called
+  private int index = -1;
+  private long low;
+  private long high;
+
+  /**
+   * @param channel Where the file comes from. Closing this reader closes the channel.
+   * @throws IOException if the header can't be read or isn't one {@link GameFileWriter} writes
+   */
+  public GameFileReader(ReadableByteChannel channel) throws IOException {
+    this.channel = channel;
+    this.buffer = ByteBuffer.allocate(Integer.BYTES + balls.length + scores.length * Short.BYTES)
+        .order(ByteOrder.LITTLE_ENDIAN);
+    if (!fill(GameFileWriter.HEADER_SIZE)) {
+      throw new EOFException("The file is too short to be a game file");
+    }
+    if (buffer.getInt() != GameFileWriter.MAGIC) {
+      throw new IOException("Not a game file");
+    }
+    byte version = buffer.get();
+    if (version != GameFileWriter.VERSION) {
+      throw new IOException("Game file version " + version + " isn't supported");
+    }
+    withScores = (buffer.get() & GameFileWriter.SCORES_FLAG) != 0;
+  }
+
+  /**
+   * @param path The file to read
+   * @return a reader for the file
+   * @throws IOException if the file can't be opened or isn't a game file
+   */
+  public static GameFileReader open(Path path) throws IOException {
+    return new GameFileReader(FileChannel.open(path, READ));
+  }
+
+  /**
+   * Move to the next game.
+   *
+   * @return false at the end of the file
+   * @throws IOException if the channel failed or the file ends in the middle of a block
+   */
+  public boolean next() throws IOException {
+    index++;
+    if (index >= count) {
+      if (!readBlock()) {
+        return false;
+      }
+      index = 0;
+    }
+    int offset = index * PackedGame.RECORD_BYTES;
+    low = PackedGame.lowFromBytes(balls, offset);
+    high = PackedGame.highFromBytes(balls, offset);
+    return true;
+  }
+
+  private boolean readBlock() throws IOException {
+    if (!fill(Integer.BYTES)) {
+      count = 0;
+      return false;
+    }
+    int games = buffer.getInt();
+    if (games <= 0 || games > GameFileWriter.BLOCK_SIZE) {
+      throw new IOException("A block can't hold " + games + " games");
+    }
+    int size = games * PackedGame.RECORD_BYTES + (withScores ? games * Short.BYTES : 0);
+    if (!fill(size)) {
+      throw new EOFException("The file ends in the middle of a block");
+    }
+    buffer.get(balls, 0, games * PackedGame.RECORD_BYTES);
+    if (withScores) {
+      for (int i = 0; i < games; i++) {
+        scores[i] = buffer.getShort();
+      }
+    }
+    count = games;
+    return true;
+  }
+
+  /**
+   * Read exactly {@code size} bytes into the buffer and flip it.
+   *
+   * @return false if the channel was already at its end
+   * @throws EOFException if the channel ended after some but not all of the bytes
+   */
+  private boolean fill(int size) throws IOException {
+    buffer.clear().limit(size);
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer) < 0) {
+        if (buffer.position() == 0) {
+          return false;
+        }
+        throw new EOFException("Expected " + size + " bytes but there were only " + buffer.position());
+      }
+    }
+    buffer.flip();
+    return true;
+  }
+
+  public boolean hasScores() {
+    return withScores;
+  }
+
+  /**
+   * @return the low long of the current game
+   */
+  public long getLow() {
+    return low;
+  }
+
+  /**
+   * @return the high long of the current game
+   */
+  public long getHigh() {
+    return high;
+  }
+
+  /**
+   * @return the score of the current game
+   */
+  public int getScore() {
+    return withScores ? scores[index] : PackedGame.score(low, high);
+  }
+
+  /**
+   * @return the current game as objects
+   */
+  public Game toGame() {
+    return Game.fromPacked(low, high);
+  }
+
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+
+}
@@ -0,0 +1,172 @@
+package com.adamkoch.bowling.io;
+
+import com.adamkoch.bowling.FastScorer;
+import com.adamkoch.bowling.Game;
+import com.adamkoch.bowling.PackedGame;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Writes packed games to a file, a block at a time. The file starts with an 8 byte header:
+ * <pre>
+ *   "BWLG"  magic
+ *   1       version
+ *   flags   1 if every block has a score column
+ *   0 0     reserved
+ * </pre>
+ * followed by blocks of up to {@link #BLOCK_SIZE} games, each one laid out by column:
+ * <pre>
+ *   int            number of games in the block
+ *   count x 11     the games as {@link PackedGame#toBytes(long, long, byte[], int)} records
+ *   count x short  the score of each game, only if the header says so
+ * </pre>
+ * Everything is little-endian. Keeping the scores in their own column means a reader that only wants scores reads
+ * them one after the other, and one that wants the balls never has to look at text.
+ * <p>
+ * This isn't thread safe. Close it to write the last block.
+ */
+public final class GameFileWriter implements Closeable {
+
+  static final int MAGIC = 'B' | 'W' << 8 | 'L' << 16 | 'G' << 24;
+  static final byte VERSION = 1;
+  static final byte SCORES_FLAG = 1;
+  static final int HEADER_SIZE = 8;
+
+  /**
+   * Games per block. Small enough that a block stays in cache, big enough that the count is a rounding error.
+   */
+  public static final int BLOCK_SIZE = 4096;
+
+  private final WritableByteChannel channel;
+  private final boolean withScores;
+  private final ByteBuffer buffer;
+  private final byte[] balls = new byte[BLOCK_SIZE * PackedGame.RECORD_BYTES];
+  private final short[] scores = new short[BLOCK_SIZE];
+  private final long[] packed = new long[2];
+  private int count;
+  private long gamesWritten;
+
+  /**
+   * @param channel    Where the file goes. Closing this writer closes the channel.
+   * @param withScores Whether to add the score column
+   * @throws IOException if the header can't be written
+   */
+  public GameFileWriter(WritableByteChannel channel, boolean withScores) throws IOException {
+    this.channel = channel;
+    this.withScores = withScores;
+    this.buffer = ByteBuffer.allocate(Integer.BYTES + balls.length + scores.length * Short.BYTES)
+        .order(ByteOrder.LITTLE_ENDIAN);
+    buffer.putInt(MAGIC).put(VERSION).put(withScores ? SCORES_FLAG : 0).putShort((short) 0);
+    writeBuffer();
+  }
+
+  /**
+   * @param path       The file to write. It's created or truncated.
+   * @param withScores Whether to add the score column
+   * @return a writer for the file
+   * @throws IOException if the file can't be opened
+   */
+  public static GameFileWriter create(Path path, boolean withScores) throws IOException {
+    return new GameFileWriter(FileChannel.open(path, CREATE, TRUNCATE_EXISTING, WRITE), withScores);
+  }
+
+  /**
+   * Add a packed game.
+   *
+   * @param low  the low long of a packed game
+   * @param high the high long of a packed game
+   * @throws IOException if a full block had to be written and the channel failed
+   */
+  public void write(long low, long high) throws IOException {
+    write(low, high, PackedGame.score(low, high));
+  }
+
+  /**
+   * Add a game.
+   *
+   * @param game a game of ten frames
+   * @throws IOException if a full block had to be written and the channel failed
+   */
+  public void write(Game game) throws IOException {
+    write(game.getPackedLow(), game.getPackedHigh(), game.calculateScore());
+  }
+
+  /**
+   * Parse and add a game written the usual way. Nothing is written for an invalid game.
+   *
+   * @param frames The frames as represented as a string
+   * @return The score or {@link FastScorer#INVALID}
+   * @throws IOException if a full block had to be written and the channel failed
+   */
+  public int write(CharSequence frames) throws IOException {
+    int score = PackedGame.encode(frames, packed, 0);
+    if (score != FastScorer.INVALID) {
+      write(packed[0], packed[1], score);
+    }
+    return score;
+  }
+
+  private void write(long low, long high, int score) throws IOException {
+    PackedGame.toBytes(low, high, balls, count * PackedGame.RECORD_BYTES);
+    scores[count] = (short) score;
+    count++;
+    gamesWritten++;
+    if (count == BLOCK_SIZE) {
+      writeBlock();
+    }
+  }
+
+  private void writeBlock() throws IOException {
+    buffer.clear();
+    buffer.putInt(count).put(balls, 0, count * PackedGame.RECORD_BYTES);
+    if (withScores) {
+      for (int i = 0; i < count; i++) {
+        buffer.putShort(scores[i]);
+      }
+    }
+    writeBuffer();
+    count = 0;
+  }
+
+  private void writeBuffer() throws IOException {
+    buffer.flip();
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+    buffer.clear();
+  }
+
+  /**
+   * @return the number of games written so far
+   */
+  public long getGamesWritten() {
+    return gamesWritten;
+  }
+
+  /**
+   * Write the last block, if it has anything in it, and close the channel.
+   *
+   * @throws IOException if the channel failed
+   */
+  @Override
+  public void close() throws IOException {
+    try {
+      if (count > 0) {
+        writeBlock();
+      }
+    } finally {
+      channel.close();
+    }
+  }
+
+}
@@ -0,0 +1,108 @@
+package com.adamkoch.bowling.journal;
+
+import java.util.Arrays;
+
+/**
+ * The newest record and the number of records of every bowler in a {@link GameJournal}. Each record points back to the
+ * bowler's record before it, so this only needs one entry per bowler, not per game: an open addressing table on three
+ * arrays that doubles when it's half full.
+ * <p>
+ * This isn't thread safe. The journal guards it.
+ */
+final class BowlerIndex {
+
+  private static final int EMPTY = -1;
+  private static final int INITIAL_CAPACITY = 1024;
+
+  private long[] bowlerIds;
+  private long[] newest;
+  private int[] counts;
+  private int mask;
+  private int size;
+
+  BowlerIndex() {
+    allocate(INITIAL_CAPACITY);
+  }
+
+  private void allocate(int capacity) {
+    bowlerIds = new long[capacity];
+    newest = new long[capacity];
+    counts = new int[capacity];
+    Arrays.fill(newest, EMPTY);
+    mask = capacity - 1;
+  }
+
+  /**
+   * Ids are often handed out one after the other, so the bits are mixed before they pick a slot.
+   */
+  private static int hash(long bowlerId) {
+    long h = bowlerId * 0x9E3779B97F4A7C15L;
+    return (int) (h ^ (h >>> 32));
+  }
+
+  private int slotOf(long bowlerId) {
+    int slot = hash(bowlerId) & mask;
+    while (newest[slot] != EMPTY && bowlerIds[slot] != bowlerId) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  /**
+   * @return the bowler's newest record, or -1 if they don't have any
+   */
+  long newest(long bowlerId) {
+    return newest[slotOf(bowlerId)];
+  }
+
+  /**
+   * @return how many records the bowler has
+   */
+  int count(long bowlerId) {
+    int slot = slotOf(bowlerId);
+    return newest[slot] == EMPTY ? 0 : counts[slot];
+  }
+
+  /**
+   * Make a record the bowler's newest.
+   *
+   * @return the bowler's record before it, or -1 if this is their first
+   */
+  long add(long bowlerId, long sequence) {
+    int slot = slotOf(bowlerId);
+    long previous = newest[slot];
+    if (previous == EMPTY) {
+      bowlerIds[slot] = bowlerId;
+      size++;
+    }
+    newest[slot] = sequence;
+    counts[slot]++;
+    if (size * 2 > bowlerIds.length) {
+      grow();
+    }
+    return previous;
+  }
+
+  private void grow() {
+    long[] oldIds = bowlerIds;
+    long[] oldNewest = newest;
+    int[] oldCounts = counts;
+    allocate(oldIds.length * 2);
+    for (int i = 0; i < oldIds.length; i++) {
+      if (oldNewest[i] != EMPTY) {
+        int slot = slotOf(oldIds[i]);
+        bowlerIds[slot] = oldIds[i];
+        newest[slot] = oldNewest[i];
+        counts[slot] = oldCounts[i];
+      }
+    }
+  }
+
+  /**
+   * @return how many bowlers have records
+   */
+  int size() {
+    return size;
+  }
+
+}
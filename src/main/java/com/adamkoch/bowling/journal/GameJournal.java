@@ -0,0 +1,549 @@
+package com.adamkoch.bowling.journal;
+
+import com.adamkoch.bowling.Game;
+import com.adamkoch.bowling.PackedGame;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Every game that was bowled, in the order they were added, kept in files that are only ever appended to so a crash
+ * can't lose or mangle anything that was synced. Opening a journal doesn't parse anything, so it's back up in the time
+ * it takes to read the files once.
+ * <p>
+ * The journal is a directory of segment files, {@code 0000000000.bwlj} on up, each one mapped into memory. A segment
+ * starts with a 64 byte header: "BWLJ", the version, the number of records in a segment and how many of them are known
+ * to be on the disk. Then come that many records of {@link #RECORD_BYTES} bytes each:
+ * <pre>
+ *   0   long   bowler id
+ *   8   long   timestamp, whatever the caller uses; milliseconds since the epoch is a good choice
+ *   16  long   the number of the bowler's record before this one, -1 if this is their first
+ *   24  long   low long of the packed balls, see {@link PackedGame}
+ *   32  long   high long of the packed balls
+ *   40  short  score
+ *   42  short  0
+ *   44  int    CRC32C of the 44 bytes before it
+ * </pre>
+ * Everything is little-endian. A record is numbered by where it is in the journal, 0 for the first one.
+ * <p>
+ * Appending only copies a record into a mapped segment. {@link #sync(long)} makes it durable: it forces the records,
+ * then writes how many of the segment's records are synced into its header and forces that. Syncs are a group commit:
+ * one thread forces every record appended so far to the disk while the others wait, and then they all find their
+ * records are already durable. A thousand threads syncing at once cost a handful of forces, not a thousand.
+ * <p>
+ * When a journal is opened every record is checked against its checksum and the index of bowlers is built again. A
+ * crash in the middle of writing leaves a torn record past the synced ones; it and everything after it is zeroed, and
+ * the journal carries on from there. A bad record among the ones the header says were synced can't be a torn write,
+ * and neither can one with good records in the segments after it, so opening fails rather than throw away games that
+ * were durable. A segment is synced before the next one is started, so a torn record can only be in the last segment
+ * that has any.
+ * <p>
+ * The index only keeps each bowler's newest record and how many they have. The records point back to the bowler's
+ * record before them, so finding a bowler's games follows the chain through the mapped files and the index stays small
+ * however many games there are.
+ * <p>
+ * Any number of threads can append, sync and read. A record can be read by any thread once {@link #size()} counts it.
+ */
+public final class GameJournal implements Closeable {
+
+  public static final int RECORD_BYTES = 48;
+
+  /**
+   * Records per segment. A segment is 48 bytes a record, so this is 48MB.
+   */
+  public static final int RECORDS_PER_SEGMENT = 1 << 20;
+
+  static final int MAGIC = 'B' | 'W' << 8 | 'L' << 16 | 'J' << 24;
+  static final int VERSION = 1;
+  static final int HEADER_SIZE = 64;
+  private static final int RECORDS_PER_SEGMENT_OFFSET = 8;
+  // journals from before this was written have 0 here, which only means nothing was known to be synced
+  private static final int SYNCED_RECORDS_OFFSET = 12;
+  private static final String SUFFIX = ".bwlj";
+
+  private static final int BOWLER_ID = 0;
+  private static final int TIMESTAMP = 8;
+  private static final int PREVIOUS = 16;
+  private static final int LOW = 24;
+  private static final int HIGH = 32;
+  private static final int SCORE = 40;
+  private static final int CHECKSUM = 44;
+
+  private static final long NONE = -1;
+
+  private final Path directory;
+  private final int recordsPerSegment;
+  private final int segmentShift;
+  private final long segmentBytes;
+  private final BowlerIndex index = new BowlerIndex();
+
+  // Replaced with a longer copy when a segment is added, before the size counts any of its records, so a reader that
+  // looked at the size first always finds the segment.
+  private volatile MappedByteBuffer[] segments = new MappedByteBuffer[0];
+  private volatile long size;
+  private volatile long durable;
+  private boolean tailRepaired;
+
+  // guarded by this
+  private final byte[] record = new byte[RECORD_BYTES];
+  private final ByteBuffer recordBuffer = ByteBuffer.wrap(record).order(ByteOrder.LITTLE_ENDIAN);
+  private final CRC32C checksum = new CRC32C();
+
+  // guarded by forceLock
+  private final Object forceLock = new Object();
+  private long forces;
+
+  private GameJournal(Path directory, int recordsPerSegment) {
+    if (Integer.bitCount(recordsPerSegment) != 1) {
+      throw new IllegalArgumentException("A segment holds a power of two records but it was " + recordsPerSegment);
+    }
+    this.directory = directory;
+    this.recordsPerSegment = recordsPerSegment;
+    this.segmentShift = Integer.numberOfTrailingZeros(recordsPerSegment);
+    this.segmentBytes = HEADER_SIZE + (long) recordsPerSegment * RECORD_BYTES;
+  }
+
+  /**
+   * Open the journal in a directory, creating it if there isn't one, and recover it if the last run crashed.
+   *
+   * @param directory where the segment files are
+   * @return the journal, ready to append to
+   * @throws IOException if the files can't be mapped, aren't a journal, or a bad record has good ones after it
+   */
+  public static GameJournal open(Path directory) throws IOException {
+    return open(directory, RECORDS_PER_SEGMENT);
+  }
+
+  /**
+   * @param recordsPerSegment only used for a new journal. An existing one keeps what it was created with.
+   */
+  static GameJournal open(Path directory, int recordsPerSegment) throws IOException {
+    Files.createDirectories(directory);
+    Path[] files;
+    try (Stream<Path> list = Files.list(directory)) {
+      files = list.filter(path -> path.getFileName().toString().endsWith(SUFFIX)).sorted().toArray(Path[]::new);
+    }
+    for (int i = 0; i < files.length; i++) {
+      if (!files[i].getFileName().toString().equals(segmentName(i))) {
+        throw new IOException("Expected journal segment " + segmentName(i) + " but found " + files[i].getFileName());
+      }
+    }
+    GameJournal journal = new GameJournal(directory, files.length == 0 ? recordsPerSegment
+        : recordsPerSegmentOf(files[0], recordsPerSegment));
+    if (files.length == 0) {
+      journal.addSegment();
+    } else {
+      journal.recover(files.length);
+    }
+    return journal;
+  }
+
+  private static String segmentName(int segment) {
+    return String.format("%010d", segment) + SUFFIX;
+  }
+
+  /**
+   * @param fallback what to use if the segment was made but the crash came before its header was written
+   */
+  private static int recordsPerSegmentOf(Path file, int fallback) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, READ)) {
+      ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+      while (header.hasRemaining() && channel.read(header) >= 0) {
+        // keep reading
+      }
+      if (header.getInt(0) == 0) {
+        return fallback;
+      }
+      if (header.hasRemaining() || header.getInt(0) != MAGIC) {
+        throw new IOException(file + " isn't a journal segment");
+      }
+      if (header.getInt(4) != VERSION) {
+        throw new IOException("Journal version " + header.getInt(4) + " isn't supported");
+      }
+      return header.getInt(RECORDS_PER_SEGMENT_OFFSET);
+    }
+  }
+
+  private MappedByteBuffer map(int segment) throws IOException {
+    // the mapping stays good after the channel is closed, and mapping past the end makes the file longer
+    try (FileChannel channel = FileChannel.open(directory.resolve(segmentName(segment)), CREATE, READ, WRITE)) {
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+      buffer.order(ByteOrder.LITTLE_ENDIAN);
+      return buffer;
+    }
+  }
+
+  private void addSegment() throws IOException {
+    MappedByteBuffer[] mapped = segments;
+    MappedByteBuffer segment = map(mapped.length);
+    segment.putInt(0, MAGIC).putInt(4, VERSION).putInt(RECORDS_PER_SEGMENT_OFFSET, recordsPerSegment);
+    // A segment without its header can't be opened, so that's made durable right away. The records are synced when
+    // someone asks.
+    segment.force(0, HEADER_SIZE);
+    MappedByteBuffer[] grown = Arrays.copyOf(mapped, mapped.length + 1);
+    grown[mapped.length] = segment;
+    segments = grown;
+  }
+
+  private void recover(int segmentCount) throws IOException {
+    MappedByteBuffer[] mapped = new MappedByteBuffer[segmentCount];
+    for (int s = 0; s < segmentCount; s++) {
+      mapped[s] = map(s);
+      if (s == segmentCount - 1 && mapped[s].getInt(0) == 0) {
+        // the crash came between making the last segment and writing its header, so it's empty
+        mapped[s].putInt(0, MAGIC).putInt(4, VERSION).putInt(RECORDS_PER_SEGMENT_OFFSET, recordsPerSegment);
+        mapped[s].force(0, HEADER_SIZE);
+      }
+      if (mapped[s].getInt(0) != MAGIC || mapped[s].getInt(RECORDS_PER_SEGMENT_OFFSET) != recordsPerSegment) {
+        throw new IOException("Journal segment " + segmentName(s) + " has a bad header");
+      }
+    }
+    segments = mapped;
+
+    long count = 0;
+    for (int s = 0; s < segmentCount; s++) {
+      int valid = checkRecords(mapped[s], (long) s << segmentShift);
+      int synced = mapped[s].getInt(SYNCED_RECORDS_OFFSET);
+      if (valid < synced) {
+        throw new IOException("Record " + (count + valid) + " in journal segment " + segmentName(s)
+            + " was synced but is bad");
+      }
+      if (synced < valid) {
+        // they survived the crash, so they're as good as synced now
+        markSynced(mapped[s], 0, valid);
+      }
+      count += valid;
+      if (valid < recordsPerSegment) {
+        // the torn tail, as long as nothing after it made it to the disk
+        for (int later = s + 1; later < segmentCount; later++) {
+          if (hasGoodRecord(mapped[later])) {
+            throw new IOException("Record " + count + " in journal segment " + segmentName(s) + " is bad");
+          }
+        }
+        tailRepaired = truncate(mapped[s], valid);
+        for (int later = s + 1; later < segmentCount; later++) {
+          tailRepaired |= truncate(mapped[later], 0);
+        }
+        break;
+      }
+    }
+    size = count;
+    durable = count;
+  }
+
+  /**
+   * Check a segment's records in order, adding them to the index, until one is bad or never written.
+   *
+   * @return how many were good
+   */
+  private int checkRecords(MappedByteBuffer segment, long first) {
+    for (int r = 0; r < recordsPerSegment; r++) {
+      int offset = offsetOf(r);
+      segment.get(offset, record, 0, RECORD_BYTES);
+      checksum.reset();
+      checksum.update(record, 0, CHECKSUM);
+      long bowlerId = recordBuffer.getLong(BOWLER_ID);
+      // a record that checks out but doesn't point at the bowler's last one was left over from something else
+      if ((int) checksum.getValue() != recordBuffer.getInt(CHECKSUM)
+          || recordBuffer.getLong(PREVIOUS) != index.newest(bowlerId)) {
+        return r;
+      }
+      index.add(bowlerId, first + r);
+    }
+    return recordsPerSegment;
+  }
+
+  /**
+   * @return whether any record in the segment checks out against its checksum
+   */
+  private boolean hasGoodRecord(MappedByteBuffer segment) {
+    for (int r = 0; r < recordsPerSegment; r++) {
+      segment.get(offsetOf(r), record, 0, RECORD_BYTES);
+      checksum.reset();
+      checksum.update(record, 0, CHECKSUM);
+      if ((int) checksum.getValue() == recordBuffer.getInt(CHECKSUM)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Force records to the disk and then record in the segment's header that they're there, so they're never taken for a
+   * torn tail.
+   *
+   * @param from the first row to force
+   * @param to   the row after the last one, and how many rows of the segment are synced afterwards
+   */
+  private static void markSynced(MappedByteBuffer segment, int from, int to) {
+    segment.force(offsetOf(from), (to - from) * RECORD_BYTES);
+    segment.putInt(SYNCED_RECORDS_OFFSET, to);
+    segment.force(0, HEADER_SIZE);
+  }
+
+  /**
+   * Zero everything from a record on, so the torn record and anything that made it to the disk after it are gone.
+   *
+   * @return whether there was anything to zero
+   */
+  private boolean truncate(MappedByteBuffer segment, int from) {
+    boolean zeroed = false;
+    int start = offsetOf(from);
+    for (int offset = start; offset < segmentBytes; offset += Long.BYTES) {
+      if (segment.getLong(offset) != 0) {
+        segment.putLong(offset, 0);
+        zeroed = true;
+      }
+    }
+    if (zeroed) {
+      segment.force(start, (int) (segmentBytes - start));
+    }
+    return zeroed;
+  }
+
+  private static int offsetOf(int row) {
+    return HEADER_SIZE + row * RECORD_BYTES;
+  }
+
+  /**
+   * Add a game. It can be read right away but won't survive a crash until it's synced.
+   *
+   * @param bowlerId  who bowled it
+   * @param timestamp when, in whatever units the caller likes
+   * @param low       the low long of a packed game
+   * @param high      the high long of a packed game
+   * @return the number of the record
+   * @throws IOException if a new segment was needed and couldn't be made
+   */
+  public synchronized long append(long bowlerId, long timestamp, long low, long high) throws IOException {
+    long sequence = size;
+    int row = (int) (sequence & (recordsPerSegment - 1));
+    if (row == 0 && sequence > 0) {
+      // The segment that just filled up goes to the disk before anything in the next one can, so a crash can't leave a
+      // hole in the middle of the journal.
+      sync(sequence - 1);
+    }
+    if (row == 0 && sequence >>> segmentShift == segments.length) {
+      addSegment();
+    }
+    long previous = index.add(bowlerId, sequence);
+    recordBuffer.putLong(BOWLER_ID, bowlerId)
+        .putLong(TIMESTAMP, timestamp)
+        .putLong(PREVIOUS, previous)
+        .putLong(LOW, low)
+        .putLong(HIGH, high)
+        .putShort(SCORE, (short) PackedGame.score(low, high))
+        .putShort(SCORE + Short.BYTES, (short) 0);
+    checksum.reset();
+    checksum.update(record, 0, CHECKSUM);
+    recordBuffer.putInt(CHECKSUM, (int) checksum.getValue());
+    segments[(int) (sequence >>> segmentShift)].put(offsetOf(row), record, 0, RECORD_BYTES);
+    size = sequence + 1;
+    return sequence;
+  }
+
+  /**
+   * Add a game.
+   *
+   * @param bowlerId  who bowled it
+   * @param timestamp when, in whatever units the caller likes
+   * @param game      a game of ten frames
+   * @return the number of the record
+   * @throws IOException if a new segment was needed and couldn't be made
+   */
+  public long append(long bowlerId, long timestamp, Game game) throws IOException {
+    return append(bowlerId, timestamp, game.getPackedLow(), game.getPackedHigh());
+  }
+
+  /**
+   * Wait until a record, and every record before it, is on the disk. If another thread is already forcing, this
+   * waits for it and then either finds the record durable or forces everything appended since.
+   *
+   * @param sequence the number of a record that was appended
+   */
+  public void sync(long sequence) {
+    if (sequence < 0 || sequence >= size) {
+      throw new IndexOutOfBoundsException("There are " + size + " records but asked to sync record " + sequence);
+    }
+    if (sequence < durable) {
+      return;
+    }
+    synchronized (forceLock) {
+      long from = durable;
+      if (sequence < from) {
+        return;
+      }
+      // the size first, so every segment it counts is in the array
+      long to = size;
+      MappedByteBuffer[] mapped = segments;
+      for (long start = from; start < to; ) {
+        int segment = (int) (start >>> segmentShift);
+        int row = (int) (start & (recordsPerSegment - 1));
+        int rows = (int) Math.min(recordsPerSegment - row, to - start);
+        markSynced(mapped[segment], row, row + rows);
+        start += rows;
+      }
+      forces++;
+      durable = to;
+    }
+  }
+
+  /**
+   * Sync everything appended so far.
+   */
+  public void sync() {
+    long last = size - 1;
+    if (last >= 0) {
+      sync(last);
+    }
+  }
+
+  private MappedByteBuffer segmentOf(long sequence) {
+    if (sequence < 0 || sequence >= size) {
+      throw new IndexOutOfBoundsException("There are " + size + " records but asked for record " + sequence);
+    }
+    return segments[(int) (sequence >>> segmentShift)];
+  }
+
+  private int offsetOf(long sequence) {
+    return offsetOf((int) (sequence & (recordsPerSegment - 1)));
+  }
+
+  public long bowlerId(long sequence) {
+    return segmentOf(sequence).getLong(offsetOf(sequence) + BOWLER_ID);
+  }
+
+  public long timestamp(long sequence) {
+    return segmentOf(sequence).getLong(offsetOf(sequence) + TIMESTAMP);
+  }
+
+  public int score(long sequence) {
+    return segmentOf(sequence).getShort(offsetOf(sequence) + SCORE);
+  }
+
+  /**
+   * @param sequence the number of a record
+   * @return the low long of its game, see {@link PackedGame}
+   */
+  public long packedLow(long sequence) {
+    return segmentOf(sequence).getLong(offsetOf(sequence) + LOW);
+  }
+
+  /**
+   * @param sequence the number of a record
+   * @return the high long of its game, see {@link PackedGame}
+   */
+  public long packedHigh(long sequence) {
+    return segmentOf(sequence).getLong(offsetOf(sequence) + HIGH);
+  }
+
+  /**
+   * @param sequence the number of a record
+   * @return the game, rebuilt from its balls
+   */
+  public Game game(long sequence) {
+    MappedByteBuffer segment = segmentOf(sequence);
+    int offset = offsetOf(sequence);
+    return Game.fromPacked(segment.getLong(offset + LOW), segment.getLong(offset + HIGH));
+  }
+
+  /**
+   * @param sequence the number of a record
+   * @return the number of the same bowler's record before it, or -1 if it was their first
+   */
+  public long previous(long sequence) {
+    return segmentOf(sequence).getLong(offsetOf(sequence) + PREVIOUS);
+  }
+
+  /**
+   * @param bowlerId who to look for
+   * @return the number of the bowler's newest record, or -1 if they don't have any
+   */
+  public synchronized long newest(long bowlerId) {
+    return index.newest(bowlerId);
+  }
+
+  /**
+   * @param bowlerId who to look for
+   * @return how many records the bowler has
+   */
+  public synchronized int gameCount(long bowlerId) {
+    return index.count(bowlerId);
+  }
+
+  /**
+   * Find a bowler's records, newest first.
+   *
+   * @param bowlerId  who to look for
+   * @param sequences where the record numbers go. It's filled as far as it can be.
+   * @return how many were found
+   */
+  public int gamesOf(long bowlerId, long[] sequences) {
+    int found = 0;
+    for (long sequence = newest(bowlerId); sequence != NONE && found < sequences.length;
+         sequence = previous(sequence)) {
+      sequences[found++] = sequence;
+    }
+    return found;
+  }
+
+  /**
+   * @return how many bowlers have records
+   */
+  public synchronized int bowlerCount() {
+    return index.size();
+  }
+
+  /**
+   * @return the number of records, synced or not
+   */
+  public long size() {
+    return size;
+  }
+
+  /**
+   * @return the number of records that are known to be on the disk
+   */
+  public long durableSize() {
+    return durable;
+  }
+
+  /**
+   * @return how many times records were forced to the disk. Compared to the number of syncs, it says how much group
+   * commit saved.
+   */
+  public long getForces() {
+    synchronized (forceLock) {
+      return forces;
+    }
+  }
+
+  /**
+   * @return whether opening the journal found a torn record at the end and zeroed it
+   */
+  public boolean isTailRepaired() {
+    return tailRepaired;
+  }
+
+  /**
+   * Sync everything. The segments stay mapped until they're garbage collected, like {@code GameStore}'s.
+   */
+  @Override
+  public void close() {
+    sync();
+  }
+
+}
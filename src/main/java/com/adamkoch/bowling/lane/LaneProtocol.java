@@ -0,0 +1,91 @@
+package com.adamkoch.bowling.lane;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The binary protocol between pinsetters and a {@link LaneServer}, in network byte order. A connection sends roll
+ * events and gets one reply back for each event, in the same order.
+ * <p>
+ * An event is 4 bytes:
+ * <pre>
+ *   lane    unsigned 16 bits
+ *   bowler  unsigned 8 bits
+ *   pins    unsigned 8 bits, 0 through 10, or 255 to start a new game
+ * </pre>
+ * A reply is 8 bytes:
+ * <pre>
+ *   lane            unsigned 16 bits
+ *   bowler          unsigned 8 bits
+ *   status          high 4 bits, a {@link RollStatus} ordinal
+ *   settled frames  low 4 bits, 0 through 10
+ *   settled score   unsigned 16 bits, the score through the settled frames
+ *   score           unsigned 16 bits, the total so far
+ * </pre>
+ */
+public final class LaneProtocol {
+
+  public static final int EVENT_BYTES = 4;
+  public static final int REPLY_BYTES = 8;
+
+  /**
+   * The pins of an event that starts a new game instead of recording a ball.
+   */
+  public static final int NEW_GAME = 0xFF;
+
+  private LaneProtocol() {
+    // utility classes shouldn't be instantiated
+  }
+
+  public static void putEvent(ByteBuffer buffer, int lane, int bowler, int pins) {
+    buffer.putShort((short) lane).put((byte) bowler).put((byte) pins);
+  }
+
+  /**
+   * Read an event and apply it to the scoreboard.
+   *
+   * @param in         where the event is, with at least {@link #EVENT_BYTES} remaining
+   * @param scoreboard the games
+   * @param out        where the reply goes, with at least {@link #REPLY_BYTES} remaining
+   */
+  static void handle(ByteBuffer in, LaneScoreboard scoreboard, ByteBuffer out) {
+    int lane = in.getShort() & 0xFFFF;
+    int bowler = in.get() & 0xFF;
+    int pins = in.get() & 0xFF;
+    RollStatus status = pins == NEW_GAME ? scoreboard.newGame(lane, bowler) : scoreboard.roll(lane, bowler, pins);
+    out.putShort((short) lane).put((byte) bowler);
+    if (status == RollStatus.UNKNOWN_BOWLER) {
+      out.put((byte) (status.ordinal() << 4)).putInt(0);
+    } else {
+      out.put((byte) (status.ordinal() << 4 | scoreboard.settledFrames(lane, bowler)))
+          .putShort((short) scoreboard.settledScore(lane, bowler))
+          .putShort((short) scoreboard.score(lane, bowler));
+    }
+  }
+
+  // The reply fields, read at an absolute position so a reader can look at a reply without consuming it
+
+  public static int replyLane(ByteBuffer buffer, int position) {
+    return buffer.getShort(position) & 0xFFFF;
+  }
+
+  public static int replyBowler(ByteBuffer buffer, int position) {
+    return buffer.get(position + 2) & 0xFF;
+  }
+
+  public static RollStatus replyStatus(ByteBuffer buffer, int position) {
+    return RollStatus.fromCode((buffer.get(position + 3) & 0xFF) >>> 4);
+  }
+
+  public static int replySettledFrames(ByteBuffer buffer, int position) {
+    return buffer.get(position + 3) & 0x0F;
+  }
+
+  public static int replySettledScore(ByteBuffer buffer, int position) {
+    return buffer.getShort(position + 4) & 0xFFFF;
+  }
+
+  public static int replyScore(ByteBuffer buffer, int position) {
+    return buffer.getShort(position + 6) & 0xFFFF;
+  }
+
+}
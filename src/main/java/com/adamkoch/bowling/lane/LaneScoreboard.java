@@ -0,0 +1,213 @@
+package com.adamkoch.bowling.lane;
+
+import java.util.Arrays;
+
+/**
+ * The games being bowled on every lane, one ball at a time, without any objects. Every bowler on every lane gets a
+ * fixed run of ints in one array, allocated up front, so a ball costs a few array reads and writes and never any
+ * garbage.
+ * <p>
+ * The rules are the same as {@link com.adamkoch.bowling.LiveGame}: a strike or a spare is added to the total right
+ * away and its bonus as the balls after it come in, and a frame is only settled once its score can't change anymore.
+ * At most two finished frames can still be waiting on bonus balls, the frame before a strike and the strike, so that's
+ * all the room kept for them.
+ * <p>
+ * This isn't thread safe. {@link LaneServer} has each lane sent over one connection, and each connection handled by one
+ * thread, so no two threads ever touch the same bowler.
+ */
+public final class LaneScoreboard {
+
+  public static final int NUMBER_OF_FRAMES = 10;
+
+  private static final int ALL_PINS = 10;
+  private static final int LAST_FRAME = NUMBER_OF_FRAMES - 1;
+
+  // the fields of one bowler's game, at slot * STRIDE
+  private static final int FRAME = 0;
+  private static final int BALL = 1;
+  private static final int STANDING = 2;
+  // the pins knocked down in the frame being bowled
+  private static final int CURRENT = 3;
+  private static final int SCORE = 4;
+  private static final int SETTLED_FRAMES = 5;
+  private static final int SETTLED_SCORE = 6;
+  private static final int COMPLETE = 7;
+  // how many finished frames are still waiting on bonus balls, the older one first
+  private static final int WAITING = 8;
+  private static final int OLDER_OWED = 9;
+  private static final int OLDER_SCORE = 10;
+  private static final int NEWER_OWED = 11;
+  private static final int NEWER_SCORE = 12;
+  // rounded up to a power of two so a bowler's fields don't span more cache lines than they have to
+  private static final int STRIDE = 16;
+
+  private final int lanes;
+  private final int bowlersPerLane;
+  private final int[] state;
+
+  /**
+   * @param lanes          how many lanes there are, numbered from 0
+   * @param bowlersPerLane how many bowlers a lane can have, numbered from 0
+   */
+  public LaneScoreboard(int lanes, int bowlersPerLane) {
+    if (lanes <= 0 || bowlersPerLane <= 0 || (long) lanes * bowlersPerLane * STRIDE > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Can't keep " + lanes + " lanes of " + bowlersPerLane + " bowlers");
+    }
+    this.lanes = lanes;
+    this.bowlersPerLane = bowlersPerLane;
+    this.state = new int[lanes * bowlersPerLane * STRIDE];
+    for (int slot = 0; slot < lanes * bowlersPerLane; slot++) {
+      reset(slot * STRIDE);
+    }
+  }
+
+  /**
+   * Start a new game for a bowler.
+   *
+   * @param lane   the lane
+   * @param bowler the bowler on that lane
+   * @return {@link RollStatus#ACCEPTED}, or {@link RollStatus#UNKNOWN_BOWLER} if there's no such lane or bowler
+   */
+  public RollStatus newGame(int lane, int bowler) {
+    if (!exists(lane, bowler)) {
+      return RollStatus.UNKNOWN_BOWLER;
+    }
+    reset(offset(lane, bowler));
+    return RollStatus.ACCEPTED;
+  }
+
+  private void reset(int base) {
+    Arrays.fill(state, base, base + STRIDE, 0);
+    state[base + STANDING] = ALL_PINS;
+  }
+
+  /**
+   * Record a bowler's next ball. A ball that's turned down doesn't change anything.
+   *
+   * @param lane   the lane
+   * @param bowler the bowler on that lane
+   * @param pins   the number of pins the ball knocked down
+   * @return whether the ball counted, and if not why
+   */
+  public RollStatus roll(int lane, int bowler, int pins) {
+    if (!exists(lane, bowler)) {
+      return RollStatus.UNKNOWN_BOWLER;
+    }
+    int base = offset(lane, bowler);
+    if (state[base + COMPLETE] != 0) {
+      return RollStatus.GAME_OVER;
+    }
+    if (pins < 0 || pins > state[base + STANDING]) {
+      return RollStatus.TOO_MANY_PINS;
+    }
+
+    // pay out the strikes and spares waiting on this ball
+    int paid = 1;
+    int waiting = state[base + WAITING];
+    if (waiting > 0 && state[base + OLDER_OWED] > 0) {
+      state[base + OLDER_OWED]--;
+      state[base + OLDER_SCORE] += pins;
+      paid++;
+    }
+    if (waiting > 1 && state[base + NEWER_OWED] > 0) {
+      state[base + NEWER_OWED]--;
+      state[base + NEWER_SCORE] += pins;
+      paid++;
+    }
+    state[base + SCORE] += pins * paid;
+    settle(base);
+
+    int frame = state[base + FRAME];
+    int ball = ++state[base + BALL];
+    int current = state[base + CURRENT] += pins;
+    int standing = state[base + STANDING] -= pins;
+    if (frame < LAST_FRAME) {
+      if (standing == 0 || ball == 2) {
+        // two more balls for a strike, one for a spare
+        int owed = standing > 0 ? 0 : ball == 1 ? 2 : 1;
+        if (state[base + WAITING] == 0) {
+          state[base + OLDER_OWED] = owed;
+          state[base + OLDER_SCORE] = current;
+        } else {
+          state[base + NEWER_OWED] = owed;
+          state[base + NEWER_SCORE] = current;
+        }
+        state[base + WAITING]++;
+        settle(base);
+        state[base + FRAME] = frame + 1;
+        state[base + BALL] = 0;
+        state[base + CURRENT] = 0;
+        state[base + STANDING] = ALL_PINS;
+      }
+    } else if (ball == 3 || (ball == 2 && current < ALL_PINS)) {
+      // the tenth frame's extra balls don't earn bonuses, so it's settled as soon as it's over
+      state[base + COMPLETE] = 1;
+      state[base + SETTLED_FRAMES] = NUMBER_OF_FRAMES;
+      state[base + SETTLED_SCORE] += current;
+    } else if (standing == 0) {
+      // a strike or a spare in the tenth gets a fresh rack
+      state[base + STANDING] = ALL_PINS;
+    }
+    return RollStatus.ACCEPTED;
+  }
+
+  /**
+   * Settle the waiting frames that were paid in full, oldest first.
+   */
+  private void settle(int base) {
+    while (state[base + WAITING] > 0 && state[base + OLDER_OWED] == 0) {
+      state[base + SETTLED_FRAMES]++;
+      state[base + SETTLED_SCORE] += state[base + OLDER_SCORE];
+      state[base + OLDER_OWED] = state[base + NEWER_OWED];
+      state[base + OLDER_SCORE] = state[base + NEWER_SCORE];
+      state[base + NEWER_OWED] = 0;
+      state[base + NEWER_SCORE] = 0;
+      state[base + WAITING]--;
+    }
+  }
+
+  /**
+   * @return the total so far, with the bonuses paid so far
+   */
+  public int score(int lane, int bowler) {
+    return state[offset(lane, bowler) + SCORE];
+  }
+
+  /**
+   * @return how many frames, from the first, have a score that can't change anymore
+   */
+  public int settledFrames(int lane, int bowler) {
+    return state[offset(lane, bowler) + SETTLED_FRAMES];
+  }
+
+  /**
+   * @return the score through the last settled frame, which is what a lane display shows
+   */
+  public int settledScore(int lane, int bowler) {
+    return state[offset(lane, bowler) + SETTLED_SCORE];
+  }
+
+  public boolean isComplete(int lane, int bowler) {
+    return state[offset(lane, bowler) + COMPLETE] != 0;
+  }
+
+  public int getLanes() {
+    return lanes;
+  }
+
+  public int getBowlersPerLane() {
+    return bowlersPerLane;
+  }
+
+  private boolean exists(int lane, int bowler) {
+    return lane >= 0 && lane < lanes && bowler >= 0 && bowler < bowlersPerLane;
+  }
+
+  private int offset(int lane, int bowler) {
+    if (!exists(lane, bowler)) {
+      throw new IndexOutOfBoundsException("There's no bowler " + bowler + " on lane " + lane);
+    }
+    return (lane * bowlersPerLane + bowler) * STRIDE;
+  }
+
+}
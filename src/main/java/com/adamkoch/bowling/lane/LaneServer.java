@@ -0,0 +1,156 @@
+package com.adamkoch.bowling.lane;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Takes roll events from pinsetters over TCP, scores them as they come in and answers each one with the bowler's
+ * updated frame totals on the same connection. See {@link LaneProtocol} for the bytes.
+ * <p>
+ * One thread accepts connections and hands them out in turn to a fixed number of selector threads. A selector thread
+ * reads whatever events have arrived on any of its connections, applies them to the {@link LaneScoreboard} and writes
+ * the replies back, all with buffers that were allocated when the connection was accepted. A single selector thread is
+ * usually enough; more of them help once the scoring and the system calls don't fit on one core.
+ * <p>
+ * A lane has to send its events over one connection at a time. The scoreboard isn't locked, so two connections on
+ * different selector threads sending events for the same bowler would race.
+ */
+public final class LaneServer implements Closeable {
+
+  /**
+   * How long to wait before accepting again after a failure, doubled for every failure in a row up to
+   * {@link #MAX_ACCEPT_BACKOFF_MILLIS}. Running out of file descriptors doesn't fix itself in a microsecond, and
+   * retrying right away would only spin the acceptor.
+   */
+  private static final long MIN_ACCEPT_BACKOFF_MILLIS = 10;
+  private static final long MAX_ACCEPT_BACKOFF_MILLIS = 1000;
+
+  private final ServerSocketChannel serverChannel;
+  private final SelectorLoop[] loops;
+  private final Thread acceptor;
+  private final LongAdder events = new LongAdder();
+  private final LongAdder connections = new LongAdder();
+
+  private LaneServer(ServerSocketChannel serverChannel, LaneScoreboard scoreboard, int selectors) throws IOException {
+    this.serverChannel = serverChannel;
+    this.loops = new SelectorLoop[selectors];
+    for (int i = 0; i < selectors; i++) {
+      loops[i] = new SelectorLoop(scoreboard, events);
+    }
+    this.acceptor = new Thread(this::accept, "lane-acceptor");
+    acceptor.setDaemon(true);
+  }
+
+  /**
+   * Start a server.
+   *
+   * @param address    Where to listen. Port 0 picks a free port, see {@link #getPort()}.
+   * @param scoreboard The games the events are for
+   * @param selectors  How many selector threads handle the connections
+   * @return the running server
+   * @throws IOException if the address can't be bound
+   */
+  public static LaneServer start(InetSocketAddress address, LaneScoreboard scoreboard, int selectors)
+      throws IOException {
+    if (selectors <= 0) {
+      throw new IllegalArgumentException("Need at least one selector thread but there were " + selectors);
+    }
+    ServerSocketChannel serverChannel = ServerSocketChannel.open();
+    try {
+      serverChannel.bind(address);
+      LaneServer server = new LaneServer(serverChannel, scoreboard, selectors);
+      for (int i = 0; i < selectors; i++) {
+        Thread thread = new Thread(server.loops[i], "lane-selector-" + i);
+        thread.setDaemon(true);
+        thread.start();
+      }
+      server.acceptor.start();
+      return server;
+    } catch (IOException | RuntimeException e) {
+      serverChannel.close();
+      throw e;
+    }
+  }
+
+  private void accept() {
+    int next = 0;
+    long failures = 0;
+    long backoffMillis = MIN_ACCEPT_BACKOFF_MILLIS;
+    while (true) {
+      final SocketChannel channel;
+      try {
+        channel = serverChannel.accept();
+      } catch (ClosedChannelException e) {
+        // the server was closed
+        return;
+      } catch (IOException e) {
+        // one connection that couldn't be accepted shouldn't stop the next one, but only the first failure in a row is
+        // worth a line
+        if (failures++ == 0) {
+          System.err.println("Unable to accept lane connections, retrying: " + e);
+        }
+        try {
+          Thread.sleep(backoffMillis);
+        } catch (InterruptedException interrupted) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+        backoffMillis = Math.min(backoffMillis * 2, MAX_ACCEPT_BACKOFF_MILLIS);
+        continue;
+      }
+      if (failures > 0) {
+        System.err.println("Accepting lane connections again after " + failures + " failures");
+        failures = 0;
+        backoffMillis = MIN_ACCEPT_BACKOFF_MILLIS;
+      }
+      try {
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        connections.increment();
+        loops[next].register(channel);
+        next = (next + 1) % loops.length;
+      } catch (IOException e) {
+        // the pinsetter went away before it could be set up
+        SelectorLoop.closeQuietly(channel);
+      }
+    }
+  }
+
+  /**
+   * @return the port the server is listening on
+   */
+  public int getPort() {
+    return serverChannel.socket().getLocalPort();
+  }
+
+  /**
+   * @return every event handled so far, the ones that were turned down included
+   */
+  public long getEvents() {
+    return events.sum();
+  }
+
+  /**
+   * @return every connection accepted so far
+   */
+  public long getConnections() {
+    return connections.sum();
+  }
+
+  /**
+   * Stop listening and close every connection.
+   */
+  @Override
+  public void close() throws IOException {
+    serverChannel.close();
+    for (SelectorLoop loop : loops) {
+      loop.close();
+    }
+  }
+
+}
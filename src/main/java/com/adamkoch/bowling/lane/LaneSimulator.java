@@ -0,0 +1,228 @@
+package com.adamkoch.bowling.lane;
+
+import com.adamkoch.bowling.LiveGame;
+import com.adamkoch.bowling.server.LoadReport;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Pretends to be the pinsetters of a whole lot of lanes and reports how many roll events a {@link LaneServer} handles a
+ * second and how long each one waits for its reply. It runs the same load against a server with one selector thread
+ * and then against one with a pool of them.
+ * <p>
+ * Every connection carries a number of lanes. It sends one ball for each of its lanes, reads all the replies, and
+ * starts over, so a ball's latency is from when its batch was sent to when its reply was read. Each lane bowls a
+ * random game with a {@link LiveGame} next to it, and a reply whose scores don't match the LiveGame counts as an
+ * error. When a game is over the lane starts a new one.
+ * <pre>
+ *   java -cp bowling.jar com.adamkoch.bowling.lane.LaneSimulator [selectors [connections [lanes per connection [seconds]]]]
+ * </pre>
+ */
+public final class LaneSimulator {
+
+  private static final int DEFAULT_SELECTORS = 4;
+  private static final int DEFAULT_CONNECTIONS = 32;
+  private static final int DEFAULT_LANES_PER_CONNECTION = 128;
+  private static final int DEFAULT_SECONDS = 5;
+  private static final long SEED = 20221018L;
+
+  private LaneSimulator() {
+    // utility classes shouldn't be instantiated
+  }
+
+  public static void main(String[] args) throws IOException {
+    int selectors = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_SELECTORS;
+    int connections = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_CONNECTIONS;
+    int lanesPerConnection = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_LANES_PER_CONNECTION;
+    Duration duration = Duration.ofSeconds(args.length > 3 ? Integer.parseInt(args[3]) : DEFAULT_SECONDS);
+    System.out.println(connections * lanesPerConnection + " lanes over " + connections + " connections");
+    for (int threads : new int[]{1, selectors}) {
+      System.out.println(threads + " selector thread(s): " + run(threads, connections, lanesPerConnection, duration));
+    }
+  }
+
+  /**
+   * Start a server on a free port and keep it busy for a while.
+   *
+   * @param selectors          How many selector threads the server has
+   * @param connections        How many connections to make
+   * @param lanesPerConnection How many lanes each connection carries
+   * @param duration           How long to measure, after a warm up of two seconds
+   * @return the events per second and the latency of each ball
+   * @throws IOException if the server couldn't be started or a connection failed
+   */
+  public static LoadReport run(int selectors, int connections, int lanesPerConnection, Duration duration)
+      throws IOException {
+    LaneScoreboard scoreboard = new LaneScoreboard(connections * lanesPerConnection, 1);
+    try (LaneServer server = LaneServer.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), scoreboard,
+        selectors)) {
+      InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort());
+      // a short run first so the server is compiled before anything is measured
+      run(address, connections, lanesPerConnection, Duration.ofSeconds(2));
+      return run(address, connections, lanesPerConnection, duration);
+    }
+  }
+
+  /**
+   * Send events to a server that's already running.
+   *
+   * @param address            Where the server is
+   * @param connections        How many connections to make
+   * @param lanesPerConnection How many lanes each connection carries. The lanes are numbered from 0 across all the
+   *                           connections and each lane has a single bowler, 0.
+   * @param duration           How long to keep sending events
+   * @return the events per second and the latency of each ball
+   * @throws IOException if a connection couldn't be made or failed
+   */
+  public static LoadReport run(InetSocketAddress address, int connections, int lanesPerConnection, Duration duration)
+      throws IOException {
+    long start = System.nanoTime();
+    long end = start + duration.toNanos();
+    ExecutorService executor = Executors.newFixedThreadPool(connections);
+    try {
+      List<Future<Lanes>> futures = new ArrayList<>();
+      for (int i = 0; i < connections; i++) {
+        Lanes lanes = new Lanes(i * lanesPerConnection, lanesPerConnection, new Random(SEED + i));
+        futures.add(executor.submit(() -> {
+          lanes.run(address, end);
+          return lanes;
+        }));
+      }
+      long errors = 0;
+      long[] latencies = new long[0];
+      for (Future<Lanes> future : futures) {
+        Lanes lanes = future.get();
+        errors += lanes.errors;
+        int offset = latencies.length;
+        latencies = Arrays.copyOf(latencies, offset + lanes.count);
+        System.arraycopy(lanes.latencies, 0, latencies, offset, lanes.count);
+      }
+      long elapsed = System.nanoTime() - start;
+      Arrays.sort(latencies);
+      return new LoadReport(errors, elapsed, latencies);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while waiting for the connections", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof UncheckedIOException) {
+        throw ((UncheckedIOException) e.getCause()).getCause();
+      }
+      throw new IOException(e.getCause());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * The lanes of one connection and the latency of every ball they sent.
+   */
+  private static final class Lanes {
+
+    private final int firstLane;
+    private final LiveGame[] games;
+    private final Random random;
+    private final ByteBuffer events;
+    private final ByteBuffer replies;
+    private long[] latencies = new long[1 << 16];
+    private int count;
+    private long errors;
+
+    Lanes(int firstLane, int lanes, Random random) {
+      this.firstLane = firstLane;
+      this.games = new LiveGame[lanes];
+      Arrays.setAll(games, i -> new LiveGame());
+      this.random = random;
+      this.events = ByteBuffer.allocateDirect(lanes * LaneProtocol.EVENT_BYTES);
+      this.replies = ByteBuffer.allocateDirect(lanes * LaneProtocol.REPLY_BYTES);
+    }
+
+    void run(InetSocketAddress address, long end) {
+      try (SocketChannel channel = SocketChannel.open(address)) {
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        // the scoreboard may still have the games of an earlier run
+        for (int lane = 0; lane < games.length; lane++) {
+          LaneProtocol.putEvent(events, firstLane + lane, 0, LaneProtocol.NEW_GAME);
+        }
+        exchange(channel);
+        long now = System.nanoTime();
+        while (now < end) {
+          events.clear();
+          for (int lane = 0; lane < games.length; lane++) {
+            LiveGame game = games[lane];
+            if (game.isComplete()) {
+              game.reset();
+              LaneProtocol.putEvent(events, firstLane + lane, 0, LaneProtocol.NEW_GAME);
+            } else {
+              int pins = random.nextInt(game.getPinsStanding() + 1);
+              game.roll(pins);
+              LaneProtocol.putEvent(events, firstLane + lane, 0, pins);
+            }
+          }
+          exchange(channel);
+          for (int lane = 0; lane < games.length; lane++) {
+            check(lane * LaneProtocol.REPLY_BYTES, games[lane]);
+          }
+          now = System.nanoTime();
+        }
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    /**
+     * Send the events and read a reply for each, timing the replies as they come in.
+     */
+    private void exchange(SocketChannel channel) throws IOException {
+      long sent = System.nanoTime();
+      events.flip();
+      while (events.hasRemaining()) {
+        channel.write(events);
+      }
+      replies.clear();
+      int timed = 0;
+      while (replies.hasRemaining()) {
+        if (channel.read(replies) < 0) {
+          throw new EOFException("The server closed the connection");
+        }
+        long latency = System.nanoTime() - sent;
+        for (int done = replies.position() / LaneProtocol.REPLY_BYTES; timed < done; timed++) {
+          record(latency);
+        }
+      }
+    }
+
+    private void check(int position, LiveGame game) {
+      boolean ok = LaneProtocol.replyStatus(replies, position) == RollStatus.ACCEPTED
+          && LaneProtocol.replyScore(replies, position) == game.getScore()
+          && LaneProtocol.replySettledFrames(replies, position) == game.getScoredFrames();
+      if (!ok) {
+        errors++;
+      }
+    }
+
+    private void record(long latency) {
+      if (count == latencies.length) {
+        latencies = Arrays.copyOf(latencies, count * 2);
+      }
+      latencies[count++] = latency;
+    }
+
+  }
+
+}
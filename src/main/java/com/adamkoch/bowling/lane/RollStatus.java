@@ -0,0 +1,34 @@
+package com.adamkoch.bowling.lane;
+
+/**
+ * What happened to a ball sent to a {@link LaneScoreboard}. The ordinal is what goes over the wire, so new ones go at
+ * the end.
+ */
+public enum RollStatus {
+
+  ACCEPTED,
+  /**
+   * The bowler's game is over. A new game has to be started first.
+   */
+  GAME_OVER,
+  /**
+   * More pins were knocked down than were standing.
+   */
+  TOO_MANY_PINS,
+  UNKNOWN_BOWLER;
+
+  private static final RollStatus[] VALUES = values();
+
+  /**
+   * @param code what {@link #ordinal()} returned
+   * @return the status
+   * @throws IllegalArgumentException if there's no such status
+   */
+  public static RollStatus fromCode(int code) {
+    if (code < 0 || code >= VALUES.length) {
+      throw new IllegalArgumentException("There's no roll status " + code);
+    }
+    return VALUES[code];
+  }
+
+}
@@ -0,0 +1,141 @@
+package com.adamkoch.bowling.lane;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * One selector thread of a {@link LaneServer} and the connections it was given.
+ * <p>
+ * A connection only gets as many events handled as there's room for their replies. When a client sends faster than it
+ * reads, its replies back up, the connection stops being read until they're written, and TCP slows the client down.
+ */
+final class SelectorLoop implements Runnable {
+
+  // a whole number of events, and room for the replies to a full buffer of them
+  private static final int IN_BUFFER_SIZE = 1024 * LaneProtocol.EVENT_BYTES;
+  private static final int OUT_BUFFER_SIZE = 1024 * LaneProtocol.REPLY_BYTES;
+
+  private final Selector selector;
+  private final Queue<SocketChannel> pending = new ConcurrentLinkedQueue<>();
+  private final LaneScoreboard scoreboard;
+  private final LongAdder events;
+  private volatile boolean running = true;
+
+  SelectorLoop(LaneScoreboard scoreboard, LongAdder events) throws IOException {
+    this.selector = Selector.open();
+    this.scoreboard = scoreboard;
+    this.events = events;
+  }
+
+  /**
+   * Hand a connection to this thread. Called from the acceptor thread.
+   */
+  void register(SocketChannel channel) {
+    pending.add(channel);
+    selector.wakeup();
+  }
+
+  @Override
+  public void run() {
+    try {
+      while (running) {
+        selector.select(this::ready);
+        SocketChannel channel;
+        while ((channel = pending.poll()) != null) {
+          try {
+            channel.configureBlocking(false);
+            channel.register(selector, SelectionKey.OP_READ, new Connection());
+          } catch (IOException e) {
+            // the pinsetter went away before it could be set up, which doesn't matter to the others
+            closeQuietly(channel);
+          }
+        }
+      }
+    } catch (IOException e) {
+      if (running) {
+        System.err.println("A lane selector stopped: " + e);
+      }
+    } finally {
+      for (SelectionKey key : selector.keys()) {
+        closeQuietly(key);
+      }
+      // and the ones that were handed over but never registered
+      SocketChannel channel;
+      while ((channel = pending.poll()) != null) {
+        closeQuietly(channel);
+      }
+      closeQuietly(selector);
+    }
+  }
+
+  private void ready(SelectionKey key) {
+    Connection connection = (Connection) key.attachment();
+    SocketChannel channel = (SocketChannel) key.channel();
+    try {
+      if (key.isReadable() && channel.read(connection.in) < 0) {
+        closeQuietly(key);
+        return;
+      }
+      handle(connection);
+      connection.out.flip();
+      channel.write(connection.out);
+      connection.out.compact();
+      // don't read more until the replies that are waiting are written
+      key.interestOps(connection.out.position() > 0 ? SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+    } catch (IOException e) {
+      // the pinsetter went away
+      closeQuietly(key);
+    }
+  }
+
+  private void handle(Connection connection) {
+    ByteBuffer in = connection.in;
+    ByteBuffer out = connection.out;
+    in.flip();
+    int handled = 0;
+    while (in.remaining() >= LaneProtocol.EVENT_BYTES && out.remaining() >= LaneProtocol.REPLY_BYTES) {
+      LaneProtocol.handle(in, scoreboard, out);
+      handled++;
+    }
+    in.compact();
+    if (handled > 0) {
+      events.add(handled);
+    }
+  }
+
+  void close() {
+    running = false;
+    selector.wakeup();
+  }
+
+  private static void closeQuietly(SelectionKey key) {
+    key.cancel();
+    closeQuietly(key.channel());
+  }
+
+  static void closeQuietly(Closeable closeable) {
+    try {
+      closeable.close();
+    } catch (IOException e) {
+      // there's nothing more to do with it
+    }
+  }
+
+  /**
+   * The buffers of one connection, direct so the socket reads and writes don't copy them again.
+   */
+  private static final class Connection {
+
+    private final ByteBuffer in = ByteBuffer.allocateDirect(IN_BUFFER_SIZE);
+    private final ByteBuffer out = ByteBuffer.allocateDirect(OUT_BUFFER_SIZE);
+
+  }
+
+}
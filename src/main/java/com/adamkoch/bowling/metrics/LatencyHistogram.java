@@ -0,0 +1,103 @@
+package com.adamkoch.bowling.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts how long something took in buckets that grow with the latency: four buckets for every power of two
+ * nanoseconds, so a percentile is within 25% of the real one. Recording is a couple of shifts and an atomic add, and
+ * the whole thing is a fixed array however many latencies are recorded.
+ * <p>
+ * Any number of threads can record at once. A snapshot taken while they do may be off by the latencies being recorded
+ * right then.
+ */
+public final class LatencyHistogram {
+
+  private static final int SUB_BUCKET_BITS = 2;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  // up to 2^63 nanoseconds, which is longer than anything will take
+  private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS + SUB_BUCKETS;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+  private final LongAdder count = new LongAdder();
+  private final LongAdder totalNanos = new LongAdder();
+
+  /**
+   * @param nanos how long it took, negative counts as 0
+   */
+  public void record(long nanos) {
+    long value = Math.max(nanos, 0);
+    counts.incrementAndGet(bucket(value));
+    count.increment();
+    totalNanos.add(value);
+  }
+
+  /**
+   * Small values get a bucket each. After that a bucket is the highest bit and the two bits after it.
+   */
+  static int bucket(long nanos) {
+    if (nanos < SUB_BUCKETS) {
+      return (int) nanos;
+    }
+    int shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(nanos) - SUB_BUCKET_BITS;
+    return (shift + 1) * SUB_BUCKETS + (int) ((nanos >>> shift) & (SUB_BUCKETS - 1));
+  }
+
+  /**
+   * @return the most nanoseconds that go in a bucket
+   */
+  static long upperBound(int bucket) {
+    if (bucket < SUB_BUCKETS) {
+      return bucket;
+    }
+    int shift = bucket / SUB_BUCKETS - 1;
+    long lowest = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+    return lowest + (1L << shift) - 1;
+  }
+
+  /**
+   * @return what's been recorded so far
+   */
+  public LatencySnapshot snapshot() {
+    long[] copy = new long[BUCKETS];
+    long total = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      copy[i] = counts.get(i);
+      total += copy[i];
+    }
+    return new LatencySnapshot(total, total == 0 ? 0 : totalNanos.sum() / (double) total,
+        percentile(copy, total, 50), percentile(copy, total, 99), percentile(copy, total, 99.9),
+        percentile(copy, total, 100));
+  }
+
+  private static long percentile(long[] counts, long total, double percentile) {
+    if (total == 0) {
+      return 0;
+    }
+    long rank = (long) Math.ceil(percentile / 100 * total);
+    long seen = 0;
+    for (int i = 0; i < counts.length; i++) {
+      seen += counts[i];
+      if (seen >= rank) {
+        return upperBound(i);
+      }
+    }
+    return upperBound(counts.length - 1);
+  }
+
+  public long getCount() {
+    return count.sum();
+  }
+
+  /**
+   * Start over. Latencies recorded while this runs may or may not be kept.
+   */
+  public void reset() {
+    for (int i = 0; i < BUCKETS; i++) {
+      counts.set(i, 0);
+    }
+    count.reset();
+    totalNanos.reset();
+  }
+
+}
@@ -0,0 +1,33 @@
+package com.adamkoch.bowling.metrics;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.beans.ConstructorProperties;
+
+/**
+ * The latencies of a {@link LatencyHistogram} at one point in time, in nanoseconds. The percentiles are the top of
+ * the bucket they fell in. JMX shows this as composite data with one item per getter.
+ */
+@Getter
+@ToString
+public final class LatencySnapshot {
+
+  private final long count;
+  private final double meanNanos;
+  private final long p50Nanos;
+  private final long p99Nanos;
+  private final long p999Nanos;
+  private final long maxNanos;
+
+  @ConstructorProperties({"count", "meanNanos", "p50Nanos", "p99Nanos", "p999Nanos", "maxNanos"})
+  public LatencySnapshot(long count, double meanNanos, long p50Nanos, long p99Nanos, long p999Nanos, long maxNanos) {
+    this.count = count;
+    this.meanNanos = meanNanos;
+    this.p50Nanos = p50Nanos;
+    this.p99Nanos = p99Nanos;
+    this.p999Nanos = p999Nanos;
+    this.maxNanos = maxNanos;
+  }
+
+}
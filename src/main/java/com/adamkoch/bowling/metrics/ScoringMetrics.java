@@ -0,0 +1,308 @@
+package com.adamkoch.bowling.metrics;
+
+import com.adamkoch.bowling.ParseError;
+import com.adamkoch.bowling.exceptions.InvalidInputException;
+import org.jetbrains.annotations.Nullable;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts and times what {@link com.adamkoch.bowling.Game#fromString(String)},
+ * {@link com.adamkoch.bowling.FrameFactory#from(String, int)}, {@link com.adamkoch.bowling.FrameFactory#fromBonus(String)}
+ * and {@link com.adamkoch.bowling.Game#calculateScore()} do: the games parsed and scored, the perfect games, the
+ * invalid inputs by kind, and how long each of them took.
+ * <p>
+ * It's off unless the JVM is started with {@code -Dbowling.metrics=true}. The switch is read once into a static final,
+ * so when it's off the JIT drops every {@code if (ScoringMetrics.ENABLED)} and the code being measured runs exactly as
+ * it would without any of this. When it's on, the numbers are registered as a platform MBean under
+ * {@value #OBJECT_NAME} the first time anything is counted, and {@link #dump()} has them as text.
+ * <p>
+ * Invalid inputs are counted where a whole game comes in: by {@code Game.fromString}, where a frame that fails inside it
+ * is counted once as the game's error, and through {@link #invalidInput(ParseError)} by everything that turns games
+ * down with {@link com.adamkoch.bowling.GameValidator} or {@link com.adamkoch.bowling.FastScorer} instead:
+ * {@code Main}, the batch and stream scorers, {@code ScoringServer} and {@code ScoringProcessor}.
+ */
+public final class ScoringMetrics {
+
+  public static final String ENABLED_PROPERTY = "bowling.metrics";
+  public static final String OBJECT_NAME = "com.adamkoch.bowling:type=ScoringMetrics";
+
+  /**
+   * Whether anything is counted. Check it before reading the clock so nothing is done when it's off.
+   */
+  public static final boolean ENABLED = Boolean.getBoolean(ENABLED_PROPERTY);
+
+  private static final String OTHER = "OTHER";
+  private static final ParseError[] ERRORS = ParseError.values();
+
+  private static final LongAdder GAMES_PARSED = new LongAdder();
+  private static final LongAdder GAMES_SCORED = new LongAdder();
+  private static final LongAdder PERFECT_GAMES = new LongAdder();
+  // one per ParseError and one more for everything else
+  private static final LongAdder[] INVALID_INPUTS = new LongAdder[ERRORS.length + 1];
+  private static final LatencyHistogram GAME_PARSE = new LatencyHistogram();
+  private static final LatencyHistogram FRAME_PARSE = new LatencyHistogram();
+  private static final LatencyHistogram BONUS_PARSE = new LatencyHistogram();
+  private static final LatencyHistogram SCORE = new LatencyHistogram();
+
+  static {
+    for (int i = 0; i < INVALID_INPUTS.length; i++) {
+      INVALID_INPUTS[i] = new LongAdder();
+    }
+    if (ENABLED) {
+      register();
+    }
+  }
+
+  private ScoringMetrics() {
+    // utility classes shouldn't be instantiated
+  }
+
+  /**
+   * Show the numbers over JMX, if they aren't already.
+   */
+  static synchronized void register() {
+    try {
+      ObjectName name = new ObjectName(OBJECT_NAME);
+      MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+      if (!server.isRegistered(name)) {
+        server.registerMBean(new Bean(), name);
+      }
+    } catch (JMException e) {
+      // the numbers are still kept and dump() still works
+      System.err.println("Unable to register the scoring metrics with JMX: " + e);
+    }
+  }
+
+  /**
+   * A game was parsed.
+   *
+   * @param nanos how long it took
+   */
+  public static void gameParsed(long nanos) {
+    GAMES_PARSED.increment();
+    GAME_PARSE.record(nanos);
+  }
+
+  /**
+   * A game couldn't be parsed.
+   *
+   * @param e why not
+   */
+  public static void invalidInput(RuntimeException e) {
+    ParseError error = e instanceof InvalidInputException ? ((InvalidInputException) e).getError() : null;
+    if (error == null && e instanceof NumberFormatException) {
+      // a character that wasn't a number, a symbol or a delimiter made it to Integer.parseInt
+      error = ParseError.INVALID_CHARACTER;
+    } else if (error == null && e instanceof StringIndexOutOfBoundsException) {
+      // there was no "||" to cut the bonus balls off at
+      error = ParseError.MISSING_BONUS_DELIMITER;
+    }
+    invalidInput(error);
+  }
+
+  /**
+   * A game was turned down before it got to the parser, by {@link com.adamkoch.bowling.GameValidator} or
+   * {@link com.adamkoch.bowling.FastScorer}.
+   *
+   * @param error what was wrong with it, or null if it wasn't a parse error
+   */
+  public static void invalidInput(@Nullable ParseError error) {
+    INVALID_INPUTS[error == null ? ERRORS.length : error.ordinal()].increment();
+  }
+
+  public static void frameParsed(long nanos) {
+    FRAME_PARSE.record(nanos);
+  }
+
+  public static void bonusParsed(long nanos) {
+    BONUS_PARSE.record(nanos);
+  }
+
+  /**
+   * A game was scored. A game only scores itself once, so this is once per game.
+   *
+   * @param score what it scored
+   * @param nanos how long it took
+   */
+  public static void gameScored(int score, long nanos) {
+    GAMES_SCORED.increment();
+    if (score == 300) {
+      PERFECT_GAMES.increment();
+    }
+    SCORE.record(nanos);
+  }
+
+  public static long getGamesParsed() {
+    return GAMES_PARSED.sum();
+  }
+
+  public static long getGamesScored() {
+    return GAMES_SCORED.sum();
+  }
+
+  public static long getPerfectGames() {
+    return PERFECT_GAMES.sum();
+  }
+
+  public static long getInvalidInputs() {
+    long total = 0;
+    for (LongAdder adder : INVALID_INPUTS) {
+      total += adder.sum();
+    }
+    return total;
+  }
+
+  /**
+   * @param error the kind of problem, or null for the ones that weren't a parse error
+   * @return how many inputs had it
+   */
+  public static long getInvalidInputs(ParseError error) {
+    return INVALID_INPUTS[error == null ? ERRORS.length : error.ordinal()].sum();
+  }
+
+  /**
+   * @return the kinds that happened at least once, in the order of {@link ParseError}, then {@code OTHER}
+   */
+  public static Map<String, Long> getInvalidInputsByKind() {
+    Map<String, Long> byKind = new LinkedHashMap<>();
+    for (int i = 0; i < INVALID_INPUTS.length; i++) {
+      long count = INVALID_INPUTS[i].sum();
+      if (count > 0) {
+        byKind.put(i < ERRORS.length ? ERRORS[i].name() : OTHER, count);
+      }
+    }
+    return byKind;
+  }
+
+  public static LatencySnapshot getGameParseLatency() {
+    return GAME_PARSE.snapshot();
+  }
+
+  public static LatencySnapshot getFrameParseLatency() {
+    return FRAME_PARSE.snapshot();
+  }
+
+  public static LatencySnapshot getBonusParseLatency() {
+    return BONUS_PARSE.snapshot();
+  }
+
+  public static LatencySnapshot getScoreLatency() {
+    return SCORE.snapshot();
+  }
+
+  /**
+   * @return every number as text, one per line
+   */
+  public static String dump() {
+    StringBuilder text = new StringBuilder();
+    text.append("metrics enabled: ").append(ENABLED).append('\n')
+        .append("games parsed: ").append(getGamesParsed()).append('\n')
+        .append("games scored: ").append(getGamesScored()).append('\n')
+        .append("perfect games: ").append(getPerfectGames()).append('\n')
+        .append("invalid inputs: ").append(getInvalidInputs()).append('\n');
+    getInvalidInputsByKind().forEach((kind, count) -> text.append("  ").append(kind).append(": ").append(count)
+        .append('\n'));
+    appendLatency(text, "game parse", getGameParseLatency());
+    appendLatency(text, "frame parse", getFrameParseLatency());
+    appendLatency(text, "bonus parse", getBonusParseLatency());
+    appendLatency(text, "score", getScoreLatency());
+    return text.toString();
+  }
+
+  private static void appendLatency(StringBuilder text, String name, LatencySnapshot latency) {
+    text.append(String.format("%s latency: %d recorded, mean %.0f ns, p50 %d ns, p99 %d ns, p99.9 %d ns, max %d ns%n",
+        name, latency.getCount(), latency.getMeanNanos(), latency.getP50Nanos(), latency.getP99Nanos(),
+        latency.getP999Nanos(), latency.getMaxNanos()));
+  }
+
+  /**
+   * Start every count over.
+   */
+  public static void reset() {
+    GAMES_PARSED.reset();
+    GAMES_SCORED.reset();
+    PERFECT_GAMES.reset();
+    for (LongAdder adder : INVALID_INPUTS) {
+      adder.reset();
+    }
+    GAME_PARSE.reset();
+    FRAME_PARSE.reset();
+    BONUS_PARSE.reset();
+    SCORE.reset();
+  }
+
+  /**
+   * The MBean, which just hands out the static numbers.
+   */
+  private static final class Bean implements ScoringMetricsMXBean {
+
+    @Override
+    public boolean isEnabled() {
+      return ENABLED;
+    }
+
+    @Override
+    public long getGamesParsed() {
+      return ScoringMetrics.getGamesParsed();
+    }
+
+    @Override
+    public long getGamesScored() {
+      return ScoringMetrics.getGamesScored();
+    }
+
+    @Override
+    public long getPerfectGames() {
+      return ScoringMetrics.getPerfectGames();
+    }
+
+    @Override
+    public long getInvalidInputs() {
+      return ScoringMetrics.getInvalidInputs();
+    }
+
+    @Override
+    public Map<String, Long> getInvalidInputsByKind() {
+      return ScoringMetrics.getInvalidInputsByKind();
+    }
+
+    @Override
+    public LatencySnapshot getGameParseLatency() {
+      return ScoringMetrics.getGameParseLatency();
+    }
+
+    @Override
+    public LatencySnapshot getFrameParseLatency() {
+      return ScoringMetrics.getFrameParseLatency();
+    }
+
+    @Override
+    public LatencySnapshot getBonusParseLatency() {
+      return ScoringMetrics.getBonusParseLatency();
+    }
+
+    @Override
+    public LatencySnapshot getScoreLatency() {
+      return ScoringMetrics.getScoreLatency();
+    }
+
+    @Override
+    public String dump() {
+      return ScoringMetrics.dump();
+    }
+
+    @Override
+    public void reset() {
+      ScoringMetrics.reset();
+    }
+
+  }
+
+}
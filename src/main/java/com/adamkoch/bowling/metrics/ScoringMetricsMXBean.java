@@ -0,0 +1,41 @@
+package com.adamkoch.bowling.metrics;
+
+import java.util.Map;
+
+/**
+ * What {@link ScoringMetrics} shows over JMX, under {@value ScoringMetrics#OBJECT_NAME}.
+ */
+public interface ScoringMetricsMXBean {
+
+  boolean isEnabled();
+
+  long getGamesParsed();
+
+  long getGamesScored();
+
+  long getPerfectGames();
+
+  long getInvalidInputs();
+
+  /**
+   * @return the invalid inputs by {@link com.adamkoch.bowling.ParseError} name, plus {@code OTHER} for anything
+   * that failed some other way
+   */
+  Map<String, Long> getInvalidInputsByKind();
+
+  LatencySnapshot getGameParseLatency();
+
+  LatencySnapshot getFrameParseLatency();
+
+  LatencySnapshot getBonusParseLatency();
+
+  LatencySnapshot getScoreLatency();
+
+  /**
+   * @return everything above as text, one line per number
+   */
+  String dump();
+
+  void reset();
+
+}
@@ -0,0 +1,358 @@
+package com.adamkoch.bowling.notation;
+
+import com.adamkoch.bowling.FastScorer;
+import com.adamkoch.bowling.Game;
+import com.adamkoch.bowling.ParseResult;
+import com.adamkoch.bowling.exceptions.InvalidInputException;
+
+import java.util.Arrays;
+
+/**
+ * A way of writing a game down: the symbols for a strike, a spare and a ball that didn't knock anything down, and what
+ * goes between frames and in front of the bonus balls. Lane vendors all have their own. One writes a foul as "F" and a
+ * gutter ball as "G", another puts commas between frames.
+ * <p>
+ * A notation is compiled into a table when it's built. For every byte, and every place part way through a delimiter,
+ * the table says which standard characters ("X", "/", "-", a digit or "|") it stands for and where to go next. Every
+ * notation is read by the same loop in {@link Tokenizer}, which feeds the standard characters to
+ * {@link FastScorer#step(long, int)}. So every notation is scored at the same cost per character: one table look-up on
+ * top of what {@link FastScorer} does. The notations don't know about each other, so adding one can't slow any other
+ * down.
+ * <p>
+ * Delimiters can be more than one character. The longest one that matches wins, so with the standard "|" and "||" a
+ * "||" is always the bonus balls. Characters are read as ISO-8859-1 and the digits are always the ASCII ones.
+ * <pre>{@code
+ * Notation vendor = new Notation.Builder().miss('-', 'G', 'F').frameDelimiter(", ").bonusDelimiter(" | ").build();
+ * int score = vendor.score("X, 7/, 9G, X, F8, 8/, G6, X, X, X | 81"); // 167
+ * }</pre>
+ * A notation can be used by any number of threads.
+ */
+public final class Notation {
+
+  /**
+   * The notation in the README: "X", "/", "-", digits, "|" between frames and "||" before the bonus balls.
+   */
+  public static final Notation STANDARD = new Builder().build();
+
+  // An action is what to do with a byte in a node of the delimiter trie, see Tokenizer
+  static final int FIRST_SHIFT = 0;
+  static final int SECOND_SHIFT = 8;
+  static final int NODE_SHIFT = 16;
+  static final int CHARACTER_MASK = 0xFF;
+  static final int NODE_MASK = 0xFF;
+  static final int REDISPATCH = 1 << 24;
+  // A byte that can't come next is fed to FastScorer as a DEL, which isn't a character of the standard notation
+  static final int INVALID_CHARACTER = 0x7F;
+  static final int INVALID = INVALID_CHARACTER << FIRST_SHIFT;
+  static final int ROOT = 0;
+  private static final int UNSET = 0;
+
+  private static final int MAX_DELIMITER_LENGTH = 16;
+
+  private final String strikes;
+  private final String spares;
+  private final String misses;
+  private final String frameDelimiter;
+  private final String bonusDelimiter;
+
+  // [node << 8 | byte]
+  private final int[] actions;
+  // [node], what to do if the input ends in that node
+  private final int[] endActions;
+
+  private Notation(Builder builder) {
+    this.strikes = builder.strikes;
+    this.spares = builder.spares;
+    this.misses = builder.misses;
+    this.frameDelimiter = builder.frameDelimiter;
+    this.bonusDelimiter = builder.bonusDelimiter;
+
+    int maxNodes = 1 + frameDelimiter.length() + bonusDelimiter.length();
+    int[] table = new int[maxNodes << 8];
+    int[] ends = new int[maxNodes];
+    symbols(table, strikes, 'X');
+    symbols(table, spares, '/');
+    symbols(table, misses, '-');
+    for (char digit = '0'; digit <= '9'; digit++) {
+      table[digit] = digit << FIRST_SHIFT;
+    }
+    int nodes = 1;
+    nodes = delimiter(table, ends, nodes, frameDelimiter, '|' << FIRST_SHIFT);
+    nodes = delimiter(table, ends, nodes, bonusDelimiter, '|' << FIRST_SHIFT | '|' << SECOND_SHIFT);
+
+    // Part way through a delimiter that's complete, any byte that doesn't make it longer ends it and starts over
+    // from the root. Part way through one that isn't, it's a mistake.
+    for (int node = 1; node < nodes; node++) {
+      for (int b = 0; b <= CHARACTER_MASK; b++) {
+        if (table[node << 8 | b] == UNSET) {
+          table[node << 8 | b] = ends[node] == UNSET ? INVALID : ends[node] | REDISPATCH;
+        }
+      }
+      if (ends[node] == UNSET) {
+        ends[node] = INVALID;
+      }
+    }
+    for (int b = 0; b <= CHARACTER_MASK; b++) {
+      if (table[b] == UNSET) {
+        table[b] = INVALID;
+      }
+    }
+    this.actions = Arrays.copyOf(table, nodes << 8);
+    this.endActions = Arrays.copyOf(ends, nodes);
+  }
+
+  private static void symbols(int[] table, String symbols, char standard) {
+    for (int i = 0; i < symbols.length(); i++) {
+      table[symbols.charAt(i)] = standard << FIRST_SHIFT;
+    }
+  }
+
+  /**
+   * Add a delimiter to the trie.
+   *
+   * @return the number of nodes now
+   */
+  private static int delimiter(int[] table, int[] ends, int nodes, String delimiter, int emit) {
+    int node = ROOT;
+    for (int i = 0; i < delimiter.length(); i++) {
+      int slot = node << 8 | delimiter.charAt(i);
+      if (table[slot] == UNSET) {
+        table[slot] = nodes++ << NODE_SHIFT;
+      }
+      node = table[slot] >>> NODE_SHIFT & NODE_MASK;
+    }
+    ends[node] = emit;
+    return nodes;
+  }
+
+  int[] actions() {
+    return actions;
+  }
+
+  int[] endActions() {
+    return endActions;
+  }
+
+  /**
+   * Score a game.
+   *
+   * @param game The frames written in this notation
+   * @return The score or {@link FastScorer#INVALID}
+   */
+  public int score(CharSequence game) {
+    return FastScorer.finish(Tokenizer.run(this, FastScorer.START, game, 0, game.length()));
+  }
+
+  /**
+   * Score the game found in a region of a byte array holding ISO-8859-1 (or plain ASCII) text.
+   *
+   * @param game   An array containing the game
+   * @param offset Index of the first byte of the game
+   * @param length Number of bytes in the game
+   * @return The score or {@link FastScorer#INVALID}
+   */
+  public int score(byte[] game, int offset, int length) {
+    return FastScorer.finish(Tokenizer.run(this, FastScorer.START, game, offset, offset + length));
+  }
+
+  /**
+   * Validate and score a game the way {@link com.adamkoch.bowling.GameValidator} does. The offset of a problem is
+   * where it is in {@code game}; finding it reads the game a second time, but only for a game that isn't valid.
+   *
+   * @param game The frames written in this notation
+   * @return a result to be taken apart with {@link ParseResult}
+   */
+  public long validate(CharSequence game) {
+    long result = FastScorer.result(Tokenizer.run(this, FastScorer.STRICT_START, game, 0, game.length()));
+    return ParseResult.isValid(result)
+        ? result
+        : ParseResult.atOffset(result, Tokenizer.inputOffset(this, game, 0, game.length(),
+        ParseResult.offset(result)));
+  }
+
+  /**
+   * Validate and score the game found in a region of a byte array. Offsets in the result are relative to
+   * {@code offset}.
+   *
+   * @param game   An array containing the game
+   * @param offset Index of the first byte of the game
+   * @param length Number of bytes in the game
+   * @return a result to be taken apart with {@link ParseResult}
+   */
+  public long validate(byte[] game, int offset, int length) {
+    long result = FastScorer.result(Tokenizer.run(this, FastScorer.STRICT_START, game, offset, offset + length));
+    return ParseResult.isValid(result)
+        ? result
+        : ParseResult.atOffset(result, Tokenizer.inputOffset(this, game, offset, offset + length,
+        ParseResult.offset(result)));
+  }
+
+  /**
+   * Write a game in the standard notation, for code that wants the frames and not only the score.
+   *
+   * @param game The frames written in this notation
+   * @return The same game in {@link #STANDARD} notation
+   * @throws InvalidInputException if the game has a character this notation doesn't have
+   */
+  public String toStandard(CharSequence game) {
+    return Tokenizer.translate(this, game);
+  }
+
+  /**
+   * Parse a game written in this notation.
+   *
+   * @param game The frames written in this notation
+   * @return A Game object ready to be scored
+   * @throws InvalidInputException if the game isn't valid
+   */
+  public Game parse(CharSequence game) {
+    return Game.fromString(toStandard(game));
+  }
+
+  public String getStrikes() {
+    return strikes;
+  }
+
+  public String getSpares() {
+    return spares;
+  }
+
+  /**
+   * @return the symbols for a ball that didn't knock anything down: misses, gutter balls, fouls
+   */
+  public String getMisses() {
+    return misses;
+  }
+
+  public String getFrameDelimiter() {
+    return frameDelimiter;
+  }
+
+  public String getBonusDelimiter() {
+    return bonusDelimiter;
+  }
+
+  @Override
+  public String toString() {
+    return "Notation{strikes=" + strikes + ", spares=" + spares + ", misses=" + misses + ", frameDelimiter=\"" +
+        frameDelimiter + "\", bonusDelimiter=\"" + bonusDelimiter + "\"}";
+  }
+
+  /**
+   * Starts out as the standard notation, so a dialect only has to say what's different.
+   */
+  public static final class Builder {
+
+    private String strikes = "X";
+    private String spares = "/";
+    private String misses = "-";
+    private String frameDelimiter = "|";
+    private String bonusDelimiter = "||";
+
+    /**
+     * @param symbols every character that means a strike, instead of "X"
+     * @return this builder
+     */
+    public Builder strike(char... symbols) {
+      this.strikes = new String(symbols);
+      return this;
+    }
+
+    /**
+     * @param symbols every character that means a spare, instead of "/"
+     * @return this builder
+     */
+    public Builder spare(char... symbols) {
+      this.spares = new String(symbols);
+      return this;
+    }
+
+    /**
+     * @param symbols every character that means the ball didn't knock any pins down, like a miss, a gutter ball or a
+     *                foul, instead of "-"
+     * @return this builder
+     */
+    public Builder miss(char... symbols) {
+      this.misses = new String(symbols);
+      return this;
+    }
+
+    /**
+     * @param delimiter what goes between two frames, instead of "|"
+     * @return this builder
+     */
+    public Builder frameDelimiter(String delimiter) {
+      this.frameDelimiter = delimiter;
+      return this;
+    }
+
+    /**
+     * @param delimiter what goes between the tenth frame and the bonus balls, instead of "||"
+     * @return this builder
+     */
+    public Builder bonusDelimiter(String delimiter) {
+      this.bonusDelimiter = delimiter;
+      return this;
+    }
+
+    /**
+     * Check the notation and compile it.
+     *
+     * @return the notation
+     * @throws IllegalArgumentException if a character means more than one thing, isn't ISO-8859-1, or a delimiter is
+     *                                  empty, too long or the same as the other one
+     */
+    public Notation build() {
+      boolean[] used = new boolean[CHARACTER_MASK + 1];
+      for (char digit = '0'; digit <= '9'; digit++) {
+        used[digit] = true;
+      }
+      claim(used, strikes, "strike");
+      claim(used, spares, "spare");
+      claim(used, misses, "miss");
+      checkDelimiter(frameDelimiter, "frame");
+      checkDelimiter(bonusDelimiter, "bonus");
+      if (frameDelimiter.equals(bonusDelimiter)) {
+        throw new IllegalArgumentException("The frame and bonus delimiters are both \"" + frameDelimiter + "\"");
+      }
+      for (String delimiter : new String[]{frameDelimiter, bonusDelimiter}) {
+        for (int i = 0; i < delimiter.length(); i++) {
+          if (used[delimiter.charAt(i)]) {
+            throw new IllegalArgumentException("'" + delimiter.charAt(i) + "' is in a delimiter and is also a ball");
+          }
+        }
+      }
+      return new Notation(this);
+    }
+
+    private static void claim(boolean[] used, String symbols, String meaning) {
+      if (symbols.isEmpty()) {
+        throw new IllegalArgumentException("There has to be a symbol for a " + meaning);
+      }
+      for (int i = 0; i < symbols.length(); i++) {
+        char c = symbols.charAt(i);
+        if (c > CHARACTER_MASK) {
+          throw new IllegalArgumentException("'" + c + "' isn't an ISO-8859-1 character");
+        }
+        if (used[c]) {
+          throw new IllegalArgumentException("'" + c + "' can't be a " + meaning + ", it already means something else");
+        }
+        used[c] = true;
+      }
+    }
+
+    private static void checkDelimiter(String delimiter, String name) {
+      if (delimiter.isEmpty() || delimiter.length() > MAX_DELIMITER_LENGTH) {
+        throw new IllegalArgumentException("The " + name + " delimiter has to be 1 to " + MAX_DELIMITER_LENGTH +
+            " characters but it was \"" + delimiter + "\"");
+      }
+      for (int i = 0; i < delimiter.length(); i++) {
+        if (delimiter.charAt(i) > CHARACTER_MASK) {
+          throw new IllegalArgumentException("'" + delimiter.charAt(i) + "' isn't an ISO-8859-1 character");
+        }
+      }
+    }
+
+  }
+
+}
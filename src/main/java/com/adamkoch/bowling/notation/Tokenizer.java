@@ -0,0 +1,194 @@
+package com.adamkoch.bowling.notation;
+
+import com.adamkoch.bowling.FastScorer;
+import com.adamkoch.bowling.ParseError;
+import com.adamkoch.bowling.exceptions.InvalidInputException;
+
+import static com.adamkoch.bowling.notation.Notation.CHARACTER_MASK;
+import static com.adamkoch.bowling.notation.Notation.FIRST_SHIFT;
+import static com.adamkoch.bowling.notation.Notation.INVALID;
+import static com.adamkoch.bowling.notation.Notation.NODE_MASK;
+import static com.adamkoch.bowling.notation.Notation.NODE_SHIFT;
+import static com.adamkoch.bowling.notation.Notation.REDISPATCH;
+import static com.adamkoch.bowling.notation.Notation.ROOT;
+import static com.adamkoch.bowling.notation.Notation.SECOND_SHIFT;
+
+/**
+ * The one loop that reads every {@link Notation}. Each byte is looked up in the notation's table along with the node
+ * of the delimiter trie the tokenizer is in, and the action found there says which standard characters to feed
+ * {@link FastScorer} and which node to go to. An action can also say to look the same byte up again from the root,
+ * which is how a delimiter that's complete ends when the next byte doesn't make it any longer.
+ * <p>
+ * An action is an int:
+ * <pre>
+ *   bits 0-7    the first standard character to feed, 0 for none
+ *   bits 8-15   the second one, 0 for none. Only the bonus delimiter has two, "||".
+ *   bits 16-23  the node to go to, 0 for the root
+ *   bit 24      look this byte up again in the new node
+ * </pre>
+ */
+final class Tokenizer {
+
+  private Tokenizer() {
+    // utility classes shouldn't be instantiated
+  }
+
+  /**
+   * Feed a game to {@link FastScorer}.
+   *
+   * @return the state after the last character, ready for {@link FastScorer#finish(long)} or
+   * {@link FastScorer#result(long)}
+   */
+  static long run(Notation notation, long state, CharSequence game, int start, int end) {
+    int[] actions = notation.actions();
+    int node = ROOT;
+    for (int i = start; i < end && state >= 0; ) {
+      int c = game.charAt(i);
+      int action = c <= CHARACTER_MASK ? actions[node << 8 | c] : INVALID;
+      state = feed(state, action);
+      node = action >>> NODE_SHIFT & NODE_MASK;
+      if ((action & REDISPATCH) == 0) {
+        i++;
+      }
+    }
+    return node == ROOT || state < 0 ? state : feed(state, notation.endActions()[node]);
+  }
+
+  static long run(Notation notation, long state, byte[] game, int start, int end) {
+    int[] actions = notation.actions();
+    int node = ROOT;
+    for (int i = start; i < end && state >= 0; ) {
+      int action = actions[node << 8 | (game[i] & 0xFF)];
+      state = feed(state, action);
+      node = action >>> NODE_SHIFT & NODE_MASK;
+      if ((action & REDISPATCH) == 0) {
+        i++;
+      }
+    }
+    return node == ROOT || state < 0 ? state : feed(state, notation.endActions()[node]);
+  }
+
+  private static long feed(long state, int action) {
+    int first = action >>> FIRST_SHIFT & CHARACTER_MASK;
+    if (first == 0) {
+      return state;
+    }
+    long next = FastScorer.step(state, first);
+    int second = action >>> SECOND_SHIFT & CHARACTER_MASK;
+    return second == 0 ? next : FastScorer.step(next, second);
+  }
+
+  private static int fed(int action) {
+    return ((action & CHARACTER_MASK << FIRST_SHIFT) == 0 ? 0 : 1)
+        + ((action & CHARACTER_MASK << SECOND_SHIFT) == 0 ? 0 : 1);
+  }
+
+  /**
+   * Find where in the input the standard character at {@code standardOffset} came from.
+   *
+   * @return the offset relative to {@code start}, or the length of the input if it ran out first
+   */
+  static int inputOffset(Notation notation, CharSequence game, int start, int end, int standardOffset) {
+    int[] actions = notation.actions();
+    int node = ROOT;
+    int tokenStart = start;
+    int fed = 0;
+    for (int i = start; i < end; ) {
+      if (node == ROOT) {
+        tokenStart = i;
+      }
+      int c = game.charAt(i);
+      int action = c <= CHARACTER_MASK ? actions[node << 8 | c] : INVALID;
+      int count = fed(action);
+      if (fed + count > standardOffset) {
+        return inToken(tokenStart, i, standardOffset - fed) - start;
+      }
+      fed += count;
+      node = action >>> NODE_SHIFT & NODE_MASK;
+      if ((action & REDISPATCH) == 0) {
+        i++;
+      }
+    }
+    return node != ROOT && fed + fed(notation.endActions()[node]) > standardOffset
+        ? inToken(tokenStart, end, standardOffset - fed) - start
+        : end - start;
+  }
+
+  static int inputOffset(Notation notation, byte[] game, int start, int end, int standardOffset) {
+    int[] actions = notation.actions();
+    int node = ROOT;
+    int tokenStart = start;
+    int fed = 0;
+    for (int i = start; i < end; ) {
+      if (node == ROOT) {
+        tokenStart = i;
+      }
+      int action = actions[node << 8 | (game[i] & 0xFF)];
+      int count = fed(action);
+      if (fed + count > standardOffset) {
+        return inToken(tokenStart, i, standardOffset - fed) - start;
+      }
+      fed += count;
+      node = action >>> NODE_SHIFT & NODE_MASK;
+      if ((action & REDISPATCH) == 0) {
+        i++;
+      }
+    }
+    return node != ROOT && fed + fed(notation.endActions()[node]) > standardOffset
+        ? inToken(tokenStart, end, standardOffset - fed) - start
+        : end - start;
+  }
+
+  /**
+   * Where the {@code k}th standard character fed for a token came from. A symbol is one character. A delimiter that
+   * was read from {@code tokenStart} up to {@code i} hands its characters out from its first character on, so the
+   * second "|" of a standard "||" is the second character.
+   */
+  private static int inToken(int tokenStart, int i, int k) {
+    return Math.max(tokenStart, Math.min(tokenStart + k, i - 1));
+  }
+
+  /**
+   * Write a game out in the standard notation.
+   *
+   * @throws InvalidInputException at the first character the notation doesn't have
+   */
+  static String translate(Notation notation, CharSequence game) {
+    int[] actions = notation.actions();
+    StringBuilder standard = new StringBuilder(game.length() + 2);
+    int node = ROOT;
+    for (int i = 0; i < game.length(); ) {
+      int c = game.charAt(i);
+      int action = c <= CHARACTER_MASK ? actions[node << 8 | c] : INVALID;
+      if (action == INVALID) {
+        throw new InvalidInputException(ParseError.INVALID_CHARACTER,
+            "'" + (char) c + "' at character " + i + " isn't part of the notation");
+      }
+      append(standard, action);
+      node = action >>> NODE_SHIFT & NODE_MASK;
+      if ((action & REDISPATCH) == 0) {
+        i++;
+      }
+    }
+    if (node != ROOT) {
+      int action = notation.endActions()[node];
+      if (action == INVALID) {
+        throw new InvalidInputException(ParseError.INVALID_CHARACTER, "The game ends part way through a delimiter");
+      }
+      append(standard, action);
+    }
+    return standard.toString();
+  }
+
+  private static void append(StringBuilder standard, int action) {
+    int first = action >>> FIRST_SHIFT & CHARACTER_MASK;
+    int second = action >>> SECOND_SHIFT & CHARACTER_MASK;
+    if (first != 0) {
+      standard.append((char) first);
+    }
+    if (second != 0) {
+      standard.append((char) second);
+    }
+  }
+
+}
@@ -0,0 +1,297 @@
+package com.adamkoch.bowling.outlook;
+
+import com.adamkoch.bowling.LiveGame;
+import com.adamkoch.bowling.exceptions.InvalidInputException;
+
+import java.util.Arrays;
+
+/**
+ * Where a game that's still being bowled can end up: the best and worst final score it can still reach, the score to
+ * expect from a bowler's {@link PinFallModel}, and how many ways there are to finish it with each score.
+ * <p>
+ * What's left of a game only depends on a few things: the frame, which ball of the frame is next, how many pins are
+ * standing, whether they were just set up, and how many strikes and spares are still waiting on the next two balls.
+ * That's a few thousand states. Each one's answer is worked out once and kept, so a question about a partial game is
+ * a walk over the balls bowled so far plus a look-up.
+ * <p>
+ * The tenth frame follows the usual rules, like {@link LiveGame}: a strike or a spare earns extra balls with a fresh
+ * rack of pins.
+ * <p>
+ * The maximums are shared by everyone and worked out when the class loads. The expected scores belong to a model, so
+ * they're worked out when an outlook is created for it. An outlook can be used by any number of threads.
+ */
+public final class GameOutlook {
+
+  public static final int MAX_SCORE = 300;
+
+  private static final int NUMBER_OF_FRAMES = 10;
+  private static final int LAST_FRAME = NUMBER_OF_FRAMES - 1;
+  private static final int ALL_PINS = 10;
+  private static final int END = -1;
+
+  // state = (((((frame * 3 + ball) * 11 + pins standing) * 2 + fresh rack) * 3 + bonus on next ball) * 2
+  //          + bonus on the ball after)
+  private static final int STATES = NUMBER_OF_FRAMES * 3 * (ALL_PINS + 1) * 2 * 3 * 2;
+  private static final int START = state(0, 0, ALL_PINS, true, 0, 0);
+
+  // the most points that can still be scored from each state, -1 until worked out
+  private static final int[] MAX_REMAINING = new int[STATES];
+  // how many ways each state can finish with each number of points, worked out the first time they're asked for
+  private static final long[][] WAYS = new long[STATES][];
+
+  static {
+    Arrays.fill(MAX_REMAINING, -1);
+    maxRemaining(START);
+  }
+
+  private final PinFallModel model;
+  // the points to expect from each state, NaN until worked out
+  private final double[] expectedRemaining = new double[STATES];
+
+  /**
+   * @param model How the bowler knocks down pins
+   */
+  public GameOutlook(PinFallModel model) {
+    this.model = model;
+    Arrays.fill(expectedRemaining, Double.NaN);
+    expectedRemaining(START);
+  }
+
+  private static int state(int frame, int ball, int pins, boolean fresh, int nextBonus, int afterNextBonus) {
+    return ((((frame * 3 + ball) * (ALL_PINS + 1) + pins) * 2 + (fresh ? 1 : 0)) * 3 + nextBonus) * 2
+        + afterNextBonus;
+  }
+
+  private static int afterNextBonus(int state) {
+    return state % 2;
+  }
+
+  private static int nextBonus(int state) {
+    return state / 2 % 3;
+  }
+
+  private static boolean isFresh(int state) {
+    return state / 6 % 2 == 1;
+  }
+
+  private static int pinsStanding(int state) {
+    return state / 12 % (ALL_PINS + 1);
+  }
+
+  private static int ball(int state) {
+    return state / (12 * (ALL_PINS + 1)) % 3;
+  }
+
+  private static int frame(int state) {
+    return state / (12 * (ALL_PINS + 1) * 3);
+  }
+
+  /**
+   * @return what a ball that knocks down {@code pins} is worth, bonuses for earlier frames included
+   */
+  private static int points(int state, int pins) {
+    return pins * (1 + nextBonus(state));
+  }
+
+  /**
+   * @return the state after a ball that knocks down {@code pins}, or {@link #END} if the game is over
+   */
+  private static int next(int state, int pins) {
+    int frame = frame(state);
+    int ball = ball(state);
+    int left = pinsStanding(state) - pins;
+    // the bonus that was waiting on the ball after this one is now waiting on the next one
+    int bonus = afterNextBonus(state);
+    if (frame < LAST_FRAME) {
+      if (ball == 0 && left == 0) {
+        return state(frame + 1, 0, ALL_PINS, true, bonus + 1, 1);
+      } else if (ball == 0) {
+        return state(frame, 1, left, false, bonus, 0);
+      } else {
+        return state(frame + 1, 0, ALL_PINS, true, left == 0 ? bonus + 1 : bonus, 0);
+      }
+    }
+    // Nothing in the tenth frame earns a bonus. Its extra balls just count.
+    return switch (ball) {
+      case 0 -> left == 0
+          ? state(frame, 1, ALL_PINS, true, bonus, 0)
+          : state(frame, 1, left, false, bonus, 0);
+      case 1 -> {
+        if (left == 0) {
+          yield state(frame, 2, ALL_PINS, true, 0, 0);
+        }
+        // after a strike the second ball is bowled at a fresh rack, and whatever it leaves gets a third ball
+        yield isFresh(state) ? state(frame, 2, left, false, 0, 0) : END;
+      }
+      default -> END;
+    };
+  }
+
+  private static int maxRemaining(int state) {
+    if (state == END) {
+      return 0;
+    }
+    if (MAX_REMAINING[state] < 0) {
+      int best = 0;
+      for (int pins = 0; pins <= pinsStanding(state); pins++) {
+        best = Math.max(best, points(state, pins) + maxRemaining(next(state, pins)));
+      }
+      MAX_REMAINING[state] = best;
+    }
+    return MAX_REMAINING[state];
+  }
+
+  private static synchronized long[] ways(int state) {
+    if (state == END) {
+      return new long[]{1};
+    }
+    if (WAYS[state] == null) {
+      long[] ways = new long[maxRemaining(state) + 1];
+      for (int pins = 0; pins <= pinsStanding(state); pins++) {
+        int points = points(state, pins);
+        long[] after = ways(next(state, pins));
+        for (int p = 0; p < after.length; p++) {
+          ways[points + p] += after[p];
+        }
+      }
+      WAYS[state] = ways;
+    }
+    return WAYS[state];
+  }
+
+  private synchronized double expectedRemaining(int state) {
+    if (state == END) {
+      return 0;
+    }
+    if (Double.isNaN(expectedRemaining[state])) {
+      int standing = pinsStanding(state);
+      boolean fresh = isFresh(state);
+      double expected = 0;
+      for (int pins = 0; pins <= standing; pins++) {
+        double probability = model.probability(standing, fresh, pins);
+        if (probability > 0) {
+          expected += probability * (points(state, pins) + expectedRemaining(next(state, pins)));
+        }
+      }
+      expectedRemaining[state] = expected;
+    }
+    return expectedRemaining[state];
+  }
+
+  /**
+   * The best final score the game can still reach.
+   *
+   * @param rolls The pins knocked down by each ball so far
+   * @param count How many balls were bowled
+   * @return 0 through 300
+   * @throws InvalidInputException if a ball knocked down more pins than were standing or came after the game was over
+   */
+  public static int maxScore(int[] rolls, int count) {
+    long position = walk(rolls, count);
+    return scoreSoFar(position) + maxRemaining(stateOf(position));
+  }
+
+  /**
+   * The worst final score the game can still end with, which is what it has now: gutter balls from here on still
+   * count for the strikes and spares waiting on them, but only as 0.
+   *
+   * @param rolls The pins knocked down by each ball so far
+   * @param count How many balls were bowled
+   * @return 0 through 300
+   * @throws InvalidInputException if a ball knocked down more pins than were standing or came after the game was over
+   */
+  public static int minScore(int[] rolls, int count) {
+    return scoreSoFar(walk(rolls, count));
+  }
+
+  /**
+   * How many ways there are to finish the game with each final score.
+   *
+   * @param rolls The pins knocked down by each ball so far
+   * @param count How many balls were bowled
+   * @return one count per final score from 0 through 300
+   * @throws InvalidInputException if a ball knocked down more pins than were standing or came after the game was over
+   */
+  public static long[] scoreDistribution(int[] rolls, int count) {
+    long position = walk(rolls, count);
+    long[] remaining = ways(stateOf(position));
+    long[] distribution = new long[MAX_SCORE + 1];
+    System.arraycopy(remaining, 0, distribution, scoreSoFar(position), remaining.length);
+    return distribution;
+  }
+
+  /**
+   * How many different games end with each score. Two games are different when any ball knocked down a different
+   * number of pins.
+   *
+   * @return one count per final score from 0 through 300
+   */
+  public static long[] scoreDistribution() {
+    return scoreDistribution(new int[0], 0);
+  }
+
+  /**
+   * The final score to expect, given the balls so far and the model.
+   *
+   * @param rolls The pins knocked down by each ball so far
+   * @param count How many balls were bowled
+   * @return the expected final score
+   * @throws InvalidInputException if a ball knocked down more pins than were standing or came after the game was over
+   */
+  public double expectedScore(int[] rolls, int count) {
+    long position = walk(rolls, count);
+    return scoreSoFar(position) + expectedRemaining(stateOf(position));
+  }
+
+  public static int maxScore(LiveGame game) {
+    return maxScore(rollsOf(game), game.getRollCount());
+  }
+
+  public static int minScore(LiveGame game) {
+    return minScore(rollsOf(game), game.getRollCount());
+  }
+
+  public double expectedScore(LiveGame game) {
+    return expectedScore(rollsOf(game), game.getRollCount());
+  }
+
+  private static int[] rollsOf(LiveGame game) {
+    int[] rolls = new int[game.getRollCount()];
+    for (int i = 0; i < rolls.length; i++) {
+      rolls[i] = game.getRoll(i);
+    }
+    return rolls;
+  }
+
+  /**
+   * Follow the balls bowled so far.
+   *
+   * @return the state in the low int and the points so far in the high int
+   */
+  private static long walk(int[] rolls, int count) {
+    int state = START;
+    int score = 0;
+    for (int i = 0; i < count; i++) {
+      if (state == END) {
+        throw new InvalidInputException("The game was over after " + i + " balls but there were " + count);
+      }
+      int pins = rolls[i];
+      if (pins < 0 || pins > pinsStanding(state)) {
+        throw new InvalidInputException("Ball " + (i + 1) + " could knock down 0 to " + pinsStanding(state) +
+            " pins but it was " + pins);
+      }
+      score += points(state, pins);
+      state = next(state, pins);
+    }
+    return (long) score << 32 | (state & 0xFFFF_FFFFL);
+  }
+
+  private static int stateOf(long position) {
+    return (int) position;
+  }
+
+  private static int scoreSoFar(long position) {
+    return (int) (position >>> 32);
+  }
+
+}
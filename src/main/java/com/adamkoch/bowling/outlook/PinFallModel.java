@@ -0,0 +1,120 @@
+package com.adamkoch.bowling.outlook;
+
+import java.util.Arrays;
+
+/**
+ * How likely a bowler is to knock down each number of pins, given how many are standing. A full rack that was just
+ * set up is a different situation from ten pins still standing after a gutter ball, so the two are kept apart.
+ * <p>
+ * A model never changes once it's built.
+ */
+public final class PinFallModel {
+
+  private static final int ALL_PINS = 10;
+  private static final double TOLERANCE = 1e-9;
+
+  // [pins standing][1 for a fresh rack, 0 for what's left after a ball][pins knocked down]
+  private final double[][][] probabilities = new double[ALL_PINS + 1][2][];
+
+  private PinFallModel(double[] firstBall, double[][] leaves) {
+    probabilities[ALL_PINS][1] = firstBall.clone();
+    for (int standing = 0; standing <= ALL_PINS; standing++) {
+      probabilities[standing][0] = leaves[standing].clone();
+    }
+  }
+
+  /**
+   * Every number of pins from none to all of them is as likely as any other.
+   *
+   * @return the model
+   */
+  public static PinFallModel uniform() {
+    double[][] leaves = new double[ALL_PINS + 1][];
+    for (int standing = 0; standing <= ALL_PINS; standing++) {
+      leaves[standing] = new double[standing + 1];
+      Arrays.fill(leaves[standing], 1.0 / (standing + 1));
+    }
+    return new PinFallModel(leaves[ALL_PINS], leaves);
+  }
+
+  /**
+   * Build a model from probabilities.
+   *
+   * @param firstBall The chance of knocking down 0 through 10 pins of a fresh rack
+   * @param leaves    {@code leaves[p][k]} is the chance of knocking down {@code k} of the {@code p} pins left after a
+   *                  ball, for {@code p} from 0 through 10
+   * @return the model
+   * @throws IllegalArgumentException if any of the distributions is the wrong length or doesn't add up to 1
+   */
+  public static PinFallModel of(double[] firstBall, double[][] leaves) {
+    check(firstBall, ALL_PINS, "the first ball");
+    if (leaves.length != ALL_PINS + 1) {
+      throw new IllegalArgumentException("Expected 11 leaves, for 0 through 10 pins, but there were " + leaves.length);
+    }
+    for (int standing = 0; standing <= ALL_PINS; standing++) {
+      check(leaves[standing], standing, standing + " pins left");
+    }
+    return new PinFallModel(firstBall, leaves);
+  }
+
+  /**
+   * Build a model from what a bowler did before. Every outcome gets one more than it was seen so that nothing the
+   * bowler hasn't done yet is impossible.
+   *
+   * @param firstBallCounts How many times 0 through 10 pins of a fresh rack were knocked down
+   * @param leaveCounts     {@code leaveCounts[p][k]} is how many times {@code k} of {@code p} pins left were knocked
+   *                        down
+   * @return the model
+   */
+  public static PinFallModel fromCounts(long[] firstBallCounts, long[][] leaveCounts) {
+    double[][] leaves = new double[ALL_PINS + 1][];
+    for (int standing = 0; standing <= ALL_PINS; standing++) {
+      leaves[standing] = smooth(leaveCounts[standing], standing);
+    }
+    return of(smooth(firstBallCounts, ALL_PINS), leaves);
+  }
+
+  private static double[] smooth(long[] counts, int standing) {
+    if (counts.length != standing + 1) {
+      throw new IllegalArgumentException(
+          "Expected " + (standing + 1) + " counts for " + standing + " pins but there were " + counts.length);
+    }
+    double total = 0;
+    for (long count : counts) {
+      total += count + 1;
+    }
+    double[] probabilities = new double[counts.length];
+    for (int pins = 0; pins < counts.length; pins++) {
+      probabilities[pins] = (counts[pins] + 1) / total;
+    }
+    return probabilities;
+  }
+
+  private static void check(double[] distribution, int standing, String what) {
+    if (distribution.length != standing + 1) {
+      throw new IllegalArgumentException("Expected " + (standing + 1) + " probabilities for " + what +
+          " but there were " + distribution.length);
+    }
+    double total = 0;
+    for (double probability : distribution) {
+      if (probability < 0) {
+        throw new IllegalArgumentException("A probability for " + what + " was negative");
+      }
+      total += probability;
+    }
+    if (Math.abs(total - 1) > TOLERANCE) {
+      throw new IllegalArgumentException("The probabilities for " + what + " add up to " + total + ", not 1");
+    }
+  }
+
+  /**
+   * @param pinsStanding How many pins are standing, 0 through 10
+   * @param freshRack    Whether the pins were just set up, which only matters when all ten are standing
+   * @param pins         How many of them are knocked down
+   * @return the chance of that happening
+   */
+  public double probability(int pinsStanding, boolean freshRack, int pins) {
+    return probabilities[pinsStanding][freshRack && pinsStanding == ALL_PINS ? 1 : 0][pins];
+  }
+
+}
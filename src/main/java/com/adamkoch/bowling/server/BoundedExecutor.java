@@ -0,0 +1,59 @@
+package com.adamkoch.bowling.server;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Lets at most a fixed number of tasks be running or waiting at once. Anything over that is run right away on the
+ * thread that handed it over, with {@link #isOverloaded()} set, so the task can turn itself down cheaply instead of
+ * waiting in an ever longer line.
+ */
+final class BoundedExecutor implements Executor {
+
+  private static final ThreadLocal<Boolean> OVERLOADED = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+  private final Executor delegate;
+  private final Semaphore permits;
+
+  /**
+   * @param delegate Runs the tasks that are let in
+   * @param capacity How many tasks can be running or waiting at once
+   */
+  BoundedExecutor(Executor delegate, int capacity) {
+    this.delegate = delegate;
+    this.permits = new Semaphore(capacity);
+  }
+
+  @Override
+  public void execute(Runnable task) {
+    if (permits.tryAcquire()) {
+      try {
+        delegate.execute(() -> {
+          try {
+            task.run();
+          } finally {
+            permits.release();
+          }
+        });
+      } catch (RuntimeException e) {
+        permits.release();
+        throw e;
+      }
+    } else {
+      OVERLOADED.set(Boolean.TRUE);
+      try {
+        task.run();
+      } finally {
+        OVERLOADED.set(Boolean.FALSE);
+      }
+    }
+  }
+
+  /**
+   * @return whether the current task was turned away and should do as little as possible
+   */
+  static boolean isOverloaded() {
+    return OVERLOADED.get();
+  }
+
+}
@@ -0,0 +1,200 @@
+package com.adamkoch.bowling.server;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Sends single games to a {@link ScoringServer} as fast as it answers, over a number of kept-alive connections, and
+ * reports the throughput and latency percentiles. Each connection has a single request in flight, so the number of
+ * connections is the number of lanes waiting on a score at once.
+ * <p>
+ * Requests are written by hand over plain sockets. An HTTP client library would measure itself as much as the server.
+ * <pre>
+ *   java -cp bowling.jar com.adamkoch.bowling.server.LoadGenerator [port [connections [seconds]]]
+ * </pre>
+ * Without a port a server is started in the same JVM on a free port.
+ */
+public final class LoadGenerator {
+
+  private static final String[] GAMES = {"X|X|X|X|X|X|X|X|X|X||XX", "9-|9-|9-|9-|9-|9-|9-|9-|9-|9-||",
+      "5/|5/|5/|5/|5/|5/|5/|5/|5/|5/||5", "X|7/|9-|X|-8|8/|-6|X|X|X||81", "54|4/|7-|X|X|X|53|6/|4/|X||XX",
+      "14|45|6/|5/|X|01|7/|6/|X|2/||6"};
+
+  private static final int DEFAULT_CONNECTIONS = 16;
+  private static final int DEFAULT_SECONDS = 10;
+
+  private LoadGenerator() {
+    // utility classes shouldn't be instantiated
+  }
+
+  public static void main(String[] args) throws IOException {
+    int connections = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_CONNECTIONS;
+    Duration duration = Duration.ofSeconds(args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_SECONDS);
+    if (args.length > 0) {
+      InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), Integer.parseInt(args[0]));
+      System.out.println(run(address, connections, duration));
+    } else {
+      try (ScoringServer server = ScoringServer.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0),
+          Runtime.getRuntime().availableProcessors() * 2)) {
+        InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort());
+        // a short run first so the server is compiled before anything is measured
+        run(address, connections, Duration.ofSeconds(2));
+        System.out.println(run(address, connections, duration));
+      }
+    }
+  }
+
+  /**
+   * Keep the server busy for a while.
+   *
+   * @param address     Where the server is
+   * @param connections How many requests to have in flight at once
+   * @param duration    How long to keep sending requests
+   * @return the throughput and latencies
+   * @throws IOException if a connection couldn't be made or failed
+   */
+  public static LoadReport run(InetSocketAddress address, int connections, Duration duration) throws IOException {
+    long start = System.nanoTime();
+    long end = start + duration.toNanos();
+    ExecutorService executor = Executors.newFixedThreadPool(connections);
+    try {
+      List<Future<Connection>> futures = new ArrayList<>();
+      for (int i = 0; i < connections; i++) {
+        int first = i;
+        futures.add(executor.submit(() -> {
+          Connection connection = new Connection(first);
+          connection.run(address, end);
+          return connection;
+        }));
+      }
+      long errors = 0;
+      long[] latencies = new long[0];
+      for (Future<Connection> future : futures) {
+        Connection connection = future.get();
+        errors += connection.errors;
+        int offset = latencies.length;
+        latencies = Arrays.copyOf(latencies, offset + connection.count);
+        System.arraycopy(connection.latencies, 0, latencies, offset, connection.count);
+      }
+      long elapsed = System.nanoTime() - start;
+      Arrays.sort(latencies);
+      return new LoadReport(errors, elapsed, latencies);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while waiting for the connections", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof UncheckedIOException) {
+        throw ((UncheckedIOException) e.getCause()).getCause();
+      }
+      throw new IOException(e.getCause());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * One connection and the latency of every request it sent.
+   */
+  private static final class Connection {
+
+    private final byte[][] requests = new byte[GAMES.length][];
+    private int next;
+    private long[] latencies = new long[1 << 16];
+    private int count;
+    private long errors;
+
+    Connection(int first) {
+      for (int i = 0; i < GAMES.length; i++) {
+        String game = GAMES[i];
+        requests[i] = ("POST " + ScoringServer.SCORE_PATH + " HTTP/1.1\r\nHost: localhost\r\nContent-Length: " +
+            game.length() + "\r\n\r\n" + game).getBytes(StandardCharsets.US_ASCII);
+      }
+      // so the connections don't all send the same game at the same time
+      next = first;
+    }
+
+    void run(InetSocketAddress address, long end) {
+      try (Socket socket = new Socket(address.getAddress(), address.getPort())) {
+        socket.setTcpNoDelay(true);
+        OutputStream out = new BufferedOutputStream(socket.getOutputStream());
+        InputStream in = new BufferedInputStream(socket.getInputStream());
+        long now = System.nanoTime();
+        while (now < end) {
+          out.write(requests[next++ % requests.length]);
+          out.flush();
+          if (readResponse(in) != 200) {
+            errors++;
+          }
+          long done = System.nanoTime();
+          record(done - now);
+          now = done;
+        }
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    private void record(long latency) {
+      if (count == latencies.length) {
+        latencies = Arrays.copyOf(latencies, count * 2);
+      }
+      latencies[count++] = latency;
+    }
+
+    /**
+     * Read the status line, the headers and the body.
+     *
+     * @return the status code
+     */
+    private static int readResponse(InputStream in) throws IOException {
+      String statusLine = readLine(in);
+      int status = Integer.parseInt(statusLine.substring(9, 12));
+      int contentLength = 0;
+      String header;
+      while (!(header = readLine(in)).isEmpty()) {
+        if (header.regionMatches(true, 0, "Content-Length:", 0, 15)) {
+          contentLength = Integer.parseInt(header.substring(15).trim());
+        }
+      }
+      for (int i = 0; i < contentLength; i++) {
+        if (in.read() < 0) {
+          throw new EOFException("The server closed the connection in the middle of a response");
+        }
+      }
+      return status;
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+      StringBuilder line = new StringBuilder();
+      int c;
+      while ((c = in.read()) != '\n') {
+        if (c < 0) {
+          throw new EOFException("The server closed the connection");
+        }
+        if (c != '\r') {
+          line.append((char) c);
+        }
+      }
+      return line.toString();
+    }
+
+  }
+
+}
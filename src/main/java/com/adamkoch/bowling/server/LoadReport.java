@@ -0,0 +1,53 @@
+package com.adamkoch.bowling.server;
+
+import lombok.Getter;
+
+/**
+ * What happened during a {@link LoadGenerator} run, or any other run that times requests one by one.
+ */
+@Getter
+public final class LoadReport {
+
+  private final long requests;
+  private final long errors;
+  private final long elapsedNanos;
+  // sorted, one per request
+  @Getter(lombok.AccessLevel.NONE)
+  private final long[] latencyNanos;
+
+  /**
+   * @param errors             how many requests failed
+   * @param elapsedNanos       how long the run took
+   * @param sortedLatencyNanos the latency of every request, sorted
+   */
+  public LoadReport(long errors, long elapsedNanos, long[] sortedLatencyNanos) {
+    this.requests = sortedLatencyNanos.length;
+    this.errors = errors;
+    this.elapsedNanos = elapsedNanos;
+    this.latencyNanos = sortedLatencyNanos;
+  }
+
+  public double requestsPerSecond() {
+    return elapsedNanos == 0 ? 0 : requests * 1_000_000_000.0 / elapsedNanos;
+  }
+
+  /**
+   * @param percentile 0 through 100, like 99 for the p99
+   * @return the latency that many percent of the requests were at or under, in microseconds
+   */
+  public double latencyMicros(double percentile) {
+    if (latencyNanos.length == 0) {
+      return 0;
+    }
+    int index = (int) Math.ceil(percentile / 100 * latencyNanos.length) - 1;
+    return latencyNanos[Math.max(0, Math.min(index, latencyNanos.length - 1))] / 1_000.0;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%d requests (%d errors) in %d ms, %.0f requests/s, latency p50 %.0f us, p99 %.0f us, " +
+            "p99.9 %.0f us, max %.0f us", requests, errors, elapsedNanos / 1_000_000, requestsPerSecond(),
+        latencyMicros(50), latencyMicros(99), latencyMicros(99.9), latencyMicros(100));
+  }
+
+}
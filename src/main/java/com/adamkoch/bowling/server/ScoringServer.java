@@ -0,0 +1,258 @@
+package com.adamkoch.bowling.server;
+
+import com.adamkoch.bowling.GameValidator;
+import com.adamkoch.bowling.ParseResult;
+import com.adamkoch.bowling.batch.FlushPolicy;
+import com.adamkoch.bowling.batch.StreamScorer;
+import com.adamkoch.bowling.metrics.ScoringMetrics;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Scores games over HTTP with the server that comes with the JDK. There are two endpoints, both POST only:
+ * <ul>
+ *   <li>{@code /score} takes one game as the body and answers with its score and a line feed, or a 400 and what's
+ *   wrong with the game.</li>
+ *   <li>{@code /batch} takes one game per line and streams back one result per line, {@code -1} for a line that isn't
+ *   a valid game, just like {@code --batch} does for files.</li>
+ * </ul>
+ * Requests are handled on virtual threads when the JVM has them (Java 21 and up) and on a fixed pool of threads
+ * otherwise. Either way at most {@code queueCapacity} requests are handled or waiting at once. Past that a request is
+ * answered with a 503 right away.
+ * <p>
+ * Bodies are limited by the longest game {@link com.adamkoch.bowling.Main} ever accepted, 35 characters, plus a line
+ * ending: a single game can't be longer than that and a batch can't be longer than that times the number of games
+ * allowed in a batch.
+ */
+public final class ScoringServer implements Closeable {
+
+  /**
+   * The longest game Main's validation ever let through.
+   */
+  public static final int MAX_GAME_LENGTH = 35;
+
+  /**
+   * A game and a "\r\n".
+   */
+  static final int MAX_LINE_LENGTH = MAX_GAME_LENGTH + 2;
+
+  public static final int DEFAULT_MAX_BATCH_GAMES = 10_000;
+  public static final int DEFAULT_QUEUE_CAPACITY = 1024;
+
+  static final String SCORE_PATH = "/score";
+  static final String BATCH_PATH = "/batch";
+
+  private static final int BATCH_BUFFER_SIZE = 1 << 13;
+  private static final byte[] OVERLOADED = "Too many requests, try again later\n".getBytes(StandardCharsets.US_ASCII);
+  private static final byte[] METHOD_NOT_ALLOWED = "Only POST is supported\n".getBytes(StandardCharsets.US_ASCII);
+  private static final byte[] TOO_LARGE = "The request is too large\n".getBytes(StandardCharsets.US_ASCII);
+  private static final byte[] LENGTH_REQUIRED = "A batch needs a Content-Length\n".getBytes(StandardCharsets.US_ASCII);
+
+  static {
+    // A response goes out as headers and then a body. Without this, Nagle's algorithm holds the body back until the
+    // client acknowledges the headers, and clients delay their acknowledgements, so every request takes 40ms. The
+    // JDK server reads this once, so it has to be set before the first server is created.
+    if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+      System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+  }
+
+  private final HttpServer server;
+  private final ExecutorService workers;
+  private final long maxBatchBytes;
+  private final LongAdder requests = new LongAdder();
+  private final LongAdder rejectedRequests = new LongAdder();
+
+  private ScoringServer(HttpServer server, ExecutorService workers, int maxBatchGames) {
+    this.server = server;
+    this.workers = workers;
+    this.maxBatchBytes = (long) maxBatchGames * MAX_LINE_LENGTH;
+  }
+
+  /**
+   * Start a server with the default limits.
+   *
+   * @param address Where to listen. Port 0 picks a free port, see {@link #getPort()}.
+   * @param threads How many threads handle requests when there are no virtual threads
+   * @return the running server
+   * @throws IOException if the address can't be bound
+   */
+  public static ScoringServer start(InetSocketAddress address, int threads) throws IOException {
+    return start(address, threads, DEFAULT_QUEUE_CAPACITY, DEFAULT_MAX_BATCH_GAMES);
+  }
+
+  /**
+   * Start a server.
+   *
+   * @param address       Where to listen. Port 0 picks a free port, see {@link #getPort()}.
+   * @param threads       How many threads handle requests when there are no virtual threads
+   * @param queueCapacity How many requests can be handled or waiting at once
+   * @param maxBatchGames How many games a batch can hold
+   * @return the running server
+   * @throws IOException if the address can't be bound
+   */
+  public static ScoringServer start(InetSocketAddress address, int threads, int queueCapacity, int maxBatchGames)
+      throws IOException {
+    HttpServer httpServer = HttpServer.create(address, queueCapacity);
+    ExecutorService workers = workers(threads);
+    ScoringServer scoringServer = new ScoringServer(httpServer, workers, maxBatchGames);
+    httpServer.createContext(SCORE_PATH, scoringServer::scoreOne);
+    httpServer.createContext(BATCH_PATH, scoringServer::scoreBatch);
+    httpServer.setExecutor(new BoundedExecutor(workers, queueCapacity));
+    httpServer.start();
+    return scoringServer;
+  }
+
+  /**
+   * Virtual threads are final as of Java 21. This builds for 17, so they're looked up instead of called.
+   */
+  private static ExecutorService workers(int threads) {
+    try {
+      return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+    } catch (ReflectiveOperationException e) {
+      return Executors.newFixedThreadPool(threads, runnable -> {
+        Thread thread = new Thread(runnable, "scoring-server");
+        thread.setDaemon(true);
+        return thread;
+      });
+    }
+  }
+
+  private void scoreOne(HttpExchange exchange) throws IOException {
+    try {
+      if (admit(exchange)) {
+        // one byte more than allowed so we can tell the body was too long
+        byte[] body = new byte[MAX_LINE_LENGTH + 1];
+        int length = readFully(exchange.getRequestBody(), body);
+        if (length > MAX_LINE_LENGTH) {
+          respond(exchange, 413, TOO_LARGE);
+          return;
+        }
+        // one line ending is fine
+        if (length > 0 && body[length - 1] == '\n') {
+          length--;
+          if (length > 0 && body[length - 1] == '\r') {
+            length--;
+          }
+        }
+        long result = GameValidator.validate(body, 0, length);
+        if (ParseResult.isValid(result)) {
+          respond(exchange, 200, (ParseResult.score(result) + "\n").getBytes(StandardCharsets.US_ASCII));
+        } else {
+          if (ScoringMetrics.ENABLED) {
+            ScoringMetrics.invalidInput(ParseResult.error(result));
+          }
+          respond(exchange, 400,
+              ("Invalid input: " + ParseResult.describe(result) + "\n").getBytes(StandardCharsets.UTF_8));
+        }
+      }
+    } finally {
+      exchange.close();
+    }
+  }
+
+  private void scoreBatch(HttpExchange exchange) throws IOException {
+    try {
+      if (admit(exchange)) {
+        String contentLength = exchange.getRequestHeaders().getFirst("Content-Length");
+        if (contentLength == null) {
+          respond(exchange, 411, LENGTH_REQUIRED);
+        } else if (!contentLength.matches("\\d{1,18}") || Long.parseLong(contentLength) > maxBatchBytes) {
+          respond(exchange, 413, TOO_LARGE);
+        } else {
+          exchange.getResponseHeaders().set("Content-Type", "text/plain");
+          // 0 means the length isn't known yet, so the scores are streamed back in chunks as they're ready
+          exchange.sendResponseHeaders(200, 0);
+          try (OutputStream out = exchange.getResponseBody()) {
+            // strict, so a game gets the same verdict here as from SCORE_PATH
+            StreamScorer.score(Channels.newChannel(exchange.getRequestBody()), Channels.newChannel(out),
+                FlushPolicy.AT_END, true, ByteBuffer.allocate(BATCH_BUFFER_SIZE),
+                ByteBuffer.allocate(BATCH_BUFFER_SIZE));
+          }
+        }
+      }
+    } finally {
+      exchange.close();
+    }
+  }
+
+  /**
+   * Count the request and turn it down if it has to be.
+   *
+   * @return whether the request should be handled
+   */
+  private boolean admit(HttpExchange exchange) throws IOException {
+    requests.increment();
+    if (BoundedExecutor.isOverloaded()) {
+      rejectedRequests.increment();
+      exchange.getResponseHeaders().set("Retry-After", "1");
+      respond(exchange, 503, OVERLOADED);
+      return false;
+    } else if (!"POST".equals(exchange.getRequestMethod())) {
+      exchange.getResponseHeaders().set("Allow", "POST");
+      respond(exchange, 405, METHOD_NOT_ALLOWED);
+      return false;
+    }
+    return true;
+  }
+
+  private static int readFully(InputStream in, byte[] buffer) throws IOException {
+    int length = 0;
+    int read;
+    while (length < buffer.length && (read = in.read(buffer, length, buffer.length - length)) > 0) {
+      length += read;
+    }
+    return length;
+  }
+
+  private static void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+    exchange.getResponseHeaders().set("Content-Type", "text/plain");
+    exchange.sendResponseHeaders(status, body.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(body);
+    }
+  }
+
+  /**
+   * @return the port the server is listening on
+   */
+  public int getPort() {
+    return server.getAddress().getPort();
+  }
+
+  /**
+   * @return every request so far, including the ones that were turned down
+   */
+  public long getRequests() {
+    return requests.sum();
+  }
+
+  /**
+   * @return the requests turned down because too many were already being handled
+   */
+  public long getRejectedRequests() {
+    return rejectedRequests.sum();
+  }
+
+  /**
+   * Stop listening, and stop once the requests being handled are done.
+   */
+  @Override
+  public void close() {
+    server.stop(0);
+    workers.shutdown();
+  }
+
+}
@@ -0,0 +1,60 @@
+package com.adamkoch.bowling.stats;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The same counts as {@link GameStatistics} for any number of threads at once. Each counter is a {@link LongAdder},
+ * which spreads updates over cells when threads collide instead of having them all fight over one value.
+ * <p>
+ * Scoring threads shouldn't add each game here. They should count into a {@link GameStatistics} of their own and add
+ * it every so often, say once per batch, so most of the counting is plain arithmetic on fields.
+ */
+public final class ConcurrentGameStatistics {
+
+  private final LongAdder games = new LongAdder();
+  private final LongAdder totalScore = new LongAdder();
+  private final LongAdder strikes = new LongAdder();
+  private final LongAdder spares = new LongAdder();
+  private final LongAdder openFrames = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder doubles = new LongAdder();
+  private final LongAdder turkeys = new LongAdder();
+  private final LongAdder firstBalls = new LongAdder();
+  private final LongAdder firstBallPins = new LongAdder();
+  private final LongAdder spareChances = new LongAdder();
+  private final LongAdder bonusBallsUsed = new LongAdder();
+
+  /**
+   * Add the counts of a thread's games. This can be called from any thread.
+   *
+   * @param statistics what to add, which isn't changed
+   */
+  public void add(GameStatistics statistics) {
+    games.add(statistics.getGames());
+    totalScore.add(statistics.getTotalScore());
+    strikes.add(statistics.getStrikes());
+    spares.add(statistics.getSpares());
+    openFrames.add(statistics.getOpenFrames());
+    misses.add(statistics.getMisses());
+    doubles.add(statistics.getDoubles());
+    turkeys.add(statistics.getTurkeys());
+    firstBalls.add(statistics.getFirstBalls());
+    firstBallPins.add(statistics.getFirstBallPins());
+    spareChances.add(statistics.getSpareChances());
+    bonusBallsUsed.add(statistics.getBonusBallsUsed());
+  }
+
+  /**
+   * The counts so far. While other threads are adding, the counters are read one after the other, so a snapshot can
+   * have part of a thread's counts. Once they're done it's exact.
+   *
+   * @return a copy of the counts
+   */
+  public GameStatistics snapshot() {
+    GameStatistics snapshot = new GameStatistics();
+    snapshot.set(games.sum(), totalScore.sum(), strikes.sum(), spares.sum(), openFrames.sum(), misses.sum(),
+        doubles.sum(), turkeys.sum(), firstBalls.sum(), firstBallPins.sum(), spareChances.sum(), bonusBallsUsed.sum());
+    return snapshot;
+  }
+
+}
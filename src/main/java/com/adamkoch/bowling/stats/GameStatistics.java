@@ -0,0 +1,213 @@
+package com.adamkoch.bowling.stats;
+
+import com.adamkoch.bowling.Game;
+import com.adamkoch.bowling.PackedGame;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Counts what happened in one game or in many, the way a league report shows it. Counting happens while the game is
+ * scored, in the same walk over the balls, see {@link #score(long, long)}.
+ * <p>
+ * The counters are plain longs, so this is for one thread. To count what many threads score, give each thread its own
+ * and {@link ConcurrentGameStatistics#add(GameStatistics) add} them to a shared one every so often.
+ * <p>
+ * What counts as what:
+ * <ul>
+ *   <li>Strikes include strikes with the bonus balls, so a perfect game has 12.</li>
+ *   <li>A double is a strike right after a strike and a turkey is a strike right after two, so a perfect game has 11
+ *   doubles and 10 turkeys.</li>
+ *   <li>A spare or an open frame is one of the ten frames. A frame of more than 10 pins, which the parser lets through,
+ *   is open.</li>
+ *   <li>A miss is a ball in one of the ten frames that knocked nothing down.</li>
+ *   <li>Bonus balls used are the ones the tenth frame earned: 2 after a strike, 1 after a spare.</li>
+ * </ul>
+ * Splits aren't in the notation, so there's no way to tell an open frame with a split from one without.
+ */
+@Getter
+@ToString
+public final class GameStatistics {
+
+  private static final int NUMBER_OF_FRAMES = 10;
+  private static final int ALL_PINS = 10;
+
+  private long games;
+  private long totalScore;
+  private long strikes;
+  private long spares;
+  private long openFrames;
+  private long misses;
+  private long doubles;
+  private long turkeys;
+  private long firstBalls;
+  private long firstBallPins;
+  // frames where the first ball left pins standing
+  private long spareChances;
+  private long bonusBallsUsed;
+
+  /**
+   * Score a packed game and count it.
+   *
+   * @param low  the low long of a packed game
+   * @param high the high long of a packed game
+   * @return the score, the same as {@link PackedGame#score(long, long)}
+   */
+  public int score(long low, long high) {
+    int score = 0;
+    int ball = 0;
+    // strikes in a row so far
+    int run = 0;
+    boolean lastWasStrike = false;
+    boolean lastWasSpare = false;
+    for (int frame = 0; frame < NUMBER_OF_FRAMES; frame++) {
+      int first = PackedGame.ball(low, high, ball);
+      firstBalls++;
+      firstBallPins += first;
+      if (first == ALL_PINS) {
+        run = strike(run);
+        score += ALL_PINS + PackedGame.ball(low, high, ball + 1) + PackedGame.ball(low, high, ball + 2);
+        ball++;
+        lastWasStrike = true;
+        lastWasSpare = false;
+      } else {
+        int second = PackedGame.ball(low, high, ball + 1);
+        run = 0;
+        spareChances++;
+        if (first == 0) {
+          misses++;
+        }
+        if (second == 0) {
+          misses++;
+        }
+        lastWasStrike = false;
+        lastWasSpare = first + second == ALL_PINS;
+        if (lastWasSpare) {
+          spares++;
+          score += ALL_PINS + PackedGame.ball(low, high, ball + 2);
+        } else {
+          openFrames++;
+          score += first + second;
+        }
+        ball += 2;
+      }
+    }
+
+    // the bonus balls are bowled at a full rack unless the first one left pins standing
+    int firstBonus = PackedGame.ball(low, high, ball);
+    if (lastWasStrike) {
+      bonusBallsUsed += 2;
+      if (firstBonus == ALL_PINS) {
+        run = strike(run);
+        if (PackedGame.ball(low, high, ball + 1) == ALL_PINS) {
+          strike(run);
+        }
+      }
+    } else if (lastWasSpare) {
+      bonusBallsUsed++;
+      if (firstBonus == ALL_PINS) {
+        strike(run);
+      }
+    }
+
+    games++;
+    totalScore += score;
+    return score;
+  }
+
+  /**
+   * Score a game and count it.
+   *
+   * @param game a game of ten frames
+   * @return the score
+   */
+  public int score(Game game) {
+    return score(game.getPackedLow(), game.getPackedHigh());
+  }
+
+  private int strike(int run) {
+    strikes++;
+    if (run >= 1) {
+      doubles++;
+    }
+    if (run >= 2) {
+      turkeys++;
+    }
+    return run + 1;
+  }
+
+  /**
+   * Add the counts of other games to these.
+   *
+   * @param other what to add, which isn't changed
+   */
+  public void add(GameStatistics other) {
+    games += other.games;
+    totalScore += other.totalScore;
+    strikes += other.strikes;
+    spares += other.spares;
+    openFrames += other.openFrames;
+    misses += other.misses;
+    doubles += other.doubles;
+    turkeys += other.turkeys;
+    firstBalls += other.firstBalls;
+    firstBallPins += other.firstBallPins;
+    spareChances += other.spareChances;
+    bonusBallsUsed += other.bonusBallsUsed;
+  }
+
+  /**
+   * Start counting from zero again.
+   */
+  public void reset() {
+    games = 0;
+    totalScore = 0;
+    strikes = 0;
+    spares = 0;
+    openFrames = 0;
+    misses = 0;
+    doubles = 0;
+    turkeys = 0;
+    firstBalls = 0;
+    firstBallPins = 0;
+    spareChances = 0;
+    bonusBallsUsed = 0;
+  }
+
+  void set(long games, long totalScore, long strikes, long spares, long openFrames, long misses, long doubles,
+           long turkeys, long firstBalls, long firstBallPins, long spareChances, long bonusBallsUsed) {
+    this.games = games;
+    this.totalScore = totalScore;
+    this.strikes = strikes;
+    this.spares = spares;
+    this.openFrames = openFrames;
+    this.misses = misses;
+    this.doubles = doubles;
+    this.turkeys = turkeys;
+    this.firstBalls = firstBalls;
+    this.firstBallPins = firstBallPins;
+    this.spareChances = spareChances;
+    this.bonusBallsUsed = bonusBallsUsed;
+  }
+
+  /**
+   * @return the average score, 0 if nothing was counted
+   */
+  public double averageScore() {
+    return games == 0 ? 0 : (double) totalScore / games;
+  }
+
+  /**
+   * @return the average pins knocked down by the first ball of a frame
+   */
+  public double firstBallAverage() {
+    return firstBalls == 0 ? 0 : (double) firstBallPins / firstBalls;
+  }
+
+  /**
+   * @return spares out of the frames that weren't strikes, 0 through 1
+   */
+  public double spareConversionRate() {
+    return spareChances == 0 ? 0 : (double) spares / spareChances;
+  }
+
+}
@@ -0,0 +1,224 @@
+package com.adamkoch.bowling.stats;
+
+/**
+ * Keeps what a leaderboard needs from any number of scored games in a fixed amount of memory: how many games had each
+ * score from 0 to 300, and the best {@code k} games with whatever id the caller gave them. Percentiles come from the
+ * counts, so the games are never sorted.
+ * <p>
+ * The best games are kept in a heap on two arrays with the worst of them on top, so a game that doesn't make the cut
+ * costs one comparison. A higher score is better; between equal scores the lower id is better, so the same games give
+ * the same leaderboard in whatever order they come in.
+ * <p>
+ * This is for one thread. Give each thread or file its own index and {@link #merge(ScoreIndex)} them.
+ */
+public final class ScoreIndex {
+
+  public static final int MAX_SCORE = 300;
+
+  private final long[] counts = new long[MAX_SCORE + 1];
+  private long games;
+  private long totalScore;
+
+  private final int capacity;
+  // a heap with the worst of the best games at 0
+  private final int[] topScores;
+  private final long[] topIds;
+  private int topSize;
+
+  /**
+   * @param k how many of the best games to keep
+   */
+  public ScoreIndex(int k) {
+    if (k < 0) {
+      throw new IllegalArgumentException("Can't keep " + k + " games");
+    }
+    this.capacity = k;
+    this.topScores = new int[k];
+    this.topIds = new long[k];
+  }
+
+  /**
+   * Count a game.
+   *
+   * @param score 0 through 300
+   * @param id    whatever identifies the game or the bowler
+   * @throws IllegalArgumentException if the score can't be a bowling score
+   */
+  public void add(int score, long id) {
+    if (score < 0 || score > MAX_SCORE) {
+      throw new IllegalArgumentException("A score is 0 through " + MAX_SCORE + " but it was " + score);
+    }
+    counts[score]++;
+    games++;
+    totalScore += score;
+    offer(score, id);
+  }
+
+  private void offer(int score, long id) {
+    if (topSize < capacity) {
+      topScores[topSize] = score;
+      topIds[topSize] = id;
+      siftUp(topSize++);
+    } else if (capacity > 0 && isBetter(score, id, topScores[0], topIds[0])) {
+      topScores[0] = score;
+      topIds[0] = id;
+      siftDown(0);
+    }
+  }
+
+  private static boolean isBetter(int score, long id, int otherScore, long otherId) {
+    return score > otherScore || (score == otherScore && id < otherId);
+  }
+
+  private void siftUp(int index) {
+    int i = index;
+    while (i > 0) {
+      int parent = (i - 1) >>> 1;
+      if (!isBetter(topScores[parent], topIds[parent], topScores[i], topIds[i])) {
+        break;
+      }
+      swap(i, parent);
+      i = parent;
+    }
+  }
+
+  private void siftDown(int index) {
+    int i = index;
+    while (true) {
+      int worst = i;
+      int left = 2 * i + 1;
+      int right = left + 1;
+      if (left < topSize && isBetter(topScores[worst], topIds[worst], topScores[left], topIds[left])) {
+        worst = left;
+      }
+      if (right < topSize && isBetter(topScores[worst], topIds[worst], topScores[right], topIds[right])) {
+        worst = right;
+      }
+      if (worst == i) {
+        return;
+      }
+      swap(i, worst);
+      i = worst;
+    }
+  }
+
+  private void swap(int i, int j) {
+    int score = topScores[i];
+    topScores[i] = topScores[j];
+    topScores[j] = score;
+    long id = topIds[i];
+    topIds[i] = topIds[j];
+    topIds[j] = id;
+  }
+
+  /**
+   * Add everything another index counted to this one. That's 301 additions and at most {@code k} offers, however many
+   * games either one has seen.
+   *
+   * @param other what to add, which isn't changed
+   */
+  public void merge(ScoreIndex other) {
+    for (int score = 0; score <= MAX_SCORE; score++) {
+      counts[score] += other.counts[score];
+    }
+    games += other.games;
+    totalScore += other.totalScore;
+    for (int i = 0; i < other.topSize; i++) {
+      offer(other.topScores[i], other.topIds[i]);
+    }
+  }
+
+  /**
+   * The lowest score that at least {@code percentile} percent of the games were at or under, so the 50th percentile is
+   * the median and the 100th is the best score.
+   *
+   * @param percentile more than 0 and at most 100
+   * @return the score, or -1 if there are no games
+   */
+  public int percentile(double percentile) {
+    if (!(percentile > 0 && percentile <= 100)) {
+      throw new IllegalArgumentException("A percentile is more than 0 and at most 100 but it was " + percentile);
+    }
+    if (games == 0) {
+      return -1;
+    }
+    long rank = (long) Math.ceil(percentile / 100 * games);
+    long seen = 0;
+    for (int score = 0; score < MAX_SCORE; score++) {
+      seen += counts[score];
+      if (seen >= rank) {
+        return score;
+      }
+    }
+    return MAX_SCORE;
+  }
+
+  /**
+   * Copy the best games out, best first.
+   *
+   * @param scores where the scores go, at least {@link #getTopCount()} long
+   * @param ids    where the ids go, at least {@link #getTopCount()} long
+   * @return how many games were copied
+   */
+  public int top(int[] scores, long[] ids) {
+    if (scores.length < topSize || ids.length < topSize) {
+      throw new IllegalArgumentException("There are " + topSize + " games to copy");
+    }
+    // Take the worst off the heap until it's empty, filling in from the back. What's left in the output is sorted
+    // best first, and reversed it's sorted worst first, which is a heap again.
+    int size = topSize;
+    while (topSize > 0) {
+      topSize--;
+      scores[topSize] = topScores[0];
+      ids[topSize] = topIds[0];
+      topScores[0] = topScores[topSize];
+      topIds[0] = topIds[topSize];
+      siftDown(0);
+    }
+    for (int i = 0; i < size; i++) {
+      topScores[i] = scores[size - 1 - i];
+      topIds[i] = ids[size - 1 - i];
+    }
+    topSize = size;
+    return topSize;
+  }
+
+  /**
+   * @param score 0 through 300
+   * @return how many games had that score
+   */
+  public long count(int score) {
+    return score < 0 || score > MAX_SCORE ? 0 : counts[score];
+  }
+
+  /**
+   * @param score the least score to count
+   * @return how many games scored that much or more
+   */
+  public long countAtLeast(int score) {
+    long count = 0;
+    for (int s = Math.max(score, 0); s <= MAX_SCORE; s++) {
+      count += counts[s];
+    }
+    return count;
+  }
+
+  public long getGames() {
+    return games;
+  }
+
+  /**
+   * @return the number of best games being kept, which is k once that many games were added
+   */
+  public int getTopCount() {
+    return topSize;
+  }
+
+  /**
+   * @return the average score, 0 if there are no games
+   */
+  public double averageScore() {
+    return games == 0 ? 0 : (double) totalScore / games;
+  }
+
+}
@@ -0,0 +1,57 @@
+package com.adamkoch.bowling.store;
+
+import com.adamkoch.bowling.Game;
+import com.adamkoch.bowling.PackedGame;
+
+/**
+ * One game in a {@link GameStore}. Nothing is copied out of the store until it's asked for, so handing rows around
+ * costs an object of two fields. {@link #toGame()} builds the usual {@link Game} for code that needs it; its frames are
+ * the shared ones from {@link com.adamkoch.bowling.FrameFactory}, and its score is the one that was stored.
+ */
+public final class GameRow {
+
+  private final GameStore store;
+  private final long index;
+
+  GameRow(GameStore store, long index) {
+    this.store = store;
+    this.index = index;
+  }
+
+  public long getIndex() {
+    return index;
+  }
+
+  public int getScore() {
+    return store.score(index);
+  }
+
+  /**
+   * @param frameNumber 1 through 10
+   * @return the running total after that frame
+   */
+  public int scoreThroughFrame(int frameNumber) {
+    return store.scoreThroughFrame(index, frameNumber);
+  }
+
+  /**
+   * @param ball 0 for the first ball
+   * @return the pins knocked down by that ball
+   */
+  public int ball(int ball) {
+    return PackedGame.ball(store.packedLow(index), store.packedHigh(index), ball);
+  }
+
+  /**
+   * @return the game as objects
+   */
+  public Game toGame() {
+    return Game.fromPacked(store.packedLow(index), store.packedHigh(index));
+  }
+
+  @Override
+  public String toString() {
+    return "GameRow{index=" + index + ", score=" + getScore() + '}';
+  }
+
+}
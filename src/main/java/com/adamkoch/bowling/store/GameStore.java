@@ -0,0 +1,359 @@
+package com.adamkoch.bowling.store;
+
+import com.adamkoch.bowling.Game;
+import com.adamkoch.bowling.PackedGame;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Scored games kept outside the heap, in columns, so millions of them cost the garbage collector nothing and a file of
+ * them can be mapped and used right away.
+ * <p>
+ * Games are kept in chunks of a fixed number of rows, since a single buffer can't be larger than 2GB. Each chunk holds
+ * three columns, one after the other:
+ * <pre>
+ *   final score          short per game
+ *   balls                two longs per game, see {@link PackedGame}
+ *   cumulative scores    ten shorts per game, the running total after each frame
+ * </pre>
+ * The scores come first and are next to each other, so a scan like {@link #countAtLeast(int)} reads nothing else.
+ * <p>
+ * A file starts with a 64 byte header: "BWLS", the version, the number of games per chunk and, at offset 16, the number
+ * of games in the store. The chunks follow. Everything is little-endian.
+ * <p>
+ * Appending isn't thread safe. Once games are appended they can be read from any thread that was handed the store
+ * afterwards.
+ */
+public final class GameStore implements Closeable {
+
+  /**
+   * Games per chunk. A chunk is 38 bytes a game, so this is 38MB.
+   */
+  public static final int CHUNK_SIZE = 1 << 20;
+
+  static final int MAGIC = 'B' | 'W' << 8 | 'L' << 16 | 'S' << 24;
+  static final int VERSION = 1;
+  static final int HEADER_SIZE = 64;
+  private static final int CHUNK_SIZE_OFFSET = 8;
+  private static final int COUNT_OFFSET = 16;
+
+  private static final int NUMBER_OF_FRAMES = 10;
+  private static final int SCORE_BYTES = Short.BYTES;
+  private static final int BALLS_BYTES = 2 * Long.BYTES;
+  private static final int CUMULATIVE_BYTES = NUMBER_OF_FRAMES * Short.BYTES;
+  static final int ROW_BYTES = SCORE_BYTES + BALLS_BYTES + CUMULATIVE_BYTES;
+
+  private final FileChannel channel;
+  private final boolean readOnly;
+  private final ByteBuffer header;
+  private final int chunkSize;
+  private final int chunkShift;
+  private final List<ByteBuffer> chunks = new ArrayList<>();
+  private final int[] totals = new int[NUMBER_OF_FRAMES];
+  private long size;
+
+  private GameStore(FileChannel channel, boolean readOnly, ByteBuffer header, int chunkSize, long size) {
+    if (Integer.bitCount(chunkSize) != 1 || chunkSize < Long.BYTES) {
+      throw new IllegalArgumentException("A chunk holds a power of two games, at least 8, but it was " + chunkSize);
+    }
+    this.channel = channel;
+    this.readOnly = readOnly;
+    this.header = header.order(ByteOrder.LITTLE_ENDIAN);
+    this.chunkSize = chunkSize;
+    this.chunkShift = Integer.numberOfTrailingZeros(chunkSize);
+    this.size = size;
+  }
+
+  /**
+   * @return an empty store in direct buffers, gone when it's closed or garbage collected
+   */
+  public static GameStore inMemory() {
+    return inMemory(CHUNK_SIZE);
+  }
+
+  static GameStore inMemory(int chunkSize) {
+    GameStore store = new GameStore(null, false, ByteBuffer.allocateDirect(HEADER_SIZE), chunkSize, 0);
+    store.writeHeader();
+    return store;
+  }
+
+  /**
+   * Map a store file, creating it if it doesn't exist. Only the header is read, so opening even a huge file is quick.
+   *
+   * @param path the file
+   * @return the store, which appends to the file
+   * @throws IOException if the file can't be mapped or isn't a store
+   */
+  public static GameStore open(Path path) throws IOException {
+    return open(path, CHUNK_SIZE);
+  }
+
+  static GameStore open(Path path, int chunkSize) throws IOException {
+    FileChannel channel = FileChannel.open(path, CREATE, READ, WRITE);
+    try {
+      if (channel.size() == 0) {
+        GameStore store = new GameStore(channel, false, channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE),
+            chunkSize, 0);
+        store.writeHeader();
+        return store;
+      }
+      return mapExisting(channel, FileChannel.MapMode.READ_WRITE);
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Map a store file that can only be read.
+   *
+   * @param path the file
+   * @return the store
+   * @throws IOException if the file can't be mapped or isn't a store
+   */
+  public static GameStore openReadOnly(Path path) throws IOException {
+    FileChannel channel = FileChannel.open(path, READ);
+    try {
+      return mapExisting(channel, FileChannel.MapMode.READ_ONLY);
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  private static GameStore mapExisting(FileChannel channel, FileChannel.MapMode mode) throws IOException {
+    if (channel.size() < HEADER_SIZE) {
+      throw new IOException("The file is too short to be a game store");
+    }
+    ByteBuffer header = channel.map(mode, 0, HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    if (header.getInt(0) != MAGIC) {
+      throw new IOException("Not a game store");
+    }
+    if (header.getInt(4) != VERSION) {
+      throw new IOException("Game store version " + header.getInt(4) + " isn't supported");
+    }
+    int chunkSize = header.getInt(CHUNK_SIZE_OFFSET);
+    long size = header.getLong(COUNT_OFFSET);
+    GameStore store = new GameStore(channel, mode == FileChannel.MapMode.READ_ONLY, header, chunkSize, size);
+    long chunkBytes = (long) chunkSize * ROW_BYTES;
+    long chunkCount = (size + chunkSize - 1) >>> store.chunkShift;
+    if (channel.size() < HEADER_SIZE + chunkCount * chunkBytes) {
+      throw new IOException("The file is shorter than its " + size + " games");
+    }
+    for (long chunk = 0; chunk < chunkCount; chunk++) {
+      store.chunks.add(channel.map(mode, HEADER_SIZE + chunk * chunkBytes, chunkBytes).order(ByteOrder.LITTLE_ENDIAN));
+    }
+    return store;
+  }
+
+  private void writeHeader() {
+    header.putInt(0, MAGIC).putInt(4, VERSION).putInt(CHUNK_SIZE_OFFSET, chunkSize).putLong(COUNT_OFFSET, size);
+  }
+
+  /**
+   * Add a packed game. Its frames are scored once, here.
+   *
+   * @param low  the low long of a packed game
+   * @param high the high long of a packed game
+   * @return the index of the game
+   * @throws IOException if the file had to grow and couldn't
+   */
+  public long append(long low, long high) throws IOException {
+    if (readOnly) {
+      throw new IllegalStateException("The store was opened read only");
+    }
+    long index = size;
+    int row = (int) (index & (chunkSize - 1));
+    if (row == 0) {
+      addChunk();
+    }
+    ByteBuffer chunk = chunks.get(chunks.size() - 1);
+    int score = PackedGame.cumulativeScores(low, high, totals);
+    chunk.putShort(row * SCORE_BYTES, (short) score);
+    int balls = ballsOffset() + row * BALLS_BYTES;
+    chunk.putLong(balls, low);
+    chunk.putLong(balls + Long.BYTES, high);
+    int cumulative = cumulativeOffset() + row * CUMULATIVE_BYTES;
+    for (int frame = 0; frame < NUMBER_OF_FRAMES; frame++) {
+      chunk.putShort(cumulative + frame * Short.BYTES, (short) totals[frame]);
+    }
+    size = index + 1;
+    header.putLong(COUNT_OFFSET, size);
+    return index;
+  }
+
+  /**
+   * Add a game.
+   *
+   * @param game a game of ten frames
+   * @return the index of the game
+   * @throws IOException if the file had to grow and couldn't
+   */
+  public long append(Game game) throws IOException {
+    return append(game.getPackedLow(), game.getPackedHigh());
+  }
+
+  private void addChunk() throws IOException {
+    int chunkBytes = chunkSize * ROW_BYTES;
+    ByteBuffer chunk = channel == null
+        ? ByteBuffer.allocateDirect(chunkBytes)
+        // mapping past the end of the file makes it longer
+        : channel.map(FileChannel.MapMode.READ_WRITE, HEADER_SIZE + (long) chunks.size() * chunkBytes, chunkBytes);
+    chunks.add(chunk.order(ByteOrder.LITTLE_ENDIAN));
+  }
+
+  private int ballsOffset() {
+    return chunkSize * SCORE_BYTES;
+  }
+
+  private int cumulativeOffset() {
+    return chunkSize * (SCORE_BYTES + BALLS_BYTES);
+  }
+
+  private ByteBuffer chunkOf(long index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("There are " + size + " games but asked for game " + index);
+    }
+    return chunks.get((int) (index >>> chunkShift));
+  }
+
+  private int rowOf(long index) {
+    return (int) (index & (chunkSize - 1));
+  }
+
+  /**
+   * @return the number of games in the store
+   */
+  public long size() {
+    return size;
+  }
+
+  /**
+   * @param index 0 for the first game
+   * @return the final score of that game
+   */
+  public int score(long index) {
+    return chunkOf(index).getShort(rowOf(index) * SCORE_BYTES);
+  }
+
+  /**
+   * @param index       0 for the first game
+   * @param frameNumber 1 through 10
+   * @return the running total of that game after that frame
+   */
+  public int scoreThroughFrame(long index, int frameNumber) {
+    if (frameNumber < 1 || frameNumber > NUMBER_OF_FRAMES) {
+      throw new IllegalArgumentException("A frame number is 1 through 10 but it was " + frameNumber);
+    }
+    return chunkOf(index).getShort(cumulativeOffset() + rowOf(index) * CUMULATIVE_BYTES + (frameNumber - 1) * 2);
+  }
+
+  /**
+   * @param index 0 for the first game
+   * @return the low long of that game, see {@link PackedGame}
+   */
+  public long packedLow(long index) {
+    return chunkOf(index).getLong(ballsOffset() + rowOf(index) * BALLS_BYTES);
+  }
+
+  /**
+   * @param index 0 for the first game
+   * @return the high long of that game, see {@link PackedGame}
+   */
+  public long packedHigh(long index) {
+    return chunkOf(index).getLong(ballsOffset() + rowOf(index) * BALLS_BYTES + Long.BYTES);
+  }
+
+  /**
+   * A view of one game that reads the store when asked. It's only an index and a reference to this store.
+   *
+   * @param index 0 for the first game
+   * @return the row
+   */
+  public GameRow row(long index) {
+    chunkOf(index);
+    return new GameRow(this, index);
+  }
+
+  /**
+   * Count the games that scored at least so much. Only the score column is read.
+   *
+   * @param minimumScore the least score to count
+   * @return how many games scored that much or more
+   */
+  public long countAtLeast(int minimumScore) {
+    long count = 0;
+    for (int c = 0; c < chunks.size(); c++) {
+      ByteBuffer chunk = chunks.get(c);
+      int rows = rowsIn(c);
+      for (int row = 0; row < rows; row++) {
+        // a branch-free count so the loop has no jumps that depend on the data
+        count += (minimumScore - 1 - chunk.getShort(row * SCORE_BYTES)) >>> 31;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Find games that scored at least so much, a page at a time.
+   *
+   * @param minimumScore the least score to find
+   * @param from         the index to start looking at
+   * @param indexes      where the indexes of the games found go. It's filled as far as it can be.
+   * @return how many were found. Less than {@code indexes.length} means there are no more.
+   */
+  public int findAtLeast(int minimumScore, long from, long[] indexes) {
+    int found = 0;
+    for (long index = Math.max(from, 0); index < size && found < indexes.length; ) {
+      int c = (int) (index >>> chunkShift);
+      ByteBuffer chunk = chunks.get(c);
+      int rows = rowsIn(c);
+      int row = rowOf(index);
+      for (; row < rows && found < indexes.length; row++) {
+        if (chunk.getShort(row * SCORE_BYTES) >= minimumScore) {
+          indexes[found++] = ((long) c << chunkShift) + row;
+        }
+      }
+      index = ((long) c << chunkShift) + row;
+    }
+    return found;
+  }
+
+  private int rowsIn(int chunk) {
+    return (int) Math.min(chunkSize, size - ((long) chunk << chunkShift));
+  }
+
+  /**
+   * Write appended games to the file, if there is one.
+   */
+  public void force() {
+    if (channel != null && !readOnly) {
+      for (ByteBuffer chunk : chunks) {
+        ((MappedByteBuffer) chunk).force();
+      }
+      ((MappedByteBuffer) header).force();
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    force();
+    chunks.clear();
+    if (channel != null) {
+      channel.close();
+    }
+  }
+
+}
@@ -0,0 +1,17 @@
+package com.adamkoch.bowling.vector;
+
+/**
+ * Scores a range of games laid out like {@link RollColumns}.
+ */
+interface LaneScorer {
+
+  /**
+   * @param slots    the columns, see {@link RollColumns}
+   * @param capacity the number of games a column has room for
+   * @param from     the first game to score
+   * @param to       one past the last game to score
+   * @param scores   where the score of game {@code g} goes, at {@code g}
+   */
+  void score(short[] slots, int capacity, int from, int to, short[] scores);
+
+}
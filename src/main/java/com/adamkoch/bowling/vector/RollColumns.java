@@ -0,0 +1,120 @@
+package com.adamkoch.bowling.vector;
+
+import com.adamkoch.bowling.FastScorer;
+import com.adamkoch.bowling.Game;
+import com.adamkoch.bowling.PackedGame;
+
+import java.util.Arrays;
+
+/**
+ * Games laid out for scoring many at once: ball slot {@code s} of game {@code g} is at {@code s * capacity + g}, so
+ * the same slot of neighbouring games is side by side in memory.
+ * <p>
+ * Every game has the same 22 slots no matter how it was bowled. Slots {@code 2f} and {@code 2f + 1} are the two balls
+ * of frame {@code f} (0 for the first frame), with 0 in the second slot after a strike. Slots 20 and 21 are the bonus
+ * balls. Because a ball is always in the same slot, scoring doesn't have to look anything up that depends on the
+ * game; it's the same sum for every game with different values, which is what SIMD instructions are good at.
+ * <p>
+ * This isn't thread safe.
+ */
+public final class RollColumns {
+
+  public static final int SLOTS = 22;
+  static final int FIRST_BONUS_SLOT = 20;
+
+  private static final int NUMBER_OF_FRAMES = 10;
+  private static final int ALL_PINS = 10;
+
+  private final short[] slots;
+  private final int capacity;
+  private final long[] packed = new long[2];
+  private int size;
+
+  /**
+   * @param capacity the most games the columns can hold
+   */
+  public RollColumns(int capacity) {
+    if (capacity < 0 || (long) capacity * SLOTS > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Can't hold " + capacity + " games");
+    }
+    this.capacity = capacity;
+    this.slots = new short[capacity * SLOTS];
+  }
+
+  /**
+   * Add a packed game.
+   *
+   * @param low  the low long of a packed game
+   * @param high the high long of a packed game
+   * @return the index of the game
+   * @throws IllegalStateException if the columns are full
+   */
+  public int add(long low, long high) {
+    if (size == capacity) {
+      throw new IllegalStateException("The columns are full at " + capacity + " games");
+    }
+    int game = size++;
+    int ball = 0;
+    for (int frame = 0; frame < NUMBER_OF_FRAMES; frame++) {
+      int first = PackedGame.ball(low, high, ball++);
+      int second = first == ALL_PINS ? 0 : PackedGame.ball(low, high, ball++);
+      slots[2 * frame * capacity + game] = (short) first;
+      slots[(2 * frame + 1) * capacity + game] = (short) second;
+    }
+    slots[FIRST_BONUS_SLOT * capacity + game] = (short) PackedGame.ball(low, high, ball);
+    slots[(FIRST_BONUS_SLOT + 1) * capacity + game] = (short) PackedGame.ball(low, high, ball + 1);
+    return game;
+  }
+
+  /**
+   * Add a game.
+   *
+   * @param game a game of ten frames
+   * @return the index of the game
+   * @throws IllegalStateException if the columns are full
+   */
+  public int add(Game game) {
+    return add(game.getPackedLow(), game.getPackedHigh());
+  }
+
+  /**
+   * Parse and add a game, unless it isn't valid.
+   *
+   * @param frames The frames as represented as a string
+   * @return the index of the game or {@link FastScorer#INVALID}
+   * @throws IllegalStateException if the columns are full
+   */
+  public int add(CharSequence frames) {
+    return PackedGame.encode(frames, packed, 0) == FastScorer.INVALID ? FastScorer.INVALID : add(packed[0], packed[1]);
+  }
+
+  /**
+   * Start over without any games.
+   */
+  public void clear() {
+    Arrays.fill(slots, (short) 0);
+    size = 0;
+  }
+
+  /**
+   * @param slot 0 through 21
+   * @param game the index of the game
+   * @return the pins knocked down by that ball
+   */
+  public int slot(int slot, int game) {
+    return slots[slot * capacity + game];
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public int capacity() {
+    return capacity;
+  }
+
+  short[] slots() {
+    return slots;
+  }
+
+}
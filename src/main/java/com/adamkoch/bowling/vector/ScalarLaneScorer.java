@@ -0,0 +1,49 @@
+package com.adamkoch.bowling.vector;
+
+/**
+ * One game at a time. This is what runs when the Vector API isn't there, and for what's left over after the last full
+ * vector.
+ */
+final class ScalarLaneScorer implements LaneScorer {
+
+  private static final int ALL_PINS = 10;
+  private static final int LAST_FRAME = 9;
+
+  @Override
+  public void score(short[] slots, int capacity, int from, int to, short[] scores) {
+    for (int game = from; game < to; game++) {
+      scores[game] = (short) score(slots, capacity, game);
+    }
+  }
+
+  static int score(short[] slots, int capacity, int game) {
+    int score = 0;
+    for (int frame = 0; frame <= LAST_FRAME; frame++) {
+      int first = slots[2 * frame * capacity + game];
+      int second = slots[(2 * frame + 1) * capacity + game];
+      int next = slots[nextSlot(frame) * capacity + game];
+      final int afterNext;
+      if (frame < LAST_FRAME - 1) {
+        // after a strike the next frame only has one ball, so the one after that is the frame after
+        afterNext = next == ALL_PINS
+            ? slots[(2 * frame + 4) * capacity + game]
+            : slots[(2 * frame + 3) * capacity + game];
+      } else if (frame == LAST_FRAME - 1) {
+        afterNext = next == ALL_PINS
+            ? slots[RollColumns.FIRST_BONUS_SLOT * capacity + game]
+            : slots[(2 * frame + 3) * capacity + game];
+      } else {
+        afterNext = slots[(RollColumns.FIRST_BONUS_SLOT + 1) * capacity + game];
+      }
+      int pins = first + second;
+      // a strike has 0 in its second slot, so it adds up to 10 like a spare and gets the next ball too
+      score += pins + (pins == ALL_PINS ? next : 0) + (first == ALL_PINS ? afterNext : 0);
+    }
+    return score;
+  }
+
+  static int nextSlot(int frame) {
+    return frame < LAST_FRAME ? 2 * frame + 2 : RollColumns.FIRST_BONUS_SLOT;
+  }
+
+}
@@ -0,0 +1,73 @@
+package com.adamkoch.bowling.vector;
+
+/**
+ * Scores every game in a {@link RollColumns} at once, many games per instruction when it can. The Vector API is an
+ * incubator module in Java 17, so it's only there when the JVM was started with
+ * {@code --add-modules jdk.incubator.vector}. Without it the games are scored one at a time with the same results.
+ * <p>
+ * The scores are the same as {@link com.adamkoch.bowling.Game#calculateScore()} for the same games.
+ */
+public final class SimdScorer {
+
+  private static final String VECTOR_MODULE = "jdk.incubator.vector";
+
+  private static final LaneScorer SCALAR = new ScalarLaneScorer();
+  private static final LaneScorer BEST = best();
+
+  private SimdScorer() {
+    // utility classes shouldn't be instantiated
+  }
+
+  /**
+   * Only load the vector scorer when the module is there. Referring to it directly would fail with a
+   * NoClassDefFoundError the first time this class is used.
+   */
+  private static LaneScorer best() {
+    if (ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) {
+      return SCALAR;
+    }
+    try {
+      return (LaneScorer) Class.forName(SimdScorer.class.getPackageName() + ".VectorLaneScorer")
+          .getDeclaredConstructor().newInstance();
+    } catch (ReflectiveOperationException | LinkageError e) {
+      return SCALAR;
+    }
+  }
+
+  /**
+   * @return whether the Vector API is being used
+   */
+  public static boolean isVectorized() {
+    return BEST != SCALAR;
+  }
+
+  /**
+   * Score every game in the columns.
+   *
+   * @param columns the games
+   * @param scores  where the score of game {@code g} goes, at {@code g}. It must be as long as the columns' capacity,
+   *                which lets the last vector be written whole.
+   */
+  public static void score(RollColumns columns, short[] scores) {
+    score(BEST, columns, scores);
+  }
+
+  /**
+   * Score every game in the columns one at a time, for comparison.
+   *
+   * @param columns the games
+   * @param scores  where the score of game {@code g} goes, at {@code g}
+   */
+  public static void scoreScalar(RollColumns columns, short[] scores) {
+    score(SCALAR, columns, scores);
+  }
+
+  private static void score(LaneScorer scorer, RollColumns columns, short[] scores) {
+    if (scores.length < columns.capacity()) {
+      throw new IllegalArgumentException(
+          "Need room for " + columns.capacity() + " scores but there was only room for " + scores.length);
+    }
+    scorer.score(columns.slots(), columns.capacity(), 0, columns.size(), scores);
+  }
+
+}
@@ -0,0 +1,147 @@
+package com.adamkoch.bowling.verify;
+
+import com.adamkoch.bowling.FastScorer;
+import com.adamkoch.bowling.Game;
+import com.adamkoch.bowling.GameValidator;
+import com.adamkoch.bowling.PackedGame;
+import com.adamkoch.bowling.ParseResult;
+import com.adamkoch.bowling.generate.BowlerProfile;
+import com.adamkoch.bowling.generate.GameGenerator;
+import com.adamkoch.bowling.notation.Notation;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Runs the same games through two {@link ScoringEngine}s and reports where they disagree. Every new way of scoring a
+ * game in this project is meant to give exactly the score {@link ScoringEngine#reference()} gives and reject exactly
+ * what it rejects, and this is how to check that on millions of games instead of the handful in a unit test.
+ * <p>
+ * Run it with {@code java -cp target/classes com.adamkoch.bowling.verify.DifferentialHarness [games [profile]]} to
+ * hold every engine in the project up against the reference.
+ */
+public final class DifferentialHarness {
+
+  private static final long DEFAULT_GAMES = 1_000_000;
+
+  private DifferentialHarness() {
+    // utility classes shouldn't be instantiated
+  }
+
+  /**
+   * @param candidate The engine to check
+   * @param games     The games to check it on
+   * @return what was found, compared to {@link ScoringEngine#reference()}
+   */
+  public static DifferentialReport compare(ScoringEngine candidate, Iterable<String> games) {
+    return compare(ScoringEngine.reference(), candidate, games);
+  }
+
+  /**
+   * @param candidate The engine to check
+   * @param generator Where the games come from
+   * @param count     How many games to make up
+   * @return what was found, compared to {@link ScoringEngine#reference()}
+   */
+  public static DifferentialReport compare(ScoringEngine candidate, GameGenerator generator, long count) {
+    Iterable<String> games = generator.games(count)::iterator;
+    return compare(ScoringEngine.reference(), candidate, games);
+  }
+
+  /**
+   * @param expected  The engine that's right
+   * @param candidate The engine to check
+   * @param games     The games to check it on
+   * @return what was found
+   */
+  public static DifferentialReport compare(ScoringEngine expected, ScoringEngine candidate, Iterable<String> games) {
+    long count = 0;
+    long mismatches = 0;
+    String firstMismatch = null;
+    int firstExpected = 0;
+    int firstActual = 0;
+    long start = System.nanoTime();
+    for (String game : games) {
+      count++;
+      int expectedScore = expected.score(game);
+      int actualScore = candidate.score(game);
+      if (expectedScore != actualScore) {
+        if (mismatches++ == 0) {
+          firstMismatch = game;
+          firstExpected = expectedScore;
+          firstActual = actualScore;
+        }
+      }
+    }
+    return new DifferentialReport(count, mismatches, firstMismatch, firstExpected, firstActual,
+        System.nanoTime() - start);
+  }
+
+  /**
+   * @return the edge cases and every game one character off from them
+   */
+  public static List<String> edgeCasesAndMutations() {
+    List<String> games = new ArrayList<>();
+    for (String game : EdgeCases.games()) {
+      games.add(game);
+      games.addAll(EdgeCases.mutations(game));
+    }
+    return games;
+  }
+
+  public static void main(String[] args) {
+    long count = args.length > 0 ? Long.parseLong(args[0]) : DEFAULT_GAMES;
+    BowlerProfile profile = args.length > 1 ? BowlerProfile.valueOf(args[1].toUpperCase(Locale.ROOT))
+        : BowlerProfile.LEAGUE;
+
+    GameGenerator generator = new GameGenerator(profile, 42);
+    byte[] text = new byte[GameGenerator.MAX_GAME_LENGTH];
+    long[] packed = new long[2];
+    long sink = 0;
+    long start = System.nanoTime();
+    for (long i = 0; i < count; i++) {
+      sink += generator.nextGame(text, 0);
+    }
+    long textNanos = System.nanoTime() - start;
+    start = System.nanoTime();
+    for (long i = 0; i < count; i++) {
+      generator.nextPacked(packed, 0);
+      sink += packed[0];
+    }
+    long packedNanos = System.nanoTime() - start;
+    System.out.printf("Generated %,d %s games per core: %,.0f games/s as text, %,.0f games/s packed (%d)%n", count,
+        profile, count * 1e9 / textNanos, count * 1e9 / packedNanos, sink & 1);
+
+    List<String> edgeCases = edgeCasesAndMutations();
+    for (Map.Entry<String, ScoringEngine> engine : engines().entrySet()) {
+      DifferentialReport generated = compare(engine.getValue(), generator.split(), count);
+      System.out.printf("%-16s generated: %s%n", engine.getKey(), generated.describe());
+      DifferentialReport edges = compare(engine.getValue(), edgeCases);
+      System.out.printf("%-16s edge cases: %s%n", engine.getKey(), edges.describe());
+    }
+    // The validator is stricter than the reference on purpose, so it's only held to the games that are really games.
+    ScoringEngine validator = game -> ParseResult.score(GameValidator.validate(game));
+    System.out.printf("%-16s generated: %s%n", "GameValidator",
+        compare(validator, generator.split(), count).describe());
+  }
+
+  private static Map<String, ScoringEngine> engines() {
+    Map<String, ScoringEngine> engines = new LinkedHashMap<>();
+    engines.put("FastScorer", FastScorer::score);
+    long[] packed = new long[2];
+    engines.put("PackedGame", game -> {
+      int score = PackedGame.encode(game, packed, 0);
+      return score == FastScorer.INVALID ? score : PackedGame.score(packed[0], packed[1]);
+    });
+    engines.put("Game.fromPacked", game -> {
+      int score = PackedGame.encode(game, packed, 0);
+      return score == FastScorer.INVALID ? score : Game.fromPacked(packed[0], packed[1]).calculateScore();
+    });
+    engines.put("Notation", Notation.STANDARD::score);
+    return engines;
+  }
+
+}
@@ -0,0 +1,58 @@
+package com.adamkoch.bowling.verify;
+
+import lombok.Getter;
+import lombok.ToString;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * What a {@link DifferentialHarness} found: how many games it ran, how many the two engines disagreed on, the first of
+ * those, and how long it all took.
+ */
+@Getter
+@ToString
+public final class DifferentialReport {
+
+  private final long games;
+  private final long mismatches;
+  /**
+   * The first game the engines disagreed on, or null if they never did.
+   */
+  private final @Nullable String firstMismatch;
+  private final int expected;
+  private final int actual;
+  private final long elapsedNanos;
+
+  DifferentialReport(long games, long mismatches, @Nullable String firstMismatch, int expected, int actual,
+                     long elapsedNanos) {
+    this.games = games;
+    this.mismatches = mismatches;
+    this.firstMismatch = firstMismatch;
+    this.expected = expected;
+    this.actual = actual;
+    this.elapsedNanos = elapsedNanos;
+  }
+
+  public boolean isClean() {
+    return mismatches == 0;
+  }
+
+  /**
+   * @return how many games went through both engines per second
+   */
+  public double getGamesPerSecond() {
+    return elapsedNanos == 0 ? 0 : games * 1e9 / elapsedNanos;
+  }
+
+  /**
+   * Describe the report for a person.
+   *
+   * @return one line
+   */
+  public String describe() {
+    String rate = String.format("%,d games at %,.0f games/s", games, getGamesPerSecond());
+    return isClean() ? rate + ", no mismatches"
+        : String.format("%s, %,d mismatches, first \"%s\" scored %d instead of %d", rate, mismatches, firstMismatch,
+        actual, expected);
+  }
+
+}
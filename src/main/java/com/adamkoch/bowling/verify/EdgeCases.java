@@ -0,0 +1,156 @@
+package com.adamkoch.bowling.verify;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Games worked out one by one instead of made up at random, for the corners a generator takes a long time to wander
+ * into: every way the tenth frame and its bonus balls can go, every frame at every position, the odd things the parser
+ * has always accepted, and every game that is one character off from one of those.
+ */
+public final class EdgeCases {
+
+  private static final int ALL_PINS = 10;
+  private static final String STRIKES = "X|X|X|X|X|X|X|X|X|";
+  private static final String GUTTERS = "--|--|--|--|--|--|--|--|--|";
+  private static final String SPARES = "5/|5/|5/|5/|5/|5/|5/|5/|5/|";
+  private static final String OPENS = "9-|9-|9-|9-|9-|9-|9-|9-|9-|";
+
+  /**
+   * Every character a game is made of, and one it isn't.
+   */
+  private static final String ALPHABET = "X/-0123456789|a";
+
+  /**
+   * Things the parser accepts that a careful bowler wouldn't write, and things it doesn't.
+   */
+  private static final String[] ODDITIES = {
+      "X|X|X|X|X|X|X|X|X|X||X",
+      "X|X|X|X|X|X|X|X|X|X||",
+      "X|X|X|X|X|X|X|X|X|X||X/",
+      "X|X|X|X|X|X|X|X|X|X||-/",
+      "X|X|X|X|X|X|X|X|X|X||XXX",
+      "5/|5/|5/|5/|5/|5/|5/|5/|5/|5/||-",
+      "5/|5/|5/|5/|5/|5/|5/|5/|5/|5/||",
+      "5/|5/|5/|5/|5/|5/|5/|5/|5/|5/||55",
+      "9-|9-|9-|9-|9-|9-|9-|9-|9-|9-||X",
+      "9-|9-|9-|9-|9-|9-|9-|9-|9-|9-||9",
+      "99|99|99|99|99|99|99|99|99|99||",
+      "0/|00|00|00|00|00|00|00|00|00||",
+      "X|X|X|X|X|X|X|X|X||XX",
+      "X|X|X|X|X|X|X|X|X|X|X||XX",
+      "X|X|X|X|X|X|X|X|X|X|XX",
+      "X|X|X|X|X|X|X|X|X|X",
+      "||",
+      "",
+  };
+
+  private EdgeCases() {
+    // utility classes shouldn't be instantiated
+  }
+
+  /**
+   * Every frame and every ending, written the way {@link com.adamkoch.bowling.generate.GameGenerator} writes them,
+   * plus the oddities.
+   *
+   * @return the games, in the same order every time
+   */
+  public static List<String> games() {
+    Set<String> games = new LinkedHashSet<>();
+    List<String> frames = frames();
+    for (String prefix : new String[]{STRIKES, GUTTERS, SPARES, OPENS}) {
+      for (String ending : endings()) {
+        games.add(prefix + ending);
+      }
+    }
+    String[][] neighbours = {{"X", "X||XX"}, {"--", "--||"}, {"5/", "5/||5"}, {"9-", "9-||"}};
+    for (String[] neighbour : neighbours) {
+      for (int position = 0; position < 9; position++) {
+        for (String frame : frames) {
+          StringBuilder game = new StringBuilder();
+          for (int i = 0; i < 9; i++) {
+            game.append(i == position ? frame : neighbour[0]).append('|');
+          }
+          games.add(game.append(neighbour[1]).toString());
+        }
+      }
+    }
+    games.addAll(List.of(ODDITIES));
+    return new ArrayList<>(games);
+  }
+
+  /**
+   * Every game one deletion, one insertion or one changed character away from the given one. Most of them aren't
+   * games, which is the point.
+   *
+   * @param game The frames as represented as a string
+   * @return the changed games, without the game itself
+   */
+  public static List<String> mutations(String game) {
+    Set<String> mutations = new LinkedHashSet<>();
+    for (int i = 0; i <= game.length(); i++) {
+      if (i < game.length()) {
+        mutations.add(game.substring(0, i) + game.substring(i + 1));
+      }
+      for (int c = 0; c < ALPHABET.length(); c++) {
+        char character = ALPHABET.charAt(c);
+        mutations.add(game.substring(0, i) + character + game.substring(i));
+        if (i < game.length()) {
+          mutations.add(game.substring(0, i) + character + game.substring(i + 1));
+        }
+      }
+    }
+    mutations.remove(game);
+    return new ArrayList<>(mutations);
+  }
+
+  /**
+   * @return every frame that can be bowled before the tenth, strike first
+   */
+  private static List<String> frames() {
+    List<String> frames = new ArrayList<>();
+    frames.add("X");
+    for (int first = 0; first < ALL_PINS; first++) {
+      for (int second = 0; first + second <= ALL_PINS; second++) {
+        frames.add(frame(first, second));
+      }
+    }
+    return frames;
+  }
+
+  /**
+   * @return every way the tenth frame and its bonus balls can go, from "||" on
+   */
+  private static List<String> endings() {
+    List<String> endings = new ArrayList<>();
+    for (int first = 0; first <= ALL_PINS; first++) {
+      int most = first == ALL_PINS ? ALL_PINS : ALL_PINS - first;
+      for (int second = 0; second <= most; second++) {
+        String bonus = first == ALL_PINS ? "X" + (second == ALL_PINS ? "X" : symbol(second)) : frame(first, second);
+        endings.add("X||" + bonus);
+      }
+    }
+    for (int first = 0; first < ALL_PINS; first++) {
+      for (int bonus = 0; bonus <= ALL_PINS; bonus++) {
+        endings.add(frame(first, ALL_PINS - first) + "||" + (bonus == ALL_PINS ? "X" : String.valueOf(bonus)));
+      }
+    }
+    for (int first = 0; first < ALL_PINS; first++) {
+      for (int second = 0; first + second < ALL_PINS; second++) {
+        endings.add(frame(first, second) + "||");
+      }
+    }
+    return endings;
+  }
+
+  private static String frame(int first, int second) {
+    return symbol(first) + (first + second == ALL_PINS ? "/" : symbol(second));
+  }
+
+  private static String symbol(int pins) {
+    return pins == 0 ? "-" : String.valueOf(pins);
+  }
+
+}
@@ -0,0 +1,36 @@
+package com.adamkoch.bowling.verify;
+
+import com.adamkoch.bowling.FastScorer;
+import com.adamkoch.bowling.Game;
+
+/**
+ * Anything that can score a game from its string. A {@link DifferentialHarness} holds one up against another.
+ */
+@FunctionalInterface
+public interface ScoringEngine {
+
+  /**
+   * @param game The frames as represented as a string
+   * @return The score, or {@link FastScorer#INVALID} if the engine doesn't accept the game
+   */
+  int score(String game);
+
+  /**
+   * The way the project has always scored a game: {@link Game#fromString(String)} and {@link Game#calculateScore()}.
+   * An exception means the game wasn't accepted. The parser only checks for ten frames with an {@code assert}, so
+   * this checks it too, whether assertions are on or not.
+   *
+   * @return the engine everything else is compared to
+   */
+  static ScoringEngine reference() {
+    return game -> {
+      try {
+        Game parsed = Game.fromString(game);
+        return parsed.getCumulativeScores().length == 10 ? parsed.calculateScore() : FastScorer.INVALID;
+      } catch (RuntimeException | AssertionError e) {
+        return FastScorer.INVALID;
+      }
+    };
+  }
+
+}
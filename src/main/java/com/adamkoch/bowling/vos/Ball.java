@@ -7,19 +7,23 @@ import lombok.Getter;
  * Ball represents the actual roll of the ball. This class should only be instantiated after the bowl and by passing in
  * the pins it knocked down.
  * <p>
- * This class allows for the linking to the next ball for scoring. See setNextBall()
+ * A ball is immutable. Which ball came next is the game's business, not the ball's, so the same instance can be used
+ * in any number of frames and games, on any number of threads. See {@link #of(int)}.
  */
 @EqualsAndHashCode
 // I want getters on each field but not setters as I want the pins knocked down to be passed in the parameter and not changed.
 @Getter
-public class Ball {
+public final class Ball {
 
-  private final int pinsKnockedDown;
+  private static final Ball[] BALLS = new Ball[11];
+
+  static {
+    for (int pins = 0; pins < BALLS.length; pins++) {
+      BALLS[pins] = new Ball(pins);
+    }
+  }
 
-  // Purposely not including nextBall in the toString() method because it will chain all the balls and is cluttered.
-  // The warning suppression is because I usually want to be notified in IntelliJ when a field is missing.
-  @SuppressWarnings("FieldNotUsedInToString")
-  private Ball nextBall;
+  private final int pinsKnockedDown;
 
   /**
    * Constructor for a ball that enforces instantiation after the bowl since it requires the number of pins the ball
@@ -34,12 +38,16 @@ public class Ball {
   }
 
   /**
-   * Set the next ball. Used in scoring.
+   * There are only 11 different balls, so there's no reason to create more than one of each.
    *
-   * @param nextBall The ball that was bowled next.
+   * @param pinsKnockedDown number of pins the ball knocked down, 0 through 10
+   * @return the shared ball for that number of pins
    */
-  public void setNextBall(Ball nextBall) {
-    this.nextBall = nextBall;
+  public static Ball of(int pinsKnockedDown) {
+    if (pinsKnockedDown < 0 || pinsKnockedDown >= BALLS.length) {
+      throw new IllegalArgumentException("A ball knocks down 0 to 10 pins but this one knocked down " + pinsKnockedDown);
+    }
+    return BALLS[pinsKnockedDown];
   }
 
   @Override
@@ -5,23 +5,20 @@ import lombok.ToString;
 import org.jetbrains.annotations.Nullable;
 
 /**
- * Represents the bonus balls for spares and strikes in the tenth frame.
+ * Represents the bonus balls for spares and strikes in the tenth frame. Immutable, like the balls it holds.
  */
 @EqualsAndHashCode
 @ToString
 public class BonusBalls {
 
   private final Ball ballOne;
-
-  // Currently no need for a getter on ballTwo
   private final Ball ballTwo;
 
   // TODO: add validation so only valid values are passed in
   // TODO: create constructor for only 1 bonus ball
   public BonusBalls(int numOfPinsOnBallOne, int numOfPinsOnBallTwo) {
-    ballOne = new Ball(numOfPinsOnBallOne);
-    ballTwo = new Ball(numOfPinsOnBallTwo);
-    ballOne.setNextBall(ballTwo);
+    ballOne = Ball.of(numOfPinsOnBallOne);
+    ballTwo = Ball.of(numOfPinsOnBallTwo);
   }
 
   /**
@@ -33,4 +30,13 @@ public class BonusBalls {
     return ballOne;
   }
 
-}
\ No newline at end of file
+  /**
+   * Get the second of the bonus balls.
+   *
+   * @return the second ball or null if fewer than two balls were awarded
+   */
+  public @Nullable Ball getSecondBall() {
+    return ballTwo;
+  }
+
+}
@@ -1,7 +1,12 @@
 package com.adamkoch.bowling.vos;
 
+import org.jetbrains.annotations.Nullable;
+
 /**
  * Frame represents the 1 or 2 ball turn in bowling.
+ * <p>
+ * Frames are immutable. A frame doesn't know which balls come after it; the game passes them in when it scores the
+ * frame. That way the same frame instance can be shared by every game it shows up in.
  */
 public interface Frame {
 
@@ -19,22 +24,24 @@ public interface Frame {
    * <p>
    * Note: Because this method doesn't simply return a value but can do calculations, I don't prefix it with "get".
    *
-   * @return the number of points from this frame using future frames as needed
+   * @param nextBallPins      pins knocked down by the first ball after this frame
+   * @param ballAfterNextPins pins knocked down by the ball after that one
+   * @return the number of points from this frame using future balls as needed
    */
-  int calculateScore();
+  int calculateScore(int nextBallPins, int ballAfterNextPins);
 
   /**
-   * Get the first ball in this frame. Used to link with previous frames for scoring.
+   * Get the first ball in this frame.
    *
    * @return first or only ball in the frame
    */
   Ball getFirstBall();
 
   /**
-   * Set the next ball after this frame. Used in scoring.
+   * Get the second ball in this frame, if there was one.
    *
-   * @param nextBall the next ball bowled
+   * @return the second ball or null for a strike
    */
-  void setNextBall(Ball nextBall);
+  @Nullable Ball getSecondBall();
 
 }
@@ -1,6 +1,8 @@
 package com.adamkoch.bowling.vos;
 
 import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * A "one ball" frame is a strike. It can also be a parent class for a "two ball" frame, so we can reuse the first ball class variable.
@@ -9,6 +11,7 @@ import lombok.EqualsAndHashCode;
 public class OneBallFrame implements Frame {
 
   protected final Ball firstBall;
+  @Getter
   protected final int frameNumber;
 
   public OneBallFrame(int frameNumber) {
@@ -17,7 +20,7 @@ public class OneBallFrame implements Frame {
 
   protected OneBallFrame(int pinsKnockedDown, int frameNumber) {
     this.frameNumber = frameNumber;
-    firstBall = new Ball(pinsKnockedDown);
+    firstBall = Ball.of(pinsKnockedDown);
   }
 
   @Override
@@ -26,8 +29,8 @@ public class OneBallFrame implements Frame {
   }
 
   @Override
-  public void setNextBall(Ball nextBall) {
-    firstBall.setNextBall(nextBall);
+  public @Nullable Ball getSecondBall() {
+    return null;
   }
 
   @Override
@@ -36,11 +39,8 @@ public class OneBallFrame implements Frame {
   }
 
   @Override
-  public int calculateScore() {
-    // This is a bit of a gamble without null checks. In a "bullet-proof" app I would return Optional so that no
-    // NPE could be thrown. But in this app, the getNextBall() is only called on the frames and having the bonus
-    // balls at the end (should) mean we always have a next and a "next-next" ball.
-    return 10 + firstBall.getNextBall().getPinsKnockedDown() + firstBall.getNextBall().getNextBall().getPinsKnockedDown();
+  public int calculateScore(int nextBallPins, int ballAfterNextPins) {
+    return 10 + nextBallPins + ballAfterNextPins;
   }
 
   @Override
@@ -51,4 +51,4 @@ public class OneBallFrame implements Frame {
         '}';
   }
 
-}
\ No newline at end of file
+}
@@ -19,8 +19,7 @@ public class TwoBallFrame extends OneBallFrame {
   //  parameter.
   public TwoBallFrame(int ballOnePins, int ballTwoPins, int frameNumber) {
     super(ballOnePins, frameNumber);
-    secondBall = new Ball(ballTwoPins);
-    firstBall.setNextBall(secondBall);
+    secondBall = Ball.of(ballTwoPins);
   }
 
   @Override
@@ -29,12 +28,7 @@ public class TwoBallFrame extends OneBallFrame {
   }
 
   @Override
-  public void setNextBall(Ball nextBall) {
-    secondBall.setNextBall(nextBall);
-  }
-
-  @Override
-  public int calculateScore() {
+  public int calculateScore(int nextBallPins, int ballAfterNextPins) {
     // These are comments for reviewers of the code on some design choices by me:
     //  I don't like multiple returns in a method. It's fine for small methods, like this one, but methods have a way
     //  of growing and it gets harder later to switch back. Multiple returns makes it harder for refactoring because pulling out
@@ -45,7 +39,7 @@ public class TwoBallFrame extends OneBallFrame {
     final int totalPins;
 
     if (calculateTotalPinsKnockedDown() == 10) {
-      totalPins = 10 + secondBall.getNextBall().getPinsKnockedDown();
+      totalPins = 10 + nextBallPins;
     } else {
       totalPins = calculateTotalPinsKnockedDown();
     }
@@ -0,0 +1,107 @@
+package com.adamkoch.bowling;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares the allocation-free scorer with the object model. Surefire runs with assertions enabled, which is what makes
+ * the reference reject games that don't have exactly ten frames.
+ */
+class FastScorerTest {
+
+  private static final String[] VALID_GAMES = {"9-|9-|9-|9-|9-|9-|9-|9-|9-|9-||", "X|X|X|X|X|X|X|X|X|X||XX",
+      "5/|5/|5/|5/|5/|5/|5/|5/|5/|5/||5", "X|7/|9-|X|-8|8/|-6|X|X|X||81", "54|4/|7-|X|X|X|53|6/|4/|X||XX",
+      "14|45|6/|5/|X|01|7/|6/|X|2/||6", "9-|9-|9-|9-|9-|9-|9-|9-|9-|9-||X", "X|X|X|X|X|X|X|X|X|X||",
+      "--|--|--|--|--|--|--|--|--|--||", "55|55|55|55|55|55|55|55|55|55||5X", "99|99|99|99|99|99|99|99|99|99||-5"};
+
+  private static final char[] ALPHABET = "0123456789X/-|X/-||A٣".toCharArray();
+
+  static Object[][] gameOutcomes() {
+    return new Object[][]{
+        {"9-|9-|9-|9-|9-|9-|9-|9-|9-|9-||", 90}, {"X|X|X|X|X|X|X|X|X|X||XX", 300},
+        {"5/|5/|5/|5/|5/|5/|5/|5/|5/|5/||5", 150}, {"X|7/|9-|X|-8|8/|-6|X|X|X||81", 167},
+        {"54|4/|7-|X|X|X|53|6/|4/|X||XX", 178}, {"14|45|6/|5/|X|01|7/|6/|X|2/||6", 133}};
+  }
+
+  @ParameterizedTest
+  @MethodSource("gameOutcomes")
+  void testGameScores(String framesString, int expectedScore) {
+    byte[] bytes = framesString.getBytes(StandardCharsets.ISO_8859_1);
+
+    assertEquals(expectedScore, FastScorer.score(framesString));
+    assertEquals(expectedScore, FastScorer.score(framesString.toCharArray(), 0, framesString.length()));
+    assertEquals(expectedScore, FastScorer.score(bytes, 0, bytes.length));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"", "|", "||", "X|X|X|X|X|X|X|X|X|X", "X|X|X|X|X|X|X|X|X||XX", "X|X|X|X|X|X|X|X|X|X|X||",
+      "|X|X|X|X|X|X|X|X|X|X||", "X|X|X|X|X|X|X|X|X|X||-", "X|X|X|X|X|X|X|X|X|X||/5", "X|X|X|X|X|X|X|X|X|X||XXX",
+      "X|X|X|X|X|X|X|X|X|9||", "X|X|X|X|X|X|X|X|X|X5||", "X|X|X|X|X|X|X|X|X|9X||", "X|X|X|X|X|X|X|X|X|/9||",
+      "X|X|X|X|X|X|X|X|X|123||", "X|X|X|X|X|X|X|X|X|9A||", "X|X|X|X|X|X|X|X|X|X||X|"})
+  void testInvalidGames(String framesString) {
+    assertEquals(FastScorer.INVALID, reference(framesString), framesString);
+    assertEquals(FastScorer.INVALID, FastScorer.score(framesString));
+  }
+
+  @Test
+  void testRegionsOfLargerInput() {
+    String line = "junk X|X|X|X|X|X|X|X|X|X||XX junk";
+    byte[] bytes = line.getBytes(StandardCharsets.ISO_8859_1);
+
+    assertEquals(300, FastScorer.score(line, 5, 28));
+    assertEquals(300, FastScorer.score(line.toCharArray(), 5, 23));
+    assertEquals(300, FastScorer.score(bytes, 5, 23));
+  }
+
+  @Test
+  void testDigitsFromOtherScriptsAreParsedLikeIntegerParseInt() {
+    String arabicIndicThree = "٣-|9-|9-|9-|9-|9-|9-|9-|9-|9-||";
+
+    assertEquals(reference(arabicIndicThree), FastScorer.score(arabicIndicThree));
+    assertEquals(84, FastScorer.score(arabicIndicThree));
+  }
+
+  @Test
+  void testMutatedGamesAgreeWithObjectModel() {
+    Random random = new Random(20221018L);
+    for (int i = 0; i < 200_000; i++) {
+      StringBuilder game = new StringBuilder(VALID_GAMES[random.nextInt(VALID_GAMES.length)]);
+      int mutations = 1 + random.nextInt(3);
+      for (int m = 0; m < mutations; m++) {
+        int position = random.nextInt(game.length() + 1);
+        char c = ALPHABET[random.nextInt(ALPHABET.length)];
+        switch (random.nextInt(3)) {
+          case 0 -> game.insert(position, c);
+          case 1 -> {
+            if (position < game.length()) {
+              game.deleteCharAt(position);
+            }
+          }
+          default -> {
+            if (position < game.length()) {
+              game.setCharAt(position, c);
+            }
+          }
+        }
+      }
+      String input = game.toString();
+      assertEquals(reference(input), FastScorer.score(input), input);
+    }
+  }
+
+  private static int reference(String framesString) {
+    try {
+      return new Main().oneStep(framesString);
+    } catch (RuntimeException | AssertionError e) {
+      return FastScorer.INVALID;
+    }
+  }
+
+}
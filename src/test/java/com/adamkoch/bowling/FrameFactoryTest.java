@@ -23,31 +23,15 @@ class FrameFactoryTest {
 
         assertEquals(expected, actual);
         assertEquals(10, actual.calculateTotalPinsKnockedDown());
-        assertThrows(NullPointerException.class, () -> actual.calculateScore(), "Expected to get a NPE because there is no \"next ball\" with only one frame");
-    }
-
-    @Test
-    void testParsingStrike_withOnlyOneNexBall() {
-        Ball nextBall = new Ball(1);
-
-        Frame actual = FrameFactory.from("X", TEST_FRAME_NUMBER);
-        actual.setNextBall(nextBall);
-
-        assertEquals(10, actual.calculateTotalPinsKnockedDown());
-        assertThrows(NullPointerException.class, () -> actual.calculateScore(), "Expected to get a NPE because there is only 1 \"next ball\"");
+        assertNull(actual.getSecondBall());
     }
 
     @Test
     void testParsingStrike_withTwoNextBalls() {
-        Ball nextBall = new Ball(10);
-        Ball nextNextBall = new Ball(1);
-
         Frame actual = FrameFactory.from("X", TEST_FRAME_NUMBER);
-        nextBall.setNextBall(nextNextBall);
-        actual.setNextBall(nextBall);
 
         assertEquals(10, actual.calculateTotalPinsKnockedDown());
-        assertEquals(21, actual.calculateScore());
+        assertEquals(21, actual.calculateScore(10, 1));
     }
 
     @Test
@@ -58,7 +42,23 @@ class FrameFactoryTest {
 
         assertEquals(expected, actual);
         assertEquals(10, actual.calculateTotalPinsKnockedDown());
-        assertThrows(NullPointerException.class, () -> actual.calculateScore(), "Expected to get a NPE because there is no \"next ball\" with only one frame");
+        assertEquals(13, actual.calculateScore(3, 7), "Only the next ball counts for a spare");
+    }
+
+    @Test
+    void testFramesAreShared() {
+        assertSame(FrameFactory.from("X", 3), FrameFactory.from("X", 3));
+        assertSame(FrameFactory.from("9/", 3), FrameFactory.from("91", 3));
+        assertSame(FrameFactory.from("-5", 3), FrameFactory.from("05", 3));
+        assertSame(FrameFactory.fromBonus("X"), FrameFactory.fromBonus("XX"));
+        assertSame(Ball.of(7), FrameFactory.from("72", 1).getFirstBall());
+        assertNotSame(FrameFactory.from("X", 3), FrameFactory.from("X", 4));
+    }
+
+    @Test
+    void testFramesOutsideTheTableAreStillCreated() {
+        assertEquals(new OneBallFrame(11), FrameFactory.strike(11));
+        assertEquals(new TwoBallFrame(2, 3, 0), FrameFactory.twoBallFrame(2, 3, 0));
     }
 
     @Test
@@ -69,7 +69,7 @@ class FrameFactoryTest {
 
         assertEquals(expected, actual);
         assertEquals(3, actual.calculateTotalPinsKnockedDown());
-        assertEquals(expected.calculateScore(), actual.calculateScore());
+        assertEquals(expected.calculateScore(0, 0), actual.calculateScore(0, 0));
     }
 
     @Test
@@ -80,7 +80,7 @@ class FrameFactoryTest {
 
         assertEquals(expected, actual);
         assertEquals(2, actual.calculateTotalPinsKnockedDown());
-        assertEquals(expected.calculateScore(), actual.calculateScore());
+        assertEquals(expected.calculateScore(0, 0), actual.calculateScore(0, 0));
     }
 
     @Test
@@ -91,7 +91,7 @@ class FrameFactoryTest {
 
         assertEquals(expected, actual);
         assertEquals(0, actual.calculateTotalPinsKnockedDown());
-        assertEquals(expected.calculateScore(), actual.calculateScore());
+        assertEquals(expected.calculateScore(0, 0), actual.calculateScore(0, 0));
     }
 
     // Why does "Z" not throw a NumberFormatException? Because for strings of length 1 it will only check if it is
@@ -4,6 +4,7 @@ import com.adamkoch.bowling.vos.BonusBalls;
 import com.adamkoch.bowling.vos.Frame;
 import com.adamkoch.bowling.vos.OneBallFrame;
 import com.adamkoch.bowling.vos.TwoBallFrame;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
@@ -11,7 +12,10 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.IntStream;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 /**
  * Tests both parsing and scoring.
@@ -57,6 +61,47 @@ class GameTest {
     assertEquals(expectedGame, g);
   }
 
+  @Test
+  void testCumulativeScoresMatchTheReadme() {
+    Game g = Game.fromString("X|8/|36|X|9/|8/|X|9/|9-|X||XX");
+
+    assertArrayEquals(new int[]{20, 33, 42, 62, 80, 100, 120, 139, 148, 178}, g.getCumulativeScores());
+    assertEquals(139, g.scoreThroughFrame(8));
+    assertEquals(30, g.frameScore(10));
+    assertEquals(178, g.calculateScore());
+    assertThrows(IllegalArgumentException.class, () -> g.scoreThroughFrame(11));
+  }
+
+  @Test
+  void testScoringDoesNotChangeEquality() {
+    Game scored = Game.fromString("X|7/|9-|X|-8|8/|-6|X|X|X||81");
+    Game notScored = Game.fromString("X|7/|9-|X|-8|8/|-6|X|X|X||81");
+
+    scored.calculateScore();
+
+    assertEquals(notScored, scored);
+    assertEquals(notScored.hashCode(), scored.hashCode());
+  }
+
+  @Test
+  void testFramesNumberedOutOfOrderAreNotEqual() {
+    Game parsed = Game.fromString("X|X|X|X|X|X|X|X|X|X||XX");
+    List<Frame> frames = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      frames.add(new OneBallFrame(10 - i));
+    }
+    // the same balls in differently numbered frames
+    Game reversed = new Game(frames, new BonusBalls(10, 10));
+    Game reversedAgain = new Game(frames, new BonusBalls(10, 10));
+
+    assertNotEquals(parsed, reversed);
+    assertNotEquals(reversed, parsed);
+    assertEquals(reversed, reversedAgain);
+    assertEquals(reversed.hashCode(), reversedAgain.hashCode());
+    assertEquals(parsed, Game.fromPacked(parsed.getPackedLow(), parsed.getPackedHigh()));
+    assertNotEquals(parsed, Game.fromString("X|X|X|X|X|X|X|X|X|X||X9"));
+  }
+
   // This was a test when I had validation accessible through a static, public method on my Game class. It might be worth
   // revisiting validation if this were ever truly a product.
 //    @ParameterizedTest
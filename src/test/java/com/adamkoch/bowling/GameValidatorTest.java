@@ -0,0 +1,110 @@
+package com.adamkoch.bowling;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GameValidatorTest {
+
+  @ParameterizedTest
+  @CsvSource(delimiter = ';', value = {
+      "X|X|X|X|X|X|X|X|X|X||XX; 300", "9-|9-|9-|9-|9-|9-|9-|9-|9-|9-||; 90", "X|7/|9-|X|-8|8/|-6|X|X|X||81; 167",
+      "9-|9-|9-|9-|9-|9-|9-|9-|9-|9-||X; 90", "X|X|X|X|X|X|X|X|X|X||X5; 295", "X|X|X|X|X|X|X|X|X|X||-5; 275"})
+  void testValidGames(String game, int expectedScore) {
+    long result = GameValidator.validate(game);
+    byte[] bytes = game.getBytes(StandardCharsets.ISO_8859_1);
+
+    assertTrue(ParseResult.isValid(result));
+    assertEquals(expectedScore, ParseResult.score(result));
+    assertNull(ParseResult.error(result));
+    assertEquals(result, GameValidator.validate(game.toCharArray(), 0, game.length()));
+    assertEquals(result, GameValidator.validate(bytes, 0, bytes.length));
+  }
+
+  @ParameterizedTest
+  @CsvSource(delimiter = ';', value = {
+      "''; MISSING_BONUS_DELIMITER; 1; 0",
+      "|X|X|X|X|X|X|X|X|X|X||; EMPTY_FRAME; 1; 0",
+      "X|X||; TOO_FEW_FRAMES; 3; 4",
+      "X|X|X|X|X|X|X|X|X|X|X||; TOO_MANY_FRAMES; 11; 20",
+      "X|X|X|9|X|X|X|X|X|X||; ONE_CHARACTER_FRAME; 4; 7",
+      "X|X|X5|X|X|X|X|X|X|X||; TOO_MANY_CHARACTERS; 3; 5",
+      "X|X|123|X|X|X|X|X|X|X||; TOO_MANY_CHARACTERS; 3; 6",
+      "X|/1|X|X|X|X|X|X|X|X||; SPARE_ON_FIRST_BALL; 2; 2",
+      "X|1X|X|X|X|X|X|X|X|X||; STRIKE_ON_SECOND_BALL; 2; 3",
+      "X|1A|X|X|X|X|X|X|X|X||; INVALID_CHARACTER; 2; 3",
+      "X|٣-|X|X|X|X|X|X|X|X||; INVALID_CHARACTER; 2; 2",
+      "X|99|X|X|X|X|X|X|X|X||; FRAME_PIN_TOTAL; 2; 3",
+      "X|X|X|X|X|X|X|X|X|X; MISSING_BONUS_DELIMITER; 10; 19",
+      "X|X|X|X|X|X|X|X|X|X||XXX; TOO_MANY_BONUS_BALLS; 10; 23",
+      "X|X|X|X|X|X|X|X|X|X||-; INVALID_CHARACTER; 10; 21",
+      "X|X|X|X|X|X|X|X|X|X||/; SPARE_ON_FIRST_BALL; 10; 21",
+      "X|X|X|X|X|X|X|X|X|X||99; BONUS_PIN_TOTAL; 10; 22",
+      "X|X|X|X|X|X|X|X|X|X||5X; BONUS_PIN_TOTAL; 10; 22",
+      "X|X|X|X|X|X|X|X|X|X||X/; SPARE_ON_FIRST_BALL; 10; 22"})
+  void testInvalidGames(String game, ParseError expectedError, int expectedFrame, int expectedOffset) {
+    long result = GameValidator.validate(game);
+
+    assertFalse(ParseResult.isValid(result));
+    assertEquals(FastScorer.INVALID, ParseResult.score(result));
+    assertEquals(expectedError, ParseResult.error(result));
+    assertEquals(expectedFrame, ParseResult.frameNumber(result));
+    assertEquals(expectedOffset, ParseResult.offset(result));
+  }
+
+  @Test
+  void testOffsetsAreRelativeToTheRegion() {
+    String line = "12345X|X|X|X|X|X|X|X|X|X||XXX";
+
+    long result = GameValidator.validate(line, 5, line.length());
+
+    assertEquals(ParseError.TOO_MANY_BONUS_BALLS, ParseResult.error(result));
+    assertEquals(23, ParseResult.offset(result));
+  }
+
+  /**
+   * Whatever the regex in Main or the object model rejects, the validator has to reject too. Whatever it accepts has
+   * to score the same as the object model.
+   */
+  @Test
+  void testRejectsAtLeastWhatTheRegexAndParserReject() {
+    Random random = new Random(6L);
+    char[] alphabet = "0123456789X/-|X/-||A٣".toCharArray();
+    String[] seeds = {"X|7/|9-|X|-8|8/|-6|X|X|X||81", "54|4/|7-|X|X|X|53|6/|4/|X||XX", "5/|5/|5/|5/|5/|5/|5/|5/|5/|5/||5"};
+    for (int i = 0; i < 100_000; i++) {
+      StringBuilder game = new StringBuilder(seeds[random.nextInt(seeds.length)]);
+      int position = random.nextInt(game.length());
+      if (random.nextBoolean()) {
+        game.setCharAt(position, alphabet[random.nextInt(alphabet.length)]);
+      } else {
+        game.insert(position, alphabet[random.nextInt(alphabet.length)]);
+      }
+      String input = game.toString();
+
+      long result = GameValidator.validate(input);
+      int reference = reference(input);
+      if (!input.matches("[-\\dX/|]{11,35}") || reference == FastScorer.INVALID) {
+        assertFalse(ParseResult.isValid(result), input);
+      } else if (ParseResult.isValid(result)) {
+        assertEquals(reference, ParseResult.score(result), input);
+      }
+    }
+  }
+
+  private static int reference(String framesString) {
+    try {
+      return new Main().oneStep(framesString);
+    } catch (RuntimeException | AssertionError e) {
+      return FastScorer.INVALID;
+    }
+  }
+
+}
@@ -0,0 +1,117 @@
+package com.adamkoch.bowling;
+
+import com.adamkoch.bowling.exceptions.InvalidInputException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LiveGameTest {
+
+  static Object[][] gameOutcomes() {
+    return new Object[][]{
+        {new int[]{9, 0, 9, 0, 9, 0, 9, 0, 9, 0, 9, 0, 9, 0, 9, 0, 9, 0, 9, 0}, 90},
+        {new int[]{10, 10, 10, 10, 10, 10, 10, 10, 10, 10, 10, 10}, 300},
+        {new int[]{5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5}, 150},
+        {new int[]{10, 7, 3, 9, 0, 10, 0, 8, 8, 2, 0, 6, 10, 10, 10, 8, 1}, 167},
+        {new int[]{5, 4, 4, 6, 7, 0, 10, 10, 10, 5, 3, 6, 4, 4, 6, 10, 10, 10}, 178},
+        {new int[]{1, 4, 4, 5, 6, 4, 5, 5, 10, 0, 1, 7, 3, 6, 4, 10, 2, 8, 6}, 133}};
+  }
+
+  @ParameterizedTest
+  @MethodSource("gameOutcomes")
+  void testGameScores(int[] rolls, int expectedScore) {
+    LiveGame game = new LiveGame();
+    for (int pins : rolls) {
+      assertFalse(game.isComplete());
+      game.roll(pins);
+    }
+
+    assertTrue(game.isComplete());
+    assertEquals(expectedScore, game.getScore());
+    assertEquals(expectedScore, game.scoreThroughFrame(10));
+    assertEquals(10, game.getFrameTotals().length);
+  }
+
+  @Test
+  void testFrameTotalsWaitForBonusBalls() {
+    LiveGame game = new LiveGame();
+
+    game.roll(10);
+    assertEquals(10, game.getScore());
+    assertEquals(LiveGame.UNKNOWN, game.scoreThroughFrame(1));
+
+    game.roll(7);
+    game.roll(3);
+    assertEquals(30, game.getScore());
+    assertEquals(20, game.scoreThroughFrame(1));
+    assertEquals(LiveGame.UNKNOWN, game.scoreThroughFrame(2));
+
+    game.roll(9);
+    assertEquals(48, game.getScore());
+    assertArrayEquals(new int[]{20, 39}, game.getFrameTotals());
+    assertEquals(3, game.getFrameNumber());
+    assertEquals(1, game.getPinsStanding());
+  }
+
+  @Test
+  void testTenthFrameGetsAFreshRackAfterAStrike() {
+    LiveGame game = new LiveGame();
+    for (int i = 0; i < 18; i++) {
+      game.roll(0);
+    }
+
+    game.roll(10);
+    assertEquals(10, game.getPinsStanding());
+    game.roll(4);
+    assertEquals(6, game.getPinsStanding());
+    assertThrows(InvalidInputException.class, () -> game.roll(7));
+    game.roll(6);
+
+    assertTrue(game.isComplete());
+    assertEquals(20, game.scoreThroughFrame(10));
+    assertThrows(InvalidInputException.class, () -> game.roll(0));
+  }
+
+  @Test
+  void testOpenTenthFrameEndsTheGame() {
+    LiveGame game = new LiveGame();
+    for (int i = 0; i < 20; i++) {
+      game.roll(4);
+    }
+
+    assertTrue(game.isComplete());
+    assertEquals(80, game.getScore());
+  }
+
+  @Test
+  void testRejectsMorePinsThanAreStanding() {
+    LiveGame game = new LiveGame();
+    game.roll(6);
+
+    assertThrows(InvalidInputException.class, () -> game.roll(5));
+    assertThrows(InvalidInputException.class, () -> game.roll(-1));
+    game.roll(4);
+    assertEquals(10, game.getScore());
+  }
+
+  @Test
+  void testResetStartsANewGame() {
+    LiveGame game = new LiveGame();
+    game.roll(10);
+    game.roll(10);
+
+    game.reset();
+
+    assertEquals(0, game.getScore());
+    assertEquals(0, game.getRollCount());
+    assertEquals(1, game.getFrameNumber());
+    assertEquals(0, game.getFrameTotals().length);
+  }
+
+}
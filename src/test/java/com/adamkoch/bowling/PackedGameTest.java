@@ -0,0 +1,102 @@
+package com.adamkoch.bowling;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PackedGameTest {
+
+  private static final String[] VALID_GAMES = {"9-|9-|9-|9-|9-|9-|9-|9-|9-|9-||", "X|X|X|X|X|X|X|X|X|X||XX",
+      "5/|5/|5/|5/|5/|5/|5/|5/|5/|5/||5", "X|7/|9-|X|-8|8/|-6|X|X|X||81", "54|4/|7-|X|X|X|53|6/|4/|X||XX",
+      "14|45|6/|5/|X|01|7/|6/|X|2/||6", "9-|9-|9-|9-|9-|9-|9-|9-|9-|9-||X", "X|X|X|X|X|X|X|X|X|X||",
+      "--|--|--|--|--|--|--|--|--|--||", "55|55|55|55|55|55|55|55|55|55||5X", "99|99|99|99|99|99|99|99|99|99||-5"};
+
+  private static final char[] ALPHABET = "0123456789X/-|X/-||".toCharArray();
+
+  @ParameterizedTest
+  @ValueSource(strings = {"9-|9-|9-|9-|9-|9-|9-|9-|9-|9-||", "X|X|X|X|X|X|X|X|X|X||XX",
+      "5/|5/|5/|5/|5/|5/|5/|5/|5/|5/||5", "X|7/|9-|X|-8|8/|-6|X|X|X||81", "X|X|X|X|X|X|X|X|X|X||X/",
+      "--|--|--|--|--|--|--|--|--|--||", "99|99|99|99|99|99|99|99|99|99||-5"})
+  void testGameSurvivesARoundTrip(String framesString) {
+    Game game = Game.fromString(framesString);
+
+    Game unpacked = Game.fromPacked(game.getPackedLow(), game.getPackedHigh());
+
+    assertEquals(game, unpacked);
+    assertEquals(game.calculateScore(), unpacked.calculateScore());
+    assertEquals(game.calculateScore(), PackedGame.score(game.getPackedLow(), game.getPackedHigh()));
+  }
+
+  @Test
+  void testEncodingTextMatchesEncodingTheGame() {
+    long[] packed = new long[3];
+    Game game = Game.fromString("X|7/|9-|X|-8|8/|-6|X|X|X||81");
+
+    assertEquals(167, PackedGame.encode("X|7/|9-|X|-8|8/|-6|X|X|X||81", packed, 1));
+    assertEquals(game.getPackedLow(), packed[1]);
+    assertEquals(game.getPackedHigh(), packed[2]);
+    assertEquals(0, packed[0]);
+  }
+
+  @Test
+  void testPerfectGameLayout() {
+    Game game = Game.fromString("X|X|X|X|X|X|X|X|X|X||XX");
+
+    // twelve balls of ten pins, all of them in the low long
+    assertEquals(0xAAAA_AAAA_AAAAL, game.getPackedLow());
+    assertEquals(0, game.getPackedHigh());
+    assertEquals(12, PackedGame.ballCount(game.getPackedLow(), game.getPackedHigh()));
+  }
+
+  @Test
+  void testBytesRoundTrip() {
+    Game game = Game.fromString("14|45|6/|5/|X|01|7/|6/|X|2/||6");
+    byte[] record = new byte[PackedGame.RECORD_BYTES + 2];
+
+    PackedGame.toBytes(game.getPackedLow(), game.getPackedHigh(), record, 2);
+
+    assertEquals(game.getPackedLow(), PackedGame.lowFromBytes(record, 2));
+    assertEquals(game.getPackedHigh(), PackedGame.highFromBytes(record, 2));
+  }
+
+  @Test
+  void testUnpackedFramesAreShared() {
+    Game game = Game.fromString("X|7/|9-|X|-8|8/|-6|X|X|X||81");
+
+    assertSame(FrameFactory.strike(1), FrameFactory.framesFrom(game.getPackedLow(), game.getPackedHigh()).get(0));
+    assertSame(FrameFactory.bonusBalls(8, 1), FrameFactory.bonusFrom(game.getPackedLow(), game.getPackedHigh()));
+  }
+
+  @Test
+  void testBallsOverTenPinsAreNotAPackedGame() {
+    assertThrows(IllegalArgumentException.class, () -> Game.fromPacked(-1L, -1L));
+  }
+
+  @Test
+  void testMutatedGamesAgreeWithFastScorer() {
+    Random random = new Random(20221019L);
+    long[] packed = new long[2];
+    for (int i = 0; i < 100_000; i++) {
+      StringBuilder game = new StringBuilder(VALID_GAMES[random.nextInt(VALID_GAMES.length)]);
+      int position = random.nextInt(game.length());
+      game.setCharAt(position, ALPHABET[random.nextInt(ALPHABET.length)]);
+      String input = game.toString();
+
+      int score = PackedGame.encode(input, packed, 0);
+
+      assertEquals(FastScorer.score(input), score, input);
+      if (score != FastScorer.INVALID) {
+        Game reference = Game.fromString(input);
+        assertEquals(score, PackedGame.score(packed[0], packed[1]), input);
+        assertEquals(reference, Game.fromPacked(packed[0], packed[1]), input);
+      }
+    }
+  }
+
+}
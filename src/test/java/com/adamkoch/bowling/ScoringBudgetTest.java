@@ -0,0 +1,136 @@
+package com.adamkoch.bowling;
+
+import com.adamkoch.bowling.generate.BowlerProfile;
+import com.adamkoch.bowling.generate.GameGenerator;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Holds the original scoring path to the bytes and nanoseconds per game written down in
+ * {@value #BUDGETS}. A change that makes {@link Main#oneStep(String)}, {@link Game#fromString(String)} or
+ * {@link Game#calculateScore()} allocate more or run slower than that fails the build, instead of waiting for someone to
+ * notice it in a benchmark.
+ * <p>
+ * Bytes come from the JVM's count of what this thread allocated, so they're exact apart from what escape analysis
+ * happens to remove. Time is the wall clock, which isn't, so those budgets have a lot more room in them. Each path is
+ * warmed up first and the best of several rounds is kept.
+ */
+class ScoringBudgetTest {
+
+  private static final String BUDGETS = "scoring-budgets.properties";
+  private static final int GAMES = 1024;
+  private static final int WARM_UP_ROUNDS = 60;
+  private static final int ROUNDS = 10;
+
+  private static Properties budgets;
+  private static String[] games;
+  private static com.sun.management.ThreadMXBean threads;
+
+  private long sink;
+
+  @BeforeAll
+  static void setUp() throws IOException {
+    assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean,
+        "this JVM doesn't count allocated bytes");
+    threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    assumeTrue(threads.isThreadAllocatedMemorySupported(), "this JVM doesn't count allocated bytes");
+    threads.setThreadAllocatedMemoryEnabled(true);
+
+    budgets = new Properties();
+    try (InputStream in = ScoringBudgetTest.class.getResourceAsStream("/" + BUDGETS)) {
+      assertNotNull(in, BUDGETS);
+      budgets.load(in);
+    }
+    GameGenerator generator = new GameGenerator(BowlerProfile.LEAGUE, 2018);
+    games = new String[GAMES];
+    for (int i = 0; i < GAMES; i++) {
+      games[i] = generator.nextGame();
+    }
+  }
+
+  @Test
+  void testOneStep() {
+    Main main = new Main();
+    check("oneStep", () -> {
+      for (String game : games) {
+        sink += main.oneStep(game);
+      }
+    }, null);
+  }
+
+  @Test
+  void testFromString() {
+    check("fromString", () -> {
+      for (String game : games) {
+        sink += Game.fromString(game).hashCode();
+      }
+    }, null);
+  }
+
+  @Test
+  void testCalculateScore() {
+    // a game only works out its score once, so every round needs new ones
+    Game[] parsed = new Game[GAMES];
+    check("calculateScore", () -> {
+      for (Game game : parsed) {
+        sink += game.calculateScore();
+      }
+    }, () -> {
+      for (int i = 0; i < GAMES; i++) {
+        parsed[i] = Game.fromString(games[i]);
+      }
+    });
+  }
+
+  /**
+   * @param path    The name of the path in the budgets
+   * @param round   Scores every game once
+   * @param prepare Runs before every round without being measured, or null
+   */
+  private void check(String path, Runnable round, Runnable prepare) {
+    for (int i = 0; i < WARM_UP_ROUNDS; i++) {
+      if (prepare != null) {
+        prepare.run();
+      }
+      round.run();
+    }
+    long fewestBytes = Long.MAX_VALUE;
+    long fewestNanos = Long.MAX_VALUE;
+    for (int i = 0; i < ROUNDS; i++) {
+      if (prepare != null) {
+        prepare.run();
+      }
+      long bytesBefore = threads.getCurrentThreadAllocatedBytes();
+      long start = System.nanoTime();
+      round.run();
+      long nanos = System.nanoTime() - start;
+      long bytes = threads.getCurrentThreadAllocatedBytes() - bytesBefore;
+      fewestBytes = Math.min(fewestBytes, bytes);
+      fewestNanos = Math.min(fewestNanos, nanos);
+    }
+    assertNotEquals(0, sink);
+
+    double bytesPerGame = (double) fewestBytes / GAMES;
+    double nanosPerGame = (double) fewestNanos / GAMES;
+    assertWithin(path, "bytes", bytesPerGame);
+    assertWithin(path, "nanos", nanosPerGame);
+  }
+
+  private static void assertWithin(String path, String unit, double perGame) {
+    String key = path + "." + unit;
+    String budget = budgets.getProperty(key);
+    assertNotNull(budget, key + " is missing from " + BUDGETS);
+    assertTrue(perGame <= Double.parseDouble(budget), () -> String.format(
+        "%s took %.0f %s per game, which is over its budget of %s. If that's on purpose, raise %s in %s.", path,
+        perGame, unit, budget, key, BUDGETS));
+  }
+
+}
@@ -0,0 +1,133 @@
+package com.adamkoch.bowling.batch;
+
+import com.adamkoch.bowling.FastScorer;
+import com.adamkoch.bowling.GameValidator;
+import com.adamkoch.bowling.ParseResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BatchScorerTest {
+
+  private static final String INPUT = """
+      X|X|X|X|X|X|X|X|X|X||XX
+      9-|9-|9-|9-|9-|9-|9-|9-|9-|9-||
+      not a game
+
+      5/|5/|5/|5/|5/|5/|5/|5/|5/|5/||5\r
+      X|7/|9-|X|-8|8/|-6|X|X|X||81""";
+
+  private static final List<String> EXPECTED = List.of("300", "90", "-1", "-1", "150", "167");
+
+  @TempDir
+  Path tempDir;
+
+  @ParameterizedTest
+  @ValueSource(longs = {1, 7, 24, BatchScorer.WINDOW_SIZE})
+  void testScoresEveryLineWhateverTheWindowSize(long windowSize) throws IOException {
+    Path input = write(INPUT);
+    Path output = tempDir.resolve("scores.txt");
+
+    BatchSummary summary = BatchScorer.score(input, output, windowSize);
+
+    assertEquals(EXPECTED, Files.readAllLines(output));
+    assertEquals(6, summary.getLines());
+    assertEquals(2, summary.getInvalidLines());
+  }
+
+  @ParameterizedTest
+  @CsvSource({"1, 1", "1, 1000", "3, 1", "3, 10", "3, 40", "8, 2"})
+  void testParallelScoringKeepsInputOrder(int parallelism, long chunkSize) throws IOException {
+    Path input = write(INPUT);
+    Path output = tempDir.resolve("scores.txt");
+
+    BatchSummary summary = ParallelBatchScorer.score(input, output, parallelism, chunkSize);
+
+    assertEquals(EXPECTED, Files.readAllLines(output));
+    assertEquals(6, summary.getLines());
+    assertEquals(2, summary.getInvalidLines());
+  }
+
+  @Test
+  void testParallelOutputMatchesSequentialOutput() throws IOException {
+    String[] lines = INPUT.split("\n");
+    StringBuilder games = new StringBuilder();
+    for (int i = 0; i < 20_000; i++) {
+      games.append(lines[i % lines.length]).append(i % 3 == 0 ? "\r\n" : "\n");
+    }
+    Path input = write(games.toString());
+    Path sequential = tempDir.resolve("sequential.txt");
+    Path parallel = tempDir.resolve("parallel.txt");
+
+    BatchScorer.score(input, sequential);
+    ParallelBatchScorer.score(input, parallel, 4, 4096);
+
+    assertEquals(Files.readAllLines(sequential), Files.readAllLines(parallel));
+  }
+
+  @Test
+  void testTrailingLineFeedDoesNotAddALine() throws IOException {
+    Path output = tempDir.resolve("scores.txt");
+
+    BatchSummary summary = BatchScorer.score(write(INPUT + "\n"), output);
+
+    assertEquals(EXPECTED, Files.readAllLines(output));
+    assertEquals(6, summary.getLines());
+  }
+
+  @Test
+  void testEmptyFile() throws IOException {
+    Path output = tempDir.resolve("scores.txt");
+
+    BatchSummary summary = BatchScorer.score(write(""), output);
+
+    assertEquals(0, summary.getLines());
+    assertEquals(0, Files.size(output));
+  }
+
+  @Test
+  void testStrictModesAgreeWithGameValidator() throws IOException {
+    // valid, too many pins in a frame and too many pins in the bonus, which only the strict checks turn down
+    List<String> games = List.of("X|7/|9-|X|-8|8/|-6|X|X|X||81", "99|99|99|99|99|99|99|99|99|99||",
+        "X|X|X|X|X|X|X|X|X|X||98", "not a game");
+    List<String> expected = new ArrayList<>();
+    for (String game : games) {
+      long result = GameValidator.validate(game);
+      expected.add(String.valueOf(ParseResult.isValid(result) ? ParseResult.score(result) : FastScorer.INVALID));
+    }
+    Path input = write(String.join("\n", games));
+    Path sequential = tempDir.resolve("sequential.txt");
+    Path parallel = tempDir.resolve("parallel.txt");
+    ByteArrayOutputStream streamed = new ByteArrayOutputStream();
+
+    BatchScorer.score(input, sequential, true);
+    ParallelBatchScorer.score(input, parallel, 2, true);
+    StreamScorer.score(Channels.newChannel(new ByteArrayInputStream(Files.readAllBytes(input))),
+        Channels.newChannel(streamed), FlushPolicy.AT_END, true);
+
+    assertEquals(List.of("167", "-1", "-1", "-1"), expected);
+    assertEquals(expected, Files.readAllLines(sequential));
+    assertEquals(expected, Files.readAllLines(parallel));
+    assertEquals(expected, streamed.toString(StandardCharsets.ISO_8859_1).lines().collect(Collectors.toList()));
+  }
+
+  private Path write(String content) throws IOException {
+    return Files.writeString(tempDir.resolve("games.txt"), content, StandardCharsets.ISO_8859_1);
+  }
+
+}
@@ -0,0 +1,144 @@
+package com.adamkoch.bowling.batch;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StreamScorerTest {
+
+  // each one arrives in a read of its own, the way a lane controller writes them
+  private static final List<String> READS = List.of("X|X|X|X|X|X|X|X|X|X||XX\n",
+      "9-|9-|9-|9-|9-|9-|9-|9-|9-|9-||\nnot a game\n", "5/|5/|5/|5/|5/|5/|5/|5/|5/|", "5/||5\r\n",
+      "X|7/|9-|X|-8|8/|-6|X|X|X||81");
+
+  @ParameterizedTest
+  @EnumSource(FlushPolicy.class)
+  void testScoresEveryLineWhateverThePolicy(FlushPolicy policy) throws IOException {
+    RecordingChannel out = new RecordingChannel();
+
+    BatchSummary summary = StreamScorer.score(new ChunkedChannel(READS), out, policy);
+
+    assertEquals("300\n90\n-1\n150\n167\n", out.text());
+    assertEquals(5, summary.getLines());
+    assertEquals(1, summary.getInvalidLines());
+  }
+
+  @Test
+  void testEveryLineIsWrittenOnItsOwn() throws IOException {
+    RecordingChannel out = new RecordingChannel();
+
+    StreamScorer.score(new ChunkedChannel(READS), out, FlushPolicy.EVERY_LINE);
+
+    assertEquals(List.of("300\n", "90\n", "-1\n", "150\n", "167\n"), out.writes);
+  }
+
+  @Test
+  void testResultsAreWrittenAfterEachRead() throws IOException {
+    RecordingChannel out = new RecordingChannel();
+
+    StreamScorer.score(new ChunkedChannel(READS), out, FlushPolicy.WHEN_IDLE);
+
+    // the third read doesn't end a line and the last line ends with the input
+    assertEquals(List.of("300\n", "90\n-1\n", "150\n", "167\n"), out.writes);
+  }
+
+  @Test
+  void testResultsAreWrittenOnceAtTheEnd() throws IOException {
+    RecordingChannel out = new RecordingChannel();
+
+    StreamScorer.score(new ChunkedChannel(READS), out, FlushPolicy.AT_END);
+
+    assertEquals(1, out.writes.size());
+  }
+
+  @Test
+  void testWarmUpScoresAtLeastAsManyLinesAsAskedFor() {
+    BatchSummary summary = StreamScorer.warmUp(1000, FlushPolicy.EVERY_LINE, true);
+
+    assertTrue(summary.getLines() >= 1000);
+    assertTrue(summary.getInvalidLines() > 0);
+  }
+
+  @Test
+  void testFlushPolicyFromOption() {
+    assertEquals(FlushPolicy.EVERY_LINE, FlushPolicy.fromOption("every-line"));
+    assertEquals(FlushPolicy.WHEN_IDLE, FlushPolicy.fromOption("when-idle"));
+    assertThrows(IllegalArgumentException.class, () -> FlushPolicy.fromOption("sometimes"));
+  }
+
+  /**
+   * Hands out one string per read, like a pipe that someone writes to every now and then.
+   */
+  private static final class ChunkedChannel implements ReadableByteChannel {
+
+    private final List<String> chunks;
+    private int next;
+
+    ChunkedChannel(List<String> chunks) {
+      this.chunks = chunks;
+    }
+
+    @Override
+    public int read(ByteBuffer dst) {
+      if (next == chunks.size()) {
+        return -1;
+      }
+      byte[] bytes = chunks.get(next++).getBytes(StandardCharsets.ISO_8859_1);
+      dst.put(bytes);
+      return bytes.length;
+    }
+
+    @Override
+    public boolean isOpen() {
+      return true;
+    }
+
+    @Override
+    public void close() {
+    }
+
+  }
+
+  private static final class RecordingChannel implements WritableByteChannel {
+
+    private final List<String> writes = new ArrayList<>();
+    private final ByteArrayOutputStream all = new ByteArrayOutputStream();
+
+    @Override
+    public int write(ByteBuffer src) {
+      byte[] bytes = new byte[src.remaining()];
+      src.get(bytes);
+      writes.add(new String(bytes, StandardCharsets.ISO_8859_1));
+      all.writeBytes(bytes);
+      return bytes.length;
+    }
+
+    String text() {
+      return all.toString(StandardCharsets.ISO_8859_1);
+    }
+
+    @Override
+    public boolean isOpen() {
+      return true;
+    }
+
+    @Override
+    public void close() {
+    }
+
+  }
+
+}
@@ -0,0 +1,127 @@
+package com.adamkoch.bowling.cache;
+
+import com.adamkoch.bowling.FastScorer;
+import com.adamkoch.bowling.Game;
+import com.adamkoch.bowling.PackedGame;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScoreCacheTest {
+
+  private static final String[] GAMES = {"9-|9-|9-|9-|9-|9-|9-|9-|9-|9-||", "X|X|X|X|X|X|X|X|X|X||XX",
+      "5/|5/|5/|5/|5/|5/|5/|5/|5/|5/||5", "X|7/|9-|X|-8|8/|-6|X|X|X||81", "54|4/|7-|X|X|X|53|6/|4/|X||XX",
+      "14|45|6/|5/|X|01|7/|6/|X|2/||6", "--|--|--|--|--|--|--|--|--|--||"};
+
+  @Test
+  void testHitsAndMisses() {
+    ScoreCache cache = new ScoreCache(1 << 16);
+    Game game = Game.fromString(GAMES[3]);
+
+    assertEquals(ScoreCache.MISSING, cache.get(game.getPackedLow(), game.getPackedHigh()));
+    assertEquals(167, cache.score(game));
+    assertEquals(167, cache.score(Game.fromString(GAMES[3])));
+    assertEquals(167, cache.get(game.getPackedLow(), game.getPackedHigh()));
+
+    assertEquals(2, cache.getHits());
+    assertEquals(2, cache.getMisses());
+    assertEquals(0, cache.getEvictions());
+    assertEquals(1, cache.size());
+    assertEquals(0.5, cache.hitRate());
+  }
+
+  @Test
+  void testStaysWithinItsBytes() {
+    ScoreCache cache = new ScoreCache(64 * 1024);
+    assertTrue((long) cache.capacity() * ScoreCache.ENTRY_BYTES <= cache.getMaxBytes());
+    assertTrue(cache.capacity() > 1000);
+
+    long[] packed = new long[2];
+    Random random = new Random(20221018L);
+    int added = 0;
+    while (added < 10 * cache.capacity()) {
+      if (PackedGame.encode(randomGame(random), packed, 0) != FastScorer.INVALID) {
+        cache.score(packed[0], packed[1]);
+        added++;
+      }
+    }
+
+    assertTrue(cache.size() <= cache.capacity());
+    assertTrue(cache.getEvictions() > 0);
+    assertEquals(cache.getMisses(), cache.size() + cache.getEvictions());
+  }
+
+  @Test
+  void testLeastRecentlyUsedIsForgottenFirst() {
+    ScoreCache cache = new ScoreCache(16 * 1024);
+    Game kept = Game.fromString(GAMES[1]);
+    cache.score(kept);
+
+    long[] packed = new long[2];
+    Random random = new Random(20221019L);
+    for (int i = 0; i < 50 * cache.capacity(); i++) {
+      if (PackedGame.encode(randomGame(random), packed, 0) != FastScorer.INVALID) {
+        cache.score(packed[0], packed[1]);
+        // used after every other game, so it's never the oldest in its segment
+        assertEquals(300, cache.get(kept.getPackedLow(), kept.getPackedHigh()));
+      }
+    }
+  }
+
+  @Test
+  void testScoresAreRightFromManyThreads() throws InterruptedException, ExecutionException {
+    // small enough that entries are evicted all the time
+    ScoreCache cache = new ScoreCache(4 * 1024);
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < 4; t++) {
+        long seed = t;
+        futures.add(executor.submit(() -> {
+          Random random = new Random(seed);
+          long[] packed = new long[2];
+          for (int i = 0; i < 50_000; i++) {
+            String game = randomGame(random);
+            int expected = PackedGame.encode(game, packed, 0);
+            if (expected != FastScorer.INVALID) {
+              assertEquals(expected, cache.score(packed[0], packed[1]), game);
+            }
+          }
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    assertTrue(cache.getHits() > 0);
+    assertTrue(cache.getEvictions() > 0);
+  }
+
+  /**
+   * One of the games with one frame changed, which is a valid game most of the time.
+   */
+  private static String randomGame(Random random) {
+    StringBuilder game = new StringBuilder(GAMES[random.nextInt(GAMES.length)]);
+    int frame = random.nextInt(9);
+    int start = 0;
+    for (int i = 0; i < frame; i++) {
+      start = game.indexOf("|", start) + 1;
+    }
+    int end = game.indexOf("|", start);
+    int first = random.nextInt(11);
+    String replacement = first == 10 ? "X" : "" + first + random.nextInt(10 - first);
+    return game.replace(start, end, replacement).toString();
+  }
+
+}
@@ -0,0 +1,87 @@
+package com.adamkoch.bowling.display;
+
+import com.adamkoch.bowling.Game;
+import com.adamkoch.bowling.LiveGame;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ScoreboardRendererTest {
+
+  // the one in the README
+  private static final String README_BOARD =
+      " _____________________________________________________________\n" +
+      "|__1__|__2__|__3__|__4__|__5__|__6__|__7__|__8__|__9__|__10___|\n" +
+      "|    X|  8|/|  3|6|    X|  9|/|  8|/|    X|  9|/|  9|-|  X|X|X|\n" +
+      "|  20 |  33 |  42 |  62 |  80 | 100 | 120 | 139 | 148 |  178  |\n" +
+      "'-----'-----'-----'-----'-----'-----'-----'-----'-----'-------'\n";
+
+  private final ScoreboardRenderer renderer = new ScoreboardRenderer();
+
+  @Test
+  void testReadmeBoard() throws IOException {
+    Game game = Game.fromString("X|8/|36|X|9/|8/|X|9/|9-|X||XX");
+
+    StringBuilder builder = new StringBuilder();
+    renderer.render(game, builder);
+
+    assertEquals(README_BOARD, builder.toString());
+    assertEquals(ScoreboardRenderer.BOARD_BYTES, README_BOARD.length());
+  }
+
+  @Test
+  void testBoardsCanShareAnArray() {
+    byte[] wall = new byte[2 * ScoreboardRenderer.BOARD_BYTES + 1];
+
+    int offset = renderer.render(Game.fromString("X|8/|36|X|9/|8/|X|9/|9-|X||XX"), wall, 1);
+    renderer.render(Game.fromString("--|--|--|--|--|--|--|--|--|5/||7"), wall, offset);
+
+    assertEquals(README_BOARD, new String(wall, 1, ScoreboardRenderer.BOARD_BYTES, StandardCharsets.US_ASCII));
+    String second = new String(wall, offset, ScoreboardRenderer.BOARD_BYTES, StandardCharsets.US_ASCII);
+    assertEquals("|  -|-|  -|-|  -|-|  -|-|  -|-|  -|-|  -|-|  -|-|  -|-|  5|/|7|", second.split("\n")[2]);
+    assertEquals("|   0 |   0 |   0 |   0 |   0 |   0 |   0 |   0 |   0 |   17  |", second.split("\n")[3]);
+    assertThrows(IndexOutOfBoundsException.class, () -> renderer.render(Game.fromString(
+        "--|--|--|--|--|--|--|--|--|--||"), wall, offset + 2));
+  }
+
+  @Test
+  void testOpenTenthFrame() {
+    ByteBuffer buffer = ByteBuffer.allocate(ScoreboardRenderer.BOARD_BYTES);
+
+    renderer.render(Game.fromString("9-|9-|9-|9-|9-|9-|9-|9-|9-|9-||"), buffer);
+
+    String[] lines = new String(buffer.array(), StandardCharsets.US_ASCII).split("\n");
+    assertEquals("|  9|-|  9|-|  9|-|  9|-|  9|-|  9|-|  9|-|  9|-|  9|-|  9|-| |", lines[2]);
+    assertEquals("|   9 |  18 |  27 |  36 |  45 |  54 |  63 |  72 |  81 |   90  |", lines[3]);
+  }
+
+  @Test
+  void testGameBeingBowled() {
+    LiveGame game = new LiveGame();
+    for (int pins : new int[]{10, 7, 3, 9, 0, 10, 10, 4}) {
+      game.roll(pins);
+    }
+    byte[] board = new byte[ScoreboardRenderer.BOARD_BYTES];
+
+    renderer.render(game, board, 0);
+
+    String[] lines = new String(board, StandardCharsets.US_ASCII).split("\n");
+    assertEquals("|    X|  7|/|  9|-|    X|    X|  4| |     |     |     |       |", lines[2]);
+    assertEquals("|  20 |  39 |  48 |  72 |     |     |     |     |     |       |", lines[3]);
+
+    // the same renderer draws the next board over the last one
+    game.reset();
+    game.roll(10);
+    renderer.render(game, board, 0);
+
+    lines = new String(board, StandardCharsets.US_ASCII).split("\n");
+    assertEquals("|    X|     |     |     |     |     |     |     |     |       |", lines[2]);
+    assertEquals("|     |     |     |     |     |     |     |     |     |       |", lines[3]);
+  }
+
+}
@@ -0,0 +1,134 @@
+package com.adamkoch.bowling.flow;
+
+import com.adamkoch.bowling.ParseError;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScoringProcessorTest {
+
+  @Test
+  void testFailuresDontStopTheStream() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      SubmissionPublisher<String> source = new SubmissionPublisher<>(executor, 4);
+      ScoringProcessor processor = new ScoringProcessor(executor, 4, 2);
+      Collector<ScoredGame> scores = new Collector<>();
+      Collector<ScoringFailure> failures = new Collector<>();
+      processor.subscribe(scores);
+      processor.errors().subscribe(failures);
+      source.subscribe(processor);
+
+      source.submit("X|X|X|X|X|X|X|X|X|X||XX");
+      source.submit("X|X|X|X|X|X|X|X|X||XX");
+      source.submit("9-|9-|9-|9-|9-|9-|9-|9-|9-|9-||");
+      source.submit("9-|9-|9-|9-|9-|9-|9-|9-|9-|9-");
+      source.submit("5/|5/|5/|5/|5/|5/|5/|5/|5/|5/||5");
+      source.close();
+      scores.done.get(10, TimeUnit.SECONDS);
+      failures.done.get(10, TimeUnit.SECONDS);
+
+      assertEquals(3, scores.items.size());
+      assertEquals(new ScoredGame(0, "X|X|X|X|X|X|X|X|X|X||XX", 300), scores.items.get(0));
+      assertEquals(90, scores.items.get(1).getScore());
+      assertEquals(4, scores.items.get(2).getSequence());
+      assertEquals(150, scores.items.get(2).getScore());
+
+      assertEquals(2, failures.items.size());
+      assertEquals(1, failures.items.get(0).getSequence());
+      assertEquals(ParseError.TOO_FEW_FRAMES, failures.items.get(0).getError());
+      assertEquals(3, failures.items.get(1).getSequence());
+      assertEquals(ParseError.MISSING_BONUS_DELIMITER, failures.items.get(1).getError());
+      assertEquals(3, processor.getScored());
+      assertEquals(2, processor.getFailed());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void testUpstreamErrorEndsBothStreams() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      SubmissionPublisher<String> source = new SubmissionPublisher<>(executor, 4);
+      ScoringProcessor processor = new ScoringProcessor(executor, 4, 2);
+      Collector<ScoredGame> scores = new Collector<>();
+      Collector<ScoringFailure> failures = new Collector<>();
+      processor.subscribe(scores);
+      processor.errors().subscribe(failures);
+      source.subscribe(processor);
+      source.closeExceptionally(new IllegalStateException("the lane went down"));
+
+      assertTrue(scores.done.handle((v, e) -> e).get(10, TimeUnit.SECONDS) instanceof IllegalStateException);
+      assertTrue(failures.done.handle((v, e) -> e).get(10, TimeUnit.SECONDS) instanceof IllegalStateException);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void testSlowSubscriberHoldsTheSourceBack() throws InterruptedException {
+    int games = 20_000;
+    SlowSubscriberRun.Result result = SlowSubscriberRun.run(games, TimeUnit.MICROSECONDS.toNanos(5), 32);
+
+    assertEquals(games, result.getScores() + result.getFailures());
+    // two buffers of 256, a batch of 32 and the ones being worked on, nowhere near all 20,000
+    assertTrue(result.getMaxAhead() < 1_000, "the source got " + result.getMaxAhead() + " games ahead");
+  }
+
+  @Test
+  void testBatchSizeHasToBePositive() {
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      assertThrows(IllegalArgumentException.class,
+          () -> new ScoringProcessor(executor, 4, 0));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Keeps everything it's given and asks for one at a time.
+   */
+  private static final class Collector<T> implements Flow.Subscriber<T> {
+
+    private final List<T> items = new CopyOnWriteArrayList<>();
+    private final CompletableFuture<Void> done = new CompletableFuture<>();
+    private Flow.Subscription subscription;
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+      this.subscription = subscription;
+      subscription.request(1);
+    }
+
+    @Override
+    public void onNext(T item) {
+      items.add(item);
+      subscription.request(1);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+      done.completeExceptionally(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+      done.complete(null);
+    }
+
+  }
+
+}
@@ -0,0 +1,145 @@
+package com.adamkoch.bowling.generate;
+
+import com.adamkoch.bowling.FastScorer;
+import com.adamkoch.bowling.GameValidator;
+import com.adamkoch.bowling.PackedGame;
+import com.adamkoch.bowling.ParseResult;
+import com.adamkoch.bowling.outlook.PinFallModel;
+import com.adamkoch.bowling.verify.ScoringEngine;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameGeneratorTest {
+
+  private static final int GAMES = 20_000;
+
+  @ParameterizedTest
+  @EnumSource(BowlerProfile.class)
+  void testEveryGameIsValidAndScoresTheSameEveryWay(BowlerProfile profile) {
+    GameGenerator generator = new GameGenerator(profile, 7);
+    ScoringEngine reference = ScoringEngine.reference();
+    byte[] text = new byte[GameGenerator.MAX_GAME_LENGTH];
+    long[] packed = new long[2];
+    for (int i = 0; i < GAMES; i++) {
+      int length = generator.nextGame(text, 0);
+      String game = new String(text, 0, length, StandardCharsets.ISO_8859_1);
+      long result = GameValidator.validate(game);
+      assertTrue(ParseResult.isValid(result), () -> game + ": " + ParseResult.describe(result));
+      int score = PackedGame.encode(game, packed, 0);
+      assertEquals(ParseResult.score(result), score, game);
+      if (i % 20 == 0) {
+        assertEquals(reference.score(game), score, game);
+      }
+    }
+  }
+
+  @ParameterizedTest
+  @EnumSource(BowlerProfile.class)
+  void testPackedRollsMatchTheText(BowlerProfile profile) {
+    GameGenerator text = new GameGenerator(profile, 99);
+    GameGenerator packed = new GameGenerator(profile, 99);
+    long[] fromText = new long[2];
+    long[] games = new long[2];
+    for (int i = 0; i < GAMES; i++) {
+      String game = text.nextGame();
+      PackedGame.encode(game, fromText, 0);
+      packed.nextPacked(games, 0);
+      assertArrayEquals(fromText, games, game);
+    }
+  }
+
+  @Test
+  void testSameSeedGivesTheSameGames() {
+    List<String> first = new GameGenerator(BowlerProfile.PRO, 3).games(1000).collect(Collectors.toList());
+    List<String> second = new GameGenerator(BowlerProfile.PRO, 3).games(1000).collect(Collectors.toList());
+    List<String> other = new GameGenerator(BowlerProfile.PRO, 4).games(1000).collect(Collectors.toList());
+
+    assertEquals(first, second);
+    assertNotEquals(first, other);
+  }
+
+  @Test
+  void testParallelStreamMakesEveryGame() {
+    long valid = new GameGenerator(BowlerProfile.BEGINNER, 11).games(GAMES).parallel()
+        .filter(game -> FastScorer.score(game) != FastScorer.INVALID)
+        .count();
+
+    assertEquals(GAMES, valid);
+  }
+
+  @Test
+  void testBetterBowlersScoreMore() {
+    double pro = average(BowlerProfile.PRO);
+    double league = average(BowlerProfile.LEAGUE);
+    double beginner = average(BowlerProfile.BEGINNER);
+
+    assertTrue(pro > 200 && pro < 240, "pro " + pro);
+    assertTrue(league > 130 && league < 170, "league " + league);
+    assertTrue(beginner < 100, "beginner " + beginner);
+  }
+
+  @Test
+  void testPerfectBowlerBowlsPerfectGames() {
+    double[] strikes = new double[11];
+    strikes[10] = 1;
+    double[][] leaves = new double[11][];
+    for (int standing = 0; standing <= 10; standing++) {
+      leaves[standing] = new double[standing + 1];
+      leaves[standing][standing] = 1;
+    }
+    GameGenerator perfect = new GameGenerator(PinFallModel.of(strikes, leaves), 1);
+
+    assertEquals("X|X|X|X|X|X|X|X|X|X||XX", perfect.nextGame());
+    assertEquals("X|X|X|X|X|X|X|X|X|X||XX", perfect.nextGame());
+  }
+
+  @Test
+  void testSpareAfterAGutterBallInTheBonusIsWrittenAsASpare() {
+    // every first ball is a strike or a gutter ball, and every second one knocks down whatever is left
+    double[] firstBalls = new double[11];
+    firstBalls[0] = 0.5;
+    firstBalls[10] = 0.5;
+    double[][] leaves = new double[11][];
+    for (int standing = 0; standing <= 10; standing++) {
+      leaves[standing] = new double[standing + 1];
+      leaves[standing][standing] = 1;
+    }
+    PinFallModel model = PinFallModel.of(firstBalls, leaves);
+    long[] fromText = new long[2];
+    long[] packed = new long[2];
+
+    String game = new GameGenerator(model, 0).nextGame();
+    new GameGenerator(model, 0).nextPacked(packed, 0);
+
+    assertEquals("X|-/|X|-/|X|X|X|X|-/|X||-/", game);
+    long result = GameValidator.validate(game);
+    assertTrue(ParseResult.isValid(result), () -> ParseResult.describe(result));
+    assertEquals(ParseResult.score(result), PackedGame.encode(game, fromText, 0));
+    assertArrayEquals(fromText, packed);
+    assertEquals(PackedGame.score(packed[0], packed[1]), ScoringEngine.reference().score(game));
+  }
+
+  @Test
+  void testNegativeCountIsRejected() {
+    assertThrows(IllegalArgumentException.class, () -> new GameGenerator(BowlerProfile.PRO, 1).games(-1));
+  }
+
+  private static double average(BowlerProfile profile) {
+    long[] packed = new long[2];
+    GameGenerator generator = new GameGenerator(profile, 5);
+    long total = 0;
+    for (int i = 0; i < GAMES; i++) {
+      generator.nextPacked(packed, 0);
+      total += PackedGame.score(packed[0], packed[1]);
+    }
+    return (double) total / GAMES;
+  }
+
+}
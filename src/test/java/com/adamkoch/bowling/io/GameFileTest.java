@@ -0,0 +1,102 @@
+package com.adamkoch.bowling.io;
+
+import com.adamkoch.bowling.FastScorer;
+import com.adamkoch.bowling.Game;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GameFileTest {
+
+  private static final String[] GAMES = {"X|X|X|X|X|X|X|X|X|X||XX", "9-|9-|9-|9-|9-|9-|9-|9-|9-|9-||",
+      "5/|5/|5/|5/|5/|5/|5/|5/|5/|5/||5", "X|7/|9-|X|-8|8/|-6|X|X|X||81"};
+  private static final int[] SCORES = {300, 90, 150, 167};
+
+  @TempDir
+  Path tempDir;
+
+  @ParameterizedTest
+  @ValueSource(booleans = {true, false})
+  void testGamesSurviveARoundTripAcrossBlocks(boolean withScores) throws IOException {
+    Path file = tempDir.resolve("games.bwlg");
+    int games = GameFileWriter.BLOCK_SIZE * 2 + 3;
+    try (GameFileWriter writer = GameFileWriter.create(file, withScores)) {
+      for (int i = 0; i < games; i++) {
+        assertEquals(SCORES[i % SCORES.length], writer.write(GAMES[i % GAMES.length]));
+      }
+      assertEquals(FastScorer.INVALID, writer.write("not a game"));
+      assertEquals(games, writer.getGamesWritten());
+    }
+
+    int read = 0;
+    try (GameFileReader reader = GameFileReader.open(file)) {
+      assertEquals(withScores, reader.hasScores());
+      while (reader.next()) {
+        assertEquals(SCORES[read % SCORES.length], reader.getScore());
+        assertEquals(Game.fromString(GAMES[read % GAMES.length]), reader.toGame());
+        read++;
+      }
+      assertFalse(reader.next());
+    }
+    assertEquals(games, read);
+  }
+
+  @Test
+  void testPackedFileIsSmallerThanText() throws IOException {
+    Path file = tempDir.resolve("games.bwlg");
+    long textSize = 0;
+    try (GameFileWriter writer = GameFileWriter.create(file, true)) {
+      for (int i = 0; i < 10_000; i++) {
+        writer.write(GAMES[i % GAMES.length]);
+        textSize += GAMES[i % GAMES.length].length() + 1;
+      }
+    }
+
+    assertTrue(Files.size(file) * 2 < textSize, () -> "packed size was " + file.toFile().length());
+  }
+
+  @Test
+  void testEmptyFile() throws IOException {
+    Path file = tempDir.resolve("games.bwlg");
+    GameFileWriter.create(file, false).close();
+
+    try (GameFileReader reader = GameFileReader.open(file)) {
+      assertFalse(reader.next());
+    }
+  }
+
+  @Test
+  void testTruncatedFile() throws IOException {
+    Path file = tempDir.resolve("games.bwlg");
+    try (GameFileWriter writer = GameFileWriter.create(file, true)) {
+      writer.write(Game.fromString(GAMES[0]));
+    }
+    byte[] bytes = Files.readAllBytes(file);
+    Files.write(file, Arrays.copyOf(bytes, bytes.length - 1));
+
+    try (GameFileReader reader = GameFileReader.open(file)) {
+      assertThrows(EOFException.class, reader::next);
+    }
+  }
+
+  @Test
+  void testNotAGameFile() throws IOException {
+    Path file = tempDir.resolve("games.txt");
+    Files.writeString(file, GAMES[0]);
+
+    assertThrows(IOException.class, () -> GameFileReader.open(file).close());
+  }
+
+}
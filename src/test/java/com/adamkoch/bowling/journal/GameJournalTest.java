@@ -0,0 +1,180 @@
+package com.adamkoch.bowling.journal;
+
+import com.adamkoch.bowling.Game;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GameJournalTest {
+
+  private static final String[] GAMES = {"X|X|X|X|X|X|X|X|X|X||XX", "9-|9-|9-|9-|9-|9-|9-|9-|9-|9-||",
+      "5/|5/|5/|5/|5/|5/|5/|5/|5/|5/||5", "X|7/|9-|X|-8|8/|-6|X|X|X||81", "X|X|X|X|X|X|X|X|X|9/||X"};
+  private static final int[] SCORES = {300, 90, 150, 167, 279};
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  void testRecordsSurviveReopeningAcrossSegments() throws IOException {
+    try (GameJournal journal = GameJournal.open(tempDir, 8)) {
+      append(journal, 21);
+      journal.sync();
+      assertEquals(21, journal.durableSize());
+    }
+    assertEquals(3, Files.list(tempDir).count());
+
+    try (GameJournal journal = GameJournal.open(tempDir)) {
+      assertEquals(21, journal.size());
+      assertFalse(journal.isTailRepaired());
+      for (long sequence = 0; sequence < 21; sequence++) {
+        int game = (int) (sequence % GAMES.length);
+        assertEquals(sequence % 3, journal.bowlerId(sequence));
+        assertEquals(1_000 + sequence, journal.timestamp(sequence));
+        assertEquals(SCORES[game], journal.score(sequence));
+        assertEquals(Game.fromString(GAMES[game]), journal.game(sequence));
+      }
+      assertEquals(3, journal.bowlerCount());
+      assertEquals(7, journal.gameCount(1));
+      assertEquals(19, journal.newest(1));
+
+      // the journal carries on after the records it found
+      assertEquals(21, journal.append(1, 2_000, Game.fromString(GAMES[0])));
+      long[] sequences = new long[4];
+      assertEquals(4, journal.gamesOf(1, sequences));
+      assertArrayEquals(new long[]{21, 19, 16, 13}, sequences);
+    }
+  }
+
+  @Test
+  void testUnknownBowler() throws IOException {
+    try (GameJournal journal = GameJournal.open(tempDir, 8)) {
+      append(journal, 3);
+      assertEquals(-1, journal.newest(42));
+      assertEquals(0, journal.gameCount(42));
+      assertEquals(0, journal.gamesOf(42, new long[4]));
+      assertThrows(IndexOutOfBoundsException.class, () -> journal.score(3));
+    }
+  }
+
+  @Test
+  void testTornTailIsTruncated() throws IOException {
+    // the crash comes before anyone syncs, so only the first segment is durable, because starting the second one
+    // synced it
+    GameJournal crashed = GameJournal.open(tempDir, 8);
+    append(crashed, 13);
+    assertEquals(8, crashed.durableSize());
+    // half of record 11 made it to the disk, and so did record 12
+    Path last = tempDir.resolve("0000000001.bwlj");
+    long record = GameJournal.HEADER_SIZE + 3L * GameJournal.RECORD_BYTES;
+    write(last, record + GameJournal.RECORD_BYTES / 2, new byte[GameJournal.RECORD_BYTES / 2]);
+
+    try (GameJournal journal = GameJournal.open(tempDir)) {
+      assertTrue(journal.isTailRepaired());
+      assertEquals(11, journal.size());
+      assertEquals(4, journal.gameCount(1));
+      assertEquals(11, journal.append(7, 3_000, Game.fromString(GAMES[1])));
+      assertEquals(90, journal.score(11));
+    }
+    try (GameJournal journal = GameJournal.open(tempDir)) {
+      assertFalse(journal.isTailRepaired());
+      assertEquals(12, journal.size());
+      assertEquals(7, journal.bowlerId(11));
+    }
+  }
+
+  @Test
+  void testBadSyncedRecordFailsToOpen() throws IOException {
+    try (GameJournal journal = GameJournal.open(tempDir, 8)) {
+      append(journal, 13);
+      journal.sync();
+    }
+    // a bit flips early in the last segment, after every record in it was synced
+    Path last = tempDir.resolve("0000000001.bwlj");
+    write(last, GameJournal.HEADER_SIZE + GameJournal.RECORD_BYTES + 30, new byte[]{0x7F});
+
+    IOException e = assertThrows(IOException.class, () -> GameJournal.open(tempDir));
+    assertTrue(e.getMessage().contains("Record 9"), e.getMessage());
+    // and the good records after it weren't zeroed trying
+    byte[] segment = Files.readAllBytes(last);
+    int record12 = GameJournal.HEADER_SIZE + 4 * GameJournal.RECORD_BYTES;
+    assertFalse(Arrays.equals(new byte[GameJournal.RECORD_BYTES],
+        Arrays.copyOfRange(segment, record12, record12 + GameJournal.RECORD_BYTES)));
+  }
+
+  @Test
+  void testBadRecordBeforeTheLastSegmentFailsToOpen() throws IOException {
+    try (GameJournal journal = GameJournal.open(tempDir, 8)) {
+      append(journal, 13);
+    }
+    write(tempDir.resolve("0000000000.bwlj"), GameJournal.HEADER_SIZE + 2L * GameJournal.RECORD_BYTES + 30,
+        new byte[]{0x7F});
+
+    assertThrows(IOException.class, () -> GameJournal.open(tempDir));
+  }
+
+  @Test
+  void testSyncsFromManyThreadsShareForces() throws Exception {
+    int threads = 8;
+    int perThread = 200;
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try (GameJournal journal = GameJournal.open(tempDir, 64)) {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < threads; t++) {
+        long bowlerId = t;
+        futures.add(executor.submit(() -> {
+          Game game = Game.fromString(GAMES[(int) bowlerId % GAMES.length]);
+          for (int i = 0; i < perThread; i++) {
+            journal.sync(journal.append(bowlerId, i, game));
+          }
+          return null;
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+      assertEquals(threads * perThread, journal.durableSize());
+      assertTrue(journal.getForces() <= threads * perThread);
+    } finally {
+      executor.shutdownNow();
+    }
+
+    try (GameJournal journal = GameJournal.open(tempDir)) {
+      assertEquals(threads * perThread, journal.size());
+      for (long bowlerId = 0; bowlerId < threads; bowlerId++) {
+        assertEquals(perThread, journal.gameCount(bowlerId));
+        assertEquals(SCORES[(int) bowlerId % GAMES.length], journal.score(journal.newest(bowlerId)));
+      }
+    }
+  }
+
+  private static void append(GameJournal journal, int count) throws IOException {
+    for (int i = 0; i < count; i++) {
+      journal.append(i % 3, 1_000 + i, Game.fromString(GAMES[i % GAMES.length]));
+    }
+  }
+
+  private static void write(Path file, long position, byte[] bytes) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, WRITE)) {
+      channel.write(ByteBuffer.wrap(bytes), position);
+    }
+  }
+
+}
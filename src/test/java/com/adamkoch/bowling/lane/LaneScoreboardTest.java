@@ -0,0 +1,88 @@
+package com.adamkoch.bowling.lane;
+
+import com.adamkoch.bowling.LiveGame;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LaneScoreboardTest {
+
+  @Test
+  void testPerfectGame() {
+    LaneScoreboard scoreboard = new LaneScoreboard(2, 4);
+    for (int ball = 0; ball < 12; ball++) {
+      assertEquals(RollStatus.ACCEPTED, scoreboard.roll(1, 3, 10));
+    }
+
+    assertTrue(scoreboard.isComplete(1, 3));
+    assertEquals(300, scoreboard.score(1, 3));
+    assertEquals(10, scoreboard.settledFrames(1, 3));
+    assertEquals(300, scoreboard.settledScore(1, 3));
+    assertEquals(0, scoreboard.score(1, 2));
+  }
+
+  @Test
+  void testFramesSettleOnceTheirBonusIsIn() {
+    LaneScoreboard scoreboard = new LaneScoreboard(1, 1);
+    scoreboard.roll(0, 0, 10);
+    scoreboard.roll(0, 0, 7);
+
+    assertEquals(24, scoreboard.score(0, 0));
+    assertEquals(0, scoreboard.settledFrames(0, 0));
+
+    scoreboard.roll(0, 0, 3);
+
+    assertEquals(30, scoreboard.score(0, 0));
+    assertEquals(1, scoreboard.settledFrames(0, 0));
+    assertEquals(20, scoreboard.settledScore(0, 0));
+  }
+
+  @Test
+  void testBallsThatCantHappenAreTurnedDown() {
+    LaneScoreboard scoreboard = new LaneScoreboard(1, 1);
+    scoreboard.roll(0, 0, 6);
+
+    assertEquals(RollStatus.TOO_MANY_PINS, scoreboard.roll(0, 0, 5));
+    assertEquals(RollStatus.TOO_MANY_PINS, scoreboard.roll(0, 0, -1));
+    assertEquals(RollStatus.UNKNOWN_BOWLER, scoreboard.roll(0, 1, 3));
+    assertEquals(RollStatus.UNKNOWN_BOWLER, scoreboard.roll(1, 0, 3));
+    assertEquals(6, scoreboard.score(0, 0));
+
+    for (int ball = 0; ball < 19; ball++) {
+      scoreboard.roll(0, 0, 0);
+    }
+    assertEquals(RollStatus.GAME_OVER, scoreboard.roll(0, 0, 0));
+    assertEquals(RollStatus.ACCEPTED, scoreboard.newGame(0, 0));
+    assertFalse(scoreboard.isComplete(0, 0));
+    assertEquals(0, scoreboard.score(0, 0));
+  }
+
+  @Test
+  void testSameAsLiveGame() {
+    Random random = new Random(20221018L);
+    LaneScoreboard scoreboard = new LaneScoreboard(3, 2);
+    LiveGame game = new LiveGame();
+    for (int i = 0; i < 10_000; i++) {
+      game.reset();
+      scoreboard.newGame(2, 1);
+      while (!game.isComplete()) {
+        // mostly strikes and spares, so the bonuses get a workout
+        int pins = random.nextBoolean() ? game.getPinsStanding() : random.nextInt(game.getPinsStanding() + 1);
+        game.roll(pins);
+
+        assertEquals(RollStatus.ACCEPTED, scoreboard.roll(2, 1, pins));
+        assertEquals(game.getScore(), scoreboard.score(2, 1));
+        assertEquals(game.getScoredFrames(), scoreboard.settledFrames(2, 1));
+        if (game.getScoredFrames() > 0) {
+          assertEquals(game.scoreThroughFrame(game.getScoredFrames()), scoreboard.settledScore(2, 1));
+        }
+      }
+      assertTrue(scoreboard.isComplete(2, 1));
+    }
+  }
+
+}
@@ -0,0 +1,98 @@
+package com.adamkoch.bowling.lane;
+
+import com.adamkoch.bowling.server.LoadReport;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LaneServerTest {
+
+  @Test
+  void testRepliesComeBackInOrder() throws IOException {
+    LaneScoreboard scoreboard = new LaneScoreboard(4, 2);
+    try (LaneServer server = LaneServer.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), scoreboard,
+        2);
+         SocketChannel channel = SocketChannel.open(
+             new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort()))) {
+      ByteBuffer events = ByteBuffer.allocate(5 * LaneProtocol.EVENT_BYTES);
+      LaneProtocol.putEvent(events, 3, 1, 10);
+      LaneProtocol.putEvent(events, 3, 1, 7);
+      LaneProtocol.putEvent(events, 3, 1, 3);
+      LaneProtocol.putEvent(events, 3, 1, 11);
+      LaneProtocol.putEvent(events, 9, 0, 1);
+      events.flip();
+      channel.write(events);
+
+      ByteBuffer replies = ByteBuffer.allocate(5 * LaneProtocol.REPLY_BYTES);
+      while (replies.hasRemaining()) {
+        channel.read(replies);
+      }
+
+      int third = 2 * LaneProtocol.REPLY_BYTES;
+      assertEquals(3, LaneProtocol.replyLane(replies, third));
+      assertEquals(1, LaneProtocol.replyBowler(replies, third));
+      assertEquals(RollStatus.ACCEPTED, LaneProtocol.replyStatus(replies, third));
+      assertEquals(1, LaneProtocol.replySettledFrames(replies, third));
+      assertEquals(20, LaneProtocol.replySettledScore(replies, third));
+      assertEquals(30, LaneProtocol.replyScore(replies, third));
+
+      int fourth = 3 * LaneProtocol.REPLY_BYTES;
+      assertEquals(RollStatus.TOO_MANY_PINS, LaneProtocol.replyStatus(replies, fourth));
+      assertEquals(30, LaneProtocol.replyScore(replies, fourth));
+
+      assertEquals(RollStatus.UNKNOWN_BOWLER, LaneProtocol.replyStatus(replies, 4 * LaneProtocol.REPLY_BYTES));
+      assertEquals(5, server.getEvents());
+    }
+  }
+
+  @Test
+  void testConnectionsThatResetRightAwayDoNotStopTheServer() throws IOException {
+    LaneScoreboard scoreboard = new LaneScoreboard(4, 1);
+    InetSocketAddress loopback = new InetSocketAddress(InetAddress.getLoopbackAddress(), 0);
+    try (LaneServer server = LaneServer.start(loopback, scoreboard, 1)) {
+      InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort());
+      for (int i = 0; i < 20; i++) {
+        try (SocketChannel channel = SocketChannel.open(address)) {
+          // closing with a linger of 0 sends a reset instead of a goodbye
+          channel.setOption(StandardSocketOptions.SO_LINGER, 0);
+        }
+      }
+
+      try (SocketChannel channel = SocketChannel.open(address)) {
+        ByteBuffer event = ByteBuffer.allocate(LaneProtocol.EVENT_BYTES);
+        LaneProtocol.putEvent(event, 2, 0, 10);
+        channel.write(event.flip());
+        ByteBuffer reply = ByteBuffer.allocate(LaneProtocol.REPLY_BYTES);
+        while (reply.hasRemaining()) {
+          channel.read(reply);
+        }
+
+        assertEquals(RollStatus.ACCEPTED, LaneProtocol.replyStatus(reply, 0));
+      }
+    }
+  }
+
+  @Test
+  void testSimulatedLanes() throws IOException {
+    LaneScoreboard scoreboard = new LaneScoreboard(64, 1);
+    try (LaneServer server = LaneServer.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), scoreboard,
+        2)) {
+      LoadReport report = LaneSimulator.run(new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort()),
+          4, 16, Duration.ofMillis(300));
+
+      assertEquals(0, report.getErrors());
+      assertTrue(report.getRequests() > 64);
+      assertEquals(4, server.getConnections());
+    }
+  }
+
+}
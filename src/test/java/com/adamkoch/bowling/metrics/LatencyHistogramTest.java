@@ -0,0 +1,42 @@
+package com.adamkoch.bowling.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatencyHistogramTest {
+
+  @Test
+  void testBucketsCoverEveryLatency() {
+    for (long nanos : new long[]{0, 1, 3, 4, 5, 7, 8, 9, 100, 1_000, 123_456_789, Long.MAX_VALUE}) {
+      int bucket = LatencyHistogram.bucket(nanos);
+      assertTrue(LatencyHistogram.upperBound(bucket) >= nanos, "" + nanos);
+      assertTrue(bucket == 0 || LatencyHistogram.upperBound(bucket - 1) < nanos, "" + nanos);
+    }
+  }
+
+  @Test
+  void testPercentilesAreWithinABucket() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (int i = 1; i <= 1_000; i++) {
+      histogram.record(i * 1_000L);
+    }
+    histogram.record(-5);
+
+    LatencySnapshot snapshot = histogram.snapshot();
+
+    assertEquals(1_001, snapshot.getCount());
+    assertEquals(1_001, histogram.getCount());
+    assertEquals(500_000, snapshot.getMeanNanos(), 1_000);
+    assertTrue(snapshot.getP50Nanos() >= 500_000 && snapshot.getP50Nanos() < 500_000 * 1.25, snapshot.toString());
+    assertTrue(snapshot.getP99Nanos() >= 990_000 && snapshot.getP99Nanos() < 990_000 * 1.25, snapshot.toString());
+    assertTrue(snapshot.getMaxNanos() >= 1_000_000 && snapshot.getMaxNanos() < 1_000_000 * 1.25, snapshot.toString());
+
+    histogram.reset();
+
+    assertEquals(0, histogram.snapshot().getCount());
+    assertEquals(0, histogram.snapshot().getMaxNanos());
+  }
+
+}
@@ -0,0 +1,68 @@
+package com.adamkoch.bowling.metrics;
+
+import com.adamkoch.bowling.Game;
+import com.adamkoch.bowling.ParseError;
+import com.adamkoch.bowling.batch.FlushPolicy;
+import com.adamkoch.bowling.batch.StreamScorer;
+import com.adamkoch.bowling.exceptions.InvalidInputException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Goes through the instrumented code with the metrics on. The build runs this in its own JVM started with
+ * {@code -Dbowling.metrics=true}, since the switch can't be flipped once the class is loaded.
+ */
+@EnabledIfSystemProperty(named = ScoringMetrics.ENABLED_PROPERTY, matches = "true")
+class ScoringMetricsEnabledTest {
+
+  @BeforeEach
+  void setUp() {
+    ScoringMetrics.reset();
+  }
+
+  @Test
+  void testParsingAndScoringAreCounted() {
+    assertTrue(ScoringMetrics.ENABLED);
+
+    assertEquals(300, Game.fromString("X|X|X|X|X|X|X|X|X|X||XX").calculateScore());
+    assertEquals(167, Game.fromString("X|7/|9-|X|-8|8/|-6|X|X|X||81").calculateScore());
+    assertThrows(InvalidInputException.class, () -> Game.fromString("X|X|X|X|X|X|X|X|X|/1||XX"));
+
+    assertEquals(2, ScoringMetrics.getGamesParsed());
+    assertEquals(2, ScoringMetrics.getGamesScored());
+    assertEquals(1, ScoringMetrics.getPerfectGames());
+    assertEquals(1, ScoringMetrics.getInvalidInputs(ParseError.SPARE_ON_FIRST_BALL));
+    assertEquals(2, ScoringMetrics.getGameParseLatency().getCount());
+    assertTrue(ScoringMetrics.getFrameParseLatency().getCount() >= 20);
+    assertEquals(2, ScoringMetrics.getBonusParseLatency().getCount());
+    assertEquals(2, ScoringMetrics.getScoreLatency().getCount());
+  }
+
+  @Test
+  void testGamesTurnedDownWithoutTheParserAreCounted() throws IOException {
+    byte[] games = "X|X|X|X|X|X|X|X|X|X||XX\nX|X|X|X|X|X|X|X|X|X\n99|99|99|99|99|99|99|99|99|99||\n"
+        .getBytes(StandardCharsets.US_ASCII);
+    ByteArrayOutputStream results = new ByteArrayOutputStream();
+
+    StreamScorer.score(Channels.newChannel(new ByteArrayInputStream(games)), Channels.newChannel(results),
+        FlushPolicy.AT_END, true, ByteBuffer.allocate(64), ByteBuffer.allocate(64));
+
+    assertEquals("300\n-1\n-1\n", results.toString(StandardCharsets.US_ASCII));
+    assertEquals(2, ScoringMetrics.getInvalidInputs());
+    assertEquals(1, ScoringMetrics.getInvalidInputs(ParseError.MISSING_BONUS_DELIMITER));
+    assertEquals(1, ScoringMetrics.getInvalidInputs(ParseError.FRAME_PIN_TOTAL));
+  }
+
+}
@@ -0,0 +1,74 @@
+package com.adamkoch.bowling.metrics;
+
+import com.adamkoch.bowling.Game;
+import com.adamkoch.bowling.ParseError;
+import com.adamkoch.bowling.exceptions.InvalidInputException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScoringMetricsTest {
+
+  @BeforeEach
+  void setUp() {
+    ScoringMetrics.reset();
+  }
+
+  @Test
+  void testNothingIsCountedWhenOff() {
+    // the tests don't turn the metrics on
+    assertFalse(ScoringMetrics.ENABLED);
+
+    Game.fromString("X|X|X|X|X|X|X|X|X|X||XX").calculateScore();
+    assertThrows(InvalidInputException.class, () -> Game.fromString("X|X|X|X|X|X|X|X|X|/1||XX"));
+
+    assertEquals(0, ScoringMetrics.getGamesParsed());
+    assertEquals(0, ScoringMetrics.getGamesScored());
+    assertEquals(0, ScoringMetrics.getInvalidInputs());
+  }
+
+  @Test
+  void testInvalidInputsByKind() {
+    ScoringMetrics.invalidInput(new InvalidInputException(ParseError.SPARE_ON_FIRST_BALL, "/1"));
+    ScoringMetrics.invalidInput(new InvalidInputException(ParseError.SPARE_ON_FIRST_BALL, "/2"));
+    ScoringMetrics.invalidInput(new NumberFormatException("For input string: \"?\""));
+    ScoringMetrics.invalidInput(new InvalidInputException("no kind"));
+
+    assertEquals(4, ScoringMetrics.getInvalidInputs());
+    assertEquals(2, ScoringMetrics.getInvalidInputs(ParseError.SPARE_ON_FIRST_BALL));
+    assertEquals(1, ScoringMetrics.getInvalidInputs(ParseError.INVALID_CHARACTER));
+    assertEquals(1, ScoringMetrics.getInvalidInputs(null));
+    assertEquals("{SPARE_ON_FIRST_BALL=2, INVALID_CHARACTER=1, OTHER=1}",
+        ScoringMetrics.getInvalidInputsByKind().toString());
+  }
+
+  @Test
+  void testMBean() throws Exception {
+    ScoringMetrics.gameParsed(1_000);
+    ScoringMetrics.gameScored(300, 200);
+    ScoringMetrics.gameScored(167, 300);
+    ScoringMetrics.register();
+
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    ObjectName name = new ObjectName(ScoringMetrics.OBJECT_NAME);
+
+    assertEquals(1L, server.getAttribute(name, "GamesParsed"));
+    assertEquals(2L, server.getAttribute(name, "GamesScored"));
+    assertEquals(1L, server.getAttribute(name, "PerfectGames"));
+    CompositeData latency = (CompositeData) server.getAttribute(name, "ScoreLatency");
+    assertEquals(2L, latency.get("count"));
+    String dump = (String) server.invoke(name, "dump", null, null);
+    assertTrue(dump.contains("perfect games: 1"), dump);
+    assertTrue(dump.contains("score latency: 2 recorded"), dump);
+  }
+
+}
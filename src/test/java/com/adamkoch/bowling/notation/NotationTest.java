@@ -0,0 +1,133 @@
+package com.adamkoch.bowling.notation;
+
+import com.adamkoch.bowling.FastScorer;
+import com.adamkoch.bowling.Game;
+import com.adamkoch.bowling.GameValidator;
+import com.adamkoch.bowling.ParseError;
+import com.adamkoch.bowling.ParseResult;
+import com.adamkoch.bowling.exceptions.InvalidInputException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class NotationTest {
+
+  // F for a foul, G for a gutter ball, spaces between frames and " | " before the bonus balls
+  private static final Notation SPACES = new Notation.Builder()
+      .miss('-', 'G', 'F')
+      .frameDelimiter(" ")
+      .bonusDelimiter(" | ")
+      .build();
+
+  private static final Notation COMMAS = new Notation.Builder()
+      .strike('X', 'x')
+      .frameDelimiter(",")
+      .bonusDelimiter(",,")
+      .build();
+
+  @Test
+  void testStandardMatchesFastScorer() {
+    Random random = new Random(23);
+    String alphabet = "X/-0123456789||||A";
+    for (int i = 0; i < 200_000; i++) {
+      StringBuilder game = new StringBuilder();
+      for (int length = random.nextInt(36); game.length() < length; ) {
+        game.append(alphabet.charAt(random.nextInt(alphabet.length())));
+      }
+      check(game.toString());
+    }
+    check("X|X|X|X|X|X|X|X|X|X||XX");
+    check("X|7/|9-|X|-8|8/|-6|X|X|X||81");
+    check("X|X|X|X|X|X|X|X|X|X|X||");
+    check("X|X|X|X|X|X|X|X|X|X||-");
+  }
+
+  private static void check(String game) {
+    byte[] bytes = game.getBytes(StandardCharsets.ISO_8859_1);
+    assertEquals(FastScorer.score(game), Notation.STANDARD.score(game), game);
+    assertEquals(FastScorer.score(game), Notation.STANDARD.score(bytes, 0, bytes.length), game);
+    assertEquals(GameValidator.validate(game), Notation.STANDARD.validate(game), game);
+    assertEquals(GameValidator.validate(game), Notation.STANDARD.validate(bytes, 0, bytes.length), game);
+  }
+
+  @ParameterizedTest
+  @CsvSource(delimiter = ';', value = {
+      "X X X X X X X X X X | XX; X|X|X|X|X|X|X|X|X|X||XX; 300",
+      "X 7/ 9G X F8 8/ G6 X X X | 81; X|7/|9-|X|-8|8/|-6|X|X|X||81; 167",
+      "'9F 9G 9- 9F 9G 9- 9F 9G 9- 9F | '; 9-|9-|9-|9-|9-|9-|9-|9-|9-|9-||; 90"})
+  void testSpaces(String game, String standard, int score) {
+    assertEquals(score, SPACES.score(game));
+    assertEquals(standard, SPACES.toStandard(game));
+    assertEquals(Game.fromString(standard), SPACES.parse(game));
+    assertEquals(score, ParseResult.score(SPACES.validate(game)));
+  }
+
+  @Test
+  void testCommas() {
+    String game = "x,7/,9-,X,-8,8/,-6,X,x,X,,81";
+    byte[] bytes = ("ignored" + game).getBytes(StandardCharsets.ISO_8859_1);
+
+    assertEquals(167, COMMAS.score(game));
+    assertEquals(167, COMMAS.score(bytes, 7, game.length()));
+    assertEquals(FastScorer.INVALID, COMMAS.score("X|7/|9-|X|-8|8/|-6|X|X|X||81"));
+  }
+
+  @Test
+  void testClassExample() {
+    Notation vendor = new Notation.Builder().miss('-', 'G', 'F').frameDelimiter(", ").bonusDelimiter(" | ").build();
+
+    assertEquals(167, vendor.score("X, 7/, 9G, X, F8, 8/, G6, X, X, X | 81"));
+  }
+
+  @Test
+  void testOffsetsAreInTheInput() {
+    long result = SPACES.validate("X X Q X X X X X X X | XX");
+    assertEquals(ParseError.INVALID_CHARACTER, ParseResult.error(result));
+    assertEquals(3, ParseResult.frameNumber(result));
+    assertEquals(4, ParseResult.offset(result));
+
+    result = SPACES.validate("X X X X X X X X X X X | ");
+    assertEquals(ParseError.TOO_MANY_FRAMES, ParseResult.error(result));
+    assertEquals(20, ParseResult.offset(result));
+
+    byte[] bytes = "--X,/5,X,X,X,X,X,X,X,X,,".getBytes(StandardCharsets.ISO_8859_1);
+    result = COMMAS.validate(bytes, 2, bytes.length - 2);
+    assertEquals(ParseError.SPARE_ON_FIRST_BALL, ParseResult.error(result));
+    assertEquals(2, ParseResult.offset(result));
+  }
+
+  @Test
+  void testEndingPartWayThroughADelimiter() {
+    String game = "X X X X X X X X X X |";
+    assertEquals(FastScorer.INVALID, SPACES.score(game));
+    assertFalse(ParseResult.isValid(SPACES.validate(game)));
+    assertThrows(InvalidInputException.class, () -> SPACES.toStandard(game));
+  }
+
+  @Test
+  void testCharactersOutsideTheNotation() {
+    assertEquals(FastScorer.INVALID, SPACES.score("X X X X X X X X X X | X٣"));
+    InvalidInputException e = assertThrows(InvalidInputException.class,
+        () -> SPACES.parse("X|X|X|X|X|X|X|X|X|X||XX"));
+    assertEquals(ParseError.INVALID_CHARACTER, e.getError());
+  }
+
+  @Test
+  void testConflictingSymbols() {
+    assertThrows(IllegalArgumentException.class, () -> new Notation.Builder().strike('X', '/').build());
+    assertThrows(IllegalArgumentException.class, () -> new Notation.Builder().miss('1').build());
+    assertThrows(IllegalArgumentException.class, () -> new Notation.Builder().frameDelimiter("X").build());
+    assertThrows(IllegalArgumentException.class, () -> new Notation.Builder().bonusDelimiter("|").build());
+    assertThrows(IllegalArgumentException.class, () -> new Notation.Builder().frameDelimiter("").build());
+    assertThrows(IllegalArgumentException.class, () -> new Notation.Builder().strike('Ā').build());
+    assertThrows(IllegalArgumentException.class, () -> new Notation.Builder().spare().build());
+  }
+
+}
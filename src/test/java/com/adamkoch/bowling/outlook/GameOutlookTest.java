@@ -0,0 +1,144 @@
+package com.adamkoch.bowling.outlook;
+
+import com.adamkoch.bowling.LiveGame;
+import com.adamkoch.bowling.exceptions.InvalidInputException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GameOutlookTest {
+
+  private static final int[] PERFECT_GAME = {10, 10, 10, 10, 10, 10, 10, 10, 10, 10, 10, 10};
+
+  @Test
+  void testEveryGameThereIs() {
+    long[] distribution = GameOutlook.scoreDistribution();
+
+    BigInteger total = Arrays.stream(distribution).mapToObj(BigInteger::valueOf).reduce(BigInteger.ZERO,
+        BigInteger::add);
+    assertEquals(new BigInteger("5726805883325784576"), total);
+    assertEquals(1, distribution[300]);
+    // eleven strikes and a gutter ball, or a spare and eleven strikes
+    assertEquals(11, distribution[290]);
+    // eleven strikes and a 9
+    assertEquals(1, distribution[299]);
+    // gutter balls all the way
+    assertEquals(1, distribution[0]);
+  }
+
+  @Test
+  void testAnUntouchedGame() {
+    assertEquals(300, GameOutlook.maxScore(new int[0], 0));
+    assertEquals(0, GameOutlook.minScore(new int[0], 0));
+  }
+
+  @Test
+  void testAfterAnOpenFrame() {
+    int[] rolls = {9, 0};
+
+    assertEquals(279, GameOutlook.maxScore(rolls, 2));
+    assertEquals(9, GameOutlook.minScore(rolls, 2));
+  }
+
+  @Test
+  void testAStrikeWaitingOnItsBonus() {
+    int[] rolls = {10, 3};
+
+    // the strike is at least 13 and the 3 counts for itself too
+    assertEquals(16, GameOutlook.minScore(rolls, 2));
+    // a spare, then strikes: 20 + 20 + 30 * 7 + 30 in the tenth
+    assertEquals(280, GameOutlook.maxScore(rolls, 2));
+  }
+
+  @Test
+  void testAFinishedGame() {
+    GameOutlook outlook = new GameOutlook(PinFallModel.uniform());
+
+    assertEquals(300, GameOutlook.maxScore(PERFECT_GAME, PERFECT_GAME.length));
+    assertEquals(300, GameOutlook.minScore(PERFECT_GAME, PERFECT_GAME.length));
+    assertEquals(300, outlook.expectedScore(PERFECT_GAME, PERFECT_GAME.length), 1e-9);
+    long[] distribution = GameOutlook.scoreDistribution(PERFECT_GAME, PERFECT_GAME.length);
+    assertEquals(1, distribution[300]);
+    assertEquals(1, Arrays.stream(distribution).sum());
+  }
+
+  @Test
+  void testABowlerWhoOnlyThrowsStrikes() {
+    double[] firstBall = new double[11];
+    firstBall[10] = 1;
+    double[][] leaves = new double[11][];
+    for (int standing = 0; standing <= 10; standing++) {
+      leaves[standing] = new double[standing + 1];
+      leaves[standing][standing] = 1;
+    }
+    GameOutlook outlook = new GameOutlook(PinFallModel.of(firstBall, leaves));
+
+    assertEquals(300, outlook.expectedScore(new int[0], 0), 1e-9);
+    // the 9 is picked up for a spare and everything after it is a strike
+    assertEquals(20 + 30 * 9, outlook.expectedScore(new int[]{9}, 1), 1e-9);
+  }
+
+  @Test
+  void testExpectedScoreMatchesSimulation() {
+    GameOutlook outlook = new GameOutlook(PinFallModel.uniform());
+    Random random = new Random(14);
+    int[] start = {10, 7, 2};
+    long total = 0;
+    int games = 200_000;
+    for (int g = 0; g < games; g++) {
+      LiveGame game = new LiveGame();
+      for (int pins : start) {
+        game.roll(pins);
+      }
+      while (!game.isComplete()) {
+        game.roll(random.nextInt(game.getPinsStanding() + 1));
+      }
+      total += game.getScore();
+    }
+
+    double expected = outlook.expectedScore(start, start.length);
+    assertEquals(expected, (double) total / games, 0.2);
+    assertTrue(expected > GameOutlook.minScore(start, start.length));
+    assertTrue(expected < GameOutlook.maxScore(start, start.length));
+  }
+
+  @Test
+  void testLiveGame() {
+    GameOutlook outlook = new GameOutlook(PinFallModel.uniform());
+    LiveGame game = new LiveGame();
+    game.roll(10);
+    game.roll(10);
+
+    assertEquals(GameOutlook.maxScore(new int[]{10, 10}, 2), GameOutlook.maxScore(game));
+    assertEquals(game.getScore(), GameOutlook.minScore(game));
+    assertEquals(outlook.expectedScore(new int[]{10, 10}, 2), outlook.expectedScore(game));
+  }
+
+  @Test
+  void testImpossibleBalls() {
+    assertThrows(InvalidInputException.class, () -> GameOutlook.maxScore(new int[]{7, 4}, 2));
+    assertThrows(InvalidInputException.class, () -> GameOutlook.maxScore(new int[]{11}, 1));
+    int[] tooMany = Arrays.copyOf(PERFECT_GAME, 13);
+    assertThrows(InvalidInputException.class, () -> GameOutlook.maxScore(tooMany, tooMany.length));
+  }
+
+  @Test
+  void testModelsFromCounts() {
+    long[][] leaveCounts = new long[11][];
+    for (int standing = 0; standing <= 10; standing++) {
+      leaveCounts[standing] = new long[standing + 1];
+    }
+    PinFallModel model = PinFallModel.fromCounts(new long[]{0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 89}, leaveCounts);
+
+    assertEquals(0.9, model.probability(10, true, 10), 1e-9);
+    assertEquals(1.0 / 11, model.probability(10, false, 10), 1e-9);
+    assertThrows(IllegalArgumentException.class, () -> PinFallModel.of(new double[11], new double[11][]));
+  }
+
+}
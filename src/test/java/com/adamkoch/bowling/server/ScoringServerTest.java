@@ -0,0 +1,127 @@
+package com.adamkoch.bowling.server;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScoringServerTest {
+
+  private final HttpClient client = HttpClient.newHttpClient();
+  private ScoringServer server;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    server = ScoringServer.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 2, 16, 3);
+  }
+
+  @AfterEach
+  void tearDown() {
+    server.close();
+  }
+
+  @Test
+  void testScoresOneGame() throws Exception {
+    HttpResponse<String> response = post(ScoringServer.SCORE_PATH, "X|7/|9-|X|-8|8/|-6|X|X|X||81\r\n");
+
+    assertEquals(200, response.statusCode());
+    assertEquals("167\n", response.body());
+  }
+
+  @Test
+  void testSaysWhatIsWrongWithAGame() throws Exception {
+    HttpResponse<String> response = post(ScoringServer.SCORE_PATH, "X|X|X|X|X|X|X|X|X|X");
+
+    assertEquals(400, response.statusCode());
+    assertTrue(response.body().startsWith("Invalid input: "), response.body());
+  }
+
+  @Test
+  void testTurnsDownAGameThatIsTooLong() throws Exception {
+    HttpResponse<String> response = post(ScoringServer.SCORE_PATH, "9-|".repeat(13));
+
+    assertEquals(413, response.statusCode());
+  }
+
+  @Test
+  void testOnlyPostIsAllowed() throws Exception {
+    HttpResponse<String> response = client.send(HttpRequest.newBuilder(uri(ScoringServer.SCORE_PATH)).GET().build(),
+        HttpResponse.BodyHandlers.ofString());
+
+    assertEquals(405, response.statusCode());
+  }
+
+  @Test
+  void testScoresABatch() throws Exception {
+    HttpResponse<String> response = post(ScoringServer.BATCH_PATH,
+        "X|X|X|X|X|X|X|X|X|X||XX\nnot a game\r\n9-|9-|9-|9-|9-|9-|9-|9-|9-|9-||");
+
+    assertEquals(200, response.statusCode());
+    assertEquals("300\n-1\n90\n", response.body());
+  }
+
+  @Test
+  void testBothPathsTurnDownTheSameGames() throws Exception {
+    // the original parser would score this 180, but no frame knocks down 18 pins
+    String game = "99|99|99|99|99|99|99|99|99|99||";
+
+    assertEquals(400, post(ScoringServer.SCORE_PATH, game).statusCode());
+    assertEquals("-1\n", post(ScoringServer.BATCH_PATH, game).body());
+  }
+
+  @Test
+  void testTurnsDownABatchThatIsTooLarge() throws Exception {
+    HttpResponse<String> response = post(ScoringServer.BATCH_PATH, "X|X|X|X|X|X|X|X|X|X||XX\n".repeat(7));
+
+    assertEquals(413, response.statusCode());
+  }
+
+  @Test
+  void testTurnsDownRequestsWhenTheQueueIsFull() throws Exception {
+    try (ScoringServer full = ScoringServer.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1, 0,
+        1)) {
+      HttpResponse<String> response = client.send(HttpRequest.newBuilder(uri(full, ScoringServer.SCORE_PATH))
+          .POST(HttpRequest.BodyPublishers.ofString("X|X|X|X|X|X|X|X|X|X||XX")).build(),
+          HttpResponse.BodyHandlers.ofString());
+
+      assertEquals(503, response.statusCode());
+      assertEquals(1, full.getRejectedRequests());
+    }
+  }
+
+  @Test
+  void testLoadGeneratorReportsLatencies() throws IOException {
+    LoadReport report = LoadGenerator.run(new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort()),
+        2, Duration.ofMillis(300));
+
+    assertEquals(0, report.getErrors());
+    assertTrue(report.getRequests() > 0);
+    assertTrue(report.latencyMicros(99) >= report.latencyMicros(50));
+    assertEquals(report.getRequests(), server.getRequests());
+  }
+
+  private HttpResponse<String> post(String path, String body) throws IOException, InterruptedException {
+    return client.send(HttpRequest.newBuilder(uri(path)).POST(HttpRequest.BodyPublishers.ofString(body)).build(),
+        HttpResponse.BodyHandlers.ofString());
+  }
+
+  private URI uri(String path) {
+    return uri(server, path);
+  }
+
+  private static URI uri(ScoringServer server, String path) {
+    return URI.create("http://" + InetAddress.getLoopbackAddress().getHostAddress() + ":" + server.getPort() + path);
+  }
+
+}
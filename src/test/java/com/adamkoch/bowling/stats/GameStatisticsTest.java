@@ -0,0 +1,95 @@
+package com.adamkoch.bowling.stats;
+
+import com.adamkoch.bowling.Game;
+import com.adamkoch.bowling.PackedGame;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class GameStatisticsTest {
+
+  @ParameterizedTest
+  @CsvSource(delimiter = ';', value = {
+      // game; score; strikes; spares; open frames; misses; doubles; turkeys; first ball pins; bonus balls used
+      "X|X|X|X|X|X|X|X|X|X||XX; 300; 12; 0; 0; 0; 11; 10; 100; 2",
+      "9-|9-|9-|9-|9-|9-|9-|9-|9-|9-||; 90; 0; 0; 10; 10; 0; 0; 90; 0",
+      "5/|5/|5/|5/|5/|5/|5/|5/|5/|5/||5; 150; 0; 10; 0; 0; 0; 0; 50; 1",
+      "X|7/|9-|X|-8|8/|-6|X|X|X||81; 167; 5; 2; 3; 3; 2; 1; 74; 2",
+      "X|X|X|X|X|X|X|X|X|9/||X; 279; 10; 1; 0; 0; 8; 7; 99; 1",
+  })
+  void testCountsWhileScoring(String framesString, int score, long strikes, long spares, long openFrames, long misses,
+                              long doubles, long turkeys, long firstBallPins, long bonusBallsUsed) {
+    GameStatistics statistics = new GameStatistics();
+
+    assertEquals(score, statistics.score(Game.fromString(framesString)));
+
+    assertEquals(1, statistics.getGames());
+    assertEquals(score, statistics.getTotalScore());
+    assertEquals(strikes, statistics.getStrikes());
+    assertEquals(spares, statistics.getSpares());
+    assertEquals(openFrames, statistics.getOpenFrames());
+    assertEquals(misses, statistics.getMisses());
+    assertEquals(doubles, statistics.getDoubles());
+    assertEquals(turkeys, statistics.getTurkeys());
+    assertEquals(10, statistics.getFirstBalls());
+    assertEquals(firstBallPins, statistics.getFirstBallPins());
+    assertEquals(bonusBallsUsed, statistics.getBonusBallsUsed());
+  }
+
+  @Test
+  void testRates() {
+    GameStatistics statistics = new GameStatistics();
+    statistics.score(Game.fromString("X|7/|9-|X|-8|8/|-6|X|X|X||81"));
+    statistics.score(Game.fromString("5/|5/|5/|5/|5/|5/|5/|5/|5/|5/||5"));
+
+    assertEquals(158.5, statistics.averageScore());
+    assertEquals(6.2, statistics.firstBallAverage(), 1e-9);
+    // 12 spares out of 15 frames that weren't strikes
+    assertEquals(0.8, statistics.spareConversionRate(), 1e-9);
+  }
+
+  @Test
+  void testManyThreadsAddUp() throws InterruptedException, ExecutionException {
+    Game game = Game.fromString("X|7/|9-|X|-8|8/|-6|X|X|X||81");
+    long low = game.getPackedLow();
+    long high = game.getPackedHigh();
+    ConcurrentGameStatistics shared = new ConcurrentGameStatistics();
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < 4; t++) {
+        futures.add(executor.submit(() -> {
+          GameStatistics mine = new GameStatistics();
+          for (int batch = 0; batch < 100; batch++) {
+            for (int i = 0; i < 100; i++) {
+              mine.score(low, high);
+            }
+            shared.add(mine);
+            mine.reset();
+          }
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    GameStatistics total = shared.snapshot();
+    assertEquals(40_000, total.getGames());
+    assertEquals(40_000L * PackedGame.score(low, high), total.getTotalScore());
+    assertEquals(40_000L * 5, total.getStrikes());
+    assertEquals(40_000L * 2, total.getSpares());
+  }
+
+}
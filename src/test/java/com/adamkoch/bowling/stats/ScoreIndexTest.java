@@ -0,0 +1,106 @@
+package com.adamkoch.bowling.stats;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ScoreIndexTest {
+
+  @Test
+  void testTopGamesMatchSortingEverything() {
+    Random random = new Random(13);
+    int games = 50_000;
+    long[][] all = new long[games][];
+    ScoreIndex index = new ScoreIndex(100);
+    for (int id = 0; id < games; id++) {
+      int score = random.nextInt(301);
+      all[id] = new long[]{score, id};
+      index.add(score, id);
+    }
+    Arrays.sort(all, Comparator.<long[]>comparingLong(game -> -game[0]).thenComparingLong(game -> game[1]));
+
+    int[] scores = new int[100];
+    long[] ids = new long[100];
+    assertEquals(100, index.top(scores, ids));
+    for (int i = 0; i < 100; i++) {
+      assertEquals(all[i][0], scores[i]);
+      assertEquals(all[i][1], ids[i]);
+    }
+    // asking again gives the same answer
+    int[] again = new int[100];
+    index.top(again, new long[100]);
+    assertArrayEquals(scores, again);
+  }
+
+  @Test
+  void testPercentiles() {
+    ScoreIndex index = new ScoreIndex(0);
+    for (int score = 101; score <= 200; score++) {
+      index.add(score, score);
+    }
+
+    assertEquals(150, index.percentile(50));
+    assertEquals(199, index.percentile(99));
+    assertEquals(200, index.percentile(100));
+    assertEquals(101, index.percentile(0.5));
+    assertEquals(150.5, index.averageScore());
+    assertEquals(51, index.countAtLeast(150));
+    assertEquals(-1, new ScoreIndex(1).percentile(50));
+  }
+
+  @Test
+  void testMergingIsTheSameAsAddingEverythingToOne() {
+    Random random = new Random(7);
+    ScoreIndex everything = new ScoreIndex(10);
+    ScoreIndex first = new ScoreIndex(10);
+    ScoreIndex second = new ScoreIndex(10);
+    for (int id = 0; id < 10_000; id++) {
+      int score = random.nextInt(301);
+      everything.add(score, id);
+      (id % 3 == 0 ? first : second).add(score, id);
+    }
+
+    first.merge(second);
+
+    int[] expectedScores = new int[10];
+    long[] expectedIds = new long[10];
+    everything.top(expectedScores, expectedIds);
+    int[] scores = new int[10];
+    long[] ids = new long[10];
+    first.top(scores, ids);
+    assertArrayEquals(expectedScores, scores);
+    assertArrayEquals(expectedIds, ids);
+    assertEquals(everything.getGames(), first.getGames());
+    for (double percentile : new double[]{1, 25, 50, 75, 99, 100}) {
+      assertEquals(everything.percentile(percentile), first.percentile(percentile));
+    }
+  }
+
+  @Test
+  void testFewerGamesThanK() {
+    ScoreIndex index = new ScoreIndex(5);
+    index.add(120, 2);
+    index.add(300, 1);
+
+    int[] scores = new int[5];
+    long[] ids = new long[5];
+    assertEquals(2, index.top(scores, ids));
+    assertEquals(300, scores[0]);
+    assertEquals(2, ids[1]);
+  }
+
+  @Test
+  void testScoresOutsideTheRange() {
+    ScoreIndex index = new ScoreIndex(5);
+
+    assertThrows(IllegalArgumentException.class, () -> index.add(301, 1));
+    assertThrows(IllegalArgumentException.class, () -> index.add(-1, 1));
+  }
+
+}
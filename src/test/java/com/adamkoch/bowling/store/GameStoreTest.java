@@ -0,0 +1,105 @@
+package com.adamkoch.bowling.store;
+
+import com.adamkoch.bowling.Game;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GameStoreTest {
+
+  private static final String[] GAMES = {"X|X|X|X|X|X|X|X|X|X||XX", "9-|9-|9-|9-|9-|9-|9-|9-|9-|9-||",
+      "5/|5/|5/|5/|5/|5/|5/|5/|5/|5/||5", "X|7/|9-|X|-8|8/|-6|X|X|X||81", "X|X|X|X|X|X|X|X|X|9/||X"};
+  private static final int[] SCORES = {300, 90, 150, 167, 279};
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  void testRowsAcrossChunks() throws IOException {
+    try (GameStore store = GameStore.inMemory(8)) {
+      fill(store, 21);
+
+      assertEquals(21, store.size());
+      for (long index = 0; index < 21; index++) {
+        Game game = Game.fromString(GAMES[(int) (index % GAMES.length)]);
+        GameRow row = store.row(index);
+        assertEquals(SCORES[(int) (index % GAMES.length)], row.getScore());
+        assertEquals(game, row.toGame());
+        assertArrayEquals(game.getCumulativeScores(), cumulativeScores(row));
+      }
+      assertThrows(IndexOutOfBoundsException.class, () -> store.score(21));
+    }
+  }
+
+  @Test
+  void testScans() throws IOException {
+    try (GameStore store = GameStore.inMemory(8)) {
+      fill(store, 21);
+
+      // 300 and 279 every fifth game
+      assertEquals(9, store.countAtLeast(250));
+      assertEquals(21, store.countAtLeast(0));
+      assertEquals(0, store.countAtLeast(301));
+
+      long[] page = new long[4];
+      assertEquals(4, store.findAtLeast(250, 0, page));
+      assertArrayEquals(new long[]{0, 4, 5, 9}, page);
+      assertEquals(4, store.findAtLeast(250, page[3] + 1, page));
+      assertArrayEquals(new long[]{10, 14, 15, 19}, page);
+      assertEquals(1, store.findAtLeast(250, page[3] + 1, page));
+      assertEquals(20, page[0]);
+    }
+  }
+
+  @Test
+  void testFileCanBeMappedAgain() throws IOException {
+    Path file = tempDir.resolve("games.store");
+    try (GameStore store = GameStore.open(file, 8)) {
+      fill(store, 13);
+    }
+    try (GameStore store = GameStore.open(file)) {
+      assertEquals(13, store.size());
+      assertEquals(300, store.score(10));
+      store.append(Game.fromString(GAMES[3]));
+      store.append(Game.fromString(GAMES[3]));
+      store.append(Game.fromString(GAMES[3]));
+      store.append(Game.fromString(GAMES[3]));
+    }
+    try (GameStore store = GameStore.openReadOnly(file)) {
+      assertEquals(17, store.size());
+      assertEquals(167, store.score(16));
+      assertEquals(48, store.scoreThroughFrame(16, 3));
+      assertThrows(IllegalStateException.class, () -> store.append(0, 0));
+    }
+  }
+
+  @Test
+  void testNotAStore() throws IOException {
+    Path file = tempDir.resolve("games.txt");
+    Files.writeString(file, "X|X|X|X|X|X|X|X|X|X||XX\n".repeat(4));
+
+    assertThrows(IOException.class, () -> GameStore.openReadOnly(file));
+  }
+
+  private static void fill(GameStore store, int games) throws IOException {
+    for (int i = 0; i < games; i++) {
+      store.append(Game.fromString(GAMES[i % GAMES.length]));
+    }
+  }
+
+  private static int[] cumulativeScores(GameRow row) {
+    int[] totals = new int[10];
+    for (int frame = 1; frame <= 10; frame++) {
+      totals[frame - 1] = row.scoreThroughFrame(frame);
+    }
+    return totals;
+  }
+
+}
@@ -0,0 +1,101 @@
+package com.adamkoch.bowling.vector;
+
+import com.adamkoch.bowling.FastScorer;
+import com.adamkoch.bowling.Game;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SimdScorerTest {
+
+  private static final String[] VALID_GAMES = {"9-|9-|9-|9-|9-|9-|9-|9-|9-|9-||", "X|X|X|X|X|X|X|X|X|X||XX",
+      "5/|5/|5/|5/|5/|5/|5/|5/|5/|5/||5", "X|7/|9-|X|-8|8/|-6|X|X|X||81", "54|4/|7-|X|X|X|53|6/|4/|X||XX",
+      "14|45|6/|5/|X|01|7/|6/|X|2/||6", "9-|9-|9-|9-|9-|9-|9-|9-|9-|9-||X", "X|X|X|X|X|X|X|X|X|X||",
+      "--|--|--|--|--|--|--|--|--|--||", "55|55|55|55|55|55|55|55|55|55||5X", "99|99|99|99|99|99|99|99|99|99||-5",
+      "X|X|X|X|X|X|X|X|X|9/||X", "X|X|X|X|X|X|X|X|X|X||X/"};
+
+  private static final char[] ALPHABET = "0123456789X/-|X/-||".toCharArray();
+
+  @Test
+  void testVectorApiIsUsedWhenTheModuleIsThere() {
+    // surefire starts the tests with --add-modules jdk.incubator.vector
+    assertTrue(SimdScorer.isVectorized());
+  }
+
+  @Test
+  void testSlots() {
+    RollColumns columns = new RollColumns(2);
+    columns.add("X|7/|9-|X|-8|8/|-6|X|X|X||81");
+
+    assertEquals(10, columns.slot(0, 0));
+    assertEquals(0, columns.slot(1, 0));
+    assertEquals(7, columns.slot(2, 0));
+    assertEquals(3, columns.slot(3, 0));
+    assertEquals(10, columns.slot(18, 0));
+    assertEquals(8, columns.slot(20, 0));
+    assertEquals(1, columns.slot(21, 0));
+  }
+
+  @Test
+  void testScoresMatchTheObjectModel() {
+    // enough to fill a few vectors of any width with some left over
+    List<String> games = games(1_000);
+    RollColumns columns = new RollColumns(games.size());
+    for (String game : games) {
+      columns.add(game);
+    }
+    short[] vectorScores = new short[columns.capacity()];
+    short[] scalarScores = new short[columns.capacity()];
+
+    SimdScorer.score(columns, vectorScores);
+    SimdScorer.scoreScalar(columns, scalarScores);
+
+    for (int i = 0; i < games.size(); i++) {
+      int expected = Game.fromString(games.get(i)).calculateScore();
+      assertEquals(expected, vectorScores[i], games.get(i));
+      assertEquals(expected, scalarScores[i], games.get(i));
+    }
+  }
+
+  @Test
+  void testInvalidGamesAreNotAdded() {
+    RollColumns columns = new RollColumns(1);
+
+    assertEquals(FastScorer.INVALID, columns.add("X|X|X"));
+    assertEquals(0, columns.size());
+    assertEquals(0, columns.add(VALID_GAMES[0]));
+    assertThrows(IllegalStateException.class, () -> columns.add(VALID_GAMES[0]));
+  }
+
+  @Test
+  void testScoresMustFitTheCapacity() {
+    RollColumns columns = new RollColumns(40);
+    columns.add(VALID_GAMES[0]);
+
+    assertThrows(IllegalArgumentException.class, () -> SimdScorer.score(columns, new short[1]));
+  }
+
+  private static List<String> games(int count) {
+    Random random = new Random(20221019L);
+    List<String> games = new ArrayList<>(count);
+    for (String game : VALID_GAMES) {
+      games.add(game);
+    }
+    while (games.size() < count) {
+      StringBuilder game = new StringBuilder(VALID_GAMES[random.nextInt(VALID_GAMES.length)]);
+      int position = random.nextInt(game.length());
+      game.setCharAt(position, ALPHABET[random.nextInt(ALPHABET.length)]);
+      if (FastScorer.score(game) != FastScorer.INVALID) {
+        games.add(game.toString());
+      }
+    }
+    return games;
+  }
+
+}
@@ -0,0 +1,103 @@
+package com.adamkoch.bowling.verify;
+
+import com.adamkoch.bowling.FastScorer;
+import com.adamkoch.bowling.PackedGame;
+import com.adamkoch.bowling.generate.BowlerProfile;
+import com.adamkoch.bowling.generate.GameGenerator;
+import com.adamkoch.bowling.notation.Notation;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DifferentialHarnessTest {
+
+  @Test
+  void testFastEnginesAgreeOnGeneratedGames() {
+    GameGenerator generator = new GameGenerator(BowlerProfile.LEAGUE, 21);
+    long[] packed = new long[2];
+
+    assertClean(DifferentialHarness.compare(FastScorer::score, generator, 20_000));
+    assertClean(DifferentialHarness.compare(Notation.STANDARD::score, generator, 20_000));
+    assertClean(DifferentialHarness.compare(game -> {
+      int score = PackedGame.encode(game, packed, 0);
+      return score == FastScorer.INVALID ? score : PackedGame.score(packed[0], packed[1]);
+    }, generator, 20_000));
+  }
+
+  @Test
+  void testFastScorerAgreesOnEdgeCasesAndTheirMutations() {
+    List<String> games = new ArrayList<>();
+    List<String> edgeCases = EdgeCases.games();
+    // every edge case, but only some of their mutations, to keep the build quick
+    for (int i = 0; i < edgeCases.size(); i++) {
+      games.add(edgeCases.get(i));
+      if (i % 10 == 0) {
+        games.addAll(EdgeCases.mutations(edgeCases.get(i)));
+      }
+    }
+
+    DifferentialReport report = DifferentialHarness.compare(FastScorer::score, games);
+
+    assertClean(report);
+    assertEquals(games.size(), report.getGames());
+  }
+
+  @Test
+  void testEdgeCasesCoverEveryEnding() {
+    List<String> games = EdgeCases.games();
+
+    assertTrue(games.contains("X|X|X|X|X|X|X|X|X|X||XX"));
+    assertTrue(games.contains("--|--|--|--|--|--|--|--|--|--||"));
+    assertTrue(games.contains("5/|5/|5/|5/|5/|5/|5/|5/|5/|-/||0"));
+    assertTrue(games.contains("X|X|X|X|X|X|X|X|X|X||5/"));
+    assertTrue(games.contains("--|--|--|--|7/|--|--|--|--|--||"));
+    assertEquals(games.size(), games.stream().distinct().count());
+  }
+
+  @Test
+  void testMutationsAreOneCharacterOff() {
+    List<String> mutations = EdgeCases.mutations("X|");
+
+    assertTrue(mutations.contains("X"));
+    assertTrue(mutations.contains("|"));
+    assertTrue(mutations.contains("XX|"));
+    assertTrue(mutations.contains("X|a"));
+    assertTrue(mutations.contains("5|"));
+    assertFalse(mutations.contains("X|"));
+  }
+
+  @Test
+  void testWrongEngineIsCaught() {
+    // nobody's perfect
+    ScoringEngine wrong = game -> Math.min(FastScorer.score(game), 299);
+    List<String> games = List.of("9-|9-|9-|9-|9-|9-|9-|9-|9-|9-||", "X|X|X|X|X|X|X|X|X|X||XX",
+        "5/|5/|5/|5/|5/|5/|5/|5/|5/|5/||5");
+
+    DifferentialReport report = DifferentialHarness.compare(wrong, games);
+
+    assertFalse(report.isClean());
+    assertEquals(3, report.getGames());
+    assertEquals(1, report.getMismatches());
+    assertEquals("X|X|X|X|X|X|X|X|X|X||XX", report.getFirstMismatch());
+    assertEquals(300, report.getExpected());
+    assertEquals(299, report.getActual());
+    assertTrue(report.describe().contains("X|X|X|X|X|X|X|X|X|X||XX"), report.describe());
+  }
+
+  @Test
+  void testReferenceRejectsWhatItCannotScore() {
+    ScoringEngine reference = ScoringEngine.reference();
+
+    assertEquals(FastScorer.INVALID, reference.score("X|X|X|X|X|X|X|X|X||XX"));
+    assertEquals(FastScorer.INVALID, reference.score("nonsense"));
+    assertEquals(90, reference.score("9-|9-|9-|9-|9-|9-|9-|9-|9-|9-||"));
+  }
+
+  private static void assertClean(DifferentialReport report) {
+    assertTrue(report.isClean(), report.describe());
+  }
+
+}